@@ -0,0 +1,28 @@
+package de.mca;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet die JMH-Benchmarks. Übernimmt alle JMH-Kommandozeilenoptionen und
+ * schaltet zusätzlich immer den GC-Profiler ein, damit zu jedem Benchmark die
+ * allokierten Bytes pro Operation (gc.alloc.rate.norm) ausgegeben werden.
+ *
+ * Muss aus dem Projektverzeichnis gestartet werden, da Karten und Decks
+ * relativ dazu geladen werden.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build())
+				.run();
+	}
+
+}
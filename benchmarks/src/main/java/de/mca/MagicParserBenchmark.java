@@ -0,0 +1,52 @@
+package de.mca;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.mca.io.FileManager;
+import de.mca.io.ResourceReadingException;
+import de.mca.model.Deck;
+
+/**
+ * Misst das Einlesen eines vollständigen Decks samt aller Kartendateien.
+ *
+ * @author Maximilian Werling
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MagicParserBenchmark {
+
+	/**
+	 * Speichert den Dateinamen des Decks.
+	 */
+	@Param({ "vanillaartifact.json", "vanillagreen.json" })
+	public String deckName;
+
+	@Setup
+	public void setup() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+	}
+
+	@Benchmark
+	public Deck parseDeckFromPath() throws ResourceReadingException {
+		return MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckName));
+	}
+
+}
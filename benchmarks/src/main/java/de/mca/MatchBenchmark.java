@@ -0,0 +1,131 @@
+package de.mca;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.ai.EvaluatorDefault;
+import de.mca.ai.MonteCarlo;
+import de.mca.io.FileManager;
+import de.mca.io.ResourceReadingException;
+import de.mca.model.InputComputer;
+import de.mca.model.Match;
+import de.mca.model.Player;
+import de.mca.model.RuleEnforcer;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Misst ein vollständiges Match zweier Computergegner ohne Oberfläche, vom
+ * Einlesen der Decks bis zum Spielende. Die Anzahl gespielter Runden wird als
+ * Zusatzzähler ausgegeben, sodass sich aus gc.alloc.rate.norm die allokierten
+ * Bytes pro Runde ableiten lassen.
+ *
+ * Die KI sucht mit der Monte-Carlo-Suche und einer festen Anzahl an
+ * Iterationen pro Entscheidung. Mit demselben Startwert spielt jeder Aufruf
+ * dasselbe Match, die gemessene Zeit enthält die Suchzeit, hängt aber nicht
+ * über ein Zeitbudget von der Maschine ab.
+ *
+ * @author Maximilian Werling
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchBenchmark {
+
+	/**
+	 * Zählt die gespielten Runden.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Counters {
+
+		public long turns;
+
+	}
+
+	/**
+	 * Speichert die maximale Anzahl an Updates ohne Rundenwechsel.
+	 */
+	private static final int MAX_UPDATES_PER_TURN = 10000;
+
+	/**
+	 * Speichert den Dateinamen des ersten Decks.
+	 */
+	@Param({ "vanillaartifact.json" })
+	public String deckOne;
+	/**
+	 * Speichert den Dateinamen des zweiten Decks.
+	 */
+	@Param({ "vanillagreen.json" })
+	public String deckTwo;
+	/**
+	 * Speichert die Anzahl an Iterationen der Suche pro Entscheidung.
+	 */
+	@Param({ "256" })
+	public int iterationBudget;
+	/**
+	 * Speichert die maximale Anzahl an Runden.
+	 */
+	@Param({ "100" })
+	public int maxTurns;
+	/**
+	 * Speichert den Startwert der Zufallsquelle. Jeder Aufruf spielt dadurch
+	 * dasselbe Match mit denselben gemischten Bibliotheken.
+	 */
+	@Param({ "7" })
+	public long seed;
+
+	@Setup
+	public void setup() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+	}
+
+	@Benchmark
+	public IsPlayer playMatch(Counters counters) throws ResourceReadingException {
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "AI_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckOne)));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "AI_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckTwo)));
+		final Match match = new Match(ruleEnforcer, playerOne, playerTwo, seed);
+		new InputComputer(null, match, playerOne,
+				new MonteCarlo(new EvaluatorDefault(), Constants.AI_TIME_BUDGET, iterationBudget, 1));
+		new InputComputer(null, match, playerTwo,
+				new MonteCarlo(new EvaluatorDefault(), Constants.AI_TIME_BUDGET, iterationBudget, 1));
+
+		int turnNumber = match.getCurrentTurn().getTurnNumber();
+		int updates = 0;
+		while (!match.getFlagMatchFinished() && turnNumber <= maxTurns && updates < MAX_UPDATES_PER_TURN) {
+			match.update();
+			final int currentTurnNumber = match.getCurrentTurn().getTurnNumber();
+			if (currentTurnNumber != turnNumber) {
+				turnNumber = currentTurnNumber;
+				updates = 0;
+			} else {
+				updates++;
+			}
+		}
+
+		counters.turns += turnNumber;
+		return match.getPlayerWinner();
+	}
+
+}
@@ -0,0 +1,92 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.io.ResourceReadingException;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.enums.ZoneType;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Baut ein Match mit einem Spielfeld beliebiger Größe für die Benchmarks auf.
+ * Die bleibenden Karten werden reihum aus den Bibliotheken beider Spieler
+ * erzeugt, der erste Spieler ist aktiv und priorisiert und hat sieben
+ * Handkarten.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class BenchmarkBoard {
+
+	/**
+	 * Speichert den Dateinamen des verwendeten Decks.
+	 */
+	static final String DECK = "vanillagreen.json";
+	/**
+	 * Speichert den Startwert der Zufallsquelle, damit jeder Lauf dasselbe
+	 * Spielfeld misst.
+	 */
+	static final long SEED = 7;
+
+	/**
+	 * Speichert das Match.
+	 */
+	final Match match;
+	/**
+	 * Speichert den aktiven Spieler.
+	 */
+	final IsPlayer playerOne;
+	/**
+	 * Speichert den nichtaktiven Spieler.
+	 */
+	final IsPlayer playerTwo;
+	/**
+	 * Speichert den RuleEnforcer.
+	 */
+	final RuleEnforcer ruleEnforcer;
+
+	BenchmarkBoard(int permanents) throws ResourceReadingException {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+
+		ruleEnforcer = new RuleEnforcer(new EventBus());
+		playerOne = new Player(ruleEnforcer, "AI_ONE", MagicParser.parseDeckFromPath(FileManager.getDeckPath(DECK)));
+		playerTwo = new Player(ruleEnforcer, "AI_TWO", MagicParser.parseDeckFromPath(FileManager.getDeckPath(DECK)));
+		match = new Match(ruleEnforcer, playerOne, playerTwo, SEED);
+
+		for (int i = 0; i < 7; i++) {
+			final MagicCard magicCard = playerOne.getZoneLibrary().getTop();
+			playerOne.getZoneLibrary().remove(magicCard);
+			playerOne.getZoneHand().add(magicCard);
+		}
+
+		final List<MagicCard> listOne = playerOne.getZoneLibrary().getAll();
+		final List<MagicCard> listTwo = playerTwo.getZoneLibrary().getAll();
+		for (int i = 0; i < permanents; i++) {
+			final List<MagicCard> listLibrary = i % 2 == 0 ? listOne : listTwo;
+			match.addCard(listLibrary.get((i / 2) % listLibrary.size()), ZoneType.BATTLEFIELD);
+		}
+
+		playerOne.setPlayerState(PlayerState.PRIORITIZED);
+		playerTwo.setPlayerState(PlayerState.NONACTIVE);
+	}
+
+	/**
+	 * Liefert Kopien der bleibenden Karten des Spielfeldes.
+	 *
+	 * @return die Kopien in der Reihenfolge des Spielfeldes.
+	 */
+	List<MagicPermanent> copyPermanents() {
+		final List<MagicPermanent> result = new ArrayList<>();
+		for (final MagicPermanent magicPermanent : match.getZoneBattlefield().getAll()) {
+			result.add(new MagicPermanent(magicPermanent));
+		}
+		return result;
+	}
+
+}
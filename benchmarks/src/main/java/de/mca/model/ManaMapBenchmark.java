@@ -0,0 +1,85 @@
+package de.mca.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Misst die Manaprüfungen, die bei jeder Ableitung der Interaktionsstatus für
+ * jede Handkarte ausgeführt werden. ManaMapDefault und ManaMapArray werden mit
+ * denselben Werten verglichen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ManaMapBenchmark {
+
+	private static void fill(IsManaMap pool, IsManaMap cost) {
+		pool.add(ColorType.GREEN, 3);
+		pool.add(ColorType.RED, 1);
+		pool.add(ColorType.NONE, 1);
+		cost.add(ColorType.GREEN, 2);
+		cost.add(ColorType.NONE, 2);
+	}
+
+	private IsManaMap arrayCost;
+	private IsManaMap arrayPool;
+	private ManaMapArray arrayResult;
+	private IsManaMap defaultCost;
+	private IsManaMap defaultPool;
+
+	@Setup
+	public void setup() {
+		defaultPool = new ManaMapDefault();
+		defaultCost = new ManaMapDefault();
+		fill(defaultPool, defaultCost);
+		arrayPool = new ManaMapArray();
+		arrayCost = new ManaMapArray();
+		fill(arrayPool, arrayCost);
+		arrayResult = new ManaMapArray();
+	}
+
+	@Benchmark
+	public boolean arrayContains() {
+		return arrayPool.contains(arrayCost);
+	}
+
+	@Benchmark
+	public ManaMapArray arrayDifferenceInto() {
+		return ((ManaMapArray) arrayPool).difference(arrayCost, arrayResult);
+	}
+
+	@Benchmark
+	public IsManaMap arrayGetDifference() {
+		return arrayPool.getDifference(arrayCost);
+	}
+
+	@Benchmark
+	public boolean defaultContains() {
+		return defaultPool.contains(defaultCost);
+	}
+
+	@Benchmark
+	public IsManaMap defaultGetDifference() {
+		return defaultPool.getDifference(defaultCost);
+	}
+
+}
@@ -0,0 +1,93 @@
+package de.mca.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.mca.io.ResourceReadingException;
+import de.mca.model.enums.ColorType;
+
+/**
+ * Misst die Prüfungen des RuleEnforcers, die bei jeder Priorität bzw. jedem
+ * Bezahlschritt laufen, auf Spielfeldern unterschiedlicher Größe.
+ *
+ * @author Maximilian Werling
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleEnforcerBenchmark {
+
+	/**
+	 * Speichert das Spielfeld.
+	 */
+	private BenchmarkBoard board;
+	/**
+	 * Speichert das Bezahlziel für checkIsPaid().
+	 */
+	private ManaMapDefault manaCostGoal;
+	/**
+	 * Speichert die Anzahl bleibender Karten auf dem Spielfeld.
+	 */
+	@Param({ "10", "50", "200" })
+	public int permanents;
+	/**
+	 * Speichert die bleibende Karte, die bei jedem Aufruf getappt bzw. enttappt
+	 * wird.
+	 */
+	private MagicPermanent toggled;
+
+	@Setup
+	public void setup() throws ResourceReadingException {
+		board = new BenchmarkBoard(permanents);
+		toggled = board.match.getZoneBattlefield().get(0);
+
+		manaCostGoal = new ManaMapDefault();
+		manaCostGoal.add(ColorType.GREEN, 2);
+		manaCostGoal.add(ColorType.NONE, 2);
+	}
+
+	@Benchmark
+	public boolean checkIsPaid() {
+		board.playerOne.removeManaAll();
+		board.playerOne.getManaPool().add(ColorType.GREEN, 3);
+		board.playerOne.getManaPool().add(ColorType.RED, 1);
+		board.playerOne.setManaCostAlreadyPaid(new ManaMapDefault());
+		board.playerOne.setManaCostGoal(manaCostGoal);
+		return board.ruleEnforcer.checkIsPaid(board.playerOne);
+	}
+
+	/**
+	 * Ableitung ohne Änderung am Spielfeld seit dem letzten Aufruf.
+	 */
+	@Benchmark
+	public int deriveInteractionStatus() {
+		board.ruleEnforcer.i_deriveInteractionStatus(board.playerOne, "benchmark");
+		return board.playerOne.getInteractionCount();
+	}
+
+	/**
+	 * Ableitung nach dem Tappen bzw. Enttappen einer bleibenden Karte.
+	 */
+	@Benchmark
+	public int deriveInteractionStatusAfterTap() {
+		toggled.setFlagTapped(!toggled.getFlagTapped());
+		board.ruleEnforcer.i_deriveInteractionStatus(board.playerOne, "benchmark");
+		return board.playerOne.getInteractionCount();
+	}
+
+}
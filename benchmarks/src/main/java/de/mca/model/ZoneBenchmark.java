@@ -0,0 +1,91 @@
+package de.mca.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.mca.io.ResourceReadingException;
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.ObjectType;
+import de.mca.model.enums.ZoneType;
+import de.mca.model.interfaces.IsZone;
+
+/**
+ * Misst die Abfragen einer Zone für ZoneDefault und ZoneIndexed mit gleichem
+ * Inhalt.
+ *
+ * @author Maximilian Werling
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ZoneBenchmark {
+
+	/**
+	 * Speichert das Spielfeld, aus dem die Zone befüllt wird.
+	 */
+	private BenchmarkBoard board;
+	/**
+	 * Speichert die Anzahl Karten in der Zone.
+	 */
+	@Param({ "10", "50", "200" })
+	public int size;
+	/**
+	 * Speichert die Zonenimplementierung.
+	 */
+	@Param({ "default", "indexed" })
+	public String type;
+	/**
+	 * Speichert die Zone.
+	 */
+	private IsZone<MagicPermanent> zone;
+
+	@Setup
+	public void setup() throws ResourceReadingException {
+		board = new BenchmarkBoard(size);
+		zone = type.equals("indexed") ? new ZoneIndexed<>(ZoneType.BATTLEFIELD)
+				: new ZoneDefault<>(ZoneType.BATTLEFIELD);
+		zone.addAll(board.copyPermanents());
+	}
+
+	@Benchmark
+	public List<MagicPermanent> getAll() {
+		return zone.getAll();
+	}
+
+	@Benchmark
+	public List<MagicPermanent> getAllColor() {
+		return zone.getAll(ColorType.GREEN);
+	}
+
+	@Benchmark
+	public List<MagicPermanent> getAllObjectType() {
+		return zone.getAll(ObjectType.CREATURE);
+	}
+
+	@Benchmark
+	public List<MagicPermanent> getAllPlayer() {
+		return zone.getAll(board.playerOne);
+	}
+
+	@Benchmark
+	public boolean searchZoneObjectType() {
+		return zone.searchZone(ObjectType.LAND);
+	}
+
+}
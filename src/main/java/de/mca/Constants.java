@@ -14,10 +14,42 @@ import de.mca.model.MagicCard;
 public class Constants {
 
 	public static final boolean AI_ONLY = true;
+	/**
+	 * Speichert die Anzahl an Iterationen der Monte-Carlo-Suche pro
+	 * Entscheidung. Bei 0 begrenzt AI_TIME_BUDGET die Suche. Nur mit einem
+	 * Iterationsbudget spielt ein Match mit demselben Startwert immer gleich.
+	 */
+	public static final int AI_ITERATION_BUDGET = 0;
+	/**
+	 * Speichert die Anzahl an Iterationen der Monte-Carlo-Suche pro
+	 * Entscheidung in Simulationen. Damit sind simulierte Matches mit demselben
+	 * Startwert reproduzierbar.
+	 */
+	public static final int AI_ITERATION_BUDGET_SIMULATION = 256;
+	/**
+	 * Zeigt an, ob der Computer mit der Monte-Carlo-Suche statt mit Alpha-Beta
+	 * entscheidet.
+	 */
+	public static final boolean AI_MONTE_CARLO = true;
+	/**
+	 * Speichert die Anzahl an Threads der Monte-Carlo-Suche pro Entscheidung.
+	 */
+	public static final int AI_THREADS = 1;
+	/**
+	 * Speichert das Zeitbudget der Suche pro Entscheidung in Millisekunden. Gilt
+	 * für die Alpha-Beta-Suche und für die Monte-Carlo-Suche ohne
+	 * Iterationsbudget.
+	 */
+	public static final long AI_TIME_BUDGET = 5;
 	public static final double CARD_RATIO = MagicCard.CARD_WIDTH / MagicCard.CARD_HEIGHT;
 
 	public static final boolean DEBUG = true;
 	public static final int HAND_SIZE = 7;
+	/**
+	 * Speichert den Abstand zwischen zwei Updates des Matches in Millisekunden. Bei
+	 * 0 läuft das Match so schnell wie möglich.
+	 */
+	public static final long MATCH_TICK = 0;
 	public static final int THRESHOLD = 7;
 	
 	private static final String PATH_AVATAR_IMAGES = "avatarImages/";
@@ -1,7 +1,15 @@
 package de.mca;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,15 +19,18 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import de.mca.io.CardDatabase;
 import de.mca.io.FileManager;
 import de.mca.io.ResourceManager;
 import de.mca.io.ResourceReadingException;
 import de.mca.model.ActivatedAbility;
+import de.mca.model.CardPrototype;
+import de.mca.model.CardPrototype.AbilityPrototype;
 import de.mca.model.Deck;
 import de.mca.model.Effect;
 import de.mca.model.EffectProduceMana;
 import de.mca.model.MagicCard;
-import de.mca.model.ManaMapDefault;
+import de.mca.model.ManaMapArray;
 import de.mca.model.enums.AbilityType;
 import de.mca.model.enums.AdditionalCostType;
 import de.mca.model.enums.ColorType;
@@ -29,11 +40,6 @@ import de.mca.model.enums.RarityType;
 import de.mca.model.enums.SubType;
 import de.mca.model.enums.SuperType;
 import de.mca.model.interfaces.IsManaMap;
-import javafx.beans.property.SimpleListProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.ObservableMap;
-import javafx.collections.ObservableSet;
 
 /**
  *
@@ -42,10 +48,127 @@ import javafx.collections.ObservableSet;
  */
 public class MagicParser {
 
-	private static int ID = 0;
+	private static final AtomicInteger ID = new AtomicInteger();
 	private static final Logger LOGGER = LoggerFactory.getLogger("MagicParser");
+	/**
+	 * Speichert die bereits geparsten Kartenvorlagen nach dem Pfad ihrer
+	 * Kartendatei.
+	 */
+	private static final Map<Path, CardPrototype> MAP_PROTOTYPES = new ConcurrentHashMap<>();
+	/**
+	 * Speichert die binäre Kartendatenbank. Ist null, solange
+	 * loadCardDatabase() nicht aufgerufen wurde; die Karten werden dann aus den
+	 * JSON-Dateien gelesen.
+	 */
+	private static volatile CardDatabase cardDatabase = null;
 
+	/**
+	 * Blendet die binäre Kartendatenbank ein. Ist sie älter als eine der
+	 * Kartendateien oder fehlt sie, wird sie zuvor aus den JSON-Dateien erzeugt.
+	 * Schlägt das fehl, werden die Karten weiterhin einzeln aus den JSON-Dateien
+	 * gelesen. FileManager.loadCardData() muss vorher aufgerufen worden sein.
+	 */
+	public static void loadCardDatabase() {
+		final Path databasePath = FileManager.getCardDatabasePath();
+		final List<Path> listCardPaths = FileManager.getCardPaths();
+		try {
+			if (!CardDatabase.isCurrent(databasePath, listCardPaths)) {
+				LOGGER.info("Compiling card database from {} card files", listCardPaths.size());
+				final List<CardPrototype> listPrototypes = new ArrayList<>(listCardPaths.size());
+				for (final Path cardPath : listCardPaths) {
+					try {
+						listPrototypes.add(parsePrototypeFromPath(cardPath));
+					} catch (final RuntimeException e) {
+						LOGGER.warn("Card file skipped: {} ({})", cardPath, e.getMessage());
+					}
+				}
+				CardDatabase.write(databasePath, listCardPaths.size(), listPrototypes);
+			}
+			cardDatabase = CardDatabase.open(databasePath);
+		} catch (final RuntimeException e) {
+			LOGGER.warn("Card database unavailable, falling back to card files: {}", e.getMessage());
+			cardDatabase = null;
+		}
+	}
+
+	/**
+	 * Liefert ein neues Exemplar der Karte. Die Kartendatei wird nur beim ersten
+	 * Aufruf für einen Pfad gelesen, danach wird die zwischengespeicherte Vorlage
+	 * verwendet.
+	 *
+	 * @param cardPath
+	 *            der Pfad der Kartendatei.
+	 * @return ein neues Exemplar mit eigener Id.
+	 * @throws ResourceReadingException
+	 *             wenn die Kartendatei nicht gelesen werden kann.
+	 */
 	public static MagicCard parseCardFromPath(Path cardPath) throws ResourceReadingException {
+		return parsePrototypeFromPath(cardPath).instantiate(ID.getAndIncrement());
+	}
+
+	public static Deck parseDeckFromPath(Path deckPath) throws ResourceReadingException {
+		final JsonObject deckObject = new JsonParser().parse(ResourceManager.readFromPath(deckPath)).getAsJsonObject();
+		final String deckName = deckObject.get("name").getAsString();
+		final String deckDescription = deckObject.get("description").getAsString();
+		final JsonArray deckCards = deckObject.get("cards").getAsJsonArray();
+		final List<MagicCard> cardList = new ArrayList<>();
+		for (int i = 0; i < deckCards.size(); i++) {
+			final JsonObject cardObject = deckCards.get(i).getAsJsonObject();
+			final String cardName = cardObject.get("name").getAsString();
+			final int cardCount = cardObject.get("count").getAsInt();
+			final CardPrototype prototype = parsePrototypeFromPath(FileManager.getCardPath(cardName));
+			for (int j = 0; j < cardCount; j++) {
+				final MagicCard card = prototype.instantiate(ID.getAndIncrement());
+				cardList.add(card);
+				LOGGER.trace("Card parsed: {}", card.toString());
+			}
+		}
+		final Deck deck = new Deck(deckName, deckDescription, cardList);
+		LOGGER.trace("Deck parsed: {}", deck.toString());
+		return deck;
+	}
+
+	public static Effect parseEffect(ActivatedAbility source, JsonObject effectObject) {
+		switch (EffectType.valueOf(effectObject.get("effecttype").getAsString())) {
+		case PRODUCE_MANA:
+			final JsonArray produceArray = effectObject.get("produce").getAsJsonArray();
+			final Map<ColorType, Integer> tempMap = new HashMap<>();
+			for (int i = 0; i < produceArray.size(); i++) {
+				final JsonObject costObject = produceArray.get(i).getAsJsonObject();
+				final ColorType manaColor = ColorType.valueOf(costObject.get("color").getAsString());
+				final int howMuch = costObject.get("value").getAsInt();
+				tempMap.put(manaColor, howMuch);
+			}
+
+			return new EffectProduceMana(source, new ManaMapArray(tempMap));
+		}
+		return null;
+	}
+
+	/**
+	 * Liefert die Vorlage einer Karte. Die Kartendatei wird nur geparst, wenn für
+	 * den Pfad noch keine Vorlage zwischengespeichert ist.
+	 *
+	 * @param cardPath
+	 *            der Pfad der Kartendatei.
+	 * @return die Vorlage.
+	 * @throws ResourceReadingException
+	 *             wenn die Kartendatei nicht gelesen werden kann.
+	 */
+	public static CardPrototype parsePrototypeFromPath(Path cardPath) throws ResourceReadingException {
+		final CardPrototype cached = MAP_PROTOTYPES.get(cardPath);
+		if (cached != null) {
+			return cached;
+		}
+
+		final String fileName = cardPath.getFileName().toString().split("[.]")[0];
+		final CardDatabase database = cardDatabase;
+		if (database != null && database.contains(fileName)) {
+			final CardPrototype prototype = database.get(fileName);
+			MAP_PROTOTYPES.put(cardPath, prototype);
+			return prototype;
+		}
+
 		final JsonObject cardObject = new JsonParser().parse(ResourceManager.readFromPath(cardPath)).getAsJsonObject();
 		final JsonElement elementColors = cardObject.get("colors");
 		final JsonElement elementSupertypes = cardObject.get("supertypes");
@@ -56,70 +179,54 @@ public class MagicParser {
 		final JsonElement elementToughness = cardObject.get("toughness");
 		final JsonElement elementAbilities = cardObject.get("abilities");
 
-		// card
-		final MagicCard card = new MagicCard(ID++);
-
 		// parse display name
 		final String displayName = cardObject.get("displayName").getAsString();
-		card.setDisplayName(displayName);
-		card.setFileName(cardPath.getFileName().toString().split("[.]")[0]);
 
 		// parse rarity
 		final RarityType rarity = RarityType.valueOf(cardObject.get("rarity").getAsString());
-		card.setRarity(rarity);
 
 		// parse power
-		if (elementPower != null) {
-			final int power = cardObject.get("power").getAsInt();
-			card.setPower(power);
-		}
+		final int power = elementPower != null ? elementPower.getAsInt() : 0;
 
 		// parse toughness
-		if (elementToughness != null) {
-			final int toughness = cardObject.get("toughness").getAsInt();
-			card.setToughness(toughness);
-		}
+		final int toughness = elementToughness != null ? elementToughness.getAsInt() : 0;
 
 		// parse colors
+		Set<ColorType> setColorTypes = EnumSet.noneOf(ColorType.class);
 		if (elementColors != null) {
-			final ObservableSet<ColorType> setColorTypes = FXCollections.observableSet();
 			final JsonArray cardColors = elementColors.getAsJsonArray();
 			for (int i = 0; i < cardColors.size(); i++) {
 				setColorTypes.add(ColorType.valueOf(cardColors.get(i).getAsJsonObject().get("color").getAsString()));
 			}
-			card.setSetColorTypes(setColorTypes);
 		}
 
 		// parse types
+		final Set<SuperType> setSuperTypes = EnumSet.noneOf(SuperType.class);
 		if (elementSupertypes != null) {
-			final ObservableSet<SuperType> setSuperTypes = FXCollections.observableSet();
 			final JsonArray cardSupertypes = elementSupertypes.getAsJsonArray();
 			for (int i = 0; i < cardSupertypes.size(); i++) {
 				setSuperTypes
 						.add(SuperType.valueOf(cardSupertypes.get(i).getAsJsonObject().get("supertype").getAsString()));
 			}
-			card.setSetSuperTypes(setSuperTypes);
 		}
-		final ObservableSet<ObjectType> setObjectTypes = FXCollections.observableSet();
+		final Set<ObjectType> setObjectTypes = EnumSet.noneOf(ObjectType.class);
 		for (int i = 0; i < cardCoretypes.size(); i++) {
 			setObjectTypes
 					.add(ObjectType.valueOf(cardCoretypes.get(i).getAsJsonObject().get("coretype").getAsString()));
 		}
-		card.setSetObjectTypes(setObjectTypes);
+		final Set<SubType> setSubTypes = EnumSet.noneOf(SubType.class);
 		if (elementSubtypes != null) {
-			final ObservableSet<SubType> setSubTypes = FXCollections.observableSet();
 			final JsonArray cardSubtypes = elementSubtypes.getAsJsonArray();
 			for (int i = 0; i < cardSubtypes.size(); i++) {
 				setSubTypes.add(SubType.valueOf(cardSubtypes.get(i).getAsJsonObject().get("subtype").getAsString()));
 			}
-			card.setSetSubTypes(setSubTypes);
 		}
 
 		// parse cost and color
+		final List<IsManaMap> costMaps = new ArrayList<>();
 		if (elementCost != null) {
-			final ObservableList<IsManaMap> costMaps = FXCollections.observableArrayList();
-			final ObservableSet<ColorType> color = FXCollections.observableSet();
-			final ObservableMap<ColorType, Integer> costMap = FXCollections.observableHashMap();
+			final Set<ColorType> color = EnumSet.noneOf(ColorType.class);
+			final Map<ColorType, Integer> costMap = new EnumMap<>(ColorType.class);
 			final JsonArray cardCost = elementCost.getAsJsonArray();
 			for (int i = 0; i < cardCost.size(); i++) {
 				final JsonArray cardCostMap = cardCost.get(i).getAsJsonArray();
@@ -132,70 +239,33 @@ public class MagicParser {
 						color.add(manaColor);
 					}
 				}
-				costMaps.add(new ManaMapDefault(costMap));
+				costMaps.add(new ManaMapArray(costMap));
 			}
-			card.setListCostMaps(costMaps);
-			card.setSetColorTypes(color);
+			setColorTypes = color;
 		} else {
 			// Füge leere CostMap hinzu
-			card.setListCostMaps(FXCollections.observableArrayList(new ManaMapDefault()));
+			costMaps.add(new ManaMapArray());
 		}
 
 		// parse abilities
+		final List<AbilityPrototype> listAbilities = new ArrayList<>();
 		if (elementAbilities != null) {
-			final ObservableList<ActivatedAbility> listAbilities = FXCollections.observableArrayList();
 			final JsonArray cardAbilities = elementAbilities.getAsJsonArray();
 			for (int i = 0; i < cardAbilities.size(); i++) {
-				listAbilities.add(parseAbility(card, cardAbilities.get(i).getAsJsonObject()));
+				listAbilities.add(parseAbility(cardAbilities.get(i).getAsJsonObject()));
 			}
-			card.setListActivatedAbilities(listAbilities);
 		}
-		return card;
-	}
 
-	public static Deck parseDeckFromPath(Path deckPath) throws ResourceReadingException {
-		final JsonObject deckObject = new JsonParser().parse(ResourceManager.readFromPath(deckPath)).getAsJsonObject();
-		final String deckName = deckObject.get("name").getAsString();
-		final String deckDescription = deckObject.get("description").getAsString();
-		final JsonArray deckCards = deckObject.get("cards").getAsJsonArray();
-		final ObservableList<MagicCard> cardList = FXCollections.observableArrayList();
-		for (int i = 0; i < deckCards.size(); i++) {
-			final JsonObject cardObject = deckCards.get(i).getAsJsonObject();
-			final String cardName = cardObject.get("name").getAsString();
-			final int cardCount = cardObject.get("count").getAsInt();
-			FileManager.loadCardImages(cardName);
-			for (int j = 0; j < cardCount; j++) {
-				final MagicCard card = parseCardFromPath(FileManager.getCardPath(cardName));
-				cardList.add(card);
-				LOGGER.trace("Card parsed: {}", card.toString());
-			}
-		}
-		final Deck deck = new Deck(deckName, deckDescription, cardList);
-		LOGGER.trace("Deck parsed: {}", deck.toString());
-		return deck;
-	}
-
-	public static Effect parseEffect(ActivatedAbility source, JsonObject effectObject) {
-		switch (EffectType.valueOf(effectObject.get("effecttype").getAsString())) {
-		case PRODUCE_MANA:
-			final JsonArray produceArray = effectObject.get("produce").getAsJsonArray();
-			final ObservableMap<ColorType, Integer> tempMap = FXCollections.observableMap(new HashMap<>());
-			for (int i = 0; i < produceArray.size(); i++) {
-				final JsonObject costObject = produceArray.get(i).getAsJsonObject();
-				final ColorType manaColor = ColorType.valueOf(costObject.get("color").getAsString());
-				final int howMuch = costObject.get("value").getAsInt();
-				tempMap.put(manaColor, howMuch);
-			}
-
-			return new EffectProduceMana(source, new ManaMapDefault(tempMap));
-		}
-		return null;
+		final CardPrototype prototype = new CardPrototype(displayName, fileName, rarity, power, toughness,
+				setColorTypes, setObjectTypes, setSubTypes, setSuperTypes, costMaps, listAbilities);
+		MAP_PROTOTYPES.put(cardPath, prototype);
+		LOGGER.trace("Prototype parsed: {}", prototype);
+		return prototype;
 	}
 
 	// TODO HIGH Karten überprüfen, Abilities haben auch CostMaps
-	private static ActivatedAbility parseAbility(MagicCard card, JsonObject abilityObject) {
+	private static AbilityPrototype parseAbility(JsonObject abilityObject) {
 		final AbilityType abilityType = AbilityType.valueOf(abilityObject.get("abilitytype").getAsString());
-		final ObservableList<IsManaMap> listCostMaps = new SimpleListProperty<>(FXCollections.emptyObservableList());
 		final JsonElement additionalCostElement = abilityObject.get("additionalcost");
 		AdditionalCostType additionalCostType = AdditionalCostType.NO_ADDITIONAL_COST;
 		if (additionalCostElement != null) {
@@ -203,7 +273,7 @@ public class MagicParser {
 		}
 		final JsonArray effectArray = abilityObject.get("effects").getAsJsonArray();
 
-		return new ActivatedAbility(card, abilityType, additionalCostType, effectArray, listCostMaps);
+		return new AbilityPrototype(abilityType, additionalCostType, effectArray);
 	}
 
 }
@@ -9,6 +9,7 @@ import de.mca.io.FileManager;
 import de.mca.io.ResourceManager;
 import de.mca.presenter.IsStackableScreen;
 import de.mca.presenter.MainView;
+import de.mca.presenter.MatchPresenter;
 import de.mca.presenter.MatchView;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -83,6 +84,7 @@ public class Main extends Application {
 		ResourceManager.loadResourceFile();
 		FileManager.loadDeckData();
 		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
 		FileManager.loadAvatarImages();
 
 		launch(args);
@@ -134,6 +136,8 @@ public class Main extends Application {
 
 	@Override
 	public void stop() throws Exception {
+		// Beende ein laufendes Match, damit sein Protokoll vollständig geschrieben wird
+		((MatchPresenter) screens.get("match").getPresenter()).stopMatch();
 		Injector.forgetAll();
 		// TODO LOW Auskommentiert lassen, verhindert Fehleranzeige
 		// System.exit(0);
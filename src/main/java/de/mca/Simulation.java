@@ -0,0 +1,213 @@
+package de.mca;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.io.FileManager;
+import de.mca.io.MatchJournal;
+import de.mca.io.ResourceReadingException;
+import de.mca.model.InputComputer;
+import de.mca.model.Match;
+import de.mca.model.Player;
+import de.mca.model.RuleEnforcer;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Kommandozeilen-Einstiegspunkt für Massensimulationen zweier Decks
+ * gegeneinander. Jedes Match läuft mit eigenem RuleEnforcer und zwei
+ * InputComputer ohne Oberfläche und ohne Bildtaktung auf einem ForkJoinPool.
+ *
+ * Aufruf: <code>Simulation deckOne.json deckTwo.json matchCount [maxTurns]
+ * [threads] [seed] [journalDirectory]</code>. Aus dem Startwert wird vorab für
+ * jedes Match ein eigener Startwert gezogen. Die Monte-Carlo-Suche ist durch
+ * Constants.AI_ITERATION_BUDGET_SIMULATION statt durch Zeit begrenzt, sodass
+ * ein Lauf mit demselben Startwert unabhängig von der Anzahl der Threads
+ * dieselben Matches spielt. Mit der Alpha-Beta-Suche, die nur ein Zeitbudget
+ * kennt, werden lediglich dieselben Bibliotheken gemischt. Ist ein Verzeichnis
+ * angegeben, wird für jedes Match ein MatchJournal darin abgelegt.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class Simulation {
+
+	/**
+	 * Ergebnis eines einzelnen simulierten Matches.
+	 *
+	 * @author Maximilian Werling
+	 *
+	 */
+	private static class Result {
+
+		/**
+		 * Speichert die Anzahl gespielter Runden.
+		 */
+		private final int turns;
+		/**
+		 * Speichert den Gewinner: 1 für das erste Deck, 2 für das zweite Deck,
+		 * 0 für ein Unentschieden oder ein abgebrochenes Match.
+		 */
+		private final int winner;
+
+		private Result(int winner, int turns) {
+			this.winner = winner;
+			this.turns = turns;
+		}
+
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Simulation");
+	/**
+	 * Speichert die Standardanzahl an Runden, nach der ein Match als
+	 * Unentschieden abgebrochen wird.
+	 */
+	private static final int MAX_TURNS = 100;
+	/**
+	 * Speichert die maximale Anzahl an Updates pro Runde. Wird sie
+	 * überschritten, hängt das Match fest und wird als Unentschieden gewertet.
+	 */
+	private static final int MAX_UPDATES_PER_TURN = 10000;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println(
+					"Usage: Simulation <deckOne.json> <deckTwo.json> <matchCount> [maxTurns] [threads] [seed] [journalDirectory]");
+			System.exit(1);
+		}
+
+		final String deckOne = args[0];
+		final String deckTwo = args[1];
+		final int matchCount = Integer.parseInt(args[2]);
+		final int maxTurns = args.length > 3 ? Integer.parseInt(args[3]) : MAX_TURNS;
+		final int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		final long seed = args.length > 5 ? Long.parseLong(args[5]) : ThreadLocalRandom.current().nextLong();
+		final Path journalDirectory = args.length > 6 ? Paths.get(args[6]) : null;
+
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		final List<ForkJoinTask<Result>> listTasks = new ArrayList<>(matchCount);
+
+		final SplittableRandom seeds = new SplittableRandom(seed);
+		final long start = System.nanoTime();
+		for (int i = 0; i < matchCount; i++) {
+			final long matchSeed = seeds.nextLong();
+			final Path journalPath = journalDirectory != null ? journalDirectory.resolve("match-" + i + ".mcj")
+					: null;
+			listTasks.add(pool.submit(() -> simulateMatch(deckOne, deckTwo, maxTurns, matchSeed, journalPath)));
+		}
+
+		int winsOne = 0;
+		int winsTwo = 0;
+		int draws = 0;
+		long turns = 0;
+		for (final ForkJoinTask<Result> task : listTasks) {
+			final Result result = task.join();
+			if (result.winner == 1) {
+				winsOne++;
+			} else if (result.winner == 2) {
+				winsTwo++;
+			} else {
+				draws++;
+			}
+			turns += result.turns;
+		}
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		pool.shutdown();
+
+		System.out.println(String.format("%d matches on %d threads in %.2f s (%.1f matches/s)", matchCount, threads,
+				seconds, matchCount / seconds));
+		System.out.println(String.format("%-30s %d", "seed", seed));
+		System.out.println(String.format("%-30s %6d wins (%5.1f %%)", deckOne, winsOne, 100.0 * winsOne / matchCount));
+		System.out.println(String.format("%-30s %6d wins (%5.1f %%)", deckTwo, winsTwo, 100.0 * winsTwo / matchCount));
+		System.out.println(String.format("%-30s %6d (%5.1f %%)", "draws", draws, 100.0 * draws / matchCount));
+		System.out.println(String.format("%-30s %6.1f", "average turns", (double) turns / matchCount));
+	}
+
+	/**
+	 * Spielt ein vollständiges Match zweier Computergegner ohne Bildtaktung.
+	 * Das Match wird abgebrochen, wenn die maximale Rundenzahl erreicht ist
+	 * oder es innerhalb einer Runde festhängt.
+	 *
+	 * @param deckOne
+	 *            der Dateiname des ersten Decks.
+	 * @param deckTwo
+	 *            der Dateiname des zweiten Decks.
+	 * @param maxTurns
+	 *            die maximale Anzahl an Runden.
+	 * @param seed
+	 *            der Startwert der Zufallsquelle des Matches.
+	 * @param journalPath
+	 *            der Pfad des Protokolls oder null, wenn keines geschrieben wird.
+	 * @return das Ergebnis des Matches.
+	 * @throws ResourceReadingException
+	 *             wenn ein Deck nicht gelesen werden kann.
+	 */
+	private static Result simulateMatch(String deckOne, String deckTwo, int maxTurns, long seed,
+			Path journalPath) throws ResourceReadingException {
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "AI_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckOne)));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "AI_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckTwo)));
+		final Match match = new Match(ruleEnforcer, playerOne, playerTwo, seed);
+		new InputComputer(null, match, playerOne,
+				InputComputer.createSearch(Constants.AI_ITERATION_BUDGET_SIMULATION));
+		new InputComputer(null, match, playerTwo,
+				InputComputer.createSearch(Constants.AI_ITERATION_BUDGET_SIMULATION));
+
+		try (MatchJournal journal = journalPath != null ? MatchJournal.create(journalPath, deckOne, deckTwo, seed)
+				: null) {
+			ruleEnforcer.setJournal(journal);
+			return playMatch(match, maxTurns);
+		}
+	}
+
+	/**
+	 * Führt Updates aus, bis das Match beendet, die maximale Rundenzahl erreicht
+	 * oder das Match innerhalb einer Runde festhängt.
+	 */
+	private static Result playMatch(Match match, int maxTurns) {
+		final IsPlayer playerOne = match.getPlayerOne();
+		final IsPlayer playerTwo = match.getPlayerTwo();
+		int turnNumber = match.getCurrentTurn().getTurnNumber();
+		int updates = 0;
+		while (!match.getFlagMatchFinished() && turnNumber <= maxTurns && updates < MAX_UPDATES_PER_TURN) {
+			final int count = match.advanceToNextDecision();
+			final int currentTurnNumber = match.getCurrentTurn().getTurnNumber();
+			if (currentTurnNumber != turnNumber) {
+				turnNumber = currentTurnNumber;
+				updates = 0;
+			} else {
+				updates += count;
+			}
+		}
+
+		if (!match.getFlagMatchFinished()) {
+			LOGGER.debug("Match aborted in turn {} after {} updates", turnNumber, updates);
+			return new Result(0, turnNumber);
+		}
+
+		final IsPlayer winner = match.getPlayerWinner();
+		if (playerOne.equals(winner)) {
+			return new Result(1, turnNumber);
+		} else if (playerTwo.equals(winner)) {
+			return new Result(2, turnNumber);
+		}
+		return new Result(0, turnNumber);
+	}
+
+}
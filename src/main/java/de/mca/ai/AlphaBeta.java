@@ -0,0 +1,208 @@
+package de.mca.ai;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sucht den besten Zug mittels Alpha-Beta-Suche mit iterativer Vertiefung.
+ * Jede Entscheidung ist durch ein Zeitbudget begrenzt, es wird der beste Zug
+ * der tiefsten vollständig durchsuchten Ebene geliefert. Die Blätter werden
+ * durch einen austauschbaren IsEvaluator bewertet.
+ *
+ * Bewertete Stellungen werden in einer Transpositionstabelle abgelegt, die
+ * sich alle Instanzen teilen. Stellungen, die über verschiedene Zugfolgen
+ * erreicht werden, werden so nur einmal durchsucht, und der beste Zug der
+ * vorigen Iteration wird zuerst versucht.
+ *
+ * Eine Instanz ist nicht threadsicher, jeder Spieler nutzt eine eigene. Da
+ * das Zeitbudget die Suchtiefe bestimmt und die Tabelle geteilt wird, ist das
+ * Ergebnis nicht reproduzierbar. Die Suche verwendet keinen Zufall.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class AlphaBeta implements IsSearch {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("AlphaBeta");
+	/**
+	 * Speichert die maximale Suchtiefe.
+	 */
+	private static final int MAX_DEPTH = 64;
+	/**
+	 * Speichert die gemeinsame Transpositionstabelle mit 2^20 Einträgen.
+	 */
+	private static final TranspositionTable TABLE = new TranspositionTable(20);
+
+	/**
+	 * Speichert den Zeitpunkt, an dem die Suche abgebrochen wird.
+	 */
+	private long deadline;
+	/**
+	 * Speichert die Bewertungsfunktion.
+	 */
+	private final IsEvaluator evaluator;
+	/**
+	 * Zeigt an, ob in der aktuellen Iteration die Suchtiefe ein Blatt
+	 * abgeschnitten hat. Ist das nicht der Fall, ist der Baum vollständig
+	 * durchsucht.
+	 */
+	private boolean flagDepthReached;
+	/**
+	 * Zeigt an, ob das Zeitbudget aufgebraucht ist.
+	 */
+	private boolean flagTimeout;
+	/**
+	 * Speichert die Anzahl besuchter Knoten.
+	 */
+	private int nodeCount;
+	/**
+	 * Speichert das Zeitbudget pro Entscheidung in Millisekunden.
+	 */
+	private final long timeBudget;
+
+	public AlphaBeta(IsEvaluator evaluator, long timeBudget) {
+		this.evaluator = evaluator;
+		this.timeBudget = timeBudget;
+	}
+
+	@Override
+	public SearchMove search(SearchState root, SplittableRandom random) {
+		final List<SearchMove> listMoves = root.generateMoves();
+		if (listMoves.size() == 1) {
+			return listMoves.get(0);
+		}
+
+		deadline = System.nanoTime() + timeBudget * 1000000L;
+		flagTimeout = false;
+		nodeCount = 0;
+
+		SearchMove bestMove = listMoves.get(0);
+		int depth = 1;
+		for (; depth <= MAX_DEPTH; depth++) {
+			flagDepthReached = false;
+
+			SearchMove bestMoveDepth = null;
+			double alpha = Double.NEGATIVE_INFINITY;
+			for (final SearchMove move : listMoves) {
+				final double value = alphaBeta(root.apply(move), depth - 1, alpha, Double.POSITIVE_INFINITY,
+						root.getSide());
+				if (flagTimeout) {
+					break;
+				}
+				if (bestMoveDepth == null || value > alpha) {
+					alpha = value;
+					bestMoveDepth = move;
+				}
+			}
+
+			if (flagTimeout) {
+				// Unvollständige Iteration wird verworfen.
+				break;
+			}
+
+			// Bester Zug wird in der nächsten Iteration zuerst durchsucht.
+			bestMove = bestMoveDepth;
+			listMoves.remove(bestMove);
+			listMoves.add(0, bestMove);
+
+			if (!flagDepthReached) {
+				// Baum vollständig durchsucht.
+				break;
+			}
+		}
+
+		LOGGER.debug("{} search({}) -> {} (depth {}, {} nodes)", this, root, bestMove, depth, nodeCount);
+		return bestMove;
+	}
+
+	@Override
+	public String toString() {
+		return "[AlphaBeta " + timeBudget + "ms]";
+	}
+
+	private double alphaBeta(SearchState state, int depth, double alpha, double beta, int side) {
+		if ((++nodeCount & 0xFF) == 0 && System.nanoTime() > deadline) {
+			flagTimeout = true;
+		}
+		if (flagTimeout) {
+			return 0.0;
+		}
+
+		if (state.isTerminal()) {
+			return evaluator.evaluate(state, side);
+		}
+		if (depth <= 0) {
+			flagDepthReached = true;
+			return evaluator.evaluate(state, side);
+		}
+
+		// Die Bewertung hängt von der Seite ab, aus deren Sicht gesucht wird.
+		final long hash = state.getHash() ^ Zobrist.key(0, side);
+		final long entry = TABLE.probe(hash);
+		final List<SearchMove> listMoves = state.generateMoves();
+		int moveFirst = 0;
+		if (entry != TranspositionTable.NO_ENTRY) {
+			final int entryDepth = TranspositionTable.getDepth(entry);
+			if (entryDepth >= depth) {
+				final double value = TranspositionTable.getValue(entry);
+				final int bound = TranspositionTable.getBound(entry);
+				if (bound == TranspositionTable.BOUND_EXACT
+						|| (bound == TranspositionTable.BOUND_LOWER && value >= beta)
+						|| (bound == TranspositionTable.BOUND_UPPER && value <= alpha)) {
+					flagDepthReached |= entryDepth != TranspositionTable.DEPTH_COMPLETE;
+					return value;
+				}
+			}
+
+			final int move = TranspositionTable.getMove(entry);
+			if (move > 0 && move < listMoves.size()) {
+				moveFirst = move;
+			}
+		}
+
+		// Merkt sich, ob dieser Teilbaum durch die Suchtiefe beschnitten wurde.
+		final boolean flagDepthReachedBefore = flagDepthReached;
+		flagDepthReached = false;
+
+		final double alphaBefore = alpha;
+		final double betaBefore = beta;
+		final boolean flagMaximizing = state.getSide() == side;
+		int bestMove = -1;
+		double value = flagMaximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		for (int i = 0; i < listMoves.size(); i++) {
+			// Der beste Zug aus der Tabelle wird zuerst versucht.
+			final int move = i == 0 ? moveFirst : i <= moveFirst ? i - 1 : i;
+			final double valueMove = alphaBeta(state.apply(listMoves.get(move)), depth - 1, alpha, beta, side);
+			if (flagMaximizing) {
+				if (valueMove > value) {
+					value = valueMove;
+					bestMove = move;
+				}
+				alpha = Math.max(alpha, value);
+			} else {
+				if (valueMove < value) {
+					value = valueMove;
+					bestMove = move;
+				}
+				beta = Math.min(beta, value);
+			}
+			if (alpha >= beta) {
+				break;
+			}
+		}
+
+		final boolean flagComplete = !flagDepthReached;
+		flagDepthReached |= flagDepthReachedBefore;
+		if (!flagTimeout) {
+			final int bound = value <= alphaBefore ? TranspositionTable.BOUND_UPPER
+					: value >= betaBefore ? TranspositionTable.BOUND_LOWER : TranspositionTable.BOUND_EXACT;
+			TABLE.store(hash, value, flagComplete ? TranspositionTable.DEPTH_COMPLETE : depth, bound,
+					bestMove);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,32 @@
+package de.mca.ai;
+
+/**
+ * Standardbewertung entsprechend Match.evaluate(): Lebenspunkte plus Anzahl
+ * bleibender Karten, ins Verhältnis zum Gegner gesetzt. Ein verlorenes bzw.
+ * gewonnenes Spiel wird mit -/+ WIN bewertet.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class EvaluatorDefault implements IsEvaluator {
+
+	/**
+	 * Speichert die Bewertung eines gewonnenen Spiels.
+	 */
+	public static final double WIN = 1000.0;
+
+	@Override
+	public double evaluate(SearchState state, int side) {
+		final int opponent = 1 - side;
+		if (state.getLife(side) < 1) {
+			return -WIN;
+		} else if (state.getLife(opponent) < 1) {
+			return WIN;
+		}
+
+		final double resultSide = state.getLife(side) + state.getBattlefieldSize(side);
+		final double resultOpponent = state.getLife(opponent) + state.getBattlefieldSize(opponent);
+		return resultSide / resultOpponent;
+	}
+
+}
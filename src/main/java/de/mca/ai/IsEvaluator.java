@@ -0,0 +1,23 @@
+package de.mca.ai;
+
+/**
+ * Bewertet die Blätter des Suchbaums.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public interface IsEvaluator {
+
+	/**
+	 * Bewertet einen Spielzustand aus Sicht einer Seite. Größere Werte sind für
+	 * die Seite besser.
+	 *
+	 * @param state
+	 *            der Spielzustand.
+	 * @param side
+	 *            die Seite, aus deren Sicht bewertet wird (0 oder 1).
+	 * @return die Bewertung.
+	 */
+	public double evaluate(SearchState state, int side);
+
+}
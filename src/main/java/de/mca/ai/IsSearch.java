@@ -0,0 +1,24 @@
+package de.mca.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Wählt an einem Wurzelzustand einen Zug aus.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public interface IsSearch {
+
+	/**
+	 * Sucht den besten Zug für die Seite, die im Wurzelzustand am Zug ist.
+	 *
+	 * @param root
+	 *            der Wurzelzustand, erzeugt durch SearchState.of().
+	 * @param random
+	 *            die Zufallsquelle der Suche, siehe Match.splitRandomSearch().
+	 * @return der beste gefundene Zug.
+	 */
+	public SearchMove search(SearchState root, SplittableRandom random);
+
+}
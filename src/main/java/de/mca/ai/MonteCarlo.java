@@ -0,0 +1,326 @@
+package de.mca.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sucht den besten Zug mittels determinisierter Monte-Carlo-Baumsuche. Da die
+ * Hand des Gegners und die Bibliotheken verdeckt sind, wird wiederholt eine
+ * mögliche Belegung der verdeckten Karten gezogen (SearchState.determinize())
+ * und darauf ein UCT-Baum mit zufälligen Playouts aufgebaut. Die Besuche der
+ * Züge an der Wurzel werden über alle Belegungen summiert, gewählt wird der
+ * meistbesuchte Zug.
+ *
+ * Die Suche ist durch ein Zeitbudget oder durch eine Anzahl an Iterationen
+ * begrenzt. Mit mehr als einem Thread laufen weitere Suchen auf einem
+ * gemeinsamen Pool, jede mit eigenen Belegungen und eigener, von der
+ * übergebenen Zufallsquelle abgespaltener Zufallsquelle. Eine Instanz kann von
+ * mehreren Spielern gleichzeitig verwendet werden.
+ *
+ * Nur mit einem Iterationsbudget ist die Suche reproduzierbar: Dann gilt das
+ * Zeitbudget nicht, jeder Thread führt einen festen Anteil der Iterationen aus
+ * und dieselbe Zufallsquelle ergibt denselben Zug. Mit Zeitbudget hängt das
+ * Ergebnis von der Geschwindigkeit der Maschine ab.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MonteCarlo implements IsSearch {
+
+	/**
+	 * Knoten des Suchbaums einer Belegung.
+	 */
+	private static final class Node {
+
+		/**
+		 * Speichert die Kindknoten in der Reihenfolge der Züge, null für noch nicht
+		 * erkundete Züge.
+		 */
+		private final Node[] children;
+		/**
+		 * Speichert die Anzahl erkundeter Züge. Züge werden der Reihe nach erkundet.
+		 */
+		private int expanded;
+		/**
+		 * Speichert die Züge aus diesem Zustand.
+		 */
+		private final List<SearchMove> listMoves;
+		/**
+		 * Speichert die Summe der Ergebnisse aus Sicht der Seite, die in diesen
+		 * Knoten gezogen hat.
+		 */
+		private double reward;
+		private final SearchState state;
+		private int visits;
+
+		private Node(SearchState state) {
+			this.state = state;
+			listMoves = state.isTerminal() ? null : state.generateMoves();
+			children = listMoves != null ? new Node[listMoves.size()] : null;
+		}
+
+	}
+
+	/**
+	 * Speichert den gemeinsamen Pool für zusätzliche Suchthreads.
+	 */
+	private static final ExecutorService EXECUTOR = Executors
+			.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				final Thread thread = new Thread(runnable, "MonteCarlo");
+				thread.setDaemon(true);
+				return thread;
+			});
+	/**
+	 * Speichert den Explorationsfaktor der UCT-Auswahl.
+	 */
+	private static final double EXPLORATION = Math.sqrt(2.0);
+	/**
+	 * Speichert die Anzahl an Iterationen, die auf einer Belegung ausgeführt
+	 * werden, bevor eine neue gezogen wird.
+	 */
+	private static final int ITERATIONS_PER_DETERMINIZATION = 32;
+	private static final Logger LOGGER = LoggerFactory.getLogger("MonteCarlo");
+	/**
+	 * Speichert die maximale Länge eines Playouts in Zügen.
+	 */
+	private static final int MAX_PLAYOUT_MOVES = 512;
+	/**
+	 * Speichert, wie selten ein Playout passt, wenn andere Züge möglich sind: mit
+	 * Wahrscheinlichkeit 1/PASS_ODDS.
+	 */
+	private static final int PASS_ODDS = 4;
+
+	/**
+	 * Speichert die Bewertungsfunktion für Playouts, die am Suchhorizont enden.
+	 */
+	private final IsEvaluator evaluator;
+	/**
+	 * Speichert die Anzahl an Iterationen pro Entscheidung, 0 für eine Suche mit
+	 * Zeitbudget.
+	 */
+	private final int iterationBudget;
+	/**
+	 * Speichert die Anzahl an Threads pro Entscheidung.
+	 */
+	private final int threads;
+	/**
+	 * Speichert das Zeitbudget pro Entscheidung in Millisekunden. Gilt nur ohne
+	 * Iterationsbudget.
+	 */
+	private final long timeBudget;
+
+	public MonteCarlo(IsEvaluator evaluator, long timeBudget, int iterationBudget, int threads) {
+		this.evaluator = evaluator;
+		this.timeBudget = timeBudget;
+		this.iterationBudget = iterationBudget;
+		this.threads = Math.max(1, threads);
+	}
+
+	@Override
+	public SearchMove search(SearchState root, SplittableRandom random) {
+		final List<SearchMove> listMoves = root.generateMoves();
+		if (listMoves.size() == 1) {
+			return listMoves.get(0);
+		}
+
+		final long deadline = iterationBudget > 0 ? Long.MAX_VALUE : System.nanoTime() + timeBudget * 1000000L;
+
+		// Jeder Thread erhält mindestens eine Iteration, der eigene zusätzlich den Rest.
+		final int threadCount = iterationBudget > 0 ? Math.min(threads, iterationBudget) : threads;
+		final int budgetWorker = iterationBudget / threadCount;
+		final List<Future<int[]>> listFutures = new ArrayList<>(threadCount - 1);
+		for (int i = 1; i < threadCount; i++) {
+			final SplittableRandom randomWorker = random.split();
+			listFutures.add(EXECUTOR.submit(() -> searchWorker(root, randomWorker, deadline, budgetWorker)));
+		}
+
+		final int[] visits = searchWorker(root, random, deadline,
+				iterationBudget - (threadCount - 1) * budgetWorker);
+		for (final Future<int[]> future : listFutures) {
+			try {
+				final int[] visitsWorker = future.get();
+				for (int i = 0; i < visits.length; i++) {
+					visits[i] += visitsWorker[i];
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (final ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		int best = 0;
+		int total = 0;
+		for (int i = 0; i < visits.length; i++) {
+			if (visits[i] > visits[best]) {
+				best = i;
+			}
+			total += visits[i];
+		}
+
+		final SearchMove bestMove = listMoves.get(best);
+		LOGGER.debug("{} search({}) -> {} ({} visits)", this, root, bestMove, total);
+		return bestMove;
+	}
+
+	@Override
+	public String toString() {
+		return iterationBudget > 0 ? "[MonteCarlo " + iterationBudget + " iterations]"
+				: "[MonteCarlo " + timeBudget + "ms]";
+	}
+
+	/**
+	 * Führt eine Iteration aus: Auswahl entlang des Baums, Erweiterung um einen
+	 * Zug, Playout und Rückgabe des Ergebnisses an alle Knoten des Pfades.
+	 *
+	 * @return das Ergebnis aus Sicht der Seite side.
+	 */
+	private double iterate(Node node, SplittableRandom random, int side) {
+		node.visits++;
+		if (node.listMoves == null) {
+			return score(node.state, side);
+		}
+
+		final int index = node.expanded < node.children.length ? node.expanded++ : select(node);
+		Node child = node.children[index];
+		final double result;
+		if (child == null) {
+			child = new Node(node.state.apply(node.listMoves.get(index)));
+			node.children[index] = child;
+			child.visits++;
+			result = playout(child.state, random, side);
+		} else {
+			result = iterate(child, random, side);
+		}
+		child.reward += node.state.getSide() == side ? result : 1.0 - result;
+		return result;
+	}
+
+	/**
+	 * Prüft, ob der Vorsprung des meistbesuchten Zuges größer ist als die Anzahl
+	 * an Iterationen, die bis zum Ende des Budgets noch folgen. Ohne
+	 * Iterationsbudget wird sie aus der bisherigen Geschwindigkeit geschätzt.
+	 */
+	private boolean isDecided(int[] visits, int count, long start, long deadline, int budget) {
+		int best = -1;
+		int second = 0;
+		for (final int visit : visits) {
+			if (best < visit) {
+				second = Math.max(best, 0);
+				best = visit;
+			} else if (second < visit) {
+				second = visit;
+			}
+		}
+
+		final long remaining;
+		if (budget > 0) {
+			remaining = budget - count;
+		} else {
+			final long now = System.nanoTime();
+			remaining = count * (deadline - now) / Math.max(1, now - start);
+		}
+		return best - second > remaining;
+	}
+
+	/**
+	 * Spielt von einem Zustand aus mit zufälligen Zügen bis zum Suchhorizont.
+	 *
+	 * @return das Ergebnis aus Sicht der Seite side.
+	 */
+	private double playout(SearchState state, SplittableRandom random, int side) {
+		SearchState current = state;
+		for (int i = 0; i < MAX_PLAYOUT_MOVES && !current.isTerminal(); i++) {
+			final List<SearchMove> listMoves = current.generateMoves();
+			// PASS steht immer am Ende und wird seltener gewählt als die übrigen Züge.
+			final int size = listMoves.size();
+			final int index = size > 1 && random.nextInt(PASS_ODDS) != 0 ? random.nextInt(size - 1)
+					: size - 1;
+			current = current.apply(listMoves.get(index));
+		}
+		return score(current, side);
+	}
+
+	/**
+	 * Bewertet den Endzustand eines Playouts mit einem Wert zwischen 0 und 1. Die
+	 * Differenz der Bewertungen beider Seiten wird logistisch abgebildet,
+	 * gewonnene und verlorene Spiele ergeben damit 1 bzw. 0.
+	 */
+	private double score(SearchState state, int side) {
+		final double difference = evaluator.evaluate(state, side) - evaluator.evaluate(state, 1 - side);
+		return 1.0 / (1.0 + Math.exp(-difference));
+	}
+
+	/**
+	 * Sucht auf immer neuen Belegungen, bis das Budget aufgebraucht ist oder der
+	 * meistbesuchte Zug mit den verbleibenden Iterationen nicht mehr eingeholt
+	 * werden kann.
+	 *
+	 * @param budget
+	 *            die Anzahl an Iterationen dieses Threads, 0 für eine Suche bis
+	 *            deadline.
+	 * @return die Besuche je Zug der Wurzel.
+	 */
+	private int[] searchWorker(SearchState root, SplittableRandom random, long deadline, int budget) {
+		final int side = root.getSide();
+		final long start = System.nanoTime();
+		int count = 0;
+		int[] visits = null;
+		while (System.nanoTime() < deadline && (budget <= 0 || count < budget)) {
+			final Node tree = new Node(root.determinize(random));
+			if (tree.children == null) {
+				break;
+			}
+			if (visits == null) {
+				visits = new int[tree.children.length];
+			}
+
+			for (int i = 0; i < ITERATIONS_PER_DETERMINIZATION && System.nanoTime() < deadline; i++) {
+				if (budget > 0 && count >= budget) {
+					break;
+				}
+				iterate(tree, random, side);
+				count++;
+			}
+
+			for (int i = 0; i < tree.children.length; i++) {
+				if (tree.children[i] != null) {
+					visits[i] += tree.children[i].visits;
+				}
+			}
+
+			if (isDecided(visits, count, start, deadline, budget)) {
+				break;
+			}
+		}
+		return visits != null ? visits : new int[root.generateMoves().size()];
+	}
+
+	/**
+	 * Wählt unter den erkundeten Zügen nach UCT.
+	 */
+	private int select(Node node) {
+		final double logVisits = Math.log(node.visits);
+		int result = 0;
+		double resultValue = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < node.children.length; i++) {
+			final Node child = node.children[i];
+			final double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+			if (value > resultValue) {
+				result = i;
+				resultValue = value;
+			}
+		}
+		return result;
+	}
+
+}
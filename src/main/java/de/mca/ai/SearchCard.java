@@ -0,0 +1,172 @@
+package de.mca.ai;
+
+import java.util.List;
+
+import de.mca.model.MagicCard;
+import de.mca.model.MagicPermanent;
+import de.mca.model.ManaSolver;
+import de.mca.model.enums.ColorType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Unveränderliches Abbild einer Karte für die Suche. Enthält nur die Werte, die
+ * das Suchmodell benötigt. Zustandsänderungen erzeugen eine neue Instanz, daher
+ * können Instanzen zwischen verzweigten SearchStates geteilt werden.
+ *
+ * @author Maximilian Werling
+ *
+ */
+class SearchCard {
+
+	/**
+	 * Speichert die Anzahl an Farben.
+	 */
+	static final int COLORS = ColorType.values().length;
+
+	private static int[] toArray(IsManaMap manaMap) {
+		final int[] result = new int[COLORS];
+		for (final ColorType color : manaMap.getKeySet()) {
+			result[color.ordinal()] = manaMap.get(color);
+		}
+		return result;
+	}
+
+	static SearchCard of(MagicCard magicCard) {
+		final List<IsManaMap> listCostMaps = magicCard.getListCostMaps();
+		final int[][] costs = new int[listCostMaps.size()][];
+		for (int i = 0; i < costs.length; i++) {
+			costs[i] = toArray(listCostMaps.get(i));
+		}
+		final int[][] options = ManaSolver.toOptions(magicCard);
+
+		if (magicCard instanceof MagicPermanent) {
+			final MagicPermanent magicPermanent = (MagicPermanent) magicCard;
+			return new SearchCard(magicCard, costs, options, magicCard.getPower(), magicCard.getToughness(),
+					magicPermanent.getFlagTapped(), magicPermanent.getFlagHasSummoningSickness());
+		}
+		return new SearchCard(magicCard, costs, options, magicCard.getPower(), magicCard.getToughness(), false,
+				false);
+	}
+
+	/**
+	 * Speichert die Kostendarstellungen, indiziert über ColorType.ordinal().
+	 */
+	private final int[][] costs;
+	/**
+	 * Zeigt an, ob die Karte der Einsatzverzögerung unterliegt.
+	 */
+	private final boolean flagSummoningSickness;
+	/**
+	 * Zeigt an, ob die Karte getappt ist.
+	 */
+	private final boolean flagTapped;
+	/**
+	 * Speichert die Karte des Matches.
+	 */
+	private final MagicCard magicCard;
+	/**
+	 * Speichert je Manafähigkeit das erzeugte Mana, indiziert über
+	 * ColorType.ordinal(). Leer, wenn die Karte keine Manaquelle ist.
+	 */
+	private final int[][] options;
+	/**
+	 * Speichert die Stärke.
+	 */
+	private final int power;
+	/**
+	 * Speichert die Widerstandskraft.
+	 */
+	private final int toughness;
+
+	private SearchCard(MagicCard magicCard, int[][] costs, int[][] options, int power, int toughness,
+			boolean flagTapped, boolean flagSummoningSickness) {
+		this.magicCard = magicCard;
+		this.costs = costs;
+		this.options = options;
+		this.power = power;
+		this.toughness = toughness;
+		this.flagTapped = flagTapped;
+		this.flagSummoningSickness = flagSummoningSickness;
+	}
+
+	@Override
+	public String toString() {
+		return magicCard.toString();
+	}
+
+	boolean checkCanAttack() {
+		return isCreature() && !flagTapped && !flagSummoningSickness;
+	}
+
+	boolean checkCanBlock() {
+		return isCreature() && !flagTapped;
+	}
+
+	int[][] getCosts() {
+		return costs;
+	}
+
+	boolean getFlagSummoningSickness() {
+		return flagSummoningSickness;
+	}
+
+	boolean getFlagTapped() {
+		return flagTapped;
+	}
+
+	MagicCard getMagicCard() {
+		return magicCard;
+	}
+
+	int[][] getOptions() {
+		return options;
+	}
+
+	int getPower() {
+		return power;
+	}
+
+	int getToughness() {
+		return toughness;
+	}
+
+	boolean isCreature() {
+		return magicCard.isCreature();
+	}
+
+	boolean isLand() {
+		return magicCard.isLand();
+	}
+
+	boolean isPermanentSpell() {
+		return magicCard.isPermanentSpell();
+	}
+
+	/**
+	 * Prüft, ob zwei Karten für die Suche gleichwertig sind. Gleichwertige Züge
+	 * führen zu gleichen Teilbäumen und werden nur einmal erzeugt.
+	 *
+	 * @param other
+	 *            die andere Karte.
+	 * @return true, wenn die Karten gleichwertig sind.
+	 */
+	boolean isSimilar(SearchCard other) {
+		return magicCard.getDisplayName().equals(other.magicCard.getDisplayName()) && power == other.power
+				&& toughness == other.toughness && flagTapped == other.flagTapped
+				&& flagSummoningSickness == other.flagSummoningSickness;
+	}
+
+	SearchCard withDamage(int damage) {
+		return new SearchCard(magicCard, costs, options, power, toughness - damage, flagTapped,
+				flagSummoningSickness);
+	}
+
+	SearchCard withFlagSummoningSickness(boolean flagSummoningSickness) {
+		return new SearchCard(magicCard, costs, options, power, toughness, flagTapped, flagSummoningSickness);
+	}
+
+	SearchCard withFlagTapped(boolean flagTapped) {
+		return new SearchCard(magicCard, costs, options, power, toughness, flagTapped, flagSummoningSickness);
+	}
+
+}
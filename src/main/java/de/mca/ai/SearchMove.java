@@ -0,0 +1,70 @@
+package de.mca.ai;
+
+import de.mca.model.MagicCard;
+
+/**
+ * Bildet einen Zug innerhalb des Suchbaums ab. Ein Zug verweist über Indizes
+ * auf Karten eines SearchState und zusätzlich auf die Karten des echten
+ * Matches, damit der an der Wurzel gewählte Zug ausgeführt werden kann.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class SearchMove {
+
+	/**
+	 * Speichert den Index der Karte auf der Hand oder auf dem Spielfeld.
+	 */
+	private final int index;
+	/**
+	 * Speichert die Art des Zuges.
+	 */
+	private final SearchMoveType moveType;
+	/**
+	 * Speichert die Karte des Matches, mit der der Zug ausgeführt wird.
+	 */
+	private final MagicCard source;
+	/**
+	 * Speichert die Karte des Matches, auf die der Zug zielt.
+	 */
+	private final MagicCard target;
+	/**
+	 * Speichert den Index des Ziels, z. B. des geblockten Angreifers.
+	 */
+	private final int targetIndex;
+
+	SearchMove(SearchMoveType moveType, int index, MagicCard source, int targetIndex, MagicCard target) {
+		this.moveType = moveType;
+		this.index = index;
+		this.source = source;
+		this.targetIndex = targetIndex;
+		this.target = target;
+	}
+
+	public SearchMoveType getMoveType() {
+		return moveType;
+	}
+
+	public MagicCard getSource() {
+		return source;
+	}
+
+	public MagicCard getTarget() {
+		return target;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[").append(moveType).append(" ").append(source).append(" -> ").append(target)
+				.append("]").toString();
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	int getTargetIndex() {
+		return targetIndex;
+	}
+
+}
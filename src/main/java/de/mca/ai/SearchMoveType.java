@@ -0,0 +1,25 @@
+package de.mca.ai;
+
+/**
+ * Sammelt die Arten von Zügen, die die Suche im Spielbaum betrachtet.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public enum SearchMoveType {
+
+	ATTACK("Angreifen"), BLOCK("Blocken"), CAST_SPELL("Zauberspruch beschwören"), PASS("Passen"), PLAY_LAND(
+			"Land spielen");
+
+	private final String displayName;
+
+	private SearchMoveType(String displayName) {
+		this.displayName = displayName;
+	}
+
+	@Override
+	public String toString() {
+		return displayName;
+	}
+
+}
@@ -0,0 +1,798 @@
+package de.mca.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+import de.mca.model.Attack;
+import de.mca.model.MagicCard;
+import de.mca.model.ManaSolver;
+import de.mca.model.Match;
+import de.mca.model.enums.PhaseType;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsCombatant;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Kompaktes Modell eines Spielzustands für die Suche im Spielbaum. Seite 0 ist
+ * immer der suchende Spieler, Seite 1 sein Gegner. Die Hand des Gegners und die
+ * Bibliotheken sind verdeckt und werden zunächst nicht modelliert. Ein Zug
+ * erzeugt über apply() einen neuen Zustand, unveränderte Teile werden dabei
+ * geteilt.
+ *
+ * Mit determinize() wird eine mögliche Belegung der verdeckten Karten gezogen:
+ * Die Hand des Gegners wird aus den für den Suchenden unbekannten Karten
+ * gezogen, beide Bibliotheken werden gemischt. In einem solchen Zustand ziehen
+ * die Spieler zu Beginn ihrer Runde und die Suche reicht bis ROLLOUT_HORIZON.
+ *
+ * Jeder Zustand trägt einen Zobrist-Hash seiner Handkarten und bleibenden
+ * Karten, der bei jedem Zug nur um die veränderten Karten angepasst wird.
+ * getHash() ergänzt ihn um Lebenspunkte, Kampf und Spielabschnitt. Gleiche
+ * Stellungen, die über verschiedene Zugfolgen erreicht werden, haben denselben
+ * Hash. Die Bibliotheken gehen nicht in den Hash ein.
+ *
+ * Das Modell bildet die Entscheidungen einer Runde ab: In der Hauptphase
+ * Länder spielen und Zaubersprüche beschwören, danach für jede Kreatur, die
+ * angreifen kann, ob sie angreift, danach für jeden Angreifer einen Blocker
+ * wählen. Die Suche endet nach HORIZON Runden.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class SearchState {
+
+	/**
+	 * Sammelt die Arten von Knoten im Suchbaum.
+	 */
+	private enum NodeType {
+		ATTACK, BLOCK, MAIN;
+	}
+
+	/**
+	 * Speichert die Anzahl an Rundenwechseln, nach denen die Suche endet. Ohne
+	 * Kenntnis der gegnerischen Hand sind tiefere Runden nicht aussagekräftig.
+	 */
+	private static final int HORIZON = 2;
+	/**
+	 * Speichert je Thread einen ManaSolver. Sein Zwischenspeicher wird von allen
+	 * Zuständen geteilt, die auf dem Thread bezahlt werden.
+	 */
+	private static final ThreadLocal<ManaSolver> MANA_SOLVER = ThreadLocal.withInitial(ManaSolver::new);
+	/**
+	 * Speichert die Anzahl an Rundenwechseln, nach denen ein determinisierter
+	 * Zustand endet.
+	 */
+	private static final int ROLLOUT_HORIZON = 4;
+	private static final SearchCard[] NO_CARDS = new SearchCard[0];
+	private static final int[][] NO_OPTIONS = new int[0][];
+
+	private static int[] append(int[] indices, int index) {
+		final int[] result = Arrays.copyOf(indices, indices.length + 1);
+		result[indices.length] = index;
+		return result;
+	}
+
+	private static SearchCard[] append(SearchCard[] cards, SearchCard card) {
+		final SearchCard[] result = Arrays.copyOf(cards, cards.length + 1);
+		result[cards.length] = card;
+		return result;
+	}
+
+	private static int indexOf(SearchCard[] cards, IsCombatant combatant) {
+		for (int i = 0; i < cards.length; i++) {
+			if (cards[i].getMagicCard() == combatant) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static SearchCard[] remove(SearchCard[] cards, int index) {
+		final SearchCard[] result = new SearchCard[cards.length - 1];
+		System.arraycopy(cards, 0, result, 0, index);
+		System.arraycopy(cards, index + 1, result, index, cards.length - index - 1);
+		return result;
+	}
+
+	private static SearchCard[] shuffle(SearchCard[] cards, SplittableRandom random) {
+		final SearchCard[] result = cards.clone();
+		for (int i = result.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final SearchCard card = result[i];
+			result[i] = result[j];
+			result[j] = card;
+		}
+		return result;
+	}
+
+	private static SearchCard[] toSearchCards(List<? extends MagicCard> listCards) {
+		final SearchCard[] result = new SearchCard[listCards.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = SearchCard.of(listCards.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Erzeugt den Wurzelzustand für die aktuelle Entscheidung eines Spielers.
+	 *
+	 * @param match
+	 *            das Match.
+	 * @param player
+	 *            der suchende Spieler.
+	 * @return der Wurzelzustand.
+	 */
+	public static SearchState of(Match match, IsPlayer player) {
+		final IsPlayer opponent = player.equals(match.getPlayerOne()) ? match.getPlayerTwo() : match.getPlayerOne();
+		final SearchState state = new SearchState();
+
+		state.hands[0] = toSearchCards(player.getZoneHand().getAll());
+		state.hands[1] = NO_CARDS;
+		state.battlefields[0] = toSearchCards(match.getZoneBattlefield().getAll(player));
+		state.battlefields[1] = toSearchCards(match.getZoneBattlefield().getAll(opponent));
+
+		// Verdeckte Karten: die eigene Bibliothek, beim Gegner Bibliothek und Hand.
+		final List<MagicCard> listUnseen = new ArrayList<>(opponent.getZoneLibrary().getAll());
+		listUnseen.addAll(opponent.getZoneHand().getAll());
+		state.unseen[0] = toSearchCards(player.getZoneLibrary().getAll());
+		state.unseen[1] = toSearchCards(listUnseen);
+		state.handSizeHidden = opponent.getZoneHand().getSize();
+		state.horizon = HORIZON;
+		state.hashCards = state.computeHashCards();
+
+		state.life[0] = player.getLife();
+		state.life[1] = opponent.getLife();
+		state.active = match.isPlayerActive(player) ? 0 : 1;
+		state.side = 0;
+		state.flagLandPlayed = match.isPlayerActive(player) ? player.getFlagPlayedLand()
+				: opponent.getFlagPlayedLand();
+		state.flagRoot = true;
+
+		if (player.getPlayerState().equals(PlayerState.ATTACKING)) {
+			// Bereits deklarierte Angreifer übernehmen, dann die nächste Kreatur wählen.
+			state.nodeType = NodeType.ATTACK;
+			state.attackers = new int[0];
+			for (final Attack attack : match.getListAttacks()) {
+				state.attackers = append(state.attackers, indexOf(state.battlefields[0], attack.getAttacker()));
+			}
+			state.attackCursor = -1;
+			state.advanceAttackCursor();
+		} else if (player.getPlayerState().equals(PlayerState.DEFENDING)) {
+			final List<Attack> listAttacks = match.getListAttacks();
+			state.nodeType = NodeType.BLOCK;
+			state.flagCombatDone = true;
+			state.attackers = new int[listAttacks.size()];
+			state.blockers = new int[listAttacks.size()];
+			state.blockCursor = listAttacks.size();
+			for (int i = listAttacks.size() - 1; i >= 0; i--) {
+				final Attack attack = listAttacks.get(i);
+				state.attackers[i] = indexOf(state.battlefields[1], attack.getAttacker());
+				state.blockers[i] = attack.getListBlockers().isEmpty() ? -1
+						: indexOf(state.battlefields[0], attack.getListBlockers().get(0));
+				if (state.blockers[i] < 0) {
+					state.blockCursor = i;
+				}
+			}
+		} else {
+			state.nodeType = NodeType.MAIN;
+			state.flagCombatDone = match.getCurrentPhase().getPhaseType()
+					.equals(PhaseType.POSTCOMBAT_MAIN_PHASE);
+		}
+		return state;
+	}
+
+	/**
+	 * Speichert die aktive Seite.
+	 */
+	private int active;
+	/**
+	 * Speichert den Index der Kreatur auf dem Spielfeld der aktiven Seite, für
+	 * die als nächstes entschieden wird, ob sie angreift.
+	 */
+	private int attackCursor;
+	/**
+	 * Speichert die Angreifer als Indizes auf das Spielfeld der aktiven Seite.
+	 */
+	private int[] attackers;
+	/**
+	 * Speichert die bleibenden Karten beider Seiten.
+	 */
+	private final SearchCard[][] battlefields;
+	/**
+	 * Speichert den Index des Angreifers, für den als nächstes ein Blocker
+	 * gewählt wird.
+	 */
+	private int blockCursor;
+	/**
+	 * Speichert die Blocker je Angreifer als Indizes auf das Spielfeld der
+	 * verteidigenden Seite, -1 für ungeblockt.
+	 */
+	private int[] blockers;
+	/**
+	 * Zeigt an, ob der Kampf dieser Runde bereits stattgefunden hat.
+	 */
+	private boolean flagCombatDone;
+	/**
+	 * Zeigt an, ob in dieser Runde bereits ein Land gespielt wurde.
+	 */
+	private boolean flagLandPlayed;
+	/**
+	 * Zeigt an, ob es sich um den Wurzelzustand handelt. Nur an der Wurzel
+	 * werden die Interaktionsflags des Matches berücksichtigt.
+	 */
+	private boolean flagRoot;
+	/**
+	 * Speichert die Handkarten beider Seiten.
+	 */
+	private final SearchCard[][] hands;
+	/**
+	 * Speichert den Zobrist-Hash der Handkarten und bleibenden Karten beider
+	 * Seiten.
+	 */
+	private long hashCards;
+	/**
+	 * Speichert die Anzahl der verdeckten Handkarten des Gegners.
+	 */
+	private int handSizeHidden;
+	/**
+	 * Speichert die Anzahl an Rundenwechseln, nach denen die Suche endet.
+	 */
+	private int horizon;
+	/**
+	 * Speichert die Bibliotheken beider Seiten in Ziehreihenfolge. Nur in
+	 * determinisierten Zuständen belegt, sonst null.
+	 */
+	private final SearchCard[][] libraries;
+	/**
+	 * Speichert die Lebenspunkte beider Seiten.
+	 */
+	private final int[] life;
+	/**
+	 * Speichert die Art des Knotens.
+	 */
+	private NodeType nodeType;
+	/**
+	 * Speichert die Seite, die am Zug ist.
+	 */
+	private int side;
+	/**
+	 * Speichert die Anzahl an Rundenwechseln seit der Wurzel.
+	 */
+	private int turnsPassed;
+	/**
+	 * Speichert je Seite die Karten, die der suchende Spieler nicht kennt.
+	 * Wird nur an der Wurzel belegt und von determinize() verwendet.
+	 */
+	private final SearchCard[][] unseen;
+
+	private SearchState() {
+		battlefields = new SearchCard[2][];
+		hands = new SearchCard[2][];
+		libraries = new SearchCard[2][];
+		life = new int[2];
+		unseen = new SearchCard[2][];
+	}
+
+	private SearchState(SearchState state) {
+		active = state.active;
+		attackCursor = state.attackCursor;
+		attackers = state.attackers;
+		battlefields = state.battlefields.clone();
+		blockCursor = state.blockCursor;
+		blockers = state.blockers;
+		flagCombatDone = state.flagCombatDone;
+		flagLandPlayed = state.flagLandPlayed;
+		flagRoot = false;
+		handSizeHidden = state.handSizeHidden;
+		hands = state.hands.clone();
+		hashCards = state.hashCards;
+		horizon = state.horizon;
+		libraries = state.libraries.clone();
+		life = state.life.clone();
+		nodeType = state.nodeType;
+		side = state.side;
+		turnsPassed = state.turnsPassed;
+		unseen = state.unseen;
+	}
+
+	/**
+	 * Führt einen Zug aus. Der aktuelle Zustand bleibt unverändert.
+	 *
+	 * @param move
+	 *            der Zug, erzeugt durch generateMoves().
+	 * @return der neue Zustand.
+	 */
+	public SearchState apply(SearchMove move) {
+		final SearchState result = new SearchState(this);
+		switch (move.getMoveType()) {
+		case ATTACK:
+			result.attackers = append(attackers, move.getIndex());
+			result.advanceAttackCursor();
+			break;
+		case BLOCK:
+			result.blockers = blockers.clone();
+			result.blockers[move.getTargetIndex()] = move.getIndex();
+			result.advanceBlockCursor();
+			break;
+		case CAST_SPELL:
+			result.castSpell(move.getIndex());
+			break;
+		case PASS:
+			result.pass();
+			break;
+		case PLAY_LAND:
+			final SearchCard land = hands[side][move.getIndex()];
+			result.hands[side] = remove(hands[side], move.getIndex());
+			result.battlefields[side] = append(battlefields[side], land);
+			result.hashCards ^= Zobrist.hand(land, side) ^ Zobrist.battlefield(land, side);
+			result.flagLandPlayed = true;
+			break;
+		default:
+			break;
+		}
+		return result;
+	}
+
+	/**
+	 * Zieht eine mögliche Belegung der verdeckten Karten. Der Zustand muss ein
+	 * mit of() erzeugter Wurzelzustand sein und bleibt unverändert. Der
+	 * determinisierte Zustand bietet an der Wurzel dieselben Züge in derselben
+	 * Reihenfolge an.
+	 *
+	 * @param random
+	 *            die Zufallsquelle.
+	 * @return der determinisierte Wurzelzustand.
+	 */
+	public SearchState determinize(SplittableRandom random) {
+		final SearchState result = new SearchState(this);
+		final SearchCard[] unseenOpponent = shuffle(unseen[1], random);
+		final int handSize = Math.min(handSizeHidden, unseenOpponent.length);
+		result.hands[1] = Arrays.copyOf(unseenOpponent, handSize);
+		for (final SearchCard card : result.hands[1]) {
+			result.hashCards ^= Zobrist.hand(card, 1);
+		}
+		result.libraries[0] = shuffle(unseen[0], random);
+		result.libraries[1] = Arrays.copyOfRange(unseenOpponent, handSize, unseenOpponent.length);
+		result.flagRoot = flagRoot;
+		result.horizon = ROLLOUT_HORIZON;
+		return result;
+	}
+
+	/**
+	 * Erzeugt alle legalen Züge der Seite, die am Zug ist. Die Prüfungen
+	 * entsprechen denen aus RuleEnforcer.i_deriveInteractionStatus(). Züge mit
+	 * gleichwertigen Karten werden nur einmal erzeugt. Vielversprechende Züge
+	 * stehen vorne, damit der Alpha-Beta-Schnitt früh greift.
+	 *
+	 * @return die Liste der Züge, mindestens PASS.
+	 */
+	public List<SearchMove> generateMoves() {
+		final List<SearchMove> listMoves = new ArrayList<>();
+		switch (nodeType) {
+		case ATTACK:
+			listMoves.add(new SearchMove(SearchMoveType.ATTACK, attackCursor,
+					battlefields[active][attackCursor].getMagicCard(), -1, null));
+			break;
+		case BLOCK:
+			if (blockCursor >= attackers.length) {
+				break;
+			}
+
+			final SearchCard attacker = battlefields[active][attackers[blockCursor]];
+			final SearchCard[] battlefield = battlefields[side];
+			for (int i = 0; i < battlefield.length; i++) {
+				if (battlefield[i].checkCanBlock() && !isBlocking(i) && isInteractable(battlefield[i])
+						&& !hasSimilar(battlefield, i, j -> battlefield[j].checkCanBlock() && !isBlocking(j))) {
+					listMoves.add(new SearchMove(SearchMoveType.BLOCK, i, battlefield[i].getMagicCard(),
+							blockCursor, attacker.getMagicCard()));
+				}
+			}
+			break;
+		case MAIN:
+			if (side != active) {
+				break;
+			}
+
+			final SearchCard[] hand = hands[side];
+			for (int i = 0; i < hand.length; i++) {
+				if (!hand[i].isLand() && isInteractable(hand[i]) && isFirstOfKind(hand, i)
+						&& pay(hand[i], battlefields[side]) != null) {
+					listMoves.add(new SearchMove(SearchMoveType.CAST_SPELL, i, hand[i].getMagicCard(), -1, null));
+				}
+			}
+			if (!flagLandPlayed) {
+				for (int i = 0; i < hand.length; i++) {
+					if (hand[i].isLand() && isInteractable(hand[i]) && isFirstOfKind(hand, i)) {
+						listMoves.add(new SearchMove(SearchMoveType.PLAY_LAND, i, hand[i].getMagicCard(), -1, null));
+					}
+				}
+			}
+			break;
+		default:
+			break;
+		}
+		listMoves.add(new SearchMove(SearchMoveType.PASS, -1, null, -1, null));
+		return listMoves;
+	}
+
+	public int getBattlefieldSize(int side) {
+		return battlefields[side].length;
+	}
+
+	/**
+	 * Liefert den Zobrist-Hash des Zustands. Er umfasst die Karten beider Seiten
+	 * mit ihrem Zustand, Lebenspunkte, aktive Seite und Seite am Zug, Art des
+	 * Knotens, die Flags der Runde, Angreifer, Blocker und die Kreatur, für die
+	 * gerade ein Angriff entschieden wird, sowie die Anzahl
+	 * vergangener Runden und den Suchhorizont.
+	 *
+	 * @return der Hash.
+	 */
+	public long getHash() {
+		long result = hashCards ^ Zobrist.key(1, life[0]) ^ Zobrist.key(2, life[1]) ^ Zobrist.key(3, active)
+				^ Zobrist.key(4, side) ^ Zobrist.key(5, nodeType.ordinal())
+				^ Zobrist.key(6, (flagCombatDone ? 1 : 0) | (flagLandPlayed ? 2 : 0))
+				^ Zobrist.key(7, turnsPassed) ^ Zobrist.key(8, horizon);
+		if (attackers != null) {
+			final SearchCard[] battlefield = battlefields[active];
+			for (int i = 0; i < attackers.length; i++) {
+				if (attackers[i] < 0) {
+					continue;
+				}
+				final long attacker = battlefield[attackers[i]].getMagicCard().getId();
+				result ^= Zobrist.key(9, attacker);
+				if (blockers != null && blockers[i] >= 0) {
+					result ^= Zobrist.key(Zobrist.key(10, attacker),
+							battlefields[1 - active][blockers[i]].getMagicCard().getId());
+				}
+				if (i == blockCursor) {
+					result ^= Zobrist.key(11, attacker);
+				}
+			}
+		}
+		if (nodeType.equals(NodeType.ATTACK)) {
+			result ^= Zobrist.key(12, battlefields[active][attackCursor].getMagicCard().getId());
+		}
+		return result;
+	}
+
+	public int getLife(int side) {
+		return life[side];
+	}
+
+	public int getSide() {
+		return side;
+	}
+
+	/**
+	 * Prüft, ob Seite 0 gerade Angreifer wählt.
+	 *
+	 * @return true, wenn Seite 0 Angreifer wählt.
+	 */
+	public boolean isDeclaringAttackers() {
+		return nodeType.equals(NodeType.ATTACK) && side == 0;
+	}
+
+	/**
+	 * Prüft, ob Seite 0 gerade Blocker wählt.
+	 *
+	 * @return true, wenn Seite 0 Blocker wählt.
+	 */
+	public boolean isDeclaringBlockers() {
+		return nodeType.equals(NodeType.BLOCK) && side == 0;
+	}
+
+	/**
+	 * Prüft, ob die Suche an diesem Zustand endet, weil ein Spieler verloren hat
+	 * oder der Suchhorizont erreicht ist.
+	 *
+	 * @return true, wenn der Zustand ein Blatt ist.
+	 */
+	public boolean isTerminal() {
+		return life[0] < 1 || life[1] < 1 || turnsPassed >= horizon;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[").append(nodeType).append(" side=").append(side).append(" life=")
+				.append(Arrays.toString(life)).append("]").toString();
+	}
+
+	/**
+	 * Rückt zur nächsten Kreatur vor, die angreifen kann. Sind alle Kreaturen
+	 * entschieden, beginnt der Kampf mit den gewählten Angreifern oder entfällt,
+	 * wenn keine gewählt wurden.
+	 */
+	private void advanceAttackCursor() {
+		final SearchCard[] battlefield = battlefields[active];
+		attackCursor++;
+		while (attackCursor < battlefield.length && !canAttack(attackCursor)) {
+			attackCursor++;
+		}
+
+		if (attackCursor < battlefield.length) {
+			return;
+		}
+
+		if (attackers.length == 0) {
+			attackers = null;
+			flagCombatDone = true;
+			nodeType = NodeType.MAIN;
+			side = active;
+		} else {
+			declareAttackers();
+		}
+	}
+
+	private void advanceBlockCursor() {
+		blockCursor++;
+		while (blockCursor < attackers.length && blockers[blockCursor] >= 0) {
+			blockCursor++;
+		}
+
+		boolean hasBlocker = false;
+		for (int i = 0; i < battlefields[side].length; i++) {
+			if (battlefields[side][i].checkCanBlock() && !isBlocking(i)) {
+				hasBlocker = true;
+				break;
+			}
+		}
+
+		if (blockCursor >= attackers.length || !hasBlocker) {
+			resolveCombat();
+		}
+	}
+
+	private boolean canAttack(int index) {
+		final SearchCard card = battlefields[active][index];
+		return card.checkCanAttack() && !isAttacking(index) && isInteractable(card);
+	}
+
+	private void castSpell(int index) {
+		final SearchCard spell = hands[side][index];
+		setBattlefield(side, pay(spell, battlefields[side]));
+		hands[side] = remove(hands[side], index);
+		hashCards ^= Zobrist.hand(spell, side);
+		if (spell.isPermanentSpell()) {
+			final SearchCard permanent = spell.withFlagSummoningSickness(true);
+			battlefields[side] = append(battlefields[side], permanent);
+			hashCards ^= Zobrist.battlefield(permanent, side);
+		}
+	}
+
+	/**
+	 * Berechnet den Hash aller Handkarten und bleibenden Karten neu.
+	 */
+	private long computeHashCards() {
+		long result = 0;
+		for (int i = 0; i < 2; i++) {
+			for (final SearchCard card : hands[i]) {
+				result ^= Zobrist.hand(card, i);
+			}
+			for (final SearchCard card : battlefields[i]) {
+				result ^= Zobrist.battlefield(card, i);
+			}
+		}
+		return result;
+	}
+
+	private void declareAttackers() {
+		final SearchCard[] battlefield = battlefields[active].clone();
+		for (final int attacker : attackers) {
+			// Angreifer werden getappt, siehe Attack.
+			battlefield[attacker] = battlefield[attacker].withFlagTapped(true);
+		}
+		setBattlefield(active, battlefield);
+		blockers = new int[attackers.length];
+		Arrays.fill(blockers, -1);
+		blockCursor = -1;
+		flagCombatDone = true;
+		nodeType = NodeType.BLOCK;
+		side = 1 - active;
+		advanceBlockCursor();
+	}
+
+	private void endTurn() {
+		active = 1 - active;
+		side = active;
+		nodeType = NodeType.MAIN;
+		flagCombatDone = false;
+		flagLandPlayed = false;
+		turnsPassed++;
+
+		final SearchCard[] battlefield = battlefields[active].clone();
+		for (int i = 0; i < battlefield.length; i++) {
+			battlefield[i] = battlefield[i].withFlagTapped(false).withFlagSummoningSickness(false);
+		}
+		setBattlefield(active, battlefield);
+
+		// Nur in determinisierten Zuständen wird gezogen.
+		final SearchCard[] library = libraries[active];
+		if (library != null) {
+			if (library.length == 0) {
+				life[active] = 0;
+			} else {
+				hands[active] = append(hands[active], library[0]);
+				hashCards ^= Zobrist.hand(library[0], active);
+				libraries[active] = Arrays.copyOfRange(library, 1, library.length);
+			}
+		}
+	}
+
+	private boolean hasSimilar(SearchCard[] cards, int index, IntPredicate filter) {
+		for (int j = 0; j < index; j++) {
+			if (filter.test(j) && cards[j].isSimilar(cards[index])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isAttacking(int index) {
+		for (final int attacker : attackers) {
+			if (attacker == index) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isBlocking(int index) {
+		for (final int blocker : blockers) {
+			if (blocker == index) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isFirstOfKind(SearchCard[] cards, int index) {
+		return !hasSimilar(cards, index, j -> true);
+	}
+
+	private boolean isInteractable(SearchCard card) {
+		return !flagRoot || card.getMagicCard().getFlagIsInteractable();
+	}
+
+	private void pass() {
+		switch (nodeType) {
+		case ATTACK:
+			advanceAttackCursor();
+			break;
+		case BLOCK:
+			advanceBlockCursor();
+			break;
+		case MAIN:
+			if (side != active) {
+				side = active;
+				break;
+			}
+
+			boolean hasAttacker = false;
+			for (final SearchCard card : battlefields[active]) {
+				hasAttacker |= card.checkCanAttack();
+			}
+
+			if (!flagCombatDone && hasAttacker) {
+				nodeType = NodeType.ATTACK;
+				attackers = new int[0];
+				attackCursor = -1;
+				advanceAttackCursor();
+			} else {
+				endTurn();
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Bezahlt eine Kostendarstellung der Karte durch Tappen von Manaquellen. Die
+	 * Quellen wählt wie im RuleEnforcer der ManaSolver, daher hält das Modell
+	 * dieselben Zaubersprüche für bezahlbar wie das Match.
+	 *
+	 * @param card
+	 *            die zu bezahlende Karte.
+	 * @param battlefield
+	 *            das Spielfeld der bezahlenden Seite.
+	 * @return das Spielfeld mit getappten Quellen oder null, wenn keine
+	 *         Kostendarstellung bezahlt werden kann.
+	 */
+	private SearchCard[] pay(SearchCard card, SearchCard[] battlefield) {
+		final int[][] costs = card.getCosts();
+		if (costs.length == 0) {
+			return battlefield;
+		}
+
+		final List<int[][]> listOptions = new ArrayList<>(battlefield.length);
+		for (final SearchCard source : battlefield) {
+			listOptions.add(source.getFlagTapped() ? NO_OPTIONS : source.getOptions());
+		}
+		final ManaSolver manaSolver = MANA_SOLVER.get();
+		manaSolver.setOptions(listOptions);
+
+		for (final int[] cost : costs) {
+			final int[] choices = manaSolver.solve(cost);
+			if (choices == null) {
+				continue;
+			}
+
+			final SearchCard[] result = battlefield.clone();
+			for (int i = 0; i < choices.length; i++) {
+				if (choices[i] >= 0) {
+					result[i] = result[i].withFlagTapped(true);
+				}
+			}
+			return result;
+		}
+		return null;
+	}
+
+	/**
+	 * Handelt den Kampf entsprechend RuleEnforcer ab: Ungeblockte Angreifer
+	 * verursachen Schaden beim Verteidiger, geblockte Angreifer und Blocker
+	 * verursachen Schaden beieinander. Kreaturen ohne Widerstandskraft werden
+	 * entfernt.
+	 */
+	private void resolveCombat() {
+		final int defending = 1 - active;
+		final SearchCard[] battlefieldAttacking = battlefields[active].clone();
+		final SearchCard[] battlefieldDefending = battlefields[defending].clone();
+
+		for (int i = 0; i < attackers.length; i++) {
+			final SearchCard attacker = battlefieldAttacking[attackers[i]];
+			if (blockers[i] >= 0) {
+				final SearchCard blocker = battlefieldDefending[blockers[i]];
+				battlefieldAttacking[attackers[i]] = attacker.withDamage(blocker.getPower());
+				battlefieldDefending[blockers[i]] = blocker.withDamage(attacker.getPower());
+			} else {
+				life[defending] -= attacker.getPower();
+			}
+		}
+
+		setBattlefield(active, removeDead(battlefieldAttacking));
+		setBattlefield(defending, removeDead(battlefieldDefending));
+		attackers = null;
+		blockers = null;
+		nodeType = NodeType.MAIN;
+		side = active;
+	}
+
+	private SearchCard[] removeDead(SearchCard[] cards) {
+		int count = 0;
+		final SearchCard[] result = new SearchCard[cards.length];
+		for (final SearchCard card : cards) {
+			if (!card.isCreature() || card.getToughness() > 0) {
+				result[count++] = card;
+			}
+		}
+		return count == cards.length ? cards : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Ersetzt das Spielfeld einer Seite und passt den Hash an. Bei gleicher Länge
+	 * werden nur die ausgetauschten Karten neu verknüpft.
+	 */
+	private void setBattlefield(int side, SearchCard[] battlefield) {
+		final SearchCard[] previous = battlefields[side];
+		if (previous.length == battlefield.length) {
+			for (int i = 0; i < battlefield.length; i++) {
+				if (previous[i] != battlefield[i]) {
+					hashCards ^= Zobrist.battlefield(previous[i], side) ^ Zobrist.battlefield(battlefield[i], side);
+				}
+			}
+		} else {
+			for (final SearchCard card : previous) {
+				hashCards ^= Zobrist.battlefield(card, side);
+			}
+			for (final SearchCard card : battlefield) {
+				hashCards ^= Zobrist.battlefield(card, side);
+			}
+		}
+		battlefields[side] = battlefield;
+	}
+
+}
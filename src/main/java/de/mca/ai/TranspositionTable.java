@@ -0,0 +1,121 @@
+package de.mca.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tabelle fester Größe mit bereits bewerteten Stellungen, indiziert über den
+ * Zobrist-Hash. Kann ohne Sperren von mehreren Suchthreads gleichzeitig
+ * verwendet werden: Jeder Eintrag besteht aus zwei Werten, dem mit den Daten
+ * verknüpften Hash und den Daten selbst. Ein Eintrag, den ein anderer Thread
+ * gerade überschreibt, besteht die Prüfung des Hashs nicht und wird wie ein
+ * fehlender Eintrag behandelt.
+ *
+ * Die Daten eines Eintrags sind in einem long gepackt: Bewertung als float,
+ * Tiefe, Art der Schranke und Index des besten Zuges. Mit den statischen
+ * get-Methoden werden sie ausgelesen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class TranspositionTable {
+
+	/**
+	 * Die Bewertung ist exakt.
+	 */
+	static final int BOUND_EXACT = 1;
+	/**
+	 * Die Bewertung ist eine untere Schranke.
+	 */
+	static final int BOUND_LOWER = 2;
+	/**
+	 * Die Bewertung ist eine obere Schranke.
+	 */
+	static final int BOUND_UPPER = 3;
+	/**
+	 * Speichert die Tiefe für Teilbäume, die bis zu ihren Blättern durchsucht
+	 * wurden. Ihre Bewertung gilt für jede Tiefe.
+	 */
+	static final int DEPTH_COMPLETE = 0xFF;
+	/**
+	 * Wird von probe() geliefert, wenn kein Eintrag vorhanden ist.
+	 */
+	static final long NO_ENTRY = 0L;
+
+	static int getBound(long entry) {
+		return (int) (entry >>> 16) & 0x3;
+	}
+
+	static int getDepth(long entry) {
+		return (int) (entry >>> 8) & 0xFF;
+	}
+
+	/**
+	 * Liefert den Index des besten Zuges in der Reihenfolge von
+	 * SearchState.generateMoves(), -1 wenn keiner bekannt ist.
+	 */
+	static int getMove(long entry) {
+		return (int) (entry & 0xFF) - 1;
+	}
+
+	static double getValue(long entry) {
+		return Float.intBitsToFloat((int) (entry >>> 32));
+	}
+
+	/**
+	 * Speichert je Eintrag den mit den Daten verknüpften Hash und die Daten.
+	 */
+	private final AtomicLongArray entries;
+	private final int mask;
+
+	/**
+	 * @param bits
+	 *            der Zweierlogarithmus der Anzahl an Einträgen.
+	 */
+	TranspositionTable(int bits) {
+		mask = (1 << bits) - 1;
+		entries = new AtomicLongArray(2 << bits);
+	}
+
+	/**
+	 * Sucht den Eintrag einer Stellung.
+	 *
+	 * @param hash
+	 *            der Hash der Stellung.
+	 * @return die gepackten Daten oder NO_ENTRY.
+	 */
+	long probe(long hash) {
+		final int index = ((int) hash & mask) << 1;
+		final long data = entries.get(index + 1);
+		return (entries.get(index) ^ data) == hash ? data : NO_ENTRY;
+	}
+
+	/**
+	 * Speichert die Bewertung einer Stellung. Ein Eintrag derselben Stellung mit
+	 * größerer Tiefe bleibt erhalten, Einträge anderer Stellungen werden
+	 * verdrängt.
+	 *
+	 * @param hash
+	 *            der Hash der Stellung.
+	 * @param value
+	 *            die Bewertung.
+	 * @param depth
+	 *            die Suchtiefe oder DEPTH_COMPLETE.
+	 * @param bound
+	 *            die Art der Schranke.
+	 * @param move
+	 *            der Index des besten Zuges oder -1.
+	 */
+	void store(long hash, double value, int depth, int bound, int move) {
+		final long previous = probe(hash);
+		if (previous != NO_ENTRY && getDepth(previous) > depth) {
+			return;
+		}
+
+		final long data = ((long) Float.floatToRawIntBits((float) value) << 32) | ((long) bound << 16)
+				| (Math.min(depth, DEPTH_COMPLETE) << 8) | Math.min(move + 1, 0xFF);
+		final int index = ((int) hash & mask) << 1;
+		entries.set(index + 1, data);
+		entries.set(index, hash ^ data);
+	}
+
+}
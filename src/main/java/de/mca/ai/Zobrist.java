@@ -0,0 +1,64 @@
+package de.mca.ai;
+
+/**
+ * Liefert die Schlüssel für das Zobrist-Hashing von SearchStates. Statt einer
+ * Tabelle zufälliger Werte wird jeder Schlüssel aus seinen Merkmalen über den
+ * SplitMix64-Mischer abgeleitet. So sind auch Karten-Ids abgedeckt, die über
+ * viele Matches hinweg beliebig groß werden.
+ *
+ * Der Hash eines Zustands ist die XOR-Verknüpfung der Schlüssel aller Merkmale.
+ * Ändert sich ein Merkmal, wird sein alter Schlüssel heraus- und sein neuer
+ * hineinverknüpft, unabhängig von der Reihenfolge der Karten in einer Zone.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class Zobrist {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final int ZONE_BATTLEFIELD = 1;
+	private static final int ZONE_HAND = 0;
+
+	/**
+	 * Liefert den Schlüssel einer Karte auf dem Spielfeld einer Seite.
+	 */
+	static long battlefield(SearchCard card, int side) {
+		return card(card, side * 2 + ZONE_BATTLEFIELD);
+	}
+
+	/**
+	 * Liefert den Schlüssel einer Karte auf der Hand einer Seite.
+	 */
+	static long hand(SearchCard card, int side) {
+		return card(card, side * 2 + ZONE_HAND);
+	}
+
+	/**
+	 * Liefert den Schlüssel eines Merkmals mit seinem Wert.
+	 *
+	 * @param feature
+	 *            das Merkmal, z. B. eine feste Nummer oder ein anderer Schlüssel.
+	 * @param value
+	 *            der Wert des Merkmals.
+	 * @return der Schlüssel.
+	 */
+	static long key(long feature, long value) {
+		return mix(feature * GOLDEN_GAMMA + value);
+	}
+
+	private static long card(SearchCard card, int zone) {
+		final long flags = (card.getFlagTapped() ? 1 : 0) | (card.getFlagSummoningSickness() ? 2 : 0);
+		final long state = ((long) card.getToughness() << 8) | (flags << 4) | zone;
+		return key(card.getMagicCard().getId(), state);
+	}
+
+	private static long mix(long value) {
+		long result = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+		return result ^ (result >>> 31);
+	}
+
+	private Zobrist() {
+	}
+
+}
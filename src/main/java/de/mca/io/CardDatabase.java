@@ -0,0 +1,334 @@
+package de.mca.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonParser;
+
+import de.mca.model.CardPrototype;
+import de.mca.model.CardPrototype.AbilityPrototype;
+import de.mca.model.ManaMapArray;
+import de.mca.model.enums.AbilityType;
+import de.mca.model.enums.AdditionalCostType;
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.ObjectType;
+import de.mca.model.enums.RarityType;
+import de.mca.model.enums.SubType;
+import de.mca.model.enums.SuperType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Binäre Kartendatenbank, die aus den Kartendateien in cardFiles/ erzeugt wird.
+ * Die JSON-Dateien bleiben das Format, in dem Karten geschrieben werden; die
+ * Datenbank ist nur ein Abbild, das beim Start in den Speicher eingeblendet
+ * wird, statt jede Datei einzeln zu lesen und mit Gson zu parsen.
+ *
+ * Aufbau der Datei: Kopf (Kennung, Version, Schema, Anzahl der Kartendateien,
+ * Anzahl der Karten), Index (Name und
+ * Offset je Karte) und Datenteil mit einem Datensatz je Karte.
+ * Aufzählungen werden über ihre Ordinalzahl gespeichert. Der Schemawert
+ * verändert sich, sobald eine der verwendeten Aufzählungen geändert wird, die
+ * Datenbank gilt dann als veraltet. Datensätze werden erst bei Bedarf
+ * dekodiert.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class CardDatabase {
+
+	private static final ColorType[] COLORS = ColorType.values();
+	private static final Logger LOGGER = LoggerFactory.getLogger("CardDatabase");
+	/**
+	 * Speichert die Kennung am Anfang der Datei ("MCAD").
+	 */
+	private static final int MAGIC = 0x4D434144;
+	/**
+	 * Speichert die Version des Dateiformats.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Öffnet eine Kartendatenbank und liest ihren Index. Die Datensätze bleiben
+	 * im eingeblendeten Speicher, bis sie abgefragt werden.
+	 *
+	 * @param databasePath
+	 *            der Pfad der Datenbank.
+	 * @return die Datenbank.
+	 * @throws ResourceReadingException
+	 *             wenn die Datei nicht gelesen werden kann oder nicht zum
+	 *             aktuellen Schema passt.
+	 */
+	public static CardDatabase open(Path databasePath) throws ResourceReadingException {
+		try (FileChannel channel = FileChannel.open(databasePath, StandardOpenOption.READ)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != schema()) {
+				throw new ResourceReadingException(new IOException("Outdated card database: " + databasePath));
+			}
+			buffer.getInt();
+			final int count = buffer.getInt();
+			final Map<String, Integer> mapOffsets = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				mapOffsets.put(readString(buffer), buffer.getInt());
+			}
+			final CardDatabase result = new CardDatabase(buffer.slice(), mapOffsets);
+			LOGGER.debug("Card database opened: {} cards", count);
+			return result;
+		} catch (final IOException | RuntimeException e) {
+			throw new ResourceReadingException(e);
+		}
+	}
+
+	/**
+	 * Prüft, ob die Datenbank existiert, zum aktuellen Schema passt, aus
+	 * derselben Anzahl Kartendateien erzeugt wurde und jünger als alle
+	 * Kartendateien ist.
+	 *
+	 * @param databasePath
+	 *            der Pfad der Datenbank.
+	 * @param cardPaths
+	 *            die Pfade der Kartendateien.
+	 * @return true, wenn die Datenbank nicht neu erzeugt werden muss.
+	 */
+	public static boolean isCurrent(Path databasePath, Collection<Path> cardPaths) {
+		try {
+			if (!Files.exists(databasePath)) {
+				return false;
+			}
+			final long modified = Files.getLastModifiedTime(databasePath).toMillis();
+			for (final Path cardPath : cardPaths) {
+				if (Files.getLastModifiedTime(cardPath).toMillis() > modified) {
+					return false;
+				}
+			}
+			try (FileChannel channel = FileChannel.open(databasePath, StandardOpenOption.READ)) {
+				final ByteBuffer header = ByteBuffer.allocate(16);
+				channel.read(header, 0);
+				header.flip();
+				return header.remaining() == 16 && header.getInt() == MAGIC && header.getInt() == VERSION
+						&& header.getInt() == schema() && header.getInt() == cardPaths.size();
+			}
+		} catch (final IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Schreibt die Kartenvorlagen in eine neue Datenbank. Die Datei wird zuerst
+	 * unter einem temporären Namen geschrieben und dann ersetzt, damit kein
+	 * anderer Prozess eine halbe Datenbank einblendet.
+	 *
+	 * @param databasePath
+	 *            der Pfad der Datenbank.
+	 * @param cardFileCount
+	 *            die Anzahl der Kartendateien, aus denen die Vorlagen erzeugt
+	 *            wurden. Kann größer sein als die Anzahl der Vorlagen, wenn
+	 *            einzelne Dateien nicht gelesen werden konnten.
+	 * @param listPrototypes
+	 *            die Kartenvorlagen.
+	 * @throws ResourceReadingException
+	 *             wenn die Datei nicht geschrieben werden kann.
+	 */
+	public static void write(Path databasePath, int cardFileCount, List<CardPrototype> listPrototypes)
+			throws ResourceReadingException {
+		try {
+			final ByteArrayOutputStream data = new ByteArrayOutputStream();
+			final DataOutputStream dataOut = new DataOutputStream(data);
+			final List<Integer> listOffsets = new ArrayList<>(listPrototypes.size());
+			for (final CardPrototype prototype : listPrototypes) {
+				listOffsets.add(dataOut.size());
+				writePrototype(dataOut, prototype);
+			}
+
+			final Path tempPath = databasePath.resolveSibling(databasePath.getFileName() + ".tmp");
+			try (OutputStream os = Files.newOutputStream(tempPath);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(schema());
+				out.writeInt(cardFileCount);
+				out.writeInt(listPrototypes.size());
+				for (int i = 0; i < listPrototypes.size(); i++) {
+					writeString(out, listPrototypes.get(i).getFileName());
+					out.writeInt(listOffsets.get(i));
+				}
+				data.writeTo(out);
+			}
+			Files.move(tempPath, databasePath, StandardCopyOption.REPLACE_EXISTING);
+			LOGGER.debug("Card database written: {} cards, {} bytes", listPrototypes.size(), Files.size(databasePath));
+		} catch (final IOException e) {
+			throw new ResourceReadingException(e);
+		}
+	}
+
+	private static <E extends Enum<E>> Set<E> readEnumSet(ByteBuffer buffer, Class<E> type, E[] values) {
+		final Set<E> result = EnumSet.noneOf(type);
+		final int size = buffer.get();
+		for (int i = 0; i < size; i++) {
+			result.add(values[buffer.getShort()]);
+		}
+		return result;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Berechnet einen Wert aus den Namen aller gespeicherten Aufzählungen. Da die
+	 * Datenbank Ordinalzahlen speichert, wird sie ungültig, sobald sich eine der
+	 * Aufzählungen ändert.
+	 */
+	private static int schema() {
+		int result = 1;
+		for (final Class<? extends Enum<?>> type : Arrays.<Class<? extends Enum<?>>>asList(
+				AbilityType.class, AdditionalCostType.class, ColorType.class, ObjectType.class, RarityType.class,
+				SubType.class, SuperType.class)) {
+			for (final Enum<?> value : type.getEnumConstants()) {
+				result = 31 * result + value.name().hashCode();
+			}
+		}
+		return result;
+	}
+
+	private static <E extends Enum<E>> void writeEnumSet(DataOutputStream out, Set<E> set) throws IOException {
+		out.writeByte(set.size());
+		for (final E value : set) {
+			out.writeShort(value.ordinal());
+		}
+	}
+
+	private static void writePrototype(DataOutputStream out, CardPrototype prototype) throws IOException {
+		writeString(out, prototype.getDisplayName());
+		writeString(out, prototype.getFileName());
+		out.writeByte(prototype.getRarity().ordinal());
+		out.writeShort(prototype.getPower());
+		out.writeShort(prototype.getToughness());
+		writeEnumSet(out, prototype.getSetColorTypes());
+		writeEnumSet(out, prototype.getSetObjectTypes());
+		writeEnumSet(out, prototype.getSetSubTypes());
+		writeEnumSet(out, prototype.getSetSuperTypes());
+
+		out.writeByte(prototype.getListCostMaps().size());
+		for (final IsManaMap costMap : prototype.getListCostMaps()) {
+			for (final ColorType color : COLORS) {
+				out.writeByte(costMap.get(color));
+			}
+		}
+
+		out.writeByte(prototype.getListAbilities().size());
+		for (final AbilityPrototype ability : prototype.getListAbilities()) {
+			out.writeByte(ability.getAbilityType().ordinal());
+			out.writeByte(ability.getAdditionalCostType().ordinal());
+			// Effekte bleiben JSON, da ActivatedAbility sie beim Erzeugen selbst parst.
+			writeString(out, ability.getEffectArray().toString());
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Speichert den eingeblendeten Datenteil.
+	 */
+	private final ByteBuffer data;
+	/**
+	 * Speichert den Offset jedes Datensatzes im Datenteil nach Kartenname.
+	 */
+	private final Map<String, Integer> mapOffsets;
+
+	private CardDatabase(ByteBuffer data, Map<String, Integer> mapOffsets) {
+		this.data = data;
+		this.mapOffsets = mapOffsets;
+	}
+
+	public boolean contains(String cardName) {
+		return mapOffsets.containsKey(cardName);
+	}
+
+	/**
+	 * Dekodiert die Vorlage einer Karte.
+	 *
+	 * @param cardName
+	 *            der Dateiname der Karte ohne Endung.
+	 * @return die Vorlage.
+	 * @throws NoSuchResourceException
+	 *             wenn die Karte nicht in der Datenbank enthalten ist.
+	 */
+	public CardPrototype get(String cardName) throws NoSuchResourceException {
+		final Integer offset = mapOffsets.get(cardName);
+		if (offset == null) {
+			throw new NoSuchResourceException(cardName);
+		}
+		// Jeder Aufruf liest über eine eigene Sicht, der Datenteil selbst bleibt
+		// unverändert. Dadurch können mehrere Threads gleichzeitig lesen.
+		final ByteBuffer buffer = data.duplicate();
+		buffer.position(offset);
+
+		final String displayName = readString(buffer);
+		final String fileName = readString(buffer);
+		final RarityType rarity = RarityType.values()[buffer.get()];
+		final int power = buffer.getShort();
+		final int toughness = buffer.getShort();
+		final Set<ColorType> setColorTypes = readEnumSet(buffer, ColorType.class, COLORS);
+		final Set<ObjectType> setObjectTypes = readEnumSet(buffer, ObjectType.class, ObjectType.values());
+		final Set<SubType> setSubTypes = readEnumSet(buffer, SubType.class, SubType.values());
+		final Set<SuperType> setSuperTypes = readEnumSet(buffer, SuperType.class, SuperType.values());
+
+		final int costMapCount = buffer.get();
+		final List<IsManaMap> listCostMaps = new ArrayList<>(costMapCount);
+		for (int i = 0; i < costMapCount; i++) {
+			final ManaMapArray costMap = new ManaMapArray();
+			for (final ColorType color : COLORS) {
+				final int howMuch = buffer.get();
+				if (howMuch != 0) {
+					costMap.add(color, howMuch);
+				}
+			}
+			listCostMaps.add(costMap);
+		}
+
+		final int abilityCount = buffer.get();
+		final List<AbilityPrototype> listAbilities = new ArrayList<>(abilityCount);
+		for (int i = 0; i < abilityCount; i++) {
+			final AbilityType abilityType = AbilityType.values()[buffer.get()];
+			final AdditionalCostType additionalCostType = AdditionalCostType.values()[buffer.get()];
+			listAbilities.add(new AbilityPrototype(abilityType, additionalCostType,
+					new JsonParser().parse(readString(buffer)).getAsJsonArray()));
+		}
+
+		return new CardPrototype(displayName, fileName, rarity, power, toughness, setColorTypes, setObjectTypes,
+				setSubTypes, setSuperTypes, listCostMaps, listAbilities);
+	}
+
+	public int getSize() {
+		return mapOffsets.size();
+	}
+
+}
@@ -27,25 +27,19 @@ public class FileManager {
 	private static final Logger LOGGER = LoggerFactory.getLogger("FileManager");
 	private static final Map<String, Image> MAP_AVATAR_IMAGES = new HashMap<>();
 	private static final Map<String, Path> MAP_CARD_FILES = new HashMap<>();
-	private static final Map<String, Image> MAP_CARD_IMAGES = new HashMap<>();
 	private static final Map<String, Path> MAP_DECK_FILES = new HashMap<>();
 	private static final String PATH_AVATAR_IMAGES = "avatarImages/";
+	private static final String PATH_CARD_DATABASE = "cardData.db";
 	private static final String PATH_CARD_FILES = "cardFiles/";
-	private static final String PATH_CARD_IMAGES = "cardImages/";
 	private static final String PATH_DECK_FILES = "deckFiles/";
+	private static final String PATH_JOURNAL_FILES = "journals/";
 
 	public static List<Image> getAvatarImages() {
 		return new ArrayList<>(MAP_AVATAR_IMAGES.values());
 	}
 
-	public static Image getCardImage(String cardName) throws NoSuchResourceException {
-		final String fileName = cardName.split("[.]")[0] + ".jpg";
-		if (availableCardImages().contains(fileName)) {
-			LOGGER.trace("CardImage loaded: {}", fileName);
-			return MAP_CARD_IMAGES.get(fileName);
-		} else {
-			throw new NoSuchResourceException(fileName);
-		}
+	public static Path getCardDatabasePath() {
+		return Paths.get(PATH_CARD_DATABASE);
 	}
 
 	public static Path getCardPath(String cardName) throws NoSuchResourceException {
@@ -57,6 +51,10 @@ public class FileManager {
 		}
 	}
 
+	public static List<Path> getCardPaths() {
+		return new ArrayList<>(MAP_CARD_FILES.values());
+	}
+
 	public static List<String> getDeckNames() {
 		return new ArrayList<>(MAP_DECK_FILES.keySet());
 	}
@@ -70,6 +68,14 @@ public class FileManager {
 		}
 	}
 
+	/**
+	 * Liefert den Pfad für ein neues Matchprotokoll. Der Name enthält die
+	 * aktuelle Zeit, damit frühere Protokolle nicht überschrieben werden.
+	 */
+	public static Path getJournalPath() {
+		return Paths.get(PATH_JOURNAL_FILES, "match-" + System.currentTimeMillis() + ".mcj");
+	}
+
 	public static void loadAvatarImages() {
 		mapImageDirectory(MAP_AVATAR_IMAGES, PATH_AVATAR_IMAGES);
 	}
@@ -78,29 +84,10 @@ public class FileManager {
 		mapFileDirectory(MAP_CARD_FILES, PATH_CARD_FILES);
 	}
 
-	public static void loadCardImages(String cardName) {
-		final String fileName = cardName + ".jpg";
-		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(PATH_CARD_IMAGES))) {
-			for (final Path path : directoryStream) {
-				final Path currentFileName = path.getFileName();
-				if (fileName.equals(currentFileName.toString())) {
-					MAP_CARD_IMAGES.put(currentFileName.toString(), new Image(path.toFile().toURI().toString()));
-					LOGGER.trace("CardImage added: {}", currentFileName);
-				}
-			}
-		} catch (final IOException ex) {
-			ex.printStackTrace();
-		}
-	}
-
 	public static void loadDeckData() {
 		mapFileDirectory(MAP_DECK_FILES, PATH_DECK_FILES);
 	}
 
-	private static Set<String> availableCardImages() {
-		return new HashSet<String>(MAP_CARD_IMAGES.keySet());
-	}
-
 	private static Set<String> availableCards() {
 		return new HashSet<String>(MAP_CARD_FILES.keySet());
 	}
@@ -0,0 +1,268 @@
+package de.mca.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.mca.model.MagicCard;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Lädt Kartenbilder im Hintergrund und hält die dekodierten Bilder in einem
+ * größenbeschränkten LRU-Cache. Der Pfad eines Bildes ergibt sich direkt aus
+ * dem Kartennamen, das Verzeichnis wird nicht durchsucht.
+ *
+ * getCardImage() blockiert nie: Ist ein Bild noch nicht dekodiert, wird das
+ * Laden angestoßen und ein Platzhalter geliefert. Da die Zeichenflächen in
+ * jedem Frame neu gezeichnet werden, erscheint das Bild, sobald es fertig
+ * dekodiert ist. Bilder, die aus dem Cache verdrängt wurden, werden beim
+ * nächsten Zugriff erneut geladen. Bilder, die nicht dekodiert werden konnten,
+ * werden nicht erneut versucht, für sie bleibt es beim Platzhalter.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class ImageService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("ImageService");
+	/**
+	 * Speichert die dekodierten Bilder in Zugriffsreihenfolge. Der älteste
+	 * Eintrag steht vorne.
+	 */
+	private static final Map<String, Image> MAP_CARD_IMAGES = new LinkedHashMap<>(64, 0.75f, true);
+	/**
+	 * Speichert die maximale Größe aller dekodierten Bilder in Byte. Reicht für
+	 * etwa 120 Kartenscans in voller Auflösung.
+	 */
+	private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+	private static final String PATH_CARD_IMAGES = "cardImages/";
+	/**
+	 * Speichert den Thread-Pool, auf dem die Bilder dekodiert werden. Die Threads
+	 * sind Daemons und halten die Anwendung nicht am Leben.
+	 */
+	private static final ExecutorService POOL = Executors
+			.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+				final Thread thread = new Thread(runnable, "ImageService");
+				thread.setDaemon(true);
+				return thread;
+			});
+	/**
+	 * Speichert die Namen der Bilder, die nicht dekodiert werden konnten.
+	 */
+	private static final Set<String> SET_FAILED = ConcurrentHashMap.newKeySet();
+	/**
+	 * Speichert die Namen der Bilder, die gerade geladen werden.
+	 */
+	private static final Set<String> SET_PENDING = ConcurrentHashMap.newKeySet();
+	/**
+	 * Speichert die aktuelle Größe aller dekodierten Bilder in Byte.
+	 */
+	private static long cacheBytes = 0;
+	/**
+	 * Speichert den Platzhalter. Wird beim ersten Bedarf angelegt.
+	 */
+	private static Image placeholder = null;
+
+	/**
+	 * Dekodiert das Bild einer Karte direkt in der angegebenen Größe auf dem
+	 * Thread-Pool. Das Ergebnis wird nicht im Cache gehalten, sondern an den
+	 * Empfänger übergeben, der auf einem Thread des Pools aufgerufen wird. Kann
+	 * das Bild nicht dekodiert werden, wird stattdessen failure aufgerufen, bei
+	 * einem schon früher gescheiterten Bild sofort auf dem aufrufenden Thread.
+	 *
+	 * @param cardName
+	 *            der Dateiname der Karte, mit oder ohne Endung.
+	 * @param width
+	 *            die Breite des Ergebnisses.
+	 * @param height
+	 *            die Höhe des Ergebnisses.
+	 * @param consumer
+	 *            der Empfänger des dekodierten Bildes.
+	 * @param failure
+	 *            wird aufgerufen, wenn das Bild nicht dekodiert werden kann.
+	 * @throws NoSuchResourceException
+	 *             wenn es zu der Karte kein Bild gibt.
+	 */
+	public static void decodeCardImage(String cardName, double width, double height, Consumer<Image> consumer,
+			Runnable failure) throws NoSuchResourceException {
+		final String fileName = toFileName(cardName);
+		final Path path = Paths.get(PATH_CARD_IMAGES, fileName);
+		if (!Files.isRegularFile(path)) {
+			throw new NoSuchResourceException(fileName);
+		}
+		if (SET_FAILED.contains(fileName)) {
+			failure.run();
+			return;
+		}
+		POOL.execute(() -> {
+			final Image image = new Image(path.toUri().toString(), width, height, false, true);
+			if (image.isError()) {
+				fail(fileName, image);
+				failure.run();
+				return;
+			}
+			consumer.accept(image);
+		});
+	}
+
+	/**
+	 * Liefert das Bild einer Karte oder einen Platzhalter, falls es noch nicht
+	 * dekodiert ist.
+	 *
+	 * @param cardName
+	 *            der Dateiname der Karte, mit oder ohne Endung.
+	 * @return das Bild oder der Platzhalter.
+	 * @throws NoSuchResourceException
+	 *             wenn es zu der Karte kein Bild gibt.
+	 */
+	public static Image getCardImage(String cardName) throws NoSuchResourceException {
+		final String fileName = toFileName(cardName);
+		synchronized (MAP_CARD_IMAGES) {
+			final Image image = MAP_CARD_IMAGES.get(fileName);
+			if (image != null) {
+				return image;
+			}
+		}
+		load(fileName);
+		return getPlaceholder();
+	}
+
+	/**
+	 * Zeigt an, ob das Bild einer Karte nicht dekodiert werden konnte. Für sie
+	 * bleibt es endgültig beim Platzhalter.
+	 *
+	 * @param cardName
+	 *            der Dateiname der Karte, mit oder ohne Endung.
+	 * @return true, wenn das Dekodieren gescheitert ist.
+	 */
+	public static boolean isFailed(String cardName) {
+		return SET_FAILED.contains(toFileName(cardName));
+	}
+
+	/**
+	 * Zeigt an, ob ein von getCardImage() geliefertes Bild der Platzhalter ist.
+	 *
+	 * @param image
+	 *            das Bild.
+	 * @return true, wenn das endgültige Bild noch nicht oder gar nicht dekodiert
+	 *         werden konnte.
+	 */
+	public static synchronized boolean isPlaceholder(Image image) {
+		return image == placeholder;
+	}
+
+	/**
+	 * Stößt das Laden mehrerer Kartenbilder an, ohne auf das Ergebnis zu warten.
+	 * Wird vor Spielbeginn aufgerufen, damit die Bilder beim ersten Zeichnen
+	 * bereits vorliegen.
+	 *
+	 * @param cardNames
+	 *            die Dateinamen der Karten.
+	 */
+	public static void loadCardImages(Collection<String> cardNames) {
+		for (final String cardName : cardNames) {
+			try {
+				final String fileName = toFileName(cardName);
+				synchronized (MAP_CARD_IMAGES) {
+					if (MAP_CARD_IMAGES.containsKey(fileName)) {
+						continue;
+					}
+				}
+				load(fileName);
+			} catch (final NoSuchResourceException e) {
+				LOGGER.warn("CardImage missing: {}", cardName);
+			}
+		}
+	}
+
+	private static long bytesOf(Image image) {
+		return (long) image.getWidth() * (long) image.getHeight() * 4;
+	}
+
+	private static void fail(String fileName, Image image) {
+		if (SET_FAILED.add(fileName)) {
+			LOGGER.warn("CardImage not decoded: {}", fileName, image.getException());
+		}
+	}
+
+	private static synchronized Image getPlaceholder() {
+		if (placeholder == null) {
+			final int width = (int) (MagicCard.CARD_WIDTH / 10);
+			final int height = (int) (MagicCard.CARD_HEIGHT / 10);
+			final WritableImage image = new WritableImage(width, height);
+			final PixelWriter writer = image.getPixelWriter();
+			for (int x = 0; x < width; x++) {
+				for (int y = 0; y < height; y++) {
+					writer.setColor(x, y, Color.DIMGRAY);
+				}
+			}
+			placeholder = image;
+		}
+		return placeholder;
+	}
+
+	private static void load(String fileName) throws NoSuchResourceException {
+		if (SET_PENDING.contains(fileName) || SET_FAILED.contains(fileName)) {
+			return;
+		}
+		final Path path = Paths.get(PATH_CARD_IMAGES, fileName);
+		if (!Files.isRegularFile(path)) {
+			throw new NoSuchResourceException(fileName);
+		}
+		if (!SET_PENDING.add(fileName)) {
+			return;
+		}
+		POOL.execute(() -> {
+			try {
+				final Image image = new Image(path.toUri().toString());
+				if (image.isError()) {
+					fail(fileName, image);
+					return;
+				}
+				put(fileName, image);
+				LOGGER.trace("CardImage loaded: {}", fileName);
+			} finally {
+				SET_PENDING.remove(fileName);
+			}
+		});
+	}
+
+	private static void put(String fileName, Image image) {
+		synchronized (MAP_CARD_IMAGES) {
+			final Image previous = MAP_CARD_IMAGES.put(fileName, image);
+			if (previous != null) {
+				cacheBytes -= bytesOf(previous);
+			}
+			cacheBytes += bytesOf(image);
+
+			// Verdränge die am längsten nicht benutzten Bilder, das neue bleibt immer.
+			final Iterator<Map.Entry<String, Image>> iterator = MAP_CARD_IMAGES.entrySet().iterator();
+			while (cacheBytes > MAX_CACHE_BYTES && MAP_CARD_IMAGES.size() > 1) {
+				final Map.Entry<String, Image> eldest = iterator.next();
+				cacheBytes -= bytesOf(eldest.getValue());
+				iterator.remove();
+				LOGGER.trace("CardImage evicted: {}", eldest.getKey());
+			}
+		}
+	}
+
+	private static String toFileName(String cardName) {
+		return cardName.split("[.]")[0] + ".jpg";
+	}
+
+}
@@ -29,6 +29,7 @@ import de.mca.model.enums.PhaseType;
 import de.mca.model.enums.PlayerState;
 import de.mca.model.enums.StepType;
 import de.mca.model.interfaces.IsAttackTarget;
+import de.mca.model.interfaces.IsManaMap;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.model.interfaces.IsStackable;
 
@@ -49,12 +50,9 @@ public class JsonManager {
 		final List<MagicCard> playerOnezoneGraveyard = playerOne.getZoneGraveyard().getAll();
 		final List<MagicCard> playerOneZoneHand = playerOne.getZoneHand().getAll();
 		final List<MagicCard> playerOneZoneLibrary = playerOne.getZoneLibrary().getAll();
-		final Map<ColorType, Integer> playerOneManaCostGoal = new HashMap<>(
-				playerOne.getManaCostGoal().propertyMapMana().get());
-		final Map<ColorType, Integer> playerOneManaMapPaid = new HashMap<>(
-				playerOne.getManaCostAlreadyPaid().propertyMapMana().get());
-		final Map<ColorType, Integer> playerOneManaPool = new HashMap<>(
-				playerOne.getManaPool().propertyMapMana().get());
+		final Map<ColorType, Integer> playerOneManaCostGoal = toMap(playerOne.getManaCostGoal());
+		final Map<ColorType, Integer> playerOneManaMapPaid = toMap(playerOne.getManaCostAlreadyPaid());
+		final Map<ColorType, Integer> playerOneManaPool = toMap(playerOne.getManaPool());
 
 		final IsPlayer playerTwo = match.getPlayerTwo();
 		final String playerTwoDisplayName = playerTwo.getDisplayName();
@@ -70,12 +68,9 @@ public class JsonManager {
 		final List<MagicCard> playerTwoZoneHand = playerTwo.getZoneHand().getAll();
 		final List<MagicCard> playerTwoZoneLibrary = playerTwo.getZoneLibrary().getAll();
 		final List<MagicCard> playerTwoZoneGraveyard = playerTwo.getZoneGraveyard().getAll();
-		final Map<ColorType, Integer> playerTwoManaCostGoal = new HashMap<>(
-				playerTwo.getManaCostGoal().propertyMapMana().get());
-		final Map<ColorType, Integer> playerTwoManaMapPaid = new HashMap<>(
-				playerTwo.getManaCostAlreadyPaid().propertyMapMana().get());
-		final Map<ColorType, Integer> playerTwoManaPool = new HashMap<>(
-				playerTwo.getManaPool().propertyMapMana().get());
+		final Map<ColorType, Integer> playerTwoManaCostGoal = toMap(playerTwo.getManaCostGoal());
+		final Map<ColorType, Integer> playerTwoManaMapPaid = toMap(playerTwo.getManaCostAlreadyPaid());
+		final Map<ColorType, Integer> playerTwoManaPool = toMap(playerTwo.getManaPool());
 
 		final Turn currentTurn = match.getCurrentTurn();
 		final boolean flagTurnRunning = currentTurn.getFlagTurnRunning();
@@ -84,15 +79,15 @@ public class JsonManager {
 
 		final Phase currentPhase = currentTurn.getCurrentPhase();
 		final PhaseType phaseType = currentPhase.getPhaseType();
-		final boolean flagPhaseRunning = currentPhase.getFlagPhaseRunning();
-		final boolean flagPhaseSkipped = currentPhase.getFlagPhaseSkipped();
-		final boolean flagPhaseRepeated = currentPhase.getFlagPhaseRepeated();
+		final boolean flagPhaseRunning = currentTurn.getFlagPhaseRunning();
+		final boolean flagPhaseSkipped = currentTurn.getFlagPhaseSkipped();
+		final boolean flagPhaseRepeated = currentTurn.getFlagPhaseRepeated();
 
-		final Step currentStep = currentPhase.getCurrentStep();
+		final Step currentStep = currentTurn.getCurrentStep();
 		final StepType stepType = currentStep.getStepType();
-		final boolean flagStepRepeated = currentStep.getFlagStepRepeated();
-		final boolean flagStepRunning = currentStep.getFlagStepRunning();
-		final boolean flagStepSkipped = currentStep.getFlagStepSkipped();
+		final boolean flagStepRepeated = currentTurn.getFlagStepRepeated();
+		final boolean flagStepRunning = currentTurn.getFlagStepRunning();
+		final boolean flagStepSkipped = currentTurn.getFlagStepSkipped();
 
 		final int actionCount = match.getActionCount();
 		final boolean flagMatchRunning = match.getFlagMatchRunning();
@@ -104,7 +99,7 @@ public class JsonManager {
 
 		final RuleEnforcer ruleEnforcer = match.getRuleEnforcer();
 		final MagicPermanent temporaryBlocker = ruleEnforcer.getTemporaryBlocker();
-		final Set<StateBasedAction> setStateBasedActions = new HashSet<>(ruleEnforcer.getpropertyStateBasedActions());
+		final Set<StateBasedAction> setStateBasedActions = new HashSet<>(ruleEnforcer.getSetStateBasedActions());
 
 		final BoardState boardState = new BoardState(actionCount, currentPhase, currentStep, playerOneDamage,
 				playerTwoDamage, playerOneDisplayName, playerTwoDisplayName, playerOneFlagDeclaringAttackers,
@@ -128,4 +123,10 @@ public class JsonManager {
 		}
 	}
 
+	private static Map<ColorType, Integer> toMap(IsManaMap manaMap) {
+		final Map<ColorType, Integer> result = new HashMap<>();
+		manaMap.getKeySet().forEach(color -> result.put(color, manaMap.get(color)));
+		return result;
+	}
+
 }
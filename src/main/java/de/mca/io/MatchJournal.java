@@ -0,0 +1,442 @@
+package de.mca.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.mca.model.enums.PlayerActionType;
+import de.mca.model.enums.TurnBasedActionType;
+
+/**
+ * Binäres Protokoll eines Matches, in das jede Spieleraktion und jede
+ * rundenbedingte Aktion als Eintrag fester Länge angehängt wird. Die Einträge
+ * werden auf dem Thread des Matches nur in einen Puffer geschrieben. Volle
+ * Puffer werden auf einem gemeinsamen Hintergrundthread in die Datei
+ * geschrieben und danach wiederverwendet.
+ *
+ * Aufbau der Datei: Kopf (Kennung, Version, Dateinamen beider Decks,
+ * Startwert der Zufallsquelle) und
+ * Einträge zu je 9 Byte (Art, Ordinalzahl des Aktionstyps, Spieler, Runde,
+ * Kartenreferenz). Bei Spieleraktionen enthalten die oberen vier Bit des
+ * Aktionstyps den Index der aktivierten Fähigkeit. Karten werden nicht über ihre Id referenziert, die von der
+ * Reihenfolge des Einlesens abhängt, sondern über Besitzer und Position im
+ * Deck (siehe RuleEnforcer). Zufällige Abwürfe erscheinen als gewöhnliche
+ * Abwürfe der tatsächlich abgeworfenen Karte. Abgespielt wird ein Protokoll
+ * mit MatchReplay.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchJournal implements Closeable {
+
+	/**
+	 * Ein gelesener Eintrag des Protokolls.
+	 */
+	public static final class Entry {
+
+		/**
+		 * Speichert den Index der aktivierten Fähigkeit, 0 bei anderen Aktionen.
+		 */
+		private final int abilityIndex;
+		/**
+		 * Speichert die Kartenreferenz oder NO_CARD.
+		 */
+		private final int cardReference;
+		/**
+		 * Speichert den Spieler: 1 für Spieler eins, 2 für Spieler zwei.
+		 */
+		private final int player;
+		/**
+		 * Speichert den Typ der Spieleraktion, null bei rundenbedingten Aktionen.
+		 */
+		private final PlayerActionType playerActionType;
+		/**
+		 * Speichert den Typ der rundenbedingten Aktion, null bei Spieleraktionen.
+		 */
+		private final TurnBasedActionType turnBasedActionType;
+		/**
+		 * Speichert die Rundennummer.
+		 */
+		private final int turnNumber;
+
+		private Entry(PlayerActionType playerActionType, TurnBasedActionType turnBasedActionType, int player,
+				int turnNumber, int cardReference, int abilityIndex) {
+			this.abilityIndex = abilityIndex;
+			this.playerActionType = playerActionType;
+			this.turnBasedActionType = turnBasedActionType;
+			this.player = player;
+			this.turnNumber = turnNumber;
+			this.cardReference = cardReference;
+		}
+
+		public int getAbilityIndex() {
+			return abilityIndex;
+		}
+
+		public int getCardReference() {
+			return cardReference;
+		}
+
+		public int getPlayer() {
+			return player;
+		}
+
+		public PlayerActionType getPlayerActionType() {
+			return playerActionType;
+		}
+
+		public TurnBasedActionType getTurnBasedActionType() {
+			return turnBasedActionType;
+		}
+
+		public int getTurnNumber() {
+			return turnNumber;
+		}
+
+		public boolean isPlayerAction() {
+			return playerActionType != null;
+		}
+
+		@Override
+		public String toString() {
+			return new StringBuilder("[").append(turnNumber).append(" p=[").append(player).append("] ")
+					.append(isPlayerAction() ? playerActionType.name() : turnBasedActionType.name()).append(" c=[")
+					.append(cardReference).append("] a=[").append(abilityIndex).append("]]").toString();
+		}
+
+	}
+
+	/**
+	 * Ein vollständig gelesenes Protokoll.
+	 */
+	public static final class Recording {
+
+		private final String deckOne;
+		private final String deckTwo;
+		private final List<Entry> listEntries;
+		private final long seed;
+
+		private Recording(String deckOne, String deckTwo, long seed, List<Entry> listEntries) {
+			this.deckOne = deckOne;
+			this.deckTwo = deckTwo;
+			this.seed = seed;
+			this.listEntries = Collections.unmodifiableList(listEntries);
+		}
+
+		public String getDeckOne() {
+			return deckOne;
+		}
+
+		public String getDeckTwo() {
+			return deckTwo;
+		}
+
+		public List<Entry> getListEntries() {
+			return listEntries;
+		}
+
+		public long getSeed() {
+			return seed;
+		}
+
+	}
+
+	/**
+	 * Speichert die Kartenreferenz für Einträge ohne Karte.
+	 */
+	public static final int NO_CARD = -1;
+	/**
+	 * Speichert den größten Index einer Fähigkeit, der in einem Eintrag Platz
+	 * findet.
+	 */
+	public static final int MAX_ABILITY_INDEX = 15;
+	/**
+	 * Speichert die Größe eines Puffers in Byte.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+	private static final byte KIND_PLAYER_ACTION = 0;
+	private static final byte KIND_TURN_BASED_ACTION = 1;
+	private static final Logger LOGGER = LoggerFactory.getLogger("MatchJournal");
+	/**
+	 * Speichert die Kennung am Anfang der Datei ("MCAJ").
+	 */
+	private static final int MAGIC = 0x4D43414A;
+	private static final PlayerActionType[] PLAYER_ACTIONS = PlayerActionType.values();
+	/**
+	 * Speichert die Länge eines Eintrags in Byte.
+	 */
+	private static final int RECORD_SIZE = 9;
+	private static final TurnBasedActionType[] TURN_BASED_ACTIONS = TurnBasedActionType.values();
+	/**
+	 * Speichert die Version des Dateiformats.
+	 */
+	private static final int VERSION = 5;
+	/**
+	 * Speichert den Thread, auf dem alle Protokolle geschrieben werden. Die
+	 * Puffer eines Protokolls werden dadurch in der Reihenfolge geschrieben, in
+	 * der sie voll wurden.
+	 */
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "MatchJournal");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Legt ein neues Protokoll an und schreibt seinen Kopf. Fehlende Verzeichnisse
+	 * werden angelegt, eine vorhandene Datei wird überschrieben.
+	 *
+	 * @param journalPath
+	 *            der Pfad des Protokolls.
+	 * @param deckOne
+	 *            der Dateiname des Decks von Spieler eins.
+	 * @param deckTwo
+	 *            der Dateiname des Decks von Spieler zwei.
+	 * @param seed
+	 *            der Startwert der Zufallsquelle des Matches.
+	 * @return das Protokoll.
+	 * @throws ResourceReadingException
+	 *             wenn die Datei nicht angelegt werden kann.
+	 */
+	public static MatchJournal create(Path journalPath, String deckOne, String deckTwo, long seed)
+			throws ResourceReadingException {
+		try {
+			if (journalPath.getParent() != null) {
+				Files.createDirectories(journalPath.getParent());
+			}
+			final FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			final MatchJournal journal = new MatchJournal(journalPath, channel);
+			journal.buffer.putInt(MAGIC);
+			journal.buffer.putInt(VERSION);
+			writeString(journal.buffer, deckOne);
+			writeString(journal.buffer, deckTwo);
+			journal.buffer.putLong(seed);
+			return journal;
+		} catch (final IOException e) {
+			throw new ResourceReadingException(e, journalPath.toString());
+		}
+	}
+
+	/**
+	 * Liest ein vollständiges Protokoll.
+	 *
+	 * @param journalPath
+	 *            der Pfad des Protokolls.
+	 * @return das gelesene Protokoll.
+	 * @throws ResourceReadingException
+	 *             wenn die Datei nicht gelesen werden kann oder kein Protokoll
+	 *             dieser Version ist.
+	 */
+	public static Recording read(Path journalPath) throws ResourceReadingException {
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Unbekanntes Format");
+			}
+			final String deckOne = readString(buffer);
+			final String deckTwo = readString(buffer);
+			final long seed = buffer.getLong();
+
+			final List<Entry> listEntries = new ArrayList<>(buffer.remaining() / RECORD_SIZE);
+			while (buffer.remaining() >= RECORD_SIZE) {
+				final byte kind = buffer.get();
+				final int type = buffer.get() & 0xFF;
+				final int player = buffer.get();
+				final int turnNumber = buffer.getShort();
+				final int cardReference = buffer.getInt();
+				if (kind == KIND_PLAYER_ACTION) {
+					listEntries.add(new Entry(PLAYER_ACTIONS[type & 0x0F], null, player, turnNumber, cardReference,
+							type >>> 4));
+				} else {
+					listEntries.add(new Entry(null, TURN_BASED_ACTIONS[type], player, turnNumber, cardReference, 0));
+				}
+			}
+			return new Recording(deckOne, deckTwo, seed, listEntries);
+		} catch (final IOException | RuntimeException e) {
+			throw new ResourceReadingException(e, journalPath.toString());
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeString(ByteBuffer buffer, String value) {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		buffer.putShort((short) bytes.length);
+		buffer.put(bytes);
+	}
+
+	/**
+	 * Speichert den Puffer, in den gerade geschrieben wird.
+	 */
+	private ByteBuffer buffer;
+	private final FileChannel channel;
+	/**
+	 * Speichert die Anzahl der angehängten Einträge.
+	 */
+	private int entryCount;
+	/**
+	 * Zeigt an, ob das Protokoll geschlossen wurde.
+	 */
+	private boolean flagClosed;
+	/**
+	 * Speichert den Pfad des Protokolls.
+	 */
+	private final Path journalPath;
+	/**
+	 * Speichert die geschriebenen Puffer, die wiederverwendet werden können.
+	 */
+	private final Queue<ByteBuffer> queueBuffers;
+
+	private MatchJournal(Path journalPath, FileChannel channel) {
+		this.journalPath = journalPath;
+		this.channel = channel;
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		entryCount = 0;
+		flagClosed = false;
+		queueBuffers = new ConcurrentLinkedQueue<>();
+	}
+
+	/**
+	 * Schreibt die restlichen Einträge und schließt die Datei. Blockiert, bis
+	 * alles geschrieben ist.
+	 */
+	@Override
+	public void close() {
+		if (flagClosed) {
+			return;
+		}
+		flagClosed = true;
+		final Future<?> result = submit(() -> {
+			try {
+				channel.close();
+			} catch (final IOException e) {
+				LOGGER.warn("{} close() -> Nicht geschlossen", this, e);
+			}
+		});
+		try {
+			result.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final ExecutionException e) {
+			LOGGER.warn("{} close() -> Nicht geschlossen", this, e.getCause());
+		}
+		LOGGER.debug("{} close()", this);
+	}
+
+	/**
+	 * Liefert die Anzahl der bisher angehängten Einträge.
+	 *
+	 * @return die Anzahl der Einträge.
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * Hängt eine Spieleraktion an.
+	 *
+	 * @param playerActionType
+	 *            der Typ der Aktion.
+	 * @param player
+	 *            der handelnde Spieler.
+	 * @param turnNumber
+	 *            die Rundennummer.
+	 * @param cardReference
+	 *            die Referenz der betroffenen Karte oder NO_CARD.
+	 * @param abilityIndex
+	 *            der Index der aktivierten Fähigkeit, 0 bei anderen Aktionen.
+	 * @throws IllegalArgumentException
+	 *             wenn der Index größer als MAX_ABILITY_INDEX ist.
+	 */
+	public void recordPlayerAction(PlayerActionType playerActionType, int player, int turnNumber,
+			int cardReference, int abilityIndex) {
+		if (abilityIndex < 0 || abilityIndex > MAX_ABILITY_INDEX) {
+			throw new IllegalArgumentException("abilityIndex " + abilityIndex);
+		}
+		put(KIND_PLAYER_ACTION, playerActionType.ordinal() | (abilityIndex << 4), player, turnNumber,
+				cardReference);
+	}
+
+	/**
+	 * Hängt eine rundenbedingte Aktion an.
+	 *
+	 * @param turnBasedActionType
+	 *            der Typ der Aktion.
+	 * @param player
+	 *            der aktive Spieler.
+	 * @param turnNumber
+	 *            die Rundennummer.
+	 */
+	public void recordTurnBasedAction(TurnBasedActionType turnBasedActionType, int player, int turnNumber) {
+		put(KIND_TURN_BASED_ACTION, turnBasedActionType.ordinal(), player, turnNumber, NO_CARD);
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[journal ").append(journalPath).append("]").toString();
+	}
+
+	private void put(byte kind, int type, int player, int turnNumber, int cardReference) {
+		if (flagClosed) {
+			return;
+		}
+		if (buffer.remaining() < RECORD_SIZE) {
+			submit(null);
+		}
+		buffer.put(kind).put((byte) type).put((byte) player).putShort((short) turnNumber).putInt(cardReference);
+		entryCount++;
+	}
+
+	/**
+	 * Übergibt den aktuellen Puffer dem Hintergrundthread und setzt einen leeren
+	 * Puffer ein.
+	 *
+	 * @param after
+	 *            wird nach dem Schreiben auf dem Hintergrundthread ausgeführt,
+	 *            kann null sein.
+	 * @return das Ergebnis des Schreibvorgangs.
+	 */
+	private Future<?> submit(Runnable after) {
+		final ByteBuffer full = buffer;
+		full.flip();
+		final ByteBuffer next = queueBuffers.poll();
+		buffer = next != null ? next : ByteBuffer.allocateDirect(BUFFER_SIZE);
+		return WRITER.submit(() -> {
+			try {
+				while (full.hasRemaining()) {
+					channel.write(full);
+				}
+			} catch (final IOException e) {
+				LOGGER.warn("{} write() -> Einträge verloren", this, e);
+			}
+			full.clear();
+			queueBuffers.add(full);
+			if (after != null) {
+				after.run();
+			}
+		});
+	}
+
+}
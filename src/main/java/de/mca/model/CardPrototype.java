@@ -0,0 +1,228 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gson.JsonArray;
+
+import de.mca.model.enums.AbilityType;
+import de.mca.model.enums.AdditionalCostType;
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.ObjectType;
+import de.mca.model.enums.RarityType;
+import de.mca.model.enums.SubType;
+import de.mca.model.enums.SuperType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Unveränderliche Vorlage einer Karte, so wie sie aus der Kartendatei gelesen
+ * wurde (das, was auf der Karte gedruckt ist). Jede Kartendatei wird nur einmal
+ * geparst, alle Exemplare eines Decks werden anschließend über instantiate() mit
+ * eigener Id erzeugt. Die Exemplare teilen sich Name, Seltenheit, Mengen und
+ * Kosten der Vorlage und halten selbst nur ihren veränderlichen Zustand. Nur die
+ * Fähigkeiten werden je Exemplar erzeugt, da sie ihre Quelle und den
+ * kontrollierenden Spieler kennen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class CardPrototype {
+
+	/**
+	 * Vorlage einer aktivierten Fähigkeit. Die Effekte werden erst beim Erzeugen
+	 * der Fähigkeit angelegt, da sie ihre Quelle kennen müssen.
+	 */
+	public static final class AbilityPrototype {
+
+		/**
+		 * Speichert den Fähigkeitstyp.
+		 */
+		private final AbilityType abilityType;
+		/**
+		 * Speichert den Typ der zusätzlichen Kosten.
+		 */
+		private final AdditionalCostType additionalCostType;
+		/**
+		 * Speichert die Effektbeschreibungen aus der Kartendatei.
+		 */
+		private final JsonArray effectArray;
+
+		public AbilityPrototype(AbilityType abilityType, AdditionalCostType additionalCostType,
+				JsonArray effectArray) {
+			this.abilityType = abilityType;
+			this.additionalCostType = additionalCostType;
+			this.effectArray = effectArray;
+		}
+
+		public AbilityType getAbilityType() {
+			return abilityType;
+		}
+
+		public AdditionalCostType getAdditionalCostType() {
+			return additionalCostType;
+		}
+
+		public JsonArray getEffectArray() {
+			return effectArray;
+		}
+
+		private ActivatedAbility instantiate(MagicCard card) {
+			return new ActivatedAbility(card, abilityType, additionalCostType, effectArray,
+					Collections.emptyList());
+		}
+
+	}
+
+	private static ManaMapArray copy(IsManaMap manaMap) {
+		final ManaMapArray result = new ManaMapArray();
+		result.addAll(manaMap);
+		return result;
+	}
+
+	private static <E extends Enum<E>> EnumSet<E> copy(Set<E> set, Class<E> type) {
+		final EnumSet<E> result = EnumSet.noneOf(type);
+		result.addAll(set);
+		return result;
+	}
+
+	/**
+	 * Speichert den Namen, so wie er auf der Karte zu lesen ist.
+	 */
+	private final String displayName;
+	/**
+	 * Speichert den Filenamen der Karte (ohne Dateiendung).
+	 */
+	private final String fileName;
+	/**
+	 * Speichert die Vorlagen der aktivierten Fähigkeiten.
+	 */
+	private final List<AbilityPrototype> listAbilities;
+	/**
+	 * Speichert die Kosten. Bei doppelfarbigen Karten werden alle Kombinationen
+	 * gespeichert.
+	 */
+	private final List<IsManaMap> listCostMaps;
+	/**
+	 * Speichert die Angriffstärke.
+	 */
+	private final int power;
+	/**
+	 * Speichert die Seltenheit.
+	 */
+	private final RarityType rarity;
+	/**
+	 * Speichert die Farben.
+	 */
+	private final Set<ColorType> setColorTypes;
+	/**
+	 * Speichert die Objekttypen.
+	 */
+	private final Set<ObjectType> setObjectTypes;
+	/**
+	 * Speichert die Subtypen.
+	 */
+	private final Set<SubType> setSubTypes;
+	/**
+	 * Speichert die Supertypen.
+	 */
+	private final Set<SuperType> setSuperTypes;
+	/**
+	 * Speichert die Widerstandskraft.
+	 */
+	private final int toughness;
+
+	public CardPrototype(String displayName, String fileName, RarityType rarity, int power, int toughness,
+			Set<ColorType> setColorTypes, Set<ObjectType> setObjectTypes, Set<SubType> setSubTypes,
+			Set<SuperType> setSuperTypes, List<IsManaMap> listCostMaps, List<AbilityPrototype> listAbilities) {
+		this.displayName = displayName;
+		this.fileName = fileName;
+		this.rarity = rarity;
+		this.power = power;
+		this.toughness = toughness;
+		this.setColorTypes = Collections.unmodifiableSet(copy(setColorTypes, ColorType.class));
+		this.setObjectTypes = Collections.unmodifiableSet(copy(setObjectTypes, ObjectType.class));
+		this.setSubTypes = Collections.unmodifiableSet(copy(setSubTypes, SubType.class));
+		this.setSuperTypes = Collections.unmodifiableSet(copy(setSuperTypes, SuperType.class));
+		final List<IsManaMap> costMaps = new ArrayList<>();
+		listCostMaps.forEach(costMap -> costMaps.add(copy(costMap)));
+		this.listCostMaps = Collections.unmodifiableList(costMaps);
+		this.listAbilities = Collections.unmodifiableList(new ArrayList<>(listAbilities));
+	}
+
+	public String getDisplayName() {
+		return displayName;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public List<AbilityPrototype> getListAbilities() {
+		return listAbilities;
+	}
+
+	/**
+	 * Liefert die Kosten der Vorlage. Die ManaMaps werden von allen Exemplaren
+	 * geteilt und dürfen nicht verändert werden.
+	 *
+	 * @return die Kosten.
+	 */
+	public List<IsManaMap> getListCostMaps() {
+		return listCostMaps;
+	}
+
+	public int getPower() {
+		return power;
+	}
+
+	public RarityType getRarity() {
+		return rarity;
+	}
+
+	public Set<ColorType> getSetColorTypes() {
+		return setColorTypes;
+	}
+
+	public Set<ObjectType> getSetObjectTypes() {
+		return setObjectTypes;
+	}
+
+	public Set<SubType> getSetSubTypes() {
+		return setSubTypes;
+	}
+
+	public Set<SuperType> getSetSuperTypes() {
+		return setSuperTypes;
+	}
+
+	public int getToughness() {
+		return toughness;
+	}
+
+	/**
+	 * Erzeugt ein neues Exemplar der Karte. Das Exemplar verweist auf diese
+	 * Vorlage und erhält nur eigene Fähigkeiten.
+	 *
+	 * @param id
+	 *            die Identifikationsnummer des Exemplars.
+	 * @return das Exemplar.
+	 */
+	public MagicCard instantiate(int id) {
+		final MagicCard card = new MagicCard(this, id);
+		if (!listAbilities.isEmpty()) {
+			final List<ActivatedAbility> abilities = new ArrayList<>(listAbilities.size());
+			listAbilities.forEach(ability -> abilities.add(ability.instantiate(card)));
+			card.setListActivatedAbilities(abilities);
+		}
+		return card;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[").append(displayName).append(" f=[").append(fileName).append("]]").toString();
+	}
+
+}
@@ -0,0 +1,140 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsManaMap;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Speichert, was sich zwischen dem Beschwören eines Zauberspruchs und dem
+ * Ende seiner Bezahlung verändert: die Karte und ihre Stelle in der Hand, den
+ * Manapool und die Manaquellen, die während der Bezahlung getappt werden. Wird
+ * das Beschwören abgebrochen, setzt undo() nur diese Teile zurück.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class CastingUndo {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("CastingUndo");
+
+	/**
+	 * Speichert den Aktionszähler des Matches vor dem Beschwören.
+	 */
+	private final int actionCount;
+	/**
+	 * Speichert die Stelle der Karte in der Hand.
+	 */
+	private final int handIndex;
+	/**
+	 * Speichert die Manaquellen, die während der Bezahlung getappt wurden.
+	 */
+	private final List<MagicPermanent> listTapped;
+	/**
+	 * Speichert die beschworene Karte.
+	 */
+	private final MagicCard magicCard;
+	/**
+	 * Speichert eine Kopie des Manapools vor dem Beschwören.
+	 */
+	private final IsManaMap manaPool;
+	/**
+	 * Speichert den bezahlenden Spieler.
+	 */
+	private final IsPlayer player;
+	/**
+	 * Speichert den Spielerstatus vor dem Beschwören.
+	 */
+	private final PlayerState playerState;
+	/**
+	 * Speichert die Anzahl der von der Karte besuchten Zonen vor dem Beschwören.
+	 */
+	private final int zonesVisited;
+
+	/**
+	 * Sichert den Zustand vor dem Beschwören. Muss aufgerufen werden, bevor die
+	 * Karte die Hand verlässt.
+	 *
+	 * @param match     das Match.
+	 * @param player    der beschwörende Spieler.
+	 * @param magicCard die Karte.
+	 */
+	CastingUndo(Match match, IsPlayer player, MagicCard magicCard) {
+		this.player = player;
+		this.magicCard = magicCard;
+		actionCount = match.getActionCount();
+		handIndex = player.getZoneHand().getAll().indexOf(magicCard);
+		listTapped = new ArrayList<>();
+		manaPool = new ManaMapArray();
+		manaPool.addAll(player.getManaPool());
+		playerState = player.getPlayerState();
+		zonesVisited = magicCard.getListZonesVisited().size();
+	}
+
+	private CastingUndo(CastingUndo castingUndo) {
+		actionCount = castingUndo.actionCount;
+		handIndex = castingUndo.handIndex;
+		listTapped = new ArrayList<>(castingUndo.listTapped);
+		magicCard = castingUndo.magicCard;
+		manaPool = castingUndo.manaPool;
+		player = castingUndo.player;
+		playerState = castingUndo.playerState;
+		zonesVisited = castingUndo.zonesVisited;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[undo c=[").append(magicCard).append("] t=[").append(listTapped.size())
+				.append("]]").toString();
+	}
+
+	/**
+	 * Merkt sich eine Manaquelle, die während der Bezahlung getappt wurde.
+	 *
+	 * @param magicPermanent die Manaquelle.
+	 */
+	void addTapped(MagicPermanent magicPermanent) {
+		listTapped.add(magicPermanent);
+	}
+
+	/**
+	 * Liefert eine Kopie, die sich unabhängig weiterführen lässt. Wird von
+	 * MatchSnapshot verwendet, damit ein Snapshot während der Bezahlung
+	 * unverändert bleibt.
+	 */
+	CastingUndo copy() {
+		return new CastingUndo(this);
+	}
+
+	/**
+	 * Nimmt den Zauberspruch vom Stack, legt die Karte an ihre alte Stelle in der
+	 * Hand, enttappt die getappten Manaquellen und stellt Manapool,
+	 * Spielerstatus und Aktionszähler wieder her.
+	 *
+	 * @param match das Match.
+	 */
+	void undo(Match match) {
+		LOGGER.trace("{} undo()", this);
+		match.popSpell();
+		final List<?> listZonesVisited = magicCard.getListZonesVisited();
+		listZonesVisited.subList(zonesVisited, listZonesVisited.size()).clear();
+		player.returnCardToHand(magicCard, handIndex);
+
+		for (final MagicPermanent magicPermanent : listTapped) {
+			magicPermanent.setFlagTapped(false);
+		}
+		final IsManaMap manaPoolPlayer = player.getManaPool();
+		manaPoolPlayer.removeAll();
+		manaPoolPlayer.addAll(manaPool);
+		player.setManaCostAlreadyPaid(new ManaMapDefault());
+		player.setManaCostGoal(new ManaMapDefault());
+		player.setPlayerState(playerState);
+		match.setActionCount(actionCount);
+	}
+
+}
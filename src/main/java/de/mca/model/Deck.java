@@ -1,10 +1,6 @@
 package de.mca.model;
 
-import javafx.beans.property.ListProperty;
-import javafx.beans.property.SimpleListProperty;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.property.StringProperty;
-import javafx.collections.ObservableList;
+import java.util.List;
 
 /**
  *
@@ -16,48 +12,40 @@ public class Deck {
 	/**
 	 * Speichert die Kartenliste des Decks.
 	 */
-	private final ListProperty<MagicCard> cardList;
+	private final List<MagicCard> cardList;
 	/**
 	 * Speichert eine Beschreibung des Decks.
 	 */
-	private final StringProperty description;
+	private final String description;
 	/**
 	 * Speichert den Anzeigenamen.
 	 */
-	private final StringProperty displayName;
+	private final String displayName;
 
 	public Deck() {
 		this(null, null, null);
 	}
 
-	public Deck(String displayName, String description, ObservableList<MagicCard> cardList) {
-		this.displayName = new SimpleStringProperty(displayName);
-		this.description = new SimpleStringProperty(description);
-		this.cardList = new SimpleListProperty<>(cardList);
+	public Deck(String displayName, String description, List<MagicCard> cardList) {
+		this.displayName = displayName;
+		this.description = description;
+		this.cardList = cardList;
 	}
 
-	public ObservableList<MagicCard> getCardsList() {
+	public List<MagicCard> getCardsList() {
 		return cardList;
 	}
 
 	public String getDescription() {
-		return description.get();
-	}
-
-	public String getDisplayName() {
-		return displayName.get();
-	}
-
-	public StringProperty propertyDescription() {
 		return description;
 	}
 
-	public StringProperty propertyDisplayName() {
+	public String getDisplayName() {
 		return displayName;
 	}
 
 	@Override
 	public String toString() {
-		return displayName.get();
+		return displayName;
 	}
 }
@@ -1,19 +1,19 @@
 package de.mca.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.mca.Constants;
-import de.mca.io.JsonManager;
-import de.mca.model.enums.ObjectType;
+import de.mca.ai.AlphaBeta;
+import de.mca.ai.EvaluatorDefault;
+import de.mca.ai.IsSearch;
+import de.mca.ai.MonteCarlo;
+import de.mca.ai.SearchMove;
+import de.mca.ai.SearchMoveType;
+import de.mca.ai.SearchState;
 import de.mca.model.interfaces.IsInput;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.presenter.MatchPresenter;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
 
 /**
  *
@@ -26,6 +26,35 @@ public class InputComputer implements IsInput {
 	 * Speichert den Logger.
 	 */
 	private final static Logger LOGGER = LoggerFactory.getLogger("Input");
+
+	/**
+	 * Erzeugt die in Constants eingestellte Suche mit einem eigenen
+	 * Iterationsbudget. Die Alpha-Beta-Suche kennt kein Iterationsbudget.
+	 *
+	 * @param iterationBudget
+	 *            die Anzahl an Iterationen pro Entscheidung, 0 für das
+	 *            Zeitbudget.
+	 * @return die Suche.
+	 */
+	public static IsSearch createSearch(int iterationBudget) {
+		if (Constants.AI_MONTE_CARLO) {
+			return new MonteCarlo(new EvaluatorDefault(), Constants.AI_TIME_BUDGET, iterationBudget,
+					Constants.AI_THREADS);
+		}
+		return new AlphaBeta(new EvaluatorDefault(), Constants.AI_TIME_BUDGET);
+	}
+
+	/**
+	 * Erzeugt die in Constants eingestellte Suche.
+	 */
+	private static IsSearch createSearch() {
+		return createSearch(Constants.AI_ITERATION_BUDGET);
+	}
+
+	/**
+	 * Speichert den Angreifer, den der zuletzt erklärte Blocker blocken soll.
+	 */
+	private MagicPermanent blockTarget;
 	/**
 	 * Speichert das Match.
 	 */
@@ -38,134 +67,143 @@ public class InputComputer implements IsInput {
 	 * Speichert den Spieler.
 	 */
 	private IsPlayer player;
+	/**
+	 * Speichert die Suche, mit der Entscheidungen getroffen werden.
+	 */
+	private final IsSearch search;
 
 	public InputComputer(MatchPresenter matchPresenter, Match match, IsPlayer player) {
+		this(matchPresenter, match, player, createSearch());
+	}
+
+	public InputComputer(MatchPresenter matchPresenter, Match match, IsPlayer player, IsSearch search) {
 		this.matchPresenter = matchPresenter;
 		this.match = match;
 		this.player = player;
+		this.search = search;
+
+		this.player.setInput(this);
+	}
+
+	@Override
+	public void requestInput() {
+		LOGGER.trace("{} requestInput()", player);
+
+		getRuleEnforcer().i_deriveInteractionStatus(getPlayer(), "InputComputer");
 
-		this.player.propertyFlagNeedInput().addListener(new ChangeListener<Boolean>() {
-
-			@Override
-			public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
-				LOGGER.trace("{} changed({}, {})", player, oldValue, newValue);
-
-				if (newValue) {
-					JsonManager.writeBoardState(getMatch());
-
-					getRuleEnforcer().i_deriveInteractionStatus(getPlayer(), "InputComputer");
-
-					switch (getPlayer().getPlayerState()) {
-					case ATTACKING:
-						if (getPlayer().getInteractionCount() < 1) {
-							// Kein Interaktion möglich, breche ab.
-
-							inputEndDeclareAttackers();
-							break;
-						}
-
-						if (getPlayer().getFlagDeclaringAttackers()) {
-							// Auswahlmodus für Angreifer.
-
-							// Greife an mit allen Kreaturen
-							for (final MagicPermanent magicPermanent : getMatch().getZoneBattlefield()
-									.getAll(ObjectType.CREATURE)) {
-								if (magicPermanent.getFlagIsInteractable()) {
-									inputDeclareAttacker(magicPermanent);
-									return;
-								}
-							}
-
-							inputEndDeclareAttackers();
-						}
-						break;
-					case CHOOSING_BLOCK_TARGET:
-						// Blocke ersten Angreifer
-
-						inputDeclareBlockTarget((MagicPermanent) getMatch().getListAttacks().get(0).getAttacker());
-						break;
-					case DEFENDING:
-						if (getPlayer().getInteractionCount() < 1) {
-							// Kein Interaktion möglich, breche ab.
-
-							inputEndDeclareBlockers();
-							break;
-						}
-
-						if (getPlayer().getFlagDeclaringBlockers()) {
-							// Auswahlmodus für Blocker
-
-							// Blocke mit allen Kreaturen die erste Kreatur
-							for (final MagicPermanent magicPermanent : getMatch().getZoneBattlefield()
-									.getAll(ObjectType.CREATURE)) {
-								if (magicPermanent.getFlagIsInteractable()) {
-									inputDeclareBlocker(magicPermanent);
-									return;
-								}
-							}
-
-							inputEndDeclareBlockers();
-						}
-						break;
-					case DISCARDING:
-						final int originalHandSize = player.propertyHandSize().get();
-						inputDiscardRandom(originalHandSize - Constants.HAND_SIZE);
-						break;
-					case PRIORITIZED:
-						if (getPlayer().getInteractionCount() < 1) {
-							// Kein Interaktion möglich, breche ab.
-
-							inputPassPriority();
-							break;
-						}
-
-						for (MagicCard mc : getPlayer().getZoneHand().getAll()) {
-							if (mc.getFlagIsInteractable()) {
-
-							}
-						}
-
-						final List<Double> listBoardStates = new ArrayList<>();
-
-						for (int i = 0; i < getPlayer().getInteractionCount(); i++) {
-
-						}
-						getMatch().evaluate();
-
-//						// Spiele zufälliges Land
-//						for (final MagicCard magicCard : player.getZoneHand().getAll(ObjectType.LAND)) {
-//							if (magicCard.getFlagIsInteractable() && getMatch().getCurrentPhase().isMain()) {
-//								inputPlayLand(magicCard);
-//								return;
-//							}
-//						}
-//
-//						// Aktiviere erstes aktivierbares Permanent
-//						for (final MagicPermanent magicPermanent : getMatch().getZoneBattlefield()
-//								.getAll(ObjectType.LAND)) {
-//							if (magicPermanent.getFlagIsInteractable() && getMatch().getCurrentPhase().isMain()) {
-//								inputActivatePermanent(magicPermanent);
-//								return;
-//							}
-//						}
-//
-//						// Beschwöre ersten beschwörbaren Zauberspruch.
-//						for (final MagicCard magicCard : player.getZoneHand().getAll(ObjectType.CREATURE)) {
-//							if (magicCard.getFlagIsInteractable() && getMatch().getCurrentPhase().isMain()) {
-//								inputCastSpell(magicCard);
-//								return;
-//							}
-//						}
-//
-//						inputPassPriority();
-						break;
-					default:
-						break;
+		switch (getPlayer().getPlayerState()) {
+		case ATTACKING:
+			if (getPlayer().getInteractionCount() < 1) {
+				// Kein Interaktion möglich, breche ab.
+
+				inputEndDeclareAttackers();
+				break;
+			}
+
+			if (getPlayer().getFlagDeclaringAttackers()) {
+				// Auswahlmodus für Angreifer.
+
+				// Die Suche entscheidet Kreatur für Kreatur, ob sie angreift.
+				SearchState state = SearchState.of(getMatch(), getPlayer());
+				while (state.isDeclaringAttackers()) {
+					final SearchMove move = search.search(state, getMatch().splitRandomSearch());
+					if (move.getMoveType().equals(SearchMoveType.ATTACK)) {
+						inputDeclareAttacker((MagicPermanent) move.getSource());
+						return;
 					}
+					state = state.apply(move);
 				}
+
+				inputEndDeclareAttackers();
 			}
+			break;
+		case CHOOSING_BLOCK_TARGET:
+			// Blocke den Angreifer, den die Suche gewählt hat, sonst den ersten.
+
+			if (blockTarget == null) {
+				blockTarget = (MagicPermanent) getMatch().getListAttacks().get(0).getAttacker();
+			}
+			final MagicPermanent target = blockTarget;
+			blockTarget = null;
+			inputDeclareBlockTarget(target);
+			break;
+		case DEFENDING:
+			if (getPlayer().getInteractionCount() < 1) {
+				// Kein Interaktion möglich, breche ab.
+
+				inputEndDeclareBlockers();
+				break;
+			}
+
+			if (getPlayer().getFlagDeclaringBlockers()) {
+				// Auswahlmodus für Blocker
+
+				// Die Suche wählt Angreifer für Angreifer, ob und womit geblockt wird.
+				SearchState state = SearchState.of(getMatch(), getPlayer());
+				while (state.isDeclaringBlockers()) {
+					final SearchMove move = search.search(state, getMatch().splitRandomSearch());
+					if (move.getMoveType().equals(SearchMoveType.BLOCK)) {
+						blockTarget = (MagicPermanent) move.getTarget();
+						inputDeclareBlocker((MagicPermanent) move.getSource());
+						return;
+					}
+					state = state.apply(move);
+				}
 
-		});
+				inputEndDeclareBlockers();
+			}
+			break;
+		case DISCARDING:
+			final int originalHandSize = player.getHandSize();
+			inputDiscardRandom(originalHandSize - Constants.HAND_SIZE);
+			break;
+		case PAYING:
+			if (getRuleEnforcer().checkCanAutoPay(getPlayer())) {
+				// Bezahle mit möglichst wenigen Manaquellen.
+				inputAutoPay();
+			} else {
+				// Von Hand bezahlt der Computer nicht, breche das Beschwören ab.
+
+				LOGGER.warn("{} requestInput() -> Kosten nicht bezahlbar: {}", getPlayer(),
+						getPlayer().getManaCostGoal());
+				inputCancelCast();
+			}
+			break;
+		case PRIORITIZED:
+			if (getPlayer().getInteractionCount() < 1) {
+				// Kein Interaktion möglich, breche ab.
+
+				inputPassPriority();
+				break;
+			}
+
+			// Suche nur, wenn eine Handkarte gespielt werden kann.
+			boolean hasPlayableCard = false;
+			for (final MagicCard magicCard : getPlayer().getZoneHand().getAll()) {
+				hasPlayableCard |= magicCard.getFlagIsInteractable();
+			}
+			if (!hasPlayableCard) {
+				inputPassPriority();
+				break;
+			}
+
+			final SearchMove move = search.search(SearchState.of(getMatch(), getPlayer()),
+					getMatch().splitRandomSearch());
+			switch (move.getMoveType()) {
+			case CAST_SPELL:
+				inputCastSpell(move.getSource());
+				break;
+			case PLAY_LAND:
+				inputPlayLand(move.getSource());
+				break;
+			default:
+				inputPassPriority();
+				break;
+			}
+			break;
+		default:
+			break;
+		}
 	}
 
 	@Override
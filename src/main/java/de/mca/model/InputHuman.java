@@ -7,8 +7,6 @@ import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsInput;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.presenter.MatchPresenter;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
 
 /**
  *
@@ -39,42 +37,47 @@ public class InputHuman implements IsInput {
 		this.match = match;
 		this.player = player;
 
-		this.player.propertyFlagNeedInput().addListener(new ChangeListener<Boolean>() {
-
-			@Override
-			public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
-				LOGGER.trace("{} changed({}, {})", player, oldValue, newValue);
-
-				if (newValue) {
-					getPlayer().getRuleEnforcer().i_deriveInteractionStatus(getPlayer(), "InputHuman");
-
-					switch (getPlayer().getPlayerState()) {
-					case ATTACKING:
-						if (getPlayer().getInteractionCount() < 1) {
-							inputEndDeclareAttackers();
-						}
-
-						getRuleEnforcer().gui_enableProgressButton("Finish");
-						break;
-					case DEFENDING:
-						if (getPlayer().getInteractionCount() < 1) {
-							inputEndDeclareBlockers();
-						}
-
-						getRuleEnforcer().gui_enableProgressButton("Finish");
-						break;
-					default:
-						if (getPlayer().getInteractionCount() < 1) {
-							inputPassPriority();
-						}
-
-						getRuleEnforcer().gui_enableProgressButton("Pass");
-						break;
-					}
-				}
+		this.player.setInput(this);
+	}
+
+	@Override
+	public void requestInput() {
+		LOGGER.trace("{} requestInput()", player);
+
+		getPlayer().getRuleEnforcer().i_deriveInteractionStatus(getPlayer(), "InputHuman");
+
+		switch (getPlayer().getPlayerState()) {
+		case ATTACKING:
+			if (getPlayer().getInteractionCount() < 1) {
+				inputEndDeclareAttackers();
+			}
+
+			getRuleEnforcer().gui_enableProgressButton("Finish");
+			break;
+		case DEFENDING:
+			if (getPlayer().getInteractionCount() < 1) {
+				inputEndDeclareBlockers();
 			}
 
-		});
+			getRuleEnforcer().gui_enableProgressButton("Finish");
+			break;
+		case PAYING:
+			// Manaquellen können einzeln aktiviert oder automatisch bezahlt werden.
+
+			if (getRuleEnforcer().checkCanAutoPay(getPlayer())) {
+				getRuleEnforcer().gui_enableProgressButton("Pay");
+			} else {
+				getRuleEnforcer().gui_enableProgressButton("Cancel");
+			}
+			break;
+		default:
+			if (getPlayer().getInteractionCount() < 1) {
+				inputPassPriority();
+			}
+
+			getRuleEnforcer().gui_enableProgressButton("Pass");
+			break;
+		}
 	}
 
 	@Override
@@ -162,6 +165,15 @@ public class InputHuman implements IsInput {
 				inputPassPriority();
 			}
 			break;
+		case PAYING:
+			if (getRuleEnforcer().checkCanAutoPay(getPlayer())) {
+				LOGGER.trace("{} progress() -> Auto pay!", this);
+				inputAutoPay();
+			} else {
+				LOGGER.trace("{} progress() -> Cancel cast!", this);
+				inputCancelCast();
+			}
+			break;
 		default:
 			LOGGER.trace("{} progress() -> Pass priority!", this);
 			inputPassPriority();
@@ -0,0 +1,306 @@
+package de.mca.model;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsManaMap;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Speichert die zuletzt abgeleiteten Interaktionsstatus eines Spielers, damit
+ * RuleEnforcer.i_deriveInteractionStatus() nur die Karten neu prüfen muss, die
+ * sich seit dem letzten Aufruf geändert haben.
+ *
+ * Jedes Ergebnis ist an zwei Schlüssel gebunden: den Kontext (Spielerstatus,
+ * Phase, Stack, Manapool und Manaquellen) und den Zustand der Karte selbst
+ * (getappt, angreifend, blockend, Einsatzverzögerung, Kontrolle). Ändert sich
+ * der Kontext, werden alle Ergebnisse der betroffenen Zone auf einmal
+ * verworfen, ändert sich eine Karte, nur deren Ergebnis. Karten, die eine Zone
+ * neu betreten, sind noch nicht im Cache und werden daher immer geprüft.
+ *
+ * Zusätzlich merkt sich der Cache die Änderungszähler des Spielfeldes und der
+ * bleibenden Karten beider Spieler. Solange sie gleich bleiben, muss das
+ * Spielfeld nicht erneut durchlaufen und die Manaquellen müssen nicht neu
+ * bestimmt werden.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class InteractionCache {
+
+	/**
+	 * Speichert ein zwischengespeichertes Prüfergebnis.
+	 */
+	private static final class Entry {
+
+		/**
+		 * Zeigt an, ob mit der Karte interagiert werden kann.
+		 */
+		private boolean flagInteractable;
+		/**
+		 * Speichert den Zustand der Karte bei der Prüfung.
+		 */
+		private int key;
+		/**
+		 * Speichert den Kontextstempel bei der Prüfung.
+		 */
+		private int stamp;
+
+	}
+
+	/**
+	 * Speichert die Farben in der Reihenfolge ihrer Ordinalzahlen.
+	 */
+	private static final ColorType[] COLORS = ColorType.values();
+
+	/**
+	 * Berechnet den Zustandsschlüssel einer bleibenden Karte. Er enthält alle
+	 * veränderlichen Werte, von denen die checkCan*-Prüfungen abhängen.
+	 *
+	 * @param player
+	 *            der Spieler, für den geprüft wird.
+	 * @param magicPermanent
+	 *            die bleibende Karte.
+	 * @return der Zustandsschlüssel.
+	 */
+	static int keyOf(IsPlayer player, MagicPermanent magicPermanent) {
+		int result = magicPermanent.getFlagTapped() ? 1 : 0;
+		result |= magicPermanent.getFlagAttacking() ? 2 : 0;
+		result |= magicPermanent.getFlagBlocking() ? 4 : 0;
+		result |= magicPermanent.getFlagHasSummoningSickness() ? 8 : 0;
+		result |= player.equals(magicPermanent.getPlayerControlling()) ? 16 : 0;
+		return result;
+	}
+
+	/**
+	 * Speichert den Kontext, unter dem die bleibenden Karten zuletzt geprüft
+	 * wurden.
+	 */
+	private int contextBattlefield;
+	/**
+	 * Speichert die Anzahl der bleibenden Karten, mit denen der Spieler bei der
+	 * letzten Prüfung interagieren konnte.
+	 */
+	private int countBattlefield;
+	/**
+	 * Speichert den Kontext, unter dem die Handkarten zuletzt geprüft wurden.
+	 */
+	private final int[] contextHand;
+	/**
+	 * Speichert die Prüfergebnisse der bleibenden Karten.
+	 */
+	private final Map<MagicCard, Entry> mapBattlefield;
+	/**
+	 * Speichert die Prüfergebnisse der Handkarten.
+	 */
+	private final Map<MagicCard, Entry> mapHand;
+	/**
+	 * Speichert den Löser für die Bezahlung aus den Manaquellen des Spielers.
+	 * Wird nur mit neuen Quellen versorgt, wenn sie sich geändert haben können.
+	 */
+	private final ManaSolver manaSolver;
+	/**
+	 * Speichert den Änderungszähler des Spielfeldes bei der letzten Prüfung.
+	 */
+	private int modCountBattlefield;
+	/**
+	 * Speichert den Kontextstempel der bleibenden Karten. Wird bei jeder
+	 * Kontextänderung erhöht.
+	 */
+	private int stampBattlefield;
+	/**
+	 * Speichert den Kontextstempel der Handkarten. Wird bei jeder
+	 * Kontextänderung erhöht.
+	 */
+	private int stampHand;
+	/**
+	 * Speichert den Änderungszähler der bleibenden Karten des Spielers bei der
+	 * letzten Prüfung.
+	 */
+	private int stampPermanents;
+	/**
+	 * Speichert den Änderungszähler der bleibenden Karten des Gegners bei der
+	 * letzten Prüfung.
+	 */
+	private int stampPermanentsOpponent;
+
+	InteractionCache() {
+		contextBattlefield = -1;
+		countBattlefield = 0;
+		contextHand = new int[4 + COLORS.length];
+		contextHand[0] = -1;
+		mapBattlefield = new IdentityHashMap<>();
+		mapHand = new IdentityHashMap<>();
+		manaSolver = new ManaSolver();
+		modCountBattlefield = -1;
+		stampBattlefield = 0;
+		stampHand = 0;
+		stampPermanents = -1;
+		stampPermanentsOpponent = -1;
+	}
+
+	/**
+	 * Liefert das zwischengespeicherte Ergebnis einer bleibenden Karte.
+	 *
+	 * @param magicPermanent
+	 *            die bleibende Karte.
+	 * @param key
+	 *            der aktuelle Zustandsschlüssel der Karte.
+	 * @return das Ergebnis oder null, wenn die Karte neu geprüft werden muss.
+	 */
+	Boolean getBattlefield(MagicPermanent magicPermanent, int key) {
+		return get(mapBattlefield, stampBattlefield, magicPermanent, key);
+	}
+
+	/**
+	 * Liefert das zwischengespeicherte Ergebnis einer Handkarte.
+	 *
+	 * @param magicCard
+	 *            die Handkarte.
+	 * @return das Ergebnis oder null, wenn die Karte neu geprüft werden muss.
+	 */
+	Boolean getHand(MagicCard magicCard) {
+		return get(mapHand, stampHand, magicCard, 0);
+	}
+
+	int getCountBattlefield() {
+		return countBattlefield;
+	}
+
+	ManaSolver getManaSolver() {
+		return manaSolver;
+	}
+
+	/**
+	 * Entfernt die Ergebnisse von Karten, die ihre Zone verlassen haben. Wird nur
+	 * ausgeführt, wenn deutlich mehr Ergebnisse als Karten gespeichert sind.
+	 *
+	 * @param listHand
+	 *            die aktuellen Handkarten.
+	 * @param listBattlefield
+	 *            die aktuellen bleibenden Karten.
+	 */
+	void prune(List<MagicCard> listHand, List<MagicPermanent> listBattlefield) {
+		if (mapHand.size() > 2 * listHand.size() + 8) {
+			mapHand.keySet().removeIf(magicCard -> !listHand.contains(magicCard));
+		}
+		if (mapBattlefield.size() > 2 * listBattlefield.size() + 8) {
+			mapBattlefield.keySet().removeIf(magicCard -> !listBattlefield.contains(magicCard));
+		}
+	}
+
+	void putBattlefield(MagicPermanent magicPermanent, int key, boolean flagInteractable) {
+		put(mapBattlefield, stampBattlefield, magicPermanent, key, flagInteractable);
+	}
+
+	void putHand(MagicCard magicCard, boolean flagInteractable) {
+		put(mapHand, stampHand, magicCard, 0, flagInteractable);
+	}
+
+	void setCountBattlefield(int countBattlefield) {
+		this.countBattlefield = countBattlefield;
+	}
+
+	/**
+	 * Gleicht den Kontext der bleibenden Karten ab. Hat er sich geändert, werden
+	 * alle Ergebnisse der bleibenden Karten ungültig.
+	 *
+	 * @return true, wenn sich der Kontext geändert hat.
+	 */
+	boolean updateContextBattlefield(PlayerState playerState, boolean flagDeclaringAttackers,
+			boolean flagDeclaringBlockers, boolean isActivePlayer) {
+		int context = playerState.ordinal() << 3;
+		context |= flagDeclaringAttackers ? 1 : 0;
+		context |= flagDeclaringBlockers ? 2 : 0;
+		context |= isActivePlayer ? 4 : 0;
+		if (context == contextBattlefield) {
+			return false;
+		}
+		contextBattlefield = context;
+		stampBattlefield++;
+		return true;
+	}
+
+	/**
+	 * Gleicht den Kontext der Handkarten ab. Hat er sich geändert, werden alle
+	 * Ergebnisse der Handkarten ungültig.
+	 *
+	 * @param flagSourcesChanged
+	 *            zeigt an, ob ManaSolver.setSources() eine geänderte
+	 *            Konfiguration der Manaquellen gemeldet hat.
+	 */
+	void updateContextHand(boolean isActivePlayer, boolean isMain, boolean isStackEmpty, boolean flagPlayedLand,
+			IsManaMap manaPool, boolean flagSourcesChanged) {
+		boolean changed = flagSourcesChanged;
+		changed |= update(0, isActivePlayer ? 1 : 0);
+		changed |= update(1, isMain ? 1 : 0);
+		changed |= update(2, isStackEmpty ? 1 : 0);
+		changed |= update(3, flagPlayedLand ? 1 : 0);
+		for (int i = 0; i < COLORS.length; i++) {
+			changed |= update(4 + i, manaPool.get(COLORS[i]));
+		}
+		if (changed) {
+			stampHand++;
+		}
+	}
+
+	/**
+	 * Gleicht die Änderungszähler der bleibenden Karten des Gegners ab.
+	 *
+	 * @return true, wenn sich eine bleibende Karte des Gegners geändert hat.
+	 */
+	boolean updateOpponent(int stampPermanentsOpponent) {
+		if (stampPermanentsOpponent == this.stampPermanentsOpponent) {
+			return false;
+		}
+		this.stampPermanentsOpponent = stampPermanentsOpponent;
+		return true;
+	}
+
+	/**
+	 * Gleicht die Änderungszähler des Spielfeldes und der bleibenden Karten des
+	 * Spielers ab.
+	 *
+	 * @return true, wenn sich eines von beiden geändert hat. Dann müssen die
+	 *         Manaquellen des Spielers neu bestimmt werden.
+	 */
+	boolean updateSources(int modCountBattlefield, int stampPermanents) {
+		if (modCountBattlefield == this.modCountBattlefield && stampPermanents == this.stampPermanents) {
+			return false;
+		}
+		this.modCountBattlefield = modCountBattlefield;
+		this.stampPermanents = stampPermanents;
+		return true;
+	}
+
+	private Boolean get(Map<MagicCard, Entry> map, int stamp, MagicCard magicCard, int key) {
+		final Entry entry = map.get(magicCard);
+		if (entry == null || entry.stamp != stamp || entry.key != key) {
+			return null;
+		}
+		return entry.flagInteractable;
+	}
+
+	private void put(Map<MagicCard, Entry> map, int stamp, MagicCard magicCard, int key, boolean flagInteractable) {
+		Entry entry = map.get(magicCard);
+		if (entry == null) {
+			entry = new Entry();
+			map.put(magicCard, entry);
+		}
+		entry.flagInteractable = flagInteractable;
+		entry.key = key;
+		entry.stamp = stamp;
+	}
+
+	private boolean update(int index, int value) {
+		if (contextHand[index] == value) {
+			return false;
+		}
+		contextHand[index] = value;
+		return true;
+	}
+
+}
@@ -1,7 +1,8 @@
 package de.mca.model;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
@@ -23,6 +24,13 @@ import de.mca.model.interfaces.IsPlayer;
  * Bildet eine Karte im Sinne der Regel 108. im offiziellen Regelwerk ab. Sie
  * kapselt weitere Charakterisitiken, wie die Seltenheit und den Eigentümer.
  *
+ * Alles, was auf der Karte gedruckt ist (Name, Seltenheit, Farben, Typen und
+ * Kosten), liest die Karte aus ihrer CardPrototype, die sich alle Exemplare
+ * teilen. Die Karte selbst hält nur Id, Eigentümer, Zonen, Fähigkeiten und
+ * veränderliche Werte. Farben und Typen werden erst kopiert, wenn sie für diese
+ * Karte verändert werden. Beim Zonenwechsel entsteht ein neues Objekt (Regel
+ * 400.7), das wieder auf die gedruckten Werte zurückgreift.
+ *
  * @author Maximilian Werling
  *
  */
@@ -42,14 +50,13 @@ public class MagicCard implements IsObject, IsInteractable {
 	 * Speichert den Logger.
 	 */
 	protected final static Logger LOGGER = LoggerFactory.getLogger("MagicCard");
-	/**
-	 * Speichert den Namen, so wie er auf der Karte zu lesen ist.
-	 */
-	private String displayName;
-	/**
-	 * Speichert den Filenamen der Karte (inklusive der Dateiendung).
-	 */
-	private String fileName;
+
+	private static <E extends Enum<E>> Set<E> copy(Set<E> set, Class<E> type) {
+		final Set<E> result = EnumSet.noneOf(type);
+		result.addAll(set);
+		return result;
+	}
+
 	/**
 	 * Zeigt an, ob mit der Objekt, in gegebenem Kontext, interagiert werden kann.
 	 */
@@ -64,11 +71,6 @@ public class MagicCard implements IsObject, IsInteractable {
 	 * Speichert die Abilities der Karte. Bleibende Karten haben Abilities.
 	 */
 	private List<ActivatedAbility> listAbilities;
-	/**
-	 * Speichert die Kosten der Karte. Bei doppelfarbigen Karten werden alle
-	 * Kombinationen gespeichert.
-	 */
-	private List<IsManaMap> listCostMaps;
 	/**
 	 * Speichert die Liste der Effekte. Zaubersprüche haben Effekte.
 	 */
@@ -92,25 +94,28 @@ public class MagicCard implements IsObject, IsInteractable {
 	 */
 	private int power;
 	/**
-	 * Speichert die Seltenheit der Karte.
+	 * Speichert die gemeinsame, unveränderliche Definition der Karte.
 	 */
-	private RarityType rarity;
+	private final CardPrototype prototype;
 	/**
-	 * Speichert die Farbe der Karte. Es wird auch farblos gespeichert, allerdings
-	 * handelt es sich dabei um keine echte Farbe im Sinne der Magic-Regeln. Dient
-	 * auch als Color Indicator im Sinne von Regel 204. im Magic Rulebook.
+	 * Speichert die Farbe der Karte, sofern sie von der gedruckten Farbe abweicht,
+	 * sonst null. Es wird auch farblos gespeichert, allerdings handelt es sich
+	 * dabei um keine echte Farbe im Sinne der Magic-Regeln. Dient auch als Color
+	 * Indicator im Sinne von Regel 204. im Magic Rulebook.
 	 */
 	private Set<ColorType> setColorType;
 	/**
-	 * Speichert die Objekttyen.
+	 * Speichert die Objekttyen, sofern sie von den gedruckten abweichen, sonst
+	 * null.
 	 */
 	private Set<ObjectType> setObjectTypes;
 	/**
-	 * Speichert die Subtypen.
+	 * Speichert die Subtypen, sofern sie von den gedruckten abweichen, sonst null.
 	 */
 	private Set<SubType> setSubTypes;
 	/**
-	 * Speichert die Supertypen.
+	 * Speichert die Supertypen, sofern sie von den gedruckten abweichen, sonst
+	 * null.
 	 */
 	private Set<SuperType> setSuperTypes;
 	/**
@@ -118,67 +123,79 @@ public class MagicCard implements IsObject, IsInteractable {
 	 */
 	private int toughness;
 
-	public MagicCard(int id) {
+	MagicCard(CardPrototype prototype, int id) {
 		this.id = id;
-		displayName = "";
-		fileName = "";
-		listAbilities = new ArrayList<>();
-		listCostMaps = new ArrayList<>();
-		listEffects = new ArrayList<>();
+		this.prototype = prototype;
+		listAbilities = Collections.emptyList();
+		listEffects = Collections.emptyList();
 		listZonesVisited = new ArrayList<>();
 		loyalty = 0;
 		playerOwning = null;
-		power = 0;
-		setColorType = new HashSet<>();
-		setObjectTypes = new HashSet<>();
-		setSubTypes = new HashSet<>();
-		setSuperTypes = new HashSet<>();
-		toughness = 0;
-		rarity = RarityType.BASIC;
-	}
-
-	MagicCard(MagicPermanent magicPermanent) {
-		this(magicPermanent.getId());
-		setDisplayName(magicPermanent.getDisplayName());
-		setFileName(magicPermanent.getFileName());
-		setListActivatedAbilities(magicPermanent.getListActivatedAbilities());
-		setListCostMaps(magicPermanent.getListCostMaps());
-		setListEffects(magicPermanent.getListEffects());
-		setListZonesVisited(magicPermanent.getListZonesVisited());
-		setLoyalty(magicPermanent.getLoyalty());
-		setPlayerOwning(magicPermanent.getPlayerOwning());
-		setPower(magicPermanent.getBasePower());
-		setSetColorTypes(magicPermanent.getSetColorTypes());
-		setSetObjectTypes(magicPermanent.getSetObjectTypes());
-		setSetSubTypes(magicPermanent.getSetSubTypes());
-		setSetSuperTypes(magicPermanent.getSetSuperTypes());
-		setToughness(magicPermanent.getBaseToughness());
+		power = prototype.getPower();
+		setColorType = null;
+		setObjectTypes = null;
+		setSubTypes = null;
+		setSuperTypes = null;
+		toughness = prototype.getToughness();
+	}
+
+	/**
+	 * Erzeugt die Karte als neues Objekt in einer anderen Zone, z.B. als Zauber
+	 * oder bleibende Karte. Geteilt werden Vorlage, Fähigkeiten, Effekte und die
+	 * besuchten Zonen, Stärke und Widerstandskraft beginnen wieder bei den
+	 * gedruckten Werten.
+	 */
+	MagicCard(MagicCard magicCard) {
+		this(magicCard.getPrototype(), magicCard.getId());
+		setListActivatedAbilities(magicCard.getListActivatedAbilities());
+		setListEffects(magicCard.getListEffects());
+		setListZonesVisited(magicCard.getListZonesVisited());
+		setLoyalty(magicCard.getLoyalty());
+		setPlayerOwning(magicCard.getPlayerOwning());
 	}
 
 	@Override
 	public void add(ActivatedAbility ability) {
 		ability.setPlayerControlling(getPlayerOwning());
+		if (listAbilities.isEmpty()) {
+			listAbilities = new ArrayList<>();
+		}
 		getListActivatedAbilities().add(ability);
 	}
 
 	public void add(ColorType color) {
-		getSetColorType().add(color);
+		if (setColorType == null) {
+			setColorType = copy(prototype.getSetColorTypes(), ColorType.class);
+		}
+		setColorType.add(color);
 	}
 
 	public void add(Effect magicEffect) {
+		if (listEffects.isEmpty()) {
+			listEffects = new ArrayList<>();
+		}
 		getListEffects().add(magicEffect);
 	}
 
 	public void add(ObjectType objectType) {
-		getSetObjectTypes().add(objectType);
+		if (setObjectTypes == null) {
+			setObjectTypes = copy(prototype.getSetObjectTypes(), ObjectType.class);
+		}
+		setObjectTypes.add(objectType);
 	}
 
 	public void add(SubType subType) {
-		getSetSubTypes().add(subType);
+		if (setSubTypes == null) {
+			setSubTypes = copy(prototype.getSetSubTypes(), SubType.class);
+		}
+		setSubTypes.add(subType);
 	}
 
 	public void add(SuperType superType) {
-		getSetSuperTypes().add(superType);
+		if (setSuperTypes == null) {
+			setSuperTypes = copy(prototype.getSetSuperTypes(), SuperType.class);
+		}
+		setSuperTypes.add(superType);
 	}
 
 	public void addZone(ZoneType currentZone) {
@@ -262,11 +279,11 @@ public class MagicCard implements IsObject, IsInteractable {
 
 	@Override
 	public String getDisplayName() {
-		return displayName;
+		return prototype.getDisplayName();
 	}
 
 	public String getFileName() {
-		return fileName;
+		return prototype.getFileName();
 	}
 
 	@Override
@@ -295,8 +312,14 @@ public class MagicCard implements IsObject, IsInteractable {
 		return listAbilities;
 	}
 
+	/**
+	 * Liefert die gedruckten Kosten. Die ManaMaps werden mit allen Exemplaren
+	 * geteilt und dürfen nicht verändert werden.
+	 *
+	 * @return die Kosten.
+	 */
 	public List<IsManaMap> getListCostMaps() {
-		return listCostMaps;
+		return prototype.getListCostMaps();
 	}
 
 	public List<Effect> getListEffects() {
@@ -328,32 +351,36 @@ public class MagicCard implements IsObject, IsInteractable {
 		return power;
 	}
 
+	public CardPrototype getPrototype() {
+		return prototype;
+	}
+
 	public RarityType getRarity() {
-		return rarity;
+		return prototype.getRarity();
 	}
 
 	public Set<ColorType> getSetColorType() {
-		return setColorType;
+		return setColorType != null ? setColorType : prototype.getSetColorTypes();
 	}
 
 	@Override
 	public Set<ColorType> getSetColorTypes() {
-		return setColorType;
+		return getSetColorType();
 	}
 
 	@Override
 	public Set<ObjectType> getSetObjectTypes() {
-		return setObjectTypes;
+		return setObjectTypes != null ? setObjectTypes : prototype.getSetObjectTypes();
 	}
 
 	@Override
 	public Set<SubType> getSetSubTypes() {
-		return setSubTypes;
+		return setSubTypes != null ? setSubTypes : prototype.getSetSubTypes();
 	}
 
 	@Override
 	public Set<SuperType> getSetSuperTypes() {
-		return setSuperTypes;
+		return setSuperTypes != null ? setSuperTypes : prototype.getSetSuperTypes();
 	}
 
 	@Override
@@ -450,33 +477,37 @@ public class MagicCard implements IsObject, IsInteractable {
 	}
 
 	public boolean isWhite() {
-		return setColorType.contains(ColorType.WHITE);
+		return getSetColorType().contains(ColorType.WHITE);
 	}
 
 	public void remove(ColorType color) {
+		if (setColorType == null) {
+			setColorType = copy(prototype.getSetColorTypes(), ColorType.class);
+		}
 		setColorType.remove(color);
 	}
 
 	public void remove(ObjectType objectType) {
+		if (setObjectTypes == null) {
+			setObjectTypes = copy(prototype.getSetObjectTypes(), ObjectType.class);
+		}
 		setObjectTypes.remove(objectType);
 	}
 
 	public void remove(SubType subType) {
+		if (setSubTypes == null) {
+			setSubTypes = copy(prototype.getSetSubTypes(), SubType.class);
+		}
 		setSubTypes.remove(subType);
 	}
 
 	public void remove(SuperType superType) {
+		if (setSuperTypes == null) {
+			setSuperTypes = copy(prototype.getSetSuperTypes(), SuperType.class);
+		}
 		setSuperTypes.remove(superType);
 	}
 
-	public void setDisplayName(String displayName) {
-		this.displayName = displayName;
-	}
-
-	public void setFileName(String fileName) {
-		this.fileName = fileName;
-	}
-
 	@Override
 	public void setFlagInteractable(boolean flagInteractable) {
 		LOGGER.trace("{} setFlagInteractable({})", this, flagInteractable);
@@ -490,10 +521,6 @@ public class MagicCard implements IsObject, IsInteractable {
 		});
 	}
 
-	public void setListCostMaps(List<IsManaMap> listCostMaps) {
-		this.listCostMaps = listCostMaps;
-	}
-
 	public void setListEffects(List<Effect> listEffects) {
 		this.listEffects = listEffects;
 	}
@@ -515,26 +542,6 @@ public class MagicCard implements IsObject, IsInteractable {
 		this.power = power;
 	}
 
-	public void setRarity(RarityType rarity) {
-		this.rarity = rarity;
-	}
-
-	public void setSetColorTypes(Set<ColorType> setColorTypes) {
-		this.setColorType = setColorTypes;
-	}
-
-	public void setSetObjectTypes(Set<ObjectType> setObjectTypes) {
-		this.setObjectTypes = setObjectTypes;
-	}
-
-	public void setSetSubTypes(Set<SubType> setSubTypes) {
-		this.setSubTypes = setSubTypes;
-	}
-
-	public void setSetSuperTypes(Set<SuperType> setSuperTypes) {
-		this.setSuperTypes = setSuperTypes;
-	}
-
 	public void setStrength(int power, int toughness) {
 		LOGGER.trace("{} setStrength({}, {})", this, power, toughness);
 		setPower(power);
@@ -548,7 +555,7 @@ public class MagicCard implements IsObject, IsInteractable {
 
 	@Override
 	public String toString() {
-		return new StringBuilder("[").append(displayName).append(" id=[").append(id).append("] z=[")
+		return new StringBuilder("[").append(getDisplayName()).append(" id=[").append(id).append("] z=[")
 				.append(getCurrentZone()).append("] cm=[").append(getConvertedManaCost()).append("]]").toString();
 	}
 
@@ -10,14 +10,6 @@ import de.mca.model.interfaces.IsPlayer;
  */
 public class MagicPermanent extends MagicCard implements IsCombatant {
 
-	/**
-	 * Speichert die Grundstärke der Kreatur, so wie sie auf der Karte steht.
-	 */
-	private final int basePower;
-	/**
-	 * Speichert die Grundverteidigung der Kreatur, so wie sie auf der Karte steht.
-	 */
-	private final int baseToughness;
 	/**
 	 * Zeigt an, ob die Kreatur gerade angreift.
 	 */
@@ -57,11 +49,9 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 	 */
 	private int damage;
 
-	private MagicPermanent(int id, int basePower, int baseToughness) {
-		super(id);
-		this.basePower = basePower;
-		this.baseToughness = baseToughness;
-		this.playerControlling = null;
+	MagicPermanent(MagicCard magicCard) {
+		super(magicCard);
+		playerControlling = magicCard.getPlayerOwning();
 		damage = 0;
 		flagAttacking = false;
 		flagAttackingAlone = false;
@@ -72,26 +62,6 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 		flagTapped = false;
 	}
 
-	MagicPermanent(MagicCard magicCard) {
-		this(magicCard.getId(), magicCard.getPower(), magicCard.getToughness());
-		setDisplayName(magicCard.getDisplayName());
-		setFileName(magicCard.getFileName());
-		setListActivatedAbilities(magicCard.getListActivatedAbilities());
-		setListCostMaps(magicCard.getListCostMaps());
-		setListEffects(magicCard.getListEffects());
-		setListZonesVisited(magicCard.getListZonesVisited());
-		setLoyalty(magicCard.getLoyalty());
-		setPlayerControlling(magicCard.getPlayerOwning());
-		setPlayerOwning(magicCard.getPlayerOwning());
-		setPower(magicCard.getPower());
-		setRarity(magicCard.getRarity());
-		setSetColorTypes(magicCard.getSetColorType());
-		setSetObjectTypes(magicCard.getSetObjectTypes());
-		setSetSubTypes(magicCard.getSetSubTypes());
-		setSetSuperTypes(magicCard.getSetSuperTypes());
-		setToughness(magicCard.getToughness());
-	}
-
 	@Override
 	public void applyCombatDamage() {
 		setToughness(getToughness() - getDamage());
@@ -137,14 +107,20 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 		return isCreature() && !getFlagBlocking() && !getFlagTapped();
 	}
 
+	/**
+	 * Liefert die Grundstärke der Kreatur, so wie sie auf der Karte steht.
+	 */
 	@Override
 	public int getBasePower() {
-		return basePower;
+		return getPrototype().getPower();
 	}
 
+	/**
+	 * Liefert die Grundverteidigung der Kreatur, so wie sie auf der Karte steht.
+	 */
 	@Override
 	public int getBaseToughness() {
-		return baseToughness;
+		return getPrototype().getToughness();
 	}
 
 	@Override
@@ -199,6 +175,9 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 	@Override
 	public void setFlagAttacking(boolean flagAttacking) {
 		LOGGER.trace("{} setFlagAttacking({})", this, flagAttacking);
+		if (this.flagAttacking != flagAttacking) {
+			touch();
+		}
 		this.flagAttacking = flagAttacking;
 	}
 
@@ -216,6 +195,9 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 	@Override
 	public void setFlagBlocking(boolean flagBlocking) {
 		LOGGER.trace("{} setFlagBlocking({})", this, flagBlocking);
+		if (this.flagBlocking != flagBlocking) {
+			touch();
+		}
 		this.flagBlocking = flagBlocking;
 	}
 
@@ -226,18 +208,38 @@ public class MagicPermanent extends MagicCard implements IsCombatant {
 
 	public void setFlagSummoningSickness(boolean flagHasSummoningSickness) {
 		LOGGER.trace("{} setFlagSummoningSickness({})", this, flagHasSummoningSickness);
+		if (this.flagSummoningSickness != flagHasSummoningSickness) {
+			touch();
+		}
 		this.flagSummoningSickness = flagHasSummoningSickness;
 	}
 
 	@Override
 	public void setFlagTapped(boolean flagTapped) {
 		LOGGER.trace("{} setFlagTapped({})", this, flagTapped);
+		if (this.flagTapped != flagTapped) {
+			touch();
+		}
 		this.flagTapped = flagTapped;
 	}
 
 	public void setPlayerControlling(IsPlayer playerControlling) {
 		LOGGER.trace("{} setPlayerControlling({})", this, playerControlling);
-		this.playerControlling = playerControlling;
+		if (this.playerControlling != playerControlling) {
+			touch();
+			this.playerControlling = playerControlling;
+			touch();
+		}
+	}
+
+	/**
+	 * Meldet dem kontrollierenden Spieler eine Änderung, von der die
+	 * Interaktionsstatus und seine Manaquellen abhängen.
+	 */
+	private void touch() {
+		if (playerControlling != null) {
+			playerControlling.incrementStampPermanents();
+		}
 	}
 
 //	public CardState getPermanentState() {
@@ -20,23 +20,8 @@ public class MagicSpell extends MagicCard implements IsStackable {
 	private transient IsPlayer playerControlling;
 
 	MagicSpell(MagicCard magicCard, IsPlayer playerControlling) {
-		super(magicCard.getId());
+		super(magicCard);
 		this.playerControlling = playerControlling;
-		setDisplayName(magicCard.getDisplayName());
-		setFileName(magicCard.getFileName());
-		setListActivatedAbilities(magicCard.getListActivatedAbilities());
-		setListCostMaps(magicCard.getListCostMaps());
-		setListEffects(magicCard.getListEffects());
-		setListZonesVisited(magicCard.getListZonesVisited());
-		setLoyalty(magicCard.getLoyalty());
-		setPlayerOwning(magicCard.getPlayerOwning());
-		setPower(magicCard.getPower());
-		setRarity(getRarity());
-		setSetColorTypes(magicCard.getSetColorType());
-		setSetObjectTypes(magicCard.getSetObjectTypes());
-		setSetSubTypes(magicCard.getSetSubTypes());
-		setSetSuperTypes(magicCard.getSetSuperTypes());
-		setToughness(magicCard.getToughness());
 	}
 
 	@Override
@@ -1,13 +1,15 @@
 package de.mca.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsStackable;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 
 /**
+ * Bildet den geteilten Stack ab. Index 0 ist das oberste Element.
  *
  * @author Maximilian Werling
  *
@@ -17,7 +19,7 @@ public class MagicStack {
 	/**
 	 * Speichert die Karten des Stacks.
 	 */
-	private final ObservableList<IsStackable> stack;
+	private final List<IsStackable> stack;
 	/**
 	 * Speichert den Zonentyp.
 	 */
@@ -25,15 +27,15 @@ public class MagicStack {
 
 	MagicStack() {
 		this.zoneType = ZoneType.STACK;
-		stack = FXCollections.observableArrayList();
+		stack = new ArrayList<>();
 	}
 
 	public IsStackable get(int i) {
 		return stack.get(i);
 	}
 
-	public ObservableList<IsStackable> getList() {
-		return stack;
+	public List<IsStackable> getList() {
+		return Collections.unmodifiableList(stack);
 	}
 
 	public int getSize() {
@@ -61,4 +63,16 @@ public class MagicStack {
 		return new StringBuilder(zoneType.toString()).append(" ").append(Arrays.toString(stack.toArray())).toString();
 	}
 
+	/**
+	 * Ersetzt den Inhalt des Stacks. Wird beim Wiederherstellen eines
+	 * Spielzustands verwendet.
+	 *
+	 * @param list
+	 *            die neuen Objekte, das oberste zuerst.
+	 */
+	void setAll(List<IsStackable> list) {
+		stack.clear();
+		stack.addAll(list);
+	}
+
 }
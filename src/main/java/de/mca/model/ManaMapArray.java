@@ -0,0 +1,236 @@
+package de.mca.model;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * ManaMap, die das Mana in einem Array fester Größe speichert, indiziert über
+ * ColorType.ordinal(). Hinzufügen, Entfernen und contains() kommen ohne
+ * Objekterzeugung aus und eignen sich daher für die Prüfungen des
+ * RuleEnforcers und KI-Simulationen. Es gelten die gleichen Regeln zur Deckung
+ * farbloser Kosten wie in ManaMapDefault.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class ManaMapArray implements IsManaMap {
+
+	/**
+	 * Speichert alle Farben in der Reihenfolge ihrer Ordinalzahlen.
+	 */
+	private static final ColorType[] COLORS = ColorType.values();
+
+	/**
+	 * Speichert das Mana, indiziert über ColorType.ordinal().
+	 */
+	private final int[] mana;
+
+	public ManaMapArray() {
+		mana = new int[COLORS.length];
+	}
+
+	public ManaMapArray(Map<ColorType, Integer> manaMap) {
+		this();
+		manaMap.forEach((color, howMuch) -> mana[color.ordinal()] = howMuch);
+	}
+
+	@Override
+	public void add(ColorType color, int howMuch) {
+		set(color, mana[color.ordinal()] + howMuch);
+	}
+
+	@Override
+	public void addAll(IsManaMap manaMap) {
+		if (manaMap instanceof ManaMapArray) {
+			final int[] other = ((ManaMapArray) manaMap).mana;
+			for (int i = 0; i < mana.length; i++) {
+				if (other[i] != 0) {
+					set(COLORS[i], mana[i] + other[i]);
+				}
+			}
+		} else {
+			manaMap.getKeySet().forEach(key -> add(key, manaMap.get(key)));
+		}
+	}
+
+	/**
+	 * Prüft ohne Erzeugung einer Differenz, ob die Kosten gedeckt werden können:
+	 * Jede echte Farbe muss in ausreichender Menge vorhanden sein, farblose Kosten
+	 * werden durch das übrige Mana gedeckt.
+	 */
+	@Override
+	public boolean contains(IsManaMap costMap) {
+		int total = 0;
+		for (int i = 0; i < mana.length; i++) {
+			final int cost = costMap.get(COLORS[i]);
+			if (COLORS[i].isTrueColor() && cost > mana[i]) {
+				return false;
+			}
+			total += cost - mana[i];
+		}
+		return total <= 0;
+	}
+
+	@Override
+	public boolean containsKey(ColorType color) {
+		return mana[color.ordinal()] != 0;
+	}
+
+	/**
+	 * Berechnet die Differenz manaMap - this, wie getDifference(), schreibt sie
+	 * aber in eine bestehende ManaMapArray statt eine neue zu erzeugen.
+	 *
+	 * @param manaMap
+	 *            die ManaMap, von der this abgezogen wird.
+	 * @param result
+	 *            die ManaMapArray, die das Ergebnis aufnimmt.
+	 * @return result.
+	 */
+	public ManaMapArray difference(IsManaMap manaMap, ManaMapArray result) {
+		for (int i = 0; i < mana.length; i++) {
+			result.set(COLORS[i], manaMap.get(COLORS[i]) - mana[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(IsManaMap manaMap) {
+		for (int i = 0; i < mana.length; i++) {
+			if (manaMap.get(COLORS[i]) != mana[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int get(ColorType color) {
+		return mana[color.ordinal()];
+	}
+
+	@Override
+	public IsManaMap getDifference(IsManaMap manaMap) {
+		/**
+		 * In dieser Art der Berechnung können sich negative Manawerte ergeben.
+		 */
+		return difference(manaMap, new ManaMapArray());
+	}
+
+	@Override
+	public Set<ColorType> getKeySet() {
+		final Set<ColorType> result = EnumSet.noneOf(ColorType.class);
+		for (int i = 0; i < mana.length; i++) {
+			if (mana[i] != 0) {
+				result.add(COLORS[i]);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int getTotalColoredMana() {
+		int result = 0;
+		for (int i = 0; i < mana.length; i++) {
+			if (COLORS[i].isTrueColor()) {
+				result += mana[i];
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public int getTotalMana() {
+		int result = 0;
+		for (int i = 0; i < mana.length; i++) {
+			result += mana[i];
+		}
+		return result;
+	}
+
+	@Override
+	public Set<ColorType> getTrueColorKeySet() {
+		return EnumSet.of(ColorType.BLACK, ColorType.BLUE, ColorType.GREEN, ColorType.RED, ColorType.WHITE);
+	}
+
+	@Override
+	public boolean hasColorlessMana() {
+		return mana[ColorType.NONE.ordinal()] > 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (int i = 0; i < mana.length; i++) {
+			if (mana[i] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void manaAdd(ColorType color) {
+		add(color, 1);
+	}
+
+	@Override
+	public void manaRemove(ColorType color) {
+		remove(color, 1);
+	}
+
+	/**
+	 * Entfernt Mana einer Farbe. Wie in ManaMapDefault fällt der Wert dabei nicht
+	 * unter 0.
+	 */
+	@Override
+	public void remove(ColorType color, int howMuch) {
+		set(color, Math.max(mana[color.ordinal()] - howMuch, 0));
+	}
+
+	@Override
+	public void removeAll() {
+		for (int i = 0; i < mana.length; i++) {
+			mana[i] = 0;
+		}
+	}
+
+	@Override
+	public void setManaMap(Map<ColorType, Integer> manaMap) {
+		for (int i = 0; i < mana.length; i++) {
+			mana[i] = 0;
+		}
+		manaMap.forEach((color, howMuch) -> mana[color.ordinal()] = howMuch);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder bldr = new StringBuilder("[");
+		int index = 0;
+		for (int i = 0; i < mana.length; i++) {
+			if (mana[i] != 0) {
+				if (index != 0) {
+					bldr.append(" ");
+				}
+				bldr.append(COLORS[i]).append("=[").append(mana[i]).append("]");
+				index++;
+			}
+		}
+		return bldr.append("]").toString();
+	}
+
+	/**
+	 * Setzt den Wert einer Farbe.
+	 *
+	 * @param color
+	 *            die Farbe.
+	 * @param value
+	 *            der neue Wert.
+	 */
+	private void set(ColorType color, int value) {
+		mana[color.ordinal()] = value;
+	}
+
+}
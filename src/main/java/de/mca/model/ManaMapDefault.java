@@ -1,14 +1,12 @@
 package de.mca.model;
 
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import de.mca.model.enums.ColorType;
 import de.mca.model.interfaces.IsManaMap;
-import javafx.beans.property.MapProperty;
-import javafx.beans.property.SimpleMapProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableMap;
 
 /**
  * Die ManaMap wird benutzt, um verschiedenartige Mana-Konstellationen im
@@ -27,14 +25,14 @@ public class ManaMapDefault implements IsManaMap {
 	/**
 	 * Speichert das Mana.
 	 */
-	private final MapProperty<ColorType, Integer> propertyMapMana;
+	private final Map<ColorType, Integer> mapMana;
 
 	public ManaMapDefault() {
-		propertyMapMana = new SimpleMapProperty<>(FXCollections.observableHashMap());
+		mapMana = new HashMap<>();
 	}
 
-	public ManaMapDefault(ObservableMap<ColorType, Integer> manaMap) {
-		propertyMapMana = new SimpleMapProperty<>(manaMap);
+	public ManaMapDefault(Map<ColorType, Integer> manaMap) {
+		mapMana = manaMap;
 	}
 
 	@Override
@@ -62,7 +60,7 @@ public class ManaMapDefault implements IsManaMap {
 
 	@Override
 	public boolean containsKey(ColorType color) {
-		return propertyMapMana().containsKey(color);
+		return mapMana.containsKey(color);
 	}
 
 	@Override
@@ -72,12 +70,12 @@ public class ManaMapDefault implements IsManaMap {
 
 	@Override
 	public int get(ColorType color) {
-		return containsKey(color) ? propertyMapMana().get(color) : 0;
+		return containsKey(color) ? mapMana.get(color) : 0;
 	}
 
 	@Override
 	public IsManaMap getDifference(IsManaMap manaMap) {
-		final ObservableMap<ColorType, Integer> result = FXCollections.observableHashMap();
+		final Map<ColorType, Integer> result = new HashMap<>();
 
 		/**
 		 * In dieser Art der Berechnung können sich negative Manawerte ergeben.
@@ -94,7 +92,7 @@ public class ManaMapDefault implements IsManaMap {
 
 	@Override
 	public Set<ColorType> getKeySet() {
-		return propertyMapMana().keySet();
+		return mapMana.keySet();
 	}
 
 	@Override
@@ -135,24 +133,19 @@ public class ManaMapDefault implements IsManaMap {
 
 	@Override
 	public void manaAdd(ColorType color) {
-		propertyMapMana().put(color, get(color) + 1);
+		mapMana.put(color, get(color) + 1);
 	}
 
 	@Override
 	public void manaRemove(ColorType color) {
 		final int oldValue = get(color);
 		if (oldValue <= 1) {
-			propertyMapMana().remove(color);
+			mapMana.remove(color);
 		} else {
-			propertyMapMana().put(color, oldValue - 1);
+			mapMana.put(color, oldValue - 1);
 		}
 	}
 
-	@Override
-	public MapProperty<ColorType, Integer> propertyMapMana() {
-		return propertyMapMana;
-	}
-
 	@Override
 	public void remove(ColorType color, int howMuch) {
 		for (int i = 0; i < howMuch; i++) {
@@ -162,12 +155,13 @@ public class ManaMapDefault implements IsManaMap {
 
 	@Override
 	public void removeAll() {
-		propertyMapMana().clear();
+		mapMana.clear();
 	}
 
 	@Override
-	public void setManaMap(ObservableMap<ColorType, Integer> manaMap) {
-		propertyMapMana().set(manaMap);
+	public void setManaMap(Map<ColorType, Integer> manaMap) {
+		mapMana.clear();
+		mapMana.putAll(manaMap);
 	}
 
 	@Override
@@ -196,8 +190,8 @@ public class ManaMapDefault implements IsManaMap {
 	 * @return true, wenn ein positiver Wert bei einer echten Farbe entdeckt wurde.
 	 */
 	private boolean hasPositiveTrueColor(IsManaMap difference) {
-		for (final ColorType key : getKeySet()) {
-			if (key.isTrueColor() && get(key) < 0) {
+		for (final ColorType key : difference.getKeySet()) {
+			if (key.isTrueColor() && difference.get(key) > 0) {
 				return true;
 			}
 		}
@@ -0,0 +1,552 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.EffectType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Löst die Bezahlung von Manakosten aus dem Manapool und den Manaquellen eines
+ * Spielers. Jede Manafähigkeit einer Quelle ist eine Möglichkeit, von der
+ * höchstens eine gewählt wird. Gesucht wird eine Auswahl mit möglichst wenigen
+ * Quellen, die zusammen mit dem Manapool die Kosten deckt: farbige Kosten nur
+ * mit Mana ihrer Farbe, farblose Kosten mit beliebigem Mana.
+ *
+ * Quellen mit denselben Möglichkeiten (z.B. alle Wälder) werden zu Gruppen
+ * zusammengefasst, gesucht wird nur noch die Anzahl je Gruppe und Möglichkeit.
+ * Gruppen, die weniger Farben liefern, werden bevorzugt, damit farbiges Mana
+ * für spätere Zaubersprüche erhalten bleibt. Die Ergebnisse werden je
+ * Konfiguration der Quellen und verbleibenden Kosten zwischengespeichert.
+ *
+ * Der RuleEnforcer übergibt die Manaquellen als bleibende Karten, das
+ * Suchmodell der KI übergibt über setOptions() nur das Mana ihrer
+ * Möglichkeiten. Beide halten damit dieselben Kosten für bezahlbar und tappen
+ * dieselben Quellen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class ManaSolver {
+
+	/**
+	 * Fasst Quellen mit denselben Möglichkeiten zusammen.
+	 */
+	private static final class Group {
+
+		/**
+		 * Speichert die Anzahl an Farben, die die Quellen liefern können.
+		 */
+		private final int colorCount;
+		/**
+		 * Speichert je Möglichkeit das gelieferte Mana, indiziert über die
+		 * Ordinalzahl der Farbe.
+		 */
+		private final int[][] options;
+		/**
+		 * Speichert die Indizes der Quellen der Gruppe in der Reihenfolge, in der
+		 * sie übergeben wurden.
+		 */
+		private int[] sources;
+		/**
+		 * Speichert die Anzahl der Quellen der Gruppe.
+		 */
+		private int size;
+
+		private Group(int[][] options) {
+			this.options = options;
+			sources = new int[4];
+			size = 0;
+			int colors = 0;
+			for (final int[] option : options) {
+				for (int i = 0; i < option.length; i++) {
+					if (COLORS[i].isTrueColor() && option[i] > 0) {
+						colors |= 1 << i;
+					}
+				}
+			}
+			colorCount = Integer.bitCount(colors);
+		}
+
+		private void add(int source) {
+			if (size == sources.length) {
+				sources = Arrays.copyOf(sources, size * 2);
+			}
+			sources[size++] = source;
+		}
+
+		private int compareTo(Group group) {
+			if (colorCount != group.colorCount) {
+				return Integer.compare(colorCount, group.colorCount);
+			}
+			if (options.length != group.options.length) {
+				return Integer.compare(options.length, group.options.length);
+			}
+			for (int i = 0; i < options.length; i++) {
+				for (int j = 0; j < options[i].length; j++) {
+					if (options[i][j] != group.options[i][j]) {
+						return Integer.compare(options[i][j], group.options[i][j]);
+					}
+				}
+			}
+			return 0;
+		}
+
+	}
+
+	/**
+	 * Schlüssel aus einer Folge von Zahlen.
+	 */
+	private static final class Key {
+
+		private final int hash;
+		private final int[] values;
+
+		private Key(int[] values) {
+			this.values = values;
+			hash = Arrays.hashCode(values);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Key && Arrays.equals(values, ((Key) object).values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+	/**
+	 * Speichert die Farben in der Reihenfolge ihrer Ordinalzahlen.
+	 */
+	private static final ColorType[] COLORS = ColorType.values();
+	/**
+	 * Speichert den Index des farblosen Manas. An diesem Index stehen in den
+	 * Kosten die farblosen (generischen) Kosten.
+	 */
+	private static final int INDEX_NONE = ColorType.NONE.ordinal();
+	/**
+	 * Speichert die maximale Anzahl zwischengespeicherter Ergebnisse. Wird sie
+	 * erreicht, wird der Zwischenspeicher geleert.
+	 */
+	private static final int MAX_ENTRIES = 1 << 12;
+	/**
+	 * Markiert im Zwischenspeicher Kosten, die nicht bezahlt werden können.
+	 */
+	private static final int[] NO_SOLUTION = new int[0];
+
+	/**
+	 * Liefert die Manafähigkeiten einer Karte, die Mana erzeugen.
+	 */
+	private static List<ActivatedAbility> getManaAbilities(MagicCard magicCard) {
+		final List<ActivatedAbility> result = new ArrayList<>(1);
+		for (final ActivatedAbility activatedAbility : magicCard.getListActivatedAbilities()) {
+			if (!activatedAbility.isManaAbility()) {
+				continue;
+			}
+			for (final Effect effect : activatedAbility.getListEffects()) {
+				if (effect.getEffectType().equals(EffectType.PRODUCE_MANA)) {
+					result.add(activatedAbility);
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Berechnet das Mana, das eine Manafähigkeit liefert.
+	 */
+	private static int[] toOption(ActivatedAbility activatedAbility) {
+		final int[] result = new int[COLORS.length];
+		for (final Effect effect : activatedAbility.getListEffects()) {
+			if (effect.getEffectType().equals(EffectType.PRODUCE_MANA)) {
+				final IsManaMap produceMap = ((EffectProduceMana) effect).getProduceMap();
+				for (int i = 0; i < COLORS.length; i++) {
+					result[i] += produceMap.get(COLORS[i]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Berechnet das Mana, das die Manafähigkeiten einer Karte liefern.
+	 *
+	 * @param magicCard die Karte.
+	 * @return je Manafähigkeit das gelieferte Mana, indiziert über
+	 *         ColorType.ordinal(). Leer, wenn die Karte keine Manaquelle ist.
+	 */
+	public static int[][] toOptions(MagicCard magicCard) {
+		final List<ActivatedAbility> listAbilities = getManaAbilities(magicCard);
+		final int[][] result = new int[listAbilities.size()][];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = toOption(listAbilities.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Zieht das Mana von option n-mal von need ab und schreibt das Ergebnis nach
+	 * result. Farbiges Mana deckt zuerst die Kosten seiner Farbe, der Rest und
+	 * farbloses Mana decken die farblosen Kosten.
+	 */
+	private static void subtract(int[] need, int[] option, int n, int[] result) {
+		int surplus = n * option[INDEX_NONE];
+		for (int i = 0; i < COLORS.length; i++) {
+			if (i == INDEX_NONE) {
+				continue;
+			}
+			final int produced = n * option[i];
+			final int used = Math.min(produced, need[i]);
+			result[i] = need[i] - used;
+			surplus += produced - used;
+		}
+		result[INDEX_NONE] = Math.max(0, need[INDEX_NONE] - surplus);
+	}
+
+	/**
+	 * Speichert die Ergebnisse je Konfiguration und verbleibenden Kosten: die
+	 * Anzahl je Gruppe und Möglichkeit oder NO_SOLUTION.
+	 */
+	private final Map<Key, int[]> cache;
+	/**
+	 * Speichert die aktuelle Konfiguration der Quellen als Zahlenfolge: je Gruppe
+	 * Anzahl der Quellen, Anzahl der Möglichkeiten und deren Mana.
+	 */
+	private int[] configuration;
+	/**
+	 * Speichert je Quelle ihre Manafähigkeiten. Wird nur von setSources()
+	 * belegt.
+	 */
+	private final List<List<ActivatedAbility>> listAbilities;
+	/**
+	 * Speichert die Gruppen der aktuellen Quellen in der Reihenfolge der Suche.
+	 */
+	private final List<Group> listGroups;
+	/**
+	 * Speichert die Anzahl aller Möglichkeiten über alle Gruppen.
+	 */
+	private int optionCount;
+	/**
+	 * Speichert die Anzahl der übergebenen Quellen, auch derer ohne
+	 * Möglichkeiten.
+	 */
+	private int sourceCount;
+
+	public ManaSolver() {
+		cache = new HashMap<>();
+		configuration = new int[0];
+		listAbilities = new ArrayList<>();
+		listGroups = new ArrayList<>();
+		optionCount = 0;
+		sourceCount = 0;
+	}
+
+	/**
+	 * Prüft, ob die Kosten aus den Quellen bezahlt werden können.
+	 *
+	 * @param need die Kosten, indiziert über ColorType.ordinal(). Am Index von
+	 *             NONE stehen die farblosen Kosten.
+	 * @return true, wenn die Kosten bezahlt werden können.
+	 */
+	public boolean canPay(int[] need) {
+		return find(need) != NO_SOLUTION;
+	}
+
+	/**
+	 * Legt die Quellen über ihre Möglichkeiten fest.
+	 *
+	 * @param listOptions je Quelle das Mana ihrer Möglichkeiten, siehe
+	 *                    toOptions(). Quellen ohne Möglichkeiten werden
+	 *                    ignoriert.
+	 * @return true, wenn sich die Konfiguration der Quellen geändert hat.
+	 */
+	public boolean setOptions(List<int[][]> listOptions) {
+		final Map<Key, Group> mapGroups = new LinkedHashMap<>();
+		for (int source = 0; source < listOptions.size(); source++) {
+			final int[][] options = listOptions.get(source);
+			if (options.length == 0) {
+				continue;
+			}
+
+			final int[] values = new int[options.length * COLORS.length];
+			for (int i = 0; i < options.length; i++) {
+				System.arraycopy(options[i], 0, values, i * COLORS.length, COLORS.length);
+			}
+			mapGroups.computeIfAbsent(new Key(values), key -> new Group(options)).add(source);
+		}
+		sourceCount = listOptions.size();
+
+		listGroups.clear();
+		listGroups.addAll(mapGroups.values());
+		listGroups.sort((a, b) -> a.compareTo(b));
+
+		optionCount = 0;
+		int length = 0;
+		for (final Group group : listGroups) {
+			optionCount += group.options.length;
+			length += 2 + group.options.length * COLORS.length;
+		}
+		final int[] values = new int[length];
+		int index = 0;
+		for (final Group group : listGroups) {
+			values[index++] = group.size;
+			values[index++] = group.options.length;
+			for (final int[] option : group.options) {
+				System.arraycopy(option, 0, values, index, COLORS.length);
+				index += COLORS.length;
+			}
+		}
+
+		final boolean result = !Arrays.equals(configuration, values);
+		configuration = values;
+		return result;
+	}
+
+	/**
+	 * Bestimmt die Möglichkeiten, mit denen die Kosten bezahlt werden.
+	 *
+	 * @param need die Kosten, indiziert über ColorType.ordinal(). Am Index von
+	 *             NONE stehen die farblosen Kosten.
+	 * @return je Quelle der Index der gewählten Möglichkeit oder -1, wenn die
+	 *         Quelle nicht verwendet wird. null, wenn die Kosten nicht bezahlt
+	 *         werden können.
+	 */
+	public int[] solve(int[] need) {
+		final int[] counts = find(need);
+		if (counts == NO_SOLUTION) {
+			return null;
+		}
+
+		final int[] result = new int[sourceCount];
+		Arrays.fill(result, -1);
+		int index = 0;
+		for (final Group group : listGroups) {
+			int used = 0;
+			for (int option = 0; option < group.options.length; option++) {
+				for (int n = 0; n < counts[index]; n++) {
+					result[group.sources[used++]] = option;
+				}
+				index++;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[ManaSolver g=").append(listGroups.size()).append(" c=").append(cache.size())
+				.append("]").toString();
+	}
+
+	/**
+	 * Sucht eine Auswahl mit möglichst wenigen Quellen, die gemeinsam mit dem
+	 * Manapool die verbleibenden Kosten decken.
+	 *
+	 * @param need die verbleibenden Kosten, wird nicht verändert.
+	 * @return die Anzahl je Gruppe und Möglichkeit oder NO_SOLUTION.
+	 */
+	private int[] search(int[] need) {
+		// Für jede Möglichkeit: Gruppe, Mana und Schranken für alle folgenden.
+		final int[] groupOfOption = new int[optionCount];
+		final int[][] options = new int[optionCount][];
+		final int[][] capacities = new int[optionCount + 1][COLORS.length];
+		final int[] maxPerSource = new int[optionCount + 1];
+		final int[] remaining = new int[listGroups.size()];
+		int index = 0;
+		for (int g = 0; g < listGroups.size(); g++) {
+			final Group group = listGroups.get(g);
+			remaining[g] = group.size;
+			for (final int[] option : group.options) {
+				groupOfOption[index] = g;
+				options[index] = option;
+				index++;
+			}
+		}
+		for (int i = optionCount - 1; i >= 0; i--) {
+			final int count = remaining[groupOfOption[i]];
+			int total = 0;
+			for (int c = 0; c < COLORS.length; c++) {
+				capacities[i][c] = capacities[i + 1][c] + count * options[i][c];
+				total += options[i][c];
+			}
+			maxPerSource[i] = Math.max(maxPerSource[i + 1], total);
+		}
+
+		int sources = 0;
+		for (final int count : remaining) {
+			sources += count;
+		}
+
+		final int[] counts = new int[optionCount];
+		for (int taps = 1; taps <= sources; taps++) {
+			if (search(0, taps, need, options, groupOfOption, capacities, maxPerSource, remaining, counts)) {
+				return counts;
+			}
+		}
+		return NO_SOLUTION;
+	}
+
+	/**
+	 * Sucht ab der Möglichkeit index eine Auswahl mit höchstens taps Quellen.
+	 * Je Möglichkeit wird zuerst die größte Anzahl versucht.
+	 */
+	private boolean search(int index, int taps, int[] need, int[][] options, int[] groupOfOption,
+			int[][] capacities, int[] maxPerSource, int[] remaining, int[] counts) {
+		int total = 0;
+		for (int c = 0; c < COLORS.length; c++) {
+			total += need[c];
+		}
+		if (total == 0) {
+			return true;
+		}
+		if (index == options.length || taps * maxPerSource[index] < total) {
+			return false;
+		}
+
+		// Schranke: Kann das restliche Mana die Kosten überhaupt decken?
+		int capacity = 0;
+		for (int c = 0; c < COLORS.length; c++) {
+			if (c != INDEX_NONE && capacities[index][c] < need[c]) {
+				return false;
+			}
+			capacity += capacities[index][c];
+		}
+		if (capacity < total) {
+			return false;
+		}
+
+		final int group = groupOfOption[index];
+		final int[] next = new int[COLORS.length];
+		for (int n = Math.min(remaining[group], taps); n >= 0; n--) {
+			subtract(need, options[index], n, next);
+			remaining[group] -= n;
+			counts[index] = n;
+			final boolean found = search(index + 1, taps - n, next, options, groupOfOption, capacities,
+					maxPerSource, remaining, counts);
+			remaining[group] += n;
+			if (found) {
+				return true;
+			}
+		}
+		counts[index] = 0;
+		return false;
+	}
+
+	/**
+	 * Berechnet die Kosten, die nach Abzug des Manapools verbleiben. Das Mana im
+	 * Pool wird wie in RuleEnforcer.checkIsPaid() verteilt.
+	 */
+	private int[] toNeed(IsManaMap manaPool, IsManaMap cost) {
+		final int[] result = new int[COLORS.length];
+		int surplus = manaPool.get(ColorType.NONE);
+		for (int i = 0; i < COLORS.length; i++) {
+			if (i == INDEX_NONE) {
+				continue;
+			}
+			final int have = manaPool.get(COLORS[i]);
+			final int used = Math.min(have, cost.get(COLORS[i]));
+			result[i] = cost.get(COLORS[i]) - used;
+			surplus += have - used;
+		}
+		result[INDEX_NONE] = Math.max(0, cost.get(ColorType.NONE) - surplus);
+		return result;
+	}
+
+	/**
+	 * Liefert das Ergebnis für die aktuellen Quellen, zwischengespeichert je
+	 * Konfiguration und verbleibenden Kosten.
+	 */
+	private int[] find(int[] need) {
+		boolean isPaid = true;
+		for (final int value : need) {
+			isPaid &= value <= 0;
+		}
+		if (isPaid) {
+			return new int[optionCount];
+		}
+
+		final int[] values = Arrays.copyOf(configuration, configuration.length + need.length);
+		System.arraycopy(need, 0, values, configuration.length, need.length);
+		final Key key = new Key(values);
+		int[] result = cache.get(key);
+		if (result == null) {
+			result = search(need);
+			if (cache.size() >= MAX_ENTRIES) {
+				cache.clear();
+			}
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Prüft, ob die Kosten aus dem Manapool und den Quellen bezahlt werden können.
+	 *
+	 * @param manaPool der Manapool.
+	 * @param cost     die Kosten.
+	 * @return true, wenn die Kosten bezahlt werden können.
+	 */
+	boolean canPay(IsManaMap manaPool, IsManaMap cost) {
+		return canPay(toNeed(manaPool, cost));
+	}
+
+	int getCacheSize() {
+		return cache.size();
+	}
+
+	/**
+	 * Legt die Quellen fest, aus denen bezahlt werden kann. Quellen ohne
+	 * Manafähigkeit werden ignoriert.
+	 *
+	 * @param listSources die ungetappten Manaquellen des Spielers.
+	 * @return true, wenn sich die Konfiguration der Quellen geändert hat.
+	 */
+	boolean setSources(List<MagicPermanent> listSources) {
+		listAbilities.clear();
+		final List<int[][]> listOptions = new ArrayList<>(listSources.size());
+		for (final MagicPermanent magicPermanent : listSources) {
+			final List<ActivatedAbility> listManaAbilities = getManaAbilities(magicPermanent);
+			final int[][] options = new int[listManaAbilities.size()][];
+			for (int i = 0; i < options.length; i++) {
+				options[i] = toOption(listManaAbilities.get(i));
+			}
+			listAbilities.add(listManaAbilities);
+			listOptions.add(options);
+		}
+		return setOptions(listOptions);
+	}
+
+	/**
+	 * Bestimmt die Manafähigkeiten, die für die Bezahlung aktiviert werden.
+	 *
+	 * @param manaPool der Manapool.
+	 * @param cost     die Kosten.
+	 * @return die zu aktivierenden Fähigkeiten, je Quelle höchstens eine, oder
+	 *         null, wenn die Kosten nicht bezahlt werden können.
+	 */
+	List<ActivatedAbility> solve(IsManaMap manaPool, IsManaMap cost) {
+		final int[] choices = solve(toNeed(manaPool, cost));
+		if (choices == null) {
+			return null;
+		}
+
+		final List<ActivatedAbility> result = new ArrayList<>();
+		for (int i = 0; i < choices.length; i++) {
+			if (choices[i] >= 0) {
+				result.add(listAbilities.get(i).get(choices[i]));
+			}
+		}
+		return result;
+	}
+
+}
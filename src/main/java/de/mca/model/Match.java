@@ -1,27 +1,23 @@
 package de.mca.model;
 
-import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.mca.Constants;
+import de.mca.model.enums.PhaseType;
 import de.mca.model.enums.PlayerState;
+import de.mca.model.enums.StepType;
+import de.mca.model.enums.TransitionType;
 import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsAttackTarget;
 import de.mca.model.interfaces.IsPlayer;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.ListProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SetProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleListProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.FXCollections;
 
 /**
  * Bildet ein Match ab, an dessen Ende ein Ergebnis feststeht. Ein Match läuft
@@ -29,11 +25,22 @@ import javafx.collections.FXCollections;
  * Rundenstruktur wird in verschiedene Hilfsklassen ausgelagert und vollständig
  * gekapselt (Turn, Phase, Step).
  * 
- * TODO: Benötigt wird ein GameStateRecorder, der nach jeder Änderung im
- * Spielzustand einen "Snapshot" des Spielfeldes, der Hand- und Deckkarten sowie
- * der Spielerzustände speichert. Benötigt wird dies zum einen für die KI, zum
- * anderen können so eine Zurück-Funktion und Illegale Handlungen abgebildet
- * werden.
+ * Mit createSnapshot() kann der Spielzustand jederzeit als unveränderlicher
+ * MatchSnapshot gesichert und mit restoreSnapshot() wiederhergestellt werden.
+ * Das Sichern verändert das Match nicht, auch nicht seine Zufallsquelle.
+ * 
+ * Der Spielzustand wird in einfachen Feldern gehalten, das Paket de.mca.model
+ * hängt nicht von JavaFX ab. Ein Match kann daher auch ohne JavaFX (z.B. für
+ * KI-Simulationen) gespielt werden. Die Oberfläche liest den Zustand über
+ * MatchState-Abzüge, die der MatchPresenter im JavaFX-Thread anwendet.
+ *
+ * update() führt genau einen Übergang der Rundenstruktur aus (TransitionType).
+ * Welcher Übergang in einer laufenden Phase bzw. einem laufenden Spielschritt
+ * folgt, steht in Übergangstabellen je PhaseType und StepType, die einmalig
+ * beim Laden der Klasse aufgebaut werden.
+ * advanceToNextDecision() führt Übergänge ohne Unterbrechung aus, bis ein
+ * Spieler eine echte Wahl hat, und lässt Spieler ohne mögliche Interaktion
+ * dabei automatisch passen.
  *
  * @author Maximilian Werling
  *
@@ -44,6 +51,54 @@ public final class Match {
 	 * Speichert den Logger.
 	 */
 	private final static Logger LOGGER = LoggerFactory.getLogger("Match");
+	/**
+	 * Speichert die maximale Anzahl an Updates in advanceToNextDecision(). Wird
+	 * sie erreicht, kehrt die Methode auch ohne Entscheidung zurück, damit ein
+	 * festhängendes Match erkannt werden kann.
+	 */
+	private static final int MAX_UPDATES_PER_DECISION = 10000;
+	/**
+	 * Speichert je Phasentyp den Übergang, mit dem eine Prioritätsrunde endet, in
+	 * der alle Spieler gepasst haben und der Stack leer ist.
+	 */
+	private static final Map<PhaseType, TransitionType> TRANSITIONS_PASSED = createTransitionsPassed();
+	/**
+	 * Speichert je Phasentyp den Übergang einer laufenden Phase. Hauptphasen gehen
+	 * direkt in die Prioritätsrunde, alle anderen Phasen spielen Spielschritte.
+	 */
+	private static final Map<PhaseType, TransitionType> TRANSITIONS_PHASE = createTransitionsPhase();
+	/**
+	 * Speichert je Schritttyp den Übergang eines laufenden Spielschritts.
+	 * Spielschritte, in denen Spieler Priorität erhalten, gehen in die
+	 * Prioritätsrunde, alle anderen werden direkt beendet.
+	 */
+	private static final Map<StepType, TransitionType> TRANSITIONS_STEP = createTransitionsStep();
+
+	private static Map<PhaseType, TransitionType> createTransitionsPassed() {
+		final Map<PhaseType, TransitionType> result = new EnumMap<>(PhaseType.class);
+		for (final PhaseType phaseType : PhaseType.values()) {
+			result.put(phaseType, phaseType.isMain() ? TransitionType.PHASE_END : TransitionType.STEP_END);
+		}
+		return result;
+	}
+
+	private static Map<PhaseType, TransitionType> createTransitionsPhase() {
+		final Map<PhaseType, TransitionType> result = new EnumMap<>(PhaseType.class);
+		for (final PhaseType phaseType : PhaseType.values()) {
+			result.put(phaseType, phaseType.isMain() ? TransitionType.PRIORITY : TransitionType.STEP_BEGIN);
+		}
+		return result;
+	}
+
+	private static Map<StepType, TransitionType> createTransitionsStep() {
+		final Map<StepType, TransitionType> result = new EnumMap<>(StepType.class);
+		for (final StepType stepType : StepType.values()) {
+			result.put(stepType,
+					stepType.playersGetPriority() ? TransitionType.PRIORITY : TransitionType.STEP_END);
+		}
+		return result;
+	}
+
 	/**
 	 * Speichert die Anzahl der Aktionen innerhalb eines Schrittes, um jede einzelne
 	 * Aktion die zu einer Änderung des BoardStates führt identifiziertbar zu
@@ -63,60 +118,101 @@ public final class Match {
 	 */
 	private final IsPlayer playerTwo;
 	/**
-	 * Speichert die Kartenanzahl im Battlefield.
+	 * Speichert die aktuelle Runde.
 	 */
-	private final IntegerProperty propertyBattlefieldSize;
+	private Turn currentTurn;
 	/**
-	 * Speichert die aktuelle Runde.
+	 * Zeigt an, ob das Match beendet wurde und ein Ergebnis feststeht.
+	 */
+	private boolean flagMatchFinished;
+	/**
+	 * Zeigt an, ob das Match gerade mit advanceToNextDecision() vorgespult wird.
+	 */
+	private boolean flagAdvancing;
+	/**
+	 * Zeigt an, ob während des Vorspulens ein Spieler Priorität mit mindestens
+	 * einer möglichen Interaktion erhalten hat.
 	 */
-	private final ObjectProperty<Turn> propertyCurrentTurn;
+	private boolean flagDecision;
 	/**
-	 * Speichert die Kartenanzahl im Exil.
+	 * Zeigt an, ob das Match gerade läuft.
 	 */
-	private final IntegerProperty propertyExileSize;
+	private boolean flagMatchRunning;
 	/**
 	 * Speichert alle Angriffe.
 	 */
-	private final ListProperty<Attack> propertyListAttacks;
+	private final List<Attack> listAttacks;
 	/**
 	 * Speichert die Liste aller angreifbaren Ziele. Diese Liste wird auch an
 	 * Spieler weitergegeben.
 	 */
-	private final ListProperty<IsAttackTarget> propertyListAttackTargets;
+	private final List<IsAttackTarget> listAttackTargets;
 	/**
-	 * Speichert die Runden.
+	 * Speichert die Spieler, die das Match verloren haben. Verlieren beide Spieler
+	 * gleichzeitig, endet das Match unentschieden.
 	 */
-	private final ListProperty<Turn> propertyListTurns;
+	private final List<IsPlayer> listPlayersLost;
 	/**
-	 * Zeigt an, ob das Match gerade läuft.
+	 * Speichert die Runden.
 	 */
-	private final BooleanProperty propertyMatchRunning;
+	private final List<Turn> listTurns;
 	/**
 	 * Speichert den aktiven Spieler.
 	 */
-	private final ObjectProperty<IsPlayer> propertyPlayerActive;
+	private IsPlayer playerActive;
 	/**
 	 * Speichert den priorisierten Spieler.
 	 */
-	private final ObjectProperty<IsPlayer> propertyPlayerPrioritized;
+	private IsPlayer playerPrioritized;
+	/**
+	 * Speichert die Zufallsquelle, aus der alle zufälligen Entscheidungen des
+	 * Matches gezogen werden: Mischen der Bibliotheken, Wahl des Startspielers und
+	 * zufälliges Abwerfen.
+	 */
+	private final MatchRandom random;
 	/**
-	 * Speichert die Anzahl der Elemente auf dem Stack.
+	 * Speichert die Zufallsquelle der Suche des Computers. Sie ist aus dem
+	 * Startwert abgeleitet, aber von random getrennt: Ein Match, in dem nicht
+	 * gesucht wird (z.B. in MatchReplay), zieht so dieselben Mischungen.
 	 */
-	private IntegerProperty propertyStackSize;
+	private final SplittableRandom randomSearch;
 	/**
 	 * Speichert den RuleEnforcer.
 	 */
 	private final RuleEnforcer ruleEnforcer;
+	/**
+	 * Speichert den Startwert der Zufallsquelle.
+	 */
+	private final long seed;
+	/**
+	 * Speichert den Übergang, den das letzte Update ausgeführt hat.
+	 */
+	private TransitionType transition;
 	/**
 	 * Speichert die geteilte Spieldfeld-Zone.
 	 */
-	private final ZoneDefault<MagicPermanent> zoneBattlefield;
+	private final ZoneIndexed<MagicPermanent> zoneBattlefield;
 	/**
 	 * Speichert das geteilte Exil.
 	 */
 	private final ZoneDefault<MagicCard> zoneExile;
 
+	/**
+	 * Erzeugt ein Match mit zufälligem Startwert.
+	 */
 	public Match(RuleEnforcer ruleEnforcer, IsPlayer playerOne, IsPlayer playerTwo) {
+		this(ruleEnforcer, playerOne, playerTwo, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Erzeugt ein Match, dessen Zufallsentscheidungen vollständig durch den
+	 * Startwert bestimmt sind. Die Bibliotheken beider Spieler werden hier
+	 * gemischt, zuerst die von Spieler eins.
+	 *
+	 * @param seed
+	 *            der Startwert der Zufallsquelle.
+	 */
+	public Match(RuleEnforcer ruleEnforcer, IsPlayer playerOne, IsPlayer playerTwo, long seed) {
 		this.ruleEnforcer = ruleEnforcer;
 		this.ruleEnforcer.setMatch(this);
 
@@ -125,18 +221,65 @@ public final class Match {
 
 		actionCount = 0;
 		magicStack = new MagicStack();
-		propertyBattlefieldSize = new SimpleIntegerProperty(0);
-		propertyCurrentTurn = new SimpleObjectProperty<>(new Turn(ruleEnforcer));
-		propertyExileSize = new SimpleIntegerProperty(0);
-		propertyMatchRunning = new SimpleBooleanProperty(false);
-		propertyListAttacks = new SimpleListProperty<>(FXCollections.observableArrayList());
-		propertyListAttackTargets = new SimpleListProperty<>(FXCollections.observableArrayList(playerOne, playerTwo));
-		propertyListTurns = new SimpleListProperty<>(FXCollections.observableArrayList(getCurrentTurn()));
-		propertyPlayerActive = new SimpleObjectProperty<>(playerOne);
-		propertyPlayerPrioritized = new SimpleObjectProperty<>(playerOne);
-		propertyStackSize = new SimpleIntegerProperty(0);
-		zoneBattlefield = new ZoneDefault<>(ZoneType.BATTLEFIELD);
+		currentTurn = new Turn();
+		flagMatchFinished = false;
+		flagMatchRunning = false;
+		listAttacks = new ArrayList<>();
+		listAttackTargets = new ArrayList<>();
+		listAttackTargets.add(playerOne);
+		listAttackTargets.add(playerTwo);
+		listPlayersLost = new ArrayList<>();
+		listTurns = new ArrayList<>();
+		listTurns.add(currentTurn);
+		playerActive = playerOne;
+		playerPrioritized = playerOne;
+		zoneBattlefield = new ZoneIndexed<>(ZoneType.BATTLEFIELD);
 		zoneExile = new ZoneDefault<>(ZoneType.EXILE);
+
+		transition = TransitionType.NONE;
+
+		this.seed = seed;
+		random = new MatchRandom(seed);
+		randomSearch = new SplittableRandom(seed).split();
+		playerOne.getZoneLibrary().shuffle(random);
+		playerTwo.getZoneLibrary().shuffle(random);
+	}
+
+	/**
+	 * Führt Updates aus, bis ein Spieler Priorität mit mindestens einer möglichen
+	 * Interaktion erhält, auf eine Eingabe gewartet wird oder das Match endet.
+	 * Spieler ohne mögliche Interaktion passen dabei, ohne dass ihre Eingabe
+	 * angefragt wird. Antwortet die Eingabe sofort (z.B. InputComputer), ist die
+	 * Entscheidung bei der Rückkehr bereits getroffen.
+	 *
+	 * @return die Anzahl ausgeführter Updates.
+	 */
+	public int advanceToNextDecision() {
+		flagAdvancing = true;
+		flagDecision = false;
+		int result = 0;
+		try {
+			while (!flagDecision && !getFlagMatchFinished() && !waitForInput()
+					&& result < MAX_UPDATES_PER_DECISION) {
+				update();
+				result++;
+			}
+		} finally {
+			flagAdvancing = false;
+		}
+		LOGGER.trace("{} advanceToNextDecision() -> {} updates", this, result);
+		return result;
+	}
+
+	/**
+	 * Sichert den aktuellen Spielzustand. Der Snapshot ist unveränderlich und kann
+	 * beliebig oft mit restoreSnapshot() wiederhergestellt werden.
+	 *
+	 * @return ein Abbild des aktuellen Spielzustands.
+	 */
+	public MatchSnapshot createSnapshot() {
+		LOGGER.trace("{} createSnapshot()", this);
+		return new MatchSnapshot(this);
 	}
 
 	/**
@@ -170,13 +313,32 @@ public final class Match {
 		return actionCount;
 	}
 
+	/**
+	 * Liefert die aktuelle Phase.
+	 *
+	 * @return die aktuelle Phase.
+	 */
+	public Phase getCurrentPhase() {
+		return getCurrentTurn().getCurrentPhase();
+	}
+
 	/**
 	 * Liefert die aktuelle Runde.
 	 *
 	 * @return die aktuelle Runde.
 	 */
 	public Turn getCurrentTurn() {
-		return propertyCurrentTurn().get();
+		return currentTurn;
+	}
+
+	/**
+	 * Prüft, ob das Match beendet wurde. Ein beendetes Match wird durch update()
+	 * nicht weiter fortgeführt.
+	 *
+	 * @return true, wenn das Match beendet wurde.
+	 */
+	public boolean getFlagMatchFinished() {
+		return flagMatchFinished;
 	}
 
 	/**
@@ -185,15 +347,19 @@ public final class Match {
 	 * @return true, wenn das Match zuende ist.
 	 */
 	public boolean getFlagMatchRunning() {
-		return propertyMatchRunning.get();
+		return flagMatchRunning;
 	}
 
 	public List<Attack> getListAttacks() {
-		return propertyListAttacks.get();
+		return listAttacks;
 	}
 
 	public List<IsAttackTarget> getListAttackTargets() {
-		return propertyListAttackTargets.get();
+		return listAttackTargets;
+	}
+
+	public List<Turn> getListTurns() {
+		return listTurns;
 	}
 
 	public IsPlayer getPlayerOne() {
@@ -204,11 +370,44 @@ public final class Match {
 		return playerTwo;
 	}
 
+	/**
+	 * Liefert den Gewinner eines beendeten Matches.
+	 *
+	 * @return der Gewinner oder null, wenn das Match noch läuft oder unentschieden
+	 *         endete.
+	 */
+	public IsPlayer getPlayerWinner() {
+		if (!getFlagMatchFinished() || listPlayersLost.size() != 1) {
+			return null;
+		}
+		return getPlayerOpponent(listPlayersLost.get(0));
+	}
+
 	public RuleEnforcer getRuleEnforcer() {
 		return ruleEnforcer;
 	}
 
-	public ZoneDefault<MagicPermanent> getZoneBattlefield() {
+	/**
+	 * Liefert den Startwert der Zufallsquelle. Ein Match mit denselben Decks und
+	 * demselben Startwert mischt und wählt identisch.
+	 *
+	 * @return der Startwert.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Liefert den Übergang der Rundenstruktur, den das letzte Update ausgeführt
+	 * hat.
+	 *
+	 * @return der zuletzt ausgeführte Übergang.
+	 */
+	public TransitionType getTransition() {
+		return transition;
+	}
+
+	public ZoneIndexed<MagicPermanent> getZoneBattlefield() {
 		return zoneBattlefield;
 	}
 
@@ -225,45 +424,70 @@ public final class Match {
 		LOGGER.trace("{} incrementActionCount() -> {}", this, result);
 	}
 
-	public IntegerProperty propertyBattlefieldSize() {
-		return propertyBattlefieldSize;
-	}
-
-	public ObjectProperty<Phase> propertyCurrentPhase() {
-		return getCurrentTurn().propertyCurrentPhase();
-	}
-
-	public ObjectProperty<Step> propertyCurrentStep() {
-		return getCurrentTurn().getCurrentPhase().propertyCurrentStep();
-	}
-
-	public IntegerProperty propertyExileSize() {
-		return propertyExileSize;
-	}
-
-	public ListProperty<Turn> propertyListTurns() {
-		return propertyListTurns;
-	}
-
-	public ObjectProperty<IsPlayer> propertyPlayerActive() {
-		return propertyPlayerActive;
-	}
-
-	public ObjectProperty<IsPlayer> propertyPlayerPrioritized() {
-		return propertyPlayerPrioritized;
+	/**
+	 * Prüft, ob der Spieler der aktive Spieler ist.
+	 *
+	 * @param player der Spieler.
+	 * @return true, wenn der Spieler aktiv ist.
+	 */
+	public boolean isPlayerActive(IsPlayer player) {
+		return player.equals(getPlayerActive());
 	}
 
-	public IntegerProperty propertyStackSize() {
-		return propertyStackSize;
+	public void resetActionCount() {
+		actionCount = 0;
+		LOGGER.trace("{} resetActionCount() -> {}", this, 0);
 	}
 
-	public IntegerProperty propertyTurnNumber() {
-		return getCurrentTurn().propertyTurnNumber();
+	/**
+	 * Setzt das Match auf einen zuvor mit createSnapshot() gesicherten Zustand
+	 * zurück. Die Felder werden direkt gesetzt, es werden weder Eingaben
+	 * angefordert noch StateBasedActions ausgelöst. Die Zufallsquelle liefert
+	 * danach dieselben Werte wie nach dem Sichern.
+	 *
+	 * @param snapshot ein Snapshot dieses Matches.
+	 */
+	public void restoreSnapshot(MatchSnapshot snapshot) {
+		LOGGER.trace("{} restoreSnapshot({})", this, snapshot);
+		actionCount = snapshot.getActionCount();
+		random.setState(snapshot.getStateRandom());
+		flagMatchFinished = snapshot.getFlagMatchFinished();
+		flagMatchRunning = snapshot.getFlagMatchRunning();
+		listPlayersLost.clear();
+		listPlayersLost.addAll(snapshot.getListPlayersLost());
+
+		// Rundenstruktur
+		listTurns.subList(snapshot.getTurnCount(), listTurns.size()).clear();
+		currentTurn = snapshot.getCurrentTurn();
+		snapshot.restoreTurnStructure();
+
+		// Zonen
+		getZoneBattlefield().setAll(snapshot.getZoneBattlefield());
+		getZoneExile().setAll(snapshot.getZoneExile());
+		getZoneStack().setAll(snapshot.getZoneStack());
+		getPlayerOne().restoreSnapshot(snapshot.getPlayerOne());
+		getPlayerTwo().restoreSnapshot(snapshot.getPlayerTwo());
+
+		// Angriffe setzen Flags, daher werden die Karten danach wiederhergestellt.
+		listAttacks.clear();
+		listAttacks.addAll(snapshot.getListAttacks());
+		snapshot.restoreCards();
+
+		ruleEnforcer.restore(snapshot.getSetStateBasedActions(), snapshot.getTemporaryBlocker(),
+				snapshot.getCastingUndo());
+
+		playerActive = snapshot.getPlayerActive();
+		playerPrioritized = snapshot.getPlayerPrioritized();
 	}
 
-	public void resetActionCount() {
-		actionCount = 0;
-		LOGGER.trace("{} resetActionCount() -> {}", this, 0);
+	/**
+	 * Liefert eine neue Zufallsquelle für eine Suche des Computers. Mit
+	 * demselben Startwert liefern die Aufrufe dieselbe Folge von Zufallsquellen.
+	 *
+	 * @return die Zufallsquelle.
+	 */
+	public SplittableRandom splitRandomSearch() {
+		return randomSearch.split();
 	}
 
 	@Override
@@ -273,8 +497,15 @@ public final class Match {
 				.append("]").toString();
 	}
 
+	/**
+	 * Führt genau einen Übergang der Rundenstruktur aus. Der Übergang wird mit
+	 * determineTransition() bestimmt und ist danach mit getTransition() abrufbar.
+	 * Ergibt sich eine Prioritätsrunde, werden zuerst die zustandsbasierten
+	 * Aktionen abgearbeitet und erst danach mit determineTransitionPriority()
+	 * entschieden, wie die Runde weitergeht.
+	 */
 	public void update() {
-		if (waitForInput()) {
+		if (getFlagMatchFinished() || waitForInput()) {
 			return;
 		}
 
@@ -284,126 +515,53 @@ public final class Match {
 		// Starte neue Runde, falls keine läuft.
 		turnBegin(isTurnRunning());
 
-		if (!isPhaseRunning()) {
-			// Es läuft gerade keine Phase.
-
-			if (getCurrentTurn().hasNextPhase()) {
-				// Es gibt weitere Phasen
-
-				setCurrentPhase();
-				if (checkSkipPhase()) {
-					skipCurrentPhase();
-					return;
-				} else {
-					phaseBegin(isPhaseRunning());
-				}
-			} else {
-				// Es gibt keine weiteren Phasen in dieser Runde.
-				/**
-				 * Hier darf eine Runde nicht beendet werden. Immer wenn eine neue Phase
-				 * begonnen werden kann gibt es mindestens einen Schritt, der noch gespielt
-				 * werden kann. Ist das nicht der Fall, handelt es sich um eine Hauptphase. Dann
-				 * muss die Phase erst ausgespielt werden.
-				 */
-			}
-		} else {
-			// Es läuft gerade eine Phase.
-
-			if (getCurrentPhase().isMain()) {
-				// Bei der Phase handelt es sich um eine Hauptphase.
-				/**
-				 * Es werden keine Schritte gespielt. Spieler bekommen direkt Priorität.
-				 */
-
-				ruleEnforcer.processStateBasedActions();
-				if (checkProcessStack()) {
-					// Spieler haben gepasst, aber es liegt etwas auf dem Stack.
-
-					ruleEnforcer.processStack();
-				} else if (checkContinueRound()) {
-					// Ein Spieler hat nicht noch gepasst.
-
-					determinePlayerPrioritised("update() Phase");
-				} else {
-					// Spieler haben gespasst, es liegt nichts auf dem Stack.
-
-					// Beende Phase
-					phaseEnd(false, isPhaseRunning(), waitForInput());
-				}
-
-			} else {
-				// Bei der Phase handelt es sich nicht um eine Hauptphase.
-				/**
-				 * Es werden Schritte gespielt.
-				 */
-
-				// Setze neuen Schritt und prüfe, ob er übersprungen wird.
-				if (!isStepRunning()) {
-					// Es läuft gerade kein Schritt.
-
-					if (getCurrentPhase().hasNextStep()) {
-						// Die Phase hat noch Schritte, die gespielt werden können.
-
-						setCurrentStep();
-						if (checkSkipStep()) {
-							// Runde wird übersprungen.
-
-							skipCurrentStep();
-							return;
-						} else {
-							stepBegin(isStepRunning());
-						}
-					} else {
-						// Phase hat keine weiteren Schritte mehr.
-						/**
-						 * An dieser Stelle kann die aktuelle Phase beendet werden. Die Phase läuft
-						 * noch, es gibt aber keine weiteren Schritte mehr.
-						 */
-
-						// Beende Phase
-						phaseEnd(false, isPhaseRunning(), waitForInput());
-					}
-				} else {
-					// Es läuft ein Schritt.
-
-					if (checkPlayersGetPriority() && !waitForInput()) {
-						// Spieler erhalten in diesem Schritt Priorität.
-
-						// Spiele Schritt
-						ruleEnforcer.processStateBasedActions();
-						if (checkProcessStack()) {
-							// Spieler haben gepasst, aber es liegt etwas auf dem Stack.
-
-							ruleEnforcer.processStack();
-						} else if (checkContinueRound()) {
-							// Ein Spieler hat nicht noch gepasst.
-
-							determinePlayerPrioritised("update() Step");
-						} else {
-							// Spieler haben gespasst, es liegt nichts auf dem Stack.
-
-							// Beende Schritt
-							stepEnd(waitForInput());
-
-							// Beende Phase
-							phaseEnd(getCurrentPhase().hasNextStep(), isPhaseRunning(), waitForInput());
-						}
-
-					} else {
-						// Spieler erhalten keine Priorität.
-
-						// Beende Schritt
-						stepEnd(waitForInput());
-
-						// Beende Phase
-						phaseEnd(getCurrentPhase().hasNextStep(), isPhaseRunning(), waitForInput());
-					}
-				}
-			}
+		transition = determineTransition();
+		if (transition == TransitionType.PRIORITY) {
+			ruleEnforcer.processStateBasedActions();
+			transition = determineTransitionPriority();
+		}
+		LOGGER.trace("{} update() -> {}", this, transition);
+
+		switch (transition) {
+		case PHASE_BEGIN:
+			setCurrentPhase();
+			phaseBegin(isPhaseRunning());
+			break;
+		case PHASE_END:
+			phaseEnd(false, isPhaseRunning(), waitForInput());
+			break;
+		case PHASE_SKIP:
+			setCurrentPhase();
+			skipCurrentPhase();
+			return;
+		case PRIORITY_GRANT:
+			determinePlayerPrioritised("update()");
+			break;
+		case STACK_RESOLVE:
+			ruleEnforcer.processStack();
+			break;
+		case STEP_BEGIN:
+			setCurrentStep();
+			stepBegin(isStepRunning());
+			break;
+		case STEP_END:
+			stepEnd(waitForInput());
+			phaseEnd(getCurrentTurn().hasNextStep(), isPhaseRunning(), waitForInput());
+			break;
+		case STEP_SKIP:
+			setCurrentStep();
+			skipCurrentStep();
+			return;
+		default:
+			/**
+			 * Es läuft keine Phase und es gibt keine weiteren Phasen. Die Runde wird unten
+			 * beendet, sobald der aktive Spieler nicht mehr abwirft.
+			 */
+			break;
 		}
 
 		// Beende Runde
-		turnEnd(getCurrentTurn().hasNextPhase(), getCurrentPhase().hasNextStep(), getPlayerActive().isDiscarding());
+		turnEnd(getCurrentTurn().hasNextPhase(), getCurrentTurn().hasNextStep(), getPlayerActive().isDiscarding());
 
 		// Beende Match
 		matchEnd(getFlagMatchRunning());
@@ -418,16 +576,6 @@ public final class Match {
 		return result;
 	}
 
-	/**
-	 * Prüft, ob im aktuellen Spielschritt die Priorität an die Spieler erteilt
-	 * wird.
-	 *
-	 * @return true, wenn Spieler im aktuellen Spielschritt die Priorität erhalten.
-	 */
-	private boolean checkPlayersGetPriority() {
-		return getCurrentStep().getFlagPlayersGetPriority();
-	}
-
 	/**
 	 * Prüft, ob der Stack abgearbeitet werden kann.
 	 * 
@@ -444,30 +592,63 @@ public final class Match {
 	}
 
 	/**
-	 * Prüft, ob die anstehende Phase übersprungen wird.
+	 * Prüft, ob die anstehende Runde übersprungen wird.
 	 *
-	 * @return true, wenn die Phase übersprungen wird.
+	 * @return true, wenn die Runde übersprungen wird.
 	 */
-	private boolean checkSkipPhase() {
-		return getCurrentPhase().getFlagPhaseSkipped();
+	private boolean checkSkipTurn() {
+		return getCurrentTurn().getFlagTurnSkipped();
 	}
 
 	/**
-	 * Prüft, ob der anstehende Spielschritt übersprungen wird.
+	 * Bestimmt den nächsten Übergang der Rundenstruktur, ohne den Spielzustand zu
+	 * verändern. Läuft eine Phase, wird der Übergang je Phasen- bzw. Schritttyp in
+	 * den Übergangstabellen nachgeschlagen. Ergibt sich eine Prioritätsrunde, wird
+	 * PRIORITY geliefert, siehe update().
 	 *
-	 * @return true, wenn der Spielschritt übersprungen wird.
+	 * @return der auszuführende Übergang oder PRIORITY.
 	 */
-	private boolean checkSkipStep() {
-		return getCurrentStep().getFlagStepSkipped();
+	private TransitionType determineTransition() {
+		final Turn turn = getCurrentTurn();
+		if (!turn.getFlagPhaseRunning()) {
+			if (!turn.hasNextPhase()) {
+				return TransitionType.NONE;
+			}
+			return turn.getFlagNextPhaseSkipped() ? TransitionType.PHASE_SKIP : TransitionType.PHASE_BEGIN;
+		}
+
+		final PhaseType phaseType = turn.getCurrentPhase().getPhaseType();
+		TransitionType result = TRANSITIONS_PHASE.get(phaseType);
+		if (result == TransitionType.STEP_BEGIN) {
+			if (turn.getFlagStepRunning()) {
+				result = TRANSITIONS_STEP.get(turn.getCurrentStep().getStepType());
+			} else if (!turn.hasNextStep()) {
+				return TransitionType.PHASE_END;
+			} else {
+				return turn.getFlagNextStepSkipped() ? TransitionType.STEP_SKIP : TransitionType.STEP_BEGIN;
+			}
+		}
+
+		return result;
 	}
 
 	/**
-	 * Prüft, ob die anstehende Runde übersprungen wird.
+	 * Entscheidet in einer Prioritätsrunde, ob der Stack abgearbeitet, die
+	 * Priorität erteilt oder die Phase bzw. der Schritt beendet wird. Verändert den
+	 * Spielzustand nicht.
 	 *
-	 * @return true, wenn die Runde übersprungen wird.
+	 * @return der auszuführende Übergang.
 	 */
-	private boolean checkSkipTurn() {
-		return getCurrentTurn().getFlagTurnSkipped();
+	private TransitionType determineTransitionPriority() {
+		if (checkProcessStack()) {
+			// Spieler haben gepasst, aber es liegt etwas auf dem Stack.
+			return TransitionType.STACK_RESOLVE;
+		} else if (checkContinueRound()) {
+			// Ein Spieler hat noch nicht gepasst.
+			return TransitionType.PRIORITY_GRANT;
+		}
+		// Spieler haben gepasst, es liegt nichts auf dem Stack.
+		return TRANSITIONS_PASSED.get(getCurrentTurn().getCurrentPhase().getPhaseType());
 	}
 
 	/**
@@ -483,7 +664,7 @@ public final class Match {
 	 * Bestimmt, welcher Spieler das Spiel beginnt.
 	 */
 	private IsPlayer determinePlayerStarting() {
-		final IsPlayer playerStarting = (new Random().nextInt(2) == 0) ? getPlayerOne() : getPlayerTwo();
+		final IsPlayer playerStarting = (random.nextInt(2) == 0) ? getPlayerOne() : getPlayerTwo();
 		LOGGER.trace("{} determinePlayerStarting() -> {}", this, playerStarting);
 		return playerStarting;
 	}
@@ -494,7 +675,7 @@ public final class Match {
 	 * @return der aktuelle Spielschritt.
 	 */
 	private Step getCurrentStep() {
-		return propertyCurrentStep().get();
+		return getCurrentTurn().getCurrentStep();
 	}
 
 	/**
@@ -503,7 +684,7 @@ public final class Match {
 	 * @return die aktuelle Rundennummer.
 	 */
 	private int getTurnNumber() {
-		return getCurrentTurn().propertyTurnNumber().get();
+		return getCurrentTurn().getTurnNumber();
 	}
 
 	/**
@@ -512,7 +693,7 @@ public final class Match {
 	 * @return true, wenn die Phase noch läuft.
 	 */
 	private boolean isPhaseRunning() {
-		return getCurrentPhase().getFlagPhaseRunning();
+		return getCurrentTurn().getFlagPhaseRunning();
 	}
 
 	/**
@@ -522,7 +703,7 @@ public final class Match {
 	 * @return true, wenn der Spielschritt noch läuft.
 	 */
 	private boolean isStepRunning() {
-		return getCurrentStep().getFlagStepRunning();
+		return getCurrentTurn().getFlagStepRunning();
 	}
 
 	/**
@@ -558,6 +739,7 @@ public final class Match {
 	private void matchEnd(boolean flagMatchRunning) {
 		if (!flagMatchRunning) {
 			LOGGER.trace("{} matchEnd()", this);
+			flagMatchFinished = true;
 			getRuleEnforcer().tb_endMatch();
 		}
 	}
@@ -593,14 +775,10 @@ public final class Match {
 				getPlayerTwo().setFlagPassedPriority(false);
 			}
 
-			getCurrentTurn().phaseEnd();
+			getCurrentTurn().phaseEnd(ruleEnforcer);
 		}
 	}
 
-	private ObjectProperty<Turn> propertyCurrentTurn() {
-		return propertyCurrentTurn;
-	}
-
 	/**
 	 * Setzt die neue aktuelle Spielphase.
 	 */
@@ -623,8 +801,8 @@ public final class Match {
 	 * @param turn die neue Runde.
 	 */
 	private void setCurrentTurn(Turn turn) {
-		propertyCurrentTurn().set(turn);
-		propertyListTurns().add(turn);
+		currentTurn = turn;
+		listTurns.add(turn);
 		LOGGER.trace("{} setCurrentTurn({})", this, turn);
 	}
 
@@ -635,7 +813,7 @@ public final class Match {
 	 */
 	private void setPlayerActive(IsPlayer playerActive) {
 		LOGGER.trace("{} setPlayerActive({})", this, playerActive);
-		propertyPlayerActive().set(playerActive);
+		this.playerActive = playerActive;
 		getPlayerActive().setPlayerState(PlayerState.ACTIVE);
 		getPlayerNonactive().setPlayerState(PlayerState.NONACTIVE);
 	}
@@ -647,10 +825,19 @@ public final class Match {
 	 */
 	private void setPlayerPrioritized(IsPlayer playerPrioritized) {
 		LOGGER.trace("{} setPlayerPrioritized({})", this, playerPrioritized);
-		propertyPlayerPrioritized().set(playerPrioritized);
+		this.playerPrioritized = playerPrioritized;
 
 		// Setze Status und flag.
 		playerPrioritized.setPlayerState(PlayerState.PRIORITIZED);
+		if (flagAdvancing) {
+			// Beim Vorspulen passt ein Spieler ohne mögliche Interaktion sofort.
+			ruleEnforcer.i_deriveInteractionStatus(playerPrioritized, "setPlayerPrioritized() in Match");
+			if (playerPrioritized.getInteractionCount() < 1) {
+				ruleEnforcer.i_passPriority(playerPrioritized);
+				return;
+			}
+			flagDecision = true;
+		}
 		playerPrioritized.setFlagNeedInput(true, "setPlayerPrioritized() in Match");
 	}
 
@@ -659,7 +846,7 @@ public final class Match {
 	 */
 	private void skipCurrentPhase() {
 		LOGGER.trace("{} skipCurrentPhase() -> {}", this, getCurrentPhase());
-		getCurrentPhase().setFlagSkipped(false);
+		getCurrentTurn().setFlagPhaseSkipped(false);
 	}
 
 	/**
@@ -667,7 +854,7 @@ public final class Match {
 	 */
 	private void skipCurrentStep() {
 		LOGGER.trace("{} skipCurrentStep() -> {}", this, getCurrentStep());
-		getCurrentStep().setFlagSkipped(false);
+		getCurrentTurn().setFlagStepSkipped(false);
 	}
 
 	/**
@@ -680,7 +867,7 @@ public final class Match {
 	private void stepBegin(boolean flagStepRunning) {
 		if (!flagStepRunning) {
 			LOGGER.trace("{} stepBegin()", this);
-			getCurrentTurn().stepBegin();
+			getCurrentTurn().stepBegin(ruleEnforcer);
 		}
 	}
 
@@ -700,7 +887,7 @@ public final class Match {
 			getPlayerOne().setFlagPassedPriority(false);
 			getPlayerTwo().setFlagPassedPriority(false);
 
-			getCurrentTurn().stepEnd();
+			getCurrentTurn().stepEnd(ruleEnforcer);
 			resetActionCount();
 		}
 	}
@@ -749,11 +936,12 @@ public final class Match {
 	}
 
 	/**
-	 * Hilfsmethode, die bestimmt, ob auf Spielerinput gewartet wird.
+	 * Hilfsmethode, die bestimmt, ob auf Spielerinput gewartet wird. Wird auch vom
+	 * MatchRunner benutzt, der dann auf Eingaben der Oberfläche wartet.
 	 * 
 	 * @return true, wenn auf Input einer der beiden Spieler gewartet wird.
 	 */
-	private boolean waitForInput() {
+	boolean waitForInput() {
 		final IsPlayer playerActive = getPlayerActive();
 		final IsPlayer playerNonactive = getPlayerNonactive();
 		return playerActive.getFlagNeedInput() || playerNonactive.getFlagNeedInput()
@@ -769,21 +957,19 @@ public final class Match {
 	 */
 	void addAttack(Attack attack) {
 		LOGGER.debug("{} addAttack({})", this, attack);
-		propertyListAttacks.add(attack);
+		listAttacks.add(attack);
 	}
 
 	void addCard(MagicCard magicCard, ZoneType zoneType) {
 		if (zoneType.equals(ZoneType.BATTLEFIELD)) {
 			getZoneBattlefield().add(new MagicPermanent(magicCard));
-			propertyBattlefieldSize().set(getZoneBattlefield().getSize());
 		} else if (zoneType.equals(ZoneType.EXILE)) {
 			getZoneExile().add(magicCard);
-			propertyExileSize().set(getZoneExile().getSize());
 		}
 	}
 
 	void declareBlocker(int attackIndex, MagicPermanent blocker) {
-		propertyListAttacks.get(attackIndex).addBlocker(blocker);
+		listAttacks.get(attackIndex).addBlocker(blocker);
 	}
 
 	/**
@@ -827,17 +1013,17 @@ public final class Match {
 		throw new IllegalStateException("No Attack found!");
 	}
 
-	Phase getCurrentPhase() {
-		return propertyCurrentPhase().get();
-	}
-
 	/**
 	 * Liefert den aktiven Spieler.
 	 *
 	 * @return den aktiven Spieler.
 	 */
+	List<IsPlayer> getListPlayersLost() {
+		return listPlayersLost;
+	}
+
 	IsPlayer getPlayerActive() {
-		return propertyPlayerActive().get();
+		return playerActive;
 	}
 
 	/**
@@ -853,23 +1039,29 @@ public final class Match {
 		return player.equals(getPlayerOne()) ? getPlayerTwo() : getPlayerOne();
 	}
 
-	int getTotalAttackers() {
-		return propertyListAttacks.size();
+	IsPlayer getPlayerPrioritized() {
+		return playerPrioritized;
 	}
 
-	boolean isPlayerActive(IsPlayer player) {
-		return player.equals(getPlayerActive());
+	/**
+	 * Liefert die Zufallsquelle des Matches. Darf nur auf dem Thread des Matches
+	 * verwendet werden.
+	 */
+	MatchRandom getRandom() {
+		return random;
+	}
+
+	int getTotalAttackers() {
+		return listAttacks.size();
 	}
 
 	void popSpell() {
 		getZoneStack().pop();
-		propertyStackSize().set(getZoneStack().getSize());
 	}
 
 	void pushSpell(MagicSpell magicSpell) {
 		magicSpell.addZone(ZoneType.STACK);
 		getZoneStack().push(magicSpell);
-		propertyStackSize().set(getZoneStack().getSize());
 	}
 
 	void removeCard(MagicCard magicCard, ZoneType zoneType) {
@@ -877,13 +1069,11 @@ public final class Match {
 			// Karte vom Spielfeld entfernen.
 
 			getZoneBattlefield().remove(new MagicPermanent(magicCard));
-			propertyBattlefieldSize().set(getZoneBattlefield().getSize());
 
 		} else if (zoneType.equals(ZoneType.EXILE)) {
 			// Karte aus dem Exil entfernen
 
 			getZoneExile().remove(magicCard);
-			propertyExileSize().set(getZoneExile().getSize());
 
 		} else {
 			// Sollte nicht vorkommen
@@ -898,7 +1088,7 @@ public final class Match {
 	}
 
 	void resetListAttacks() {
-		propertyListAttacks.clear();
+		listAttacks.clear();
 	}
 
 	/**
@@ -917,13 +1107,27 @@ public final class Match {
 		}
 	}
 
-	void setCurrentStep(Step step) {
-		propertyCurrentStep().set(step);
+	/**
+	 * Vermerkt, dass ein Spieler das Match verloren hat, und hält das Match an.
+	 * Das Match wird am Ende des laufenden Updates beendet.
+	 *
+	 * @param player der Spieler, der verloren hat.
+	 */
+	void setActionCount(int actionCount) {
+		this.actionCount = actionCount;
+	}
+
+	void setPlayerLost(IsPlayer player) {
+		LOGGER.debug("{} setPlayerLost({})", this, player);
+		if (!listPlayersLost.contains(player)) {
+			listPlayersLost.add(player);
+		}
+		setFlagIsMatchRunning(false);
 	}
 
 	void setFlagIsMatchRunning(boolean flagIsMatchRunning) {
 		LOGGER.trace("{} setFlagIsMatchRunning() -> {}", this, flagIsMatchRunning);
-		this.propertyMatchRunning.set(flagIsMatchRunning);
+		this.flagMatchRunning = flagIsMatchRunning;
 	}
 
 	void skipStepCombatDamage() {
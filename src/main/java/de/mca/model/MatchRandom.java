@@ -0,0 +1,98 @@
+package de.mca.model;
+
+/**
+ * Die Zufallsquelle eines Matches. Sie zieht dieselben Werte wie eine
+ * java.util.SplittableRandom mit demselben Startwert (SplitMix64), hält ihren
+ * Zustand aber in einem einzelnen long, der ausgelesen und gesetzt werden kann.
+ * Ein MatchSnapshot sichert so die Zufallsquelle, ohne sie zu verändern.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchRandom {
+
+	/**
+	 * Speichert die Schrittweite des Zustands, wie bei SplittableRandom.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Speichert den Zustand der Zufallsquelle.
+	 */
+	private long state;
+
+	/**
+	 * Erzeugt eine Zufallsquelle, die dieselben Werte liefert wie new
+	 * SplittableRandom(seed).
+	 *
+	 * @param seed
+	 *            der Startwert.
+	 */
+	public MatchRandom(long seed) {
+		state = seed;
+	}
+
+	/**
+	 * Liefert eine gleichverteilte Zahl zwischen 0 (einschließlich) und bound
+	 * (ausschließlich).
+	 *
+	 * @param bound
+	 *            die obere Schranke, muss positiv sein.
+	 * @return die Zahl.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		int result = mix32(nextState());
+		final int mask = bound - 1;
+		if ((bound & mask) == 0) {
+			result &= mask;
+		} else {
+			// Verwirf Werte aus dem unvollständigen letzten Intervall.
+			int u = result >>> 1;
+			while (u + mask - (result = u % bound) < 0) {
+				u = mix32(nextState()) >>> 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Liefert eine gleichverteilte Zahl aus dem gesamten Wertebereich von long.
+	 *
+	 * @return die Zahl.
+	 */
+	public long nextLong() {
+		return mix64(nextState());
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[random s=[").append(Long.toHexString(state)).append("]]").toString();
+	}
+
+	private long nextState() {
+		return state += GOLDEN_GAMMA;
+	}
+
+	long getState() {
+		return state;
+	}
+
+	void setState(long state) {
+		this.state = state;
+	}
+
+}
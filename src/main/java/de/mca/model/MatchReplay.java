@@ -0,0 +1,178 @@
+package de.mca.model;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.io.MatchJournal;
+import de.mca.io.MatchJournal.Entry;
+import de.mca.io.MatchJournal.Recording;
+import de.mca.io.ResourceReadingException;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Spielt ein MatchJournal ab. Das Match wird aus den Decks und dem Startwert
+ * des Protokolls neu aufgebaut und ohne Eingaben vorgespult. Wartet es auf eine
+ * Eingabe, wird die nächste Spieleraktion des Protokolls über die i_*-Methoden
+ * des RuleEnforcers ausgeführt, wie es eine Eingabe täte.
+ *
+ * Rundenbedingte Aktionen und automatische Pässe erzeugt das Match beim
+ * Vorspulen selbst. Damit bekannt ist, welcher Eintrag als Nächstes folgt, wird
+ * das abgespielte Match wieder in ein Protokoll geschrieben, dessen
+ * Eintragsanzahl die Position im abgespielten Protokoll angibt. Stimmen beide
+ * Protokolle überein, hat das Abspielen das ursprüngliche Match exakt
+ * wiederholt.
+ *
+ * Aufruf: <code>MatchReplay journal.mcj replay.mcj</code>. Spielt das erste
+ * Protokoll ab, schreibt das abgespielte Match in das zweite und meldet, ob
+ * beide übereinstimmen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchReplay {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("MatchReplay");
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: MatchReplay <journal.mcj> <replay.mcj>");
+			System.exit(1);
+		}
+
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+
+		final Recording recording = MatchJournal.read(Paths.get(args[0]));
+		final Path replayPath = Paths.get(args[1]);
+		final Match match;
+		try (MatchJournal journal = MatchJournal.create(replayPath, recording.getDeckOne(),
+				recording.getDeckTwo(), recording.getSeed())) {
+			match = replay(recording, journal);
+		}
+
+		final List<Entry> listReplayed = MatchJournal.read(replayPath).getListEntries();
+		final boolean flagEqual = listReplayed.toString().equals(recording.getListEntries().toString());
+		System.out.println(String.format("%-30s %d", "entries", recording.getListEntries().size()));
+		System.out.println(String.format("%-30s %d", "turns", match.getCurrentTurn().getTurnNumber()));
+		System.out.println(String.format("%-30s %s", "winner", match.getPlayerWinner()));
+		System.out.println(String.format("%-30s %s", "replay", flagEqual ? "identical" : "diverged"));
+	}
+
+	/**
+	 * Spielt ein Protokoll ab.
+	 *
+	 * @param recording
+	 *            das abzuspielende Protokoll.
+	 * @param journal
+	 *            das Protokoll, in das das abgespielte Match geschrieben wird. Es
+	 *            muss leer sein.
+	 * @return das abgespielte Match.
+	 * @throws ResourceReadingException
+	 *             wenn ein Deck nicht gelesen werden kann.
+	 * @throws IllegalStateException
+	 *             wenn das abgespielte Match vom Protokoll abweicht.
+	 */
+	public static Match replay(Recording recording, MatchJournal journal) throws ResourceReadingException {
+		LOGGER.debug("replay({}, {})", recording.getDeckOne(), recording.getDeckTwo());
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "PLAYER_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(recording.getDeckOne())));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "PLAYER_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(recording.getDeckTwo())));
+		final Match match = new Match(ruleEnforcer, playerOne, playerTwo, recording.getSeed());
+		ruleEnforcer.setJournal(journal);
+
+		final List<Entry> listEntries = recording.getListEntries();
+		while (journal.getEntryCount() < listEntries.size()) {
+			match.advanceToNextDecision();
+			final int index = journal.getEntryCount();
+			if (!match.waitForInput()) {
+				// Auch nach dem Ende des Matches kann noch eine Eingabe angefragt werden.
+				if (match.getFlagMatchFinished()) {
+					break;
+				}
+				continue;
+			} else if (index >= listEntries.size()) {
+				break;
+			}
+
+			final Entry entry = listEntries.get(index);
+			if (!entry.isPlayerAction()) {
+				throw new IllegalStateException("Eintrag " + index + " erwartet, Match wartet auf Eingabe: " + entry);
+			}
+			perform(match, entry);
+			if (journal.getEntryCount() == index) {
+				throw new IllegalStateException("Eintrag " + index + " nicht ausführbar: " + entry);
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Führt eine Spieleraktion aus dem Protokoll aus.
+	 */
+	private static void perform(Match match, Entry entry) {
+		LOGGER.trace("perform({})", entry);
+		final RuleEnforcer ruleEnforcer = match.getRuleEnforcer();
+		final IsPlayer player = entry.getPlayer() == 1 ? match.getPlayerOne() : match.getPlayerTwo();
+		final MagicCard magicCard = entry.getCardReference() != MatchJournal.NO_CARD
+				? ruleEnforcer.findCard(entry.getCardReference())
+				: null;
+
+		ruleEnforcer.i_deriveInteractionStatus(player, "MatchReplay");
+		player.setFlagNeedInput(false, "MatchReplay");
+		switch (entry.getPlayerActionType()) {
+		case ACTIVATE_PERMANENT:
+			ruleEnforcer.i_activateAbility(player, (MagicPermanent) magicCard, entry.getAbilityIndex());
+			break;
+		case CANCEL_CAST:
+			ruleEnforcer.i_castSpellCancel(player);
+			break;
+		case CAST_SPELL:
+			ruleEnforcer.i_castSpellStart(player, magicCard);
+			break;
+		case CONCEDE:
+			ruleEnforcer.i_concede(player);
+			break;
+		case DECLARE_ATTACKER:
+			ruleEnforcer.i_declareAttacker(player, (MagicPermanent) magicCard);
+			break;
+		case DECLARE_ATTACKERS_STOP:
+			ruleEnforcer.i_declareAttackersStop(player);
+			break;
+		case DECLARE_BLOCK_TARGET:
+			ruleEnforcer.i_declareBlockTarget(player, (MagicPermanent) magicCard);
+			break;
+		case DECLARE_BLOCKER:
+			ruleEnforcer.i_declareBlocker(player, (MagicPermanent) magicCard);
+			break;
+		case DECLARE_BLOCKERS_STOP:
+			ruleEnforcer.i_declareBlockersStop(player);
+			break;
+		case DISCARD:
+			ruleEnforcer.i_discard(player, magicCard);
+			break;
+		case PASS_PRIORITY:
+			ruleEnforcer.i_passPriority(player);
+			break;
+		case PLAY_LAND:
+			ruleEnforcer.i_playLand(player, magicCard);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private MatchReplay() {
+	}
+
+}
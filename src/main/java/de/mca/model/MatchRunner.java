@@ -0,0 +1,207 @@
+package de.mca.model;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Führt ein Match auf einem eigenen Thread aus, unabhängig vom Bildtakt der
+ * Oberfläche. Der Thread ist der einzige, der das Match verändert. Eingaben der
+ * Oberfläche werden mit submit() eingereiht und vor dem nächsten Update auf dem
+ * Thread des Matches ausgeführt.
+ *
+ * Das Match wird je Durchlauf mit advanceToNextDecision() bis zur nächsten
+ * Entscheidung vorgespult, ein Takt vergeht also nur an echten Entscheidungen.
+ * Nach Updates wird ein unveränderliches MatchState veröffentlicht, das die
+ * Oberfläche in jedem Frame mit getState() abholt. Läuft das Match so schnell
+ * wie möglich, wird höchstens etwa einmal pro Frame ein Abbild erzeugt. Wartet
+ * das Match auf eine Eingabe, blockiert der Thread, bis eine eingereiht wird.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchRunner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("MatchRunner");
+	/**
+	 * Speichert den minimalen Abstand zwischen zwei Abbildern in Nanosekunden,
+	 * wenn das Match so schnell wie möglich läuft. Entspricht etwa einem Frame.
+	 */
+	private static final long PUBLISH_INTERVAL = 16_000_000L;
+	/**
+	 * Speichert, wie lange höchstens auf eine Eingabe gewartet wird, bevor das
+	 * Match erneut geprüft wird.
+	 */
+	private static final long WAIT_INPUT = 50;
+
+	/**
+	 * Zeigt an, ob der Thread weiterlaufen soll.
+	 */
+	private volatile boolean flagRunning;
+	private final Match match;
+	/**
+	 * Speichert die eingereihten Eingaben der Oberfläche.
+	 */
+	private final BlockingQueue<Runnable> queueCommands;
+	/**
+	 * Speichert die laufende Nummer des letzten Abbilds. Wird nur auf dem Thread
+	 * des Matches verändert.
+	 */
+	private long sequence;
+	/**
+	 * Speichert das zuletzt veröffentlichte Abbild.
+	 */
+	private volatile MatchState state;
+	private Thread thread;
+	/**
+	 * Speichert den Abstand zwischen zwei Updates in Nanosekunden, 0 für so
+	 * schnell wie möglich.
+	 */
+	private final long tick;
+
+	/**
+	 * Erzeugt einen MatchRunner. Das erste Abbild wird sofort erzeugt, das Match
+	 * darf daher bis zum Aufruf von start() nur vom aufrufenden Thread verändert
+	 * werden.
+	 *
+	 * @param match
+	 *            das Match.
+	 * @param tick
+	 *            der Abstand zwischen zwei Updates in Millisekunden, 0 für so
+	 *            schnell wie möglich.
+	 */
+	public MatchRunner(Match match, long tick) {
+		this.match = match;
+		this.tick = TimeUnit.MILLISECONDS.toNanos(tick);
+		flagRunning = false;
+		queueCommands = new LinkedBlockingQueue<>();
+		sequence = 0;
+		state = MatchState.of(match, sequence);
+	}
+
+	/**
+	 * Liefert das zuletzt veröffentlichte Abbild. Kann von jedem Thread aufgerufen
+	 * werden.
+	 *
+	 * @return das Abbild.
+	 */
+	public MatchState getState() {
+		return state;
+	}
+
+	/**
+	 * Startet den Thread des Matches.
+	 */
+	public void start() {
+		LOGGER.debug("{} start()", this);
+		flagRunning = true;
+		thread = new Thread(this::run, "MatchRunner");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Hält den Thread des Matches an und wartet, bis er beendet ist. Eine gerade
+	 * laufende Entscheidung wird noch beendet, danach wird das Match nicht weiter
+	 * verändert.
+	 */
+	public void stop() {
+		LOGGER.debug("{} stop()", this);
+		flagRunning = false;
+		if (thread != null) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			thread = null;
+		}
+	}
+
+	/**
+	 * Reiht eine Eingabe ein, die vor dem nächsten Update auf dem Thread des
+	 * Matches ausgeführt wird.
+	 *
+	 * @param command
+	 *            die Eingabe.
+	 */
+	public void submit(Runnable command) {
+		queueCommands.add(command);
+	}
+
+	@Override
+	public String toString() {
+		return "MatchRunner";
+	}
+
+	private void publish() {
+		state = MatchState.of(match, ++sequence);
+	}
+
+	/**
+	 * Führt alle eingereihten Eingaben aus.
+	 *
+	 * @return true, wenn mindestens eine Eingabe ausgeführt wurde.
+	 */
+	private boolean runCommands() {
+		boolean result = false;
+		Runnable command;
+		while ((command = queueCommands.poll()) != null) {
+			command.run();
+			result = true;
+		}
+		return result;
+	}
+
+	private void run() {
+		long timePublished = 0;
+		boolean flagWaiting = false;
+		try {
+			while (flagRunning) {
+				final long timeStart = System.nanoTime();
+				final boolean flagCommands = runCommands();
+
+				match.advanceToNextDecision();
+				if (match.getFlagMatchFinished()) {
+					publish();
+					LOGGER.debug("{} run() -> Match beendet", this);
+					return;
+				}
+
+				// Beim Warten auf Eingaben wird nur veröffentlicht, wenn sich etwas getan hat.
+				final boolean flagWaitingBefore = flagWaiting;
+				flagWaiting = match.waitForInput();
+				if (flagWaiting) {
+					if (flagCommands || !flagWaitingBefore) {
+						publish();
+						timePublished = timeStart;
+					}
+					final Runnable command = queueCommands.poll(WAIT_INPUT, TimeUnit.MILLISECONDS);
+					if (command != null) {
+						command.run();
+						flagWaiting = false;
+					}
+				} else if (tick > 0) {
+					publish();
+					timePublished = timeStart;
+					final long remaining = tick - (System.nanoTime() - timeStart);
+					if (remaining > 0) {
+						TimeUnit.NANOSECONDS.sleep(remaining);
+					}
+				} else if (timeStart - timePublished >= PUBLISH_INTERVAL) {
+					publish();
+					timePublished = timeStart;
+				}
+			}
+		} catch (final InterruptedException e) {
+			LOGGER.debug("{} run() -> Unterbrochen", this);
+		} catch (final RuntimeException e) {
+			LOGGER.error("{} run() -> Match abgebrochen", this, e);
+		}
+	}
+
+}
@@ -0,0 +1,469 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.mca.model.enums.ZoneType;
+import de.mca.model.interfaces.IsAttackTarget;
+import de.mca.model.interfaces.IsCombatant;
+import de.mca.model.interfaces.IsPlayer;
+import de.mca.model.interfaces.IsStackable;
+
+/**
+ * Unveränderliches Abbild eines Matches. Die Zonen werden als Arrays von
+ * Kartenreferenzen gehalten, der veränderliche Zustand jeder Karte (Flags,
+ * Schaden, Stärke etc.) wird zusätzlich in einem CardSnapshot gesichert.
+ *
+ * Bei jedem Zonenwechsel entsteht ein neues Objekt: Auf dem Stack wird eine
+ * Karte zum MagicSpell, auf dem Spielfeld zum MagicPermanent und beim
+ * Verlassen des Spielfeldes wieder zur MagicCard. Beim Wiederherstellen werden
+ * deshalb genau die Objekte in die Zonen zurückgelegt, die beim Sichern darin
+ * lagen, und deren Zustand wird zurückgesetzt. Seitdem erzeugte Objekte werden
+ * verworfen.
+ *
+ * Der Zustand der Zufallsquelle des Matches wird mitgesichert, ohne sie zu
+ * verändern, sodass ein wiederhergestelltes Match dieselben
+ * Zufallsentscheidungen trifft wie nach dem Sichern.
+ *
+ * Ein Snapshot wird nie verändert und kann daher beliebig oft wiederhergestellt
+ * und zwischen Suchknoten geteilt werden. Er gilt nur für das Match, aus dem er
+ * erzeugt wurde.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchSnapshot {
+
+	/**
+	 * Speichert den veränderlichen Zustand eines Angriffs.
+	 */
+	private static final class AttackSnapshot {
+
+		/**
+		 * Speichert den Angreifer.
+		 */
+		private final MagicPermanent attacker;
+		/**
+		 * Speichert das Angriffsziel.
+		 */
+		private final IsAttackTarget attackTarget;
+		/**
+		 * Speichert die Verteidiger.
+		 */
+		private final IsCombatant[] blockers;
+
+		private AttackSnapshot(Attack attack) {
+			attacker = (MagicPermanent) attack.getAttacker();
+			attackTarget = attack.getAttackTarget();
+			blockers = attack.getListBlockers().toArray(new IsCombatant[attack.getListBlockers().size()]);
+		}
+
+		private Attack toAttack() {
+			final Attack attack = new Attack(attacker, attackTarget);
+			attack.setBlockers(Arrays.asList(blockers));
+			return attack;
+		}
+
+	}
+
+	/**
+	 * Speichert den veränderlichen Zustand einer Karte.
+	 */
+	private static final class CardSnapshot {
+
+		/**
+		 * Speichert den Kampfschaden (nur bleibende Karten).
+		 */
+		private final int damage;
+		/**
+		 * Zeigt an, ob die Karte angreift (nur bleibende Karten).
+		 */
+		private final boolean flagAttacking;
+		/**
+		 * Zeigt an, ob die Karte alleine angreift (nur bleibende Karten).
+		 */
+		private final boolean flagAttackingAlone;
+		/**
+		 * Zeigt an, ob die Karte geblockt wird (nur bleibende Karten).
+		 */
+		private final boolean flagBlocked;
+		/**
+		 * Zeigt an, ob die Karte blockt (nur bleibende Karten).
+		 */
+		private final boolean flagBlocking;
+		/**
+		 * Zeigt an, ob die Karte alleine blockt (nur bleibende Karten).
+		 */
+		private final boolean flagBlockingAlone;
+		/**
+		 * Zeigt an, ob mit der Karte interagiert werden kann.
+		 */
+		private final boolean flagInteractable;
+		/**
+		 * Zeigt an, ob die Karte der Einsatzverzögerung unterliegt (nur bleibende
+		 * Karten).
+		 */
+		private final boolean flagSummoningSickness;
+		/**
+		 * Zeigt an, ob die Karte getappt ist (nur bleibende Karten).
+		 */
+		private final boolean flagTapped;
+		/**
+		 * Speichert die Loyalität.
+		 */
+		private final int loyalty;
+		/**
+		 * Speichert die Karte.
+		 */
+		private final MagicCard magicCard;
+		/**
+		 * Speichert den kontrollierenden Spieler (nur bleibende Karten und Zauber).
+		 */
+		private final IsPlayer playerControlling;
+		/**
+		 * Speichert den Besitzer.
+		 */
+		private final IsPlayer playerOwning;
+		/**
+		 * Speichert die Stärke.
+		 */
+		private final int power;
+		/**
+		 * Speichert die Widerstandskraft.
+		 */
+		private final int toughness;
+		/**
+		 * Speichert die besuchten Zonen.
+		 */
+		private final ZoneType[] zonesVisited;
+
+		private CardSnapshot(MagicCard magicCard) {
+			this.magicCard = magicCard;
+			flagInteractable = magicCard.getFlagIsInteractable();
+			loyalty = magicCard.getLoyalty();
+			playerOwning = magicCard.getPlayerOwning();
+			power = magicCard.getPower();
+			toughness = magicCard.getToughness();
+			zonesVisited = magicCard.getListZonesVisited()
+					.toArray(new ZoneType[magicCard.getListZonesVisited().size()]);
+
+			if (magicCard instanceof MagicPermanent) {
+				final MagicPermanent magicPermanent = (MagicPermanent) magicCard;
+				damage = magicPermanent.getDamage();
+				flagAttacking = magicPermanent.getFlagAttacking();
+				flagAttackingAlone = magicPermanent.getFlagAttackingAlone();
+				flagBlocked = magicPermanent.getFlagBlocked();
+				flagBlocking = magicPermanent.getFlagBlocking();
+				flagBlockingAlone = magicPermanent.getFlagBlockingAlone();
+				flagSummoningSickness = magicPermanent.getFlagHasSummoningSickness();
+				flagTapped = magicPermanent.getFlagTapped();
+				playerControlling = magicPermanent.getPlayerControlling();
+			} else {
+				damage = 0;
+				flagAttacking = false;
+				flagAttackingAlone = false;
+				flagBlocked = false;
+				flagBlocking = false;
+				flagBlockingAlone = false;
+				flagSummoningSickness = false;
+				flagTapped = false;
+				playerControlling = magicCard instanceof MagicSpell
+						? ((MagicSpell) magicCard).getPlayerControlling()
+						: null;
+			}
+		}
+
+		private void restore() {
+			magicCard.setFlagInteractable(flagInteractable);
+			magicCard.setLoyalty(loyalty);
+			magicCard.setPlayerOwning(playerOwning);
+			magicCard.setPower(power);
+			magicCard.setToughness(toughness);
+
+			// Die Liste wird zwischen Karte, Zauber und bleibender Karte geteilt.
+			final List<ZoneType> listZonesVisited = magicCard.getListZonesVisited();
+			listZonesVisited.clear();
+			listZonesVisited.addAll(Arrays.asList(zonesVisited));
+
+			if (magicCard instanceof MagicPermanent) {
+				final MagicPermanent magicPermanent = (MagicPermanent) magicCard;
+				magicPermanent.setDamage(damage);
+				magicPermanent.setFlagAttacking(flagAttacking);
+				magicPermanent.setFlagAttackingAlone(flagAttackingAlone);
+				magicPermanent.setFlagBlocked(flagBlocked);
+				magicPermanent.setFlagBlocking(flagBlocking);
+				magicPermanent.setFlagBlockingAlone(flagBlockingAlone);
+				magicPermanent.setFlagSummoningSickness(flagSummoningSickness);
+				magicPermanent.setFlagTapped(flagTapped);
+				magicPermanent.setPlayerControlling(playerControlling);
+			} else if (magicCard instanceof MagicSpell) {
+				((MagicSpell) magicCard).setPlayerControlling(playerControlling);
+			}
+		}
+
+	}
+
+	/**
+	 * Speichert die Anzahl der Aktionen im aktuellen Schritt.
+	 */
+	private final int actionCount;
+	/**
+	 * Speichert die Angriffe.
+	 */
+	private final AttackSnapshot[] attacks;
+	/**
+	 * Speichert den Zustand aller Karten des Matches.
+	 */
+	private final CardSnapshot[] cards;
+	/**
+	 * Speichert, was beim Abbrechen des Zauberspruchs zurückgesetzt wird, der
+	 * gerade bezahlt wird, oder null.
+	 */
+	private final CastingUndo castingUndo;
+	/**
+	 * Speichert die aktuelle Runde.
+	 */
+	private final Turn currentTurn;
+	/**
+	 * Speichert eine Kopie des Zustands der aktuellen Runde.
+	 */
+	private final Turn currentTurnState;
+	/**
+	 * Zeigt an, ob das Match beendet wurde.
+	 */
+	private final boolean flagMatchFinished;
+	/**
+	 * Zeigt an, ob das Match läuft.
+	 */
+	private final boolean flagMatchRunning;
+	/**
+	 * Speichert den aktiven Spieler.
+	 */
+	private final IsPlayer playerActive;
+	/**
+	 * Speichert den Zustand des ersten Spielers.
+	 */
+	private final PlayerSnapshot playerOne;
+	/**
+	 * Speichert den priorisierten Spieler.
+	 */
+	private final IsPlayer playerPrioritized;
+	/**
+	 * Speichert die Spieler, die verloren haben.
+	 */
+	private final IsPlayer[] playersLost;
+	/**
+	 * Speichert den Zustand des zweiten Spielers.
+	 */
+	private final PlayerSnapshot playerTwo;
+	/**
+	 * Speichert die noch nicht verarbeiteten StateBasedActions.
+	 */
+	private final StateBasedAction[] stateBasedActions;
+	/**
+	 * Speichert den Zustand der Zufallsquelle des Matches.
+	 */
+	private final long stateRandom;
+	/**
+	 * Speichert den temporär gewählten Blocker.
+	 */
+	private final MagicPermanent temporaryBlocker;
+	/**
+	 * Speichert die Anzahl der bisher gespielten Runden.
+	 */
+	private final int turnCount;
+	/**
+	 * Speichert die Rundennummer.
+	 */
+	private final int turnNumber;
+	/**
+	 * Speichert die Karten des Spielfeldes.
+	 */
+	private final MagicPermanent[] zoneBattlefield;
+	/**
+	 * Speichert die Karten des Exils.
+	 */
+	private final MagicCard[] zoneExile;
+	/**
+	 * Speichert die Objekte auf dem Stack.
+	 */
+	private final IsStackable[] zoneStack;
+
+	MatchSnapshot(Match match) {
+		stateRandom = match.getRandom().getState();
+		actionCount = match.getActionCount();
+		flagMatchFinished = match.getFlagMatchFinished();
+		flagMatchRunning = match.getFlagMatchRunning();
+		playerActive = match.getPlayerActive();
+		playerPrioritized = match.getPlayerPrioritized();
+		playersLost = match.getListPlayersLost().toArray(new IsPlayer[match.getListPlayersLost().size()]);
+
+		currentTurn = match.getCurrentTurn();
+		currentTurnState = currentTurn.copy();
+		turnCount = match.getListTurns().size();
+		turnNumber = currentTurn.getTurnNumber();
+
+		final List<Attack> listAttacks = match.getListAttacks();
+		attacks = new AttackSnapshot[listAttacks.size()];
+		for (int i = 0; i < attacks.length; i++) {
+			attacks[i] = new AttackSnapshot(listAttacks.get(i));
+		}
+
+		final List<MagicPermanent> listBattlefield = match.getZoneBattlefield().getAll();
+		zoneBattlefield = listBattlefield.toArray(new MagicPermanent[listBattlefield.size()]);
+		final List<MagicCard> listExile = match.getZoneExile().getAll();
+		zoneExile = listExile.toArray(new MagicCard[listExile.size()]);
+		final List<IsStackable> listStack = match.getZoneStack().getList();
+		zoneStack = listStack.toArray(new IsStackable[listStack.size()]);
+
+		playerOne = match.getPlayerOne().createSnapshot();
+		playerTwo = match.getPlayerTwo().createSnapshot();
+
+		final RuleEnforcer ruleEnforcer = match.getRuleEnforcer();
+		final Set<StateBasedAction> setStateBasedActions = ruleEnforcer.getSetStateBasedActions();
+		stateBasedActions = setStateBasedActions.toArray(new StateBasedAction[setStateBasedActions.size()]);
+		temporaryBlocker = ruleEnforcer.getTemporaryBlocker();
+		castingUndo = ruleEnforcer.getCastingUndo() != null ? ruleEnforcer.getCastingUndo().copy() : null;
+
+		final List<CardSnapshot> listCards = new ArrayList<>();
+		for (final MagicPermanent magicPermanent : zoneBattlefield) {
+			listCards.add(new CardSnapshot(magicPermanent));
+		}
+		for (final MagicCard magicCard : zoneExile) {
+			listCards.add(new CardSnapshot(magicCard));
+		}
+		for (final IsStackable stackable : zoneStack) {
+			if (stackable instanceof MagicCard) {
+				listCards.add(new CardSnapshot((MagicCard) stackable));
+			}
+		}
+		for (final PlayerSnapshot playerSnapshot : Arrays.asList(playerOne, playerTwo)) {
+			for (final MagicCard magicCard : playerSnapshot.getZoneGraveyard()) {
+				listCards.add(new CardSnapshot(magicCard));
+			}
+			for (final MagicCard magicCard : playerSnapshot.getZoneHand()) {
+				listCards.add(new CardSnapshot(magicCard));
+			}
+			for (final MagicCard magicCard : playerSnapshot.getZoneLibrary()) {
+				listCards.add(new CardSnapshot(magicCard));
+			}
+		}
+		cards = listCards.toArray(new CardSnapshot[listCards.size()]);
+	}
+
+	/**
+	 * Liefert die Rundennummer des Snapshots.
+	 *
+	 * @return die Rundennummer.
+	 */
+	public int getTurnNumber() {
+		return turnNumber;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[MatchSnapshot ").append(turnNumber).append(".").append(actionCount).append("]")
+				.toString();
+	}
+
+	int getActionCount() {
+		return actionCount;
+	}
+
+	/**
+	 * Liefert eine Kopie des gesicherten CastingUndo, da es während der Bezahlung
+	 * weitergeführt wird, oder null.
+	 */
+	CastingUndo getCastingUndo() {
+		return castingUndo != null ? castingUndo.copy() : null;
+	}
+
+	Turn getCurrentTurn() {
+		return currentTurn;
+	}
+
+	boolean getFlagMatchFinished() {
+		return flagMatchFinished;
+	}
+
+	boolean getFlagMatchRunning() {
+		return flagMatchRunning;
+	}
+
+	List<Attack> getListAttacks() {
+		final List<Attack> result = new ArrayList<>(attacks.length);
+		for (final AttackSnapshot attack : attacks) {
+			result.add(attack.toAttack());
+		}
+		return result;
+	}
+
+	List<IsPlayer> getListPlayersLost() {
+		return Arrays.asList(playersLost);
+	}
+
+	IsPlayer getPlayerActive() {
+		return playerActive;
+	}
+
+	PlayerSnapshot getPlayerOne() {
+		return playerOne;
+	}
+
+	IsPlayer getPlayerPrioritized() {
+		return playerPrioritized;
+	}
+
+	PlayerSnapshot getPlayerTwo() {
+		return playerTwo;
+	}
+
+	Set<StateBasedAction> getSetStateBasedActions() {
+		return new HashSet<>(Arrays.asList(stateBasedActions));
+	}
+
+	long getStateRandom() {
+		return stateRandom;
+	}
+
+	MagicPermanent getTemporaryBlocker() {
+		return temporaryBlocker;
+	}
+
+	int getTurnCount() {
+		return turnCount;
+	}
+
+	List<MagicPermanent> getZoneBattlefield() {
+		return Arrays.asList(zoneBattlefield);
+	}
+
+	List<MagicCard> getZoneExile() {
+		return Arrays.asList(zoneExile);
+	}
+
+	List<IsStackable> getZoneStack() {
+		return Arrays.asList(zoneStack);
+	}
+
+	/**
+	 * Stellt den Zustand aller Karten wieder her. Muss nach dem Wiederherstellen
+	 * der Angriffe aufgerufen werden, da diese beim Erzeugen Flags setzen.
+	 */
+	void restoreCards() {
+		for (final CardSnapshot card : cards) {
+			card.restore();
+		}
+	}
+
+	/**
+	 * Stellt den Zustand der aktuellen Runde samt Phasen und Schritten wieder her.
+	 */
+	void restoreTurnStructure() {
+		currentTurn.restore(currentTurnState);
+	}
+
+}
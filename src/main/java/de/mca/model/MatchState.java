@@ -0,0 +1,373 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsPlayer;
+import de.mca.model.interfaces.IsStackable;
+import de.mca.model.interfaces.IsZone;
+
+/**
+ * Unveränderliches Abbild eines Matches für die Oberfläche. Wird vom MatchRunner
+ * auf dem Thread des Matches erzeugt und auf dem JavaFX-Thread gelesen. Anders
+ * als MatchSnapshot enthält es nur, was angezeigt wird, und kopiert diese Werte
+ * vollständig, sodass die Oberfläche nie auf veränderliche Objekte des Modells
+ * zugreifen muss.
+ *
+ * Die Referenzen auf Karten und Stackobjekte dienen nur dazu, Sprites über
+ * mehrere Abbilder hinweg wiederzuerkennen und Eingaben an den MatchRunner zu
+ * übergeben. Ihr Zustand darf auf dem JavaFX-Thread nicht gelesen werden.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class MatchState {
+
+	/**
+	 * Speichert den angezeigten Zustand einer Karte.
+	 */
+	public static final class CardStatus {
+
+		/**
+		 * Speichert den kontrollierenden Spieler: 1 für Spieler eins, 2 für Spieler
+		 * zwei, 0 für keinen.
+		 */
+		private final int controller;
+		/**
+		 * Speichert den Namen, so wie er auf der Karte zu lesen ist.
+		 */
+		private final String displayName;
+		/**
+		 * Speichert den Filenamen der Karte.
+		 */
+		private final String fileName;
+		/**
+		 * Zeigt an, ob die Karte eine Kreatur ist.
+		 */
+		private final boolean flagCreature;
+		/**
+		 * Zeigt an, ob mit der Karte interagiert werden kann.
+		 */
+		private final boolean flagInteractable;
+		/**
+		 * Zeigt an, ob die Karte getappt ist.
+		 */
+		private final boolean flagTapped;
+		/**
+		 * Speichert die Karte.
+		 */
+		private final MagicCard magicCard;
+
+		private CardStatus(MagicCard magicCard, int controller) {
+			this.magicCard = magicCard;
+			this.controller = controller;
+			displayName = magicCard.getDisplayName();
+			fileName = magicCard.getFileName();
+			flagCreature = magicCard.isCreature();
+			flagInteractable = magicCard.getFlagIsInteractable();
+			flagTapped = magicCard instanceof MagicPermanent && ((MagicPermanent) magicCard).getFlagTapped();
+		}
+
+		public int getController() {
+			return controller;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public String getFileName() {
+			return fileName;
+		}
+
+		public boolean getFlagCreature() {
+			return flagCreature;
+		}
+
+		public boolean getFlagInteractable() {
+			return flagInteractable;
+		}
+
+		public boolean getFlagTapped() {
+			return flagTapped;
+		}
+
+		public MagicCard getMagicCard() {
+			return magicCard;
+		}
+
+	}
+
+	/**
+	 * Speichert den angezeigten Zustand eines Spielers.
+	 */
+	public static final class PlayerStatus {
+
+		/**
+		 * Speichert den Anzeigenamen.
+		 */
+		private final String displayName;
+		/**
+		 * Speichert die Anzahl Karten im Friedhof.
+		 */
+		private final int graveSize;
+		/**
+		 * Speichert die Anzahl Karten in der Hand.
+		 */
+		private final int handSize;
+		/**
+		 * Speichert die Lebenspunkte.
+		 */
+		private final int life;
+		/**
+		 * Speichert das Mana im Manapool je Farbe.
+		 */
+		private final Map<ColorType, Integer> mapMana;
+		/**
+		 * Speichert den Spielerstatus.
+		 */
+		private final PlayerState playerState;
+
+		private PlayerStatus(IsPlayer player) {
+			displayName = player.getDisplayName();
+			graveSize = player.getZoneGraveyard().getSize();
+			handSize = player.getHandSize();
+			life = player.getLife();
+			playerState = player.getPlayerState();
+			final Map<ColorType, Integer> mana = new EnumMap<>(ColorType.class);
+			for (final ColorType color : player.getManaPool().getKeySet()) {
+				mana.put(color, player.getManaPool().get(color));
+			}
+			mapMana = Collections.unmodifiableMap(mana);
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public int getGraveSize() {
+			return graveSize;
+		}
+
+		public int getHandSize() {
+			return handSize;
+		}
+
+		public int getLife() {
+			return life;
+		}
+
+		/**
+		 * Liefert das Mana einer Farbe im Manapool.
+		 *
+		 * @param color
+		 *            die Farbe.
+		 * @return die Menge, 0 wenn keines vorhanden ist.
+		 */
+		public int getMana(ColorType color) {
+			final Integer result = mapMana.get(color);
+			return result != null ? result : 0;
+		}
+
+		public PlayerState getPlayerState() {
+			return playerState;
+		}
+
+	}
+
+	/**
+	 * Speichert den angezeigten Zustand eines Objekts auf dem Stack.
+	 */
+	public static final class StackStatus {
+
+		/**
+		 * Speichert den angezeigten Namen.
+		 */
+		private final String displayName;
+		/**
+		 * Speichert das Objekt auf dem Stack.
+		 */
+		private final IsStackable stackable;
+
+		private StackStatus(IsStackable stackable) {
+			this.stackable = stackable;
+			displayName = stackable.getDisplayName();
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public IsStackable getStackable() {
+			return stackable;
+		}
+
+	}
+
+	/**
+	 * Erzeugt ein Abbild des aktuellen Zustands. Muss auf dem Thread des Matches
+	 * aufgerufen werden.
+	 *
+	 * @param match
+	 *            das Match.
+	 * @param sequence
+	 *            die laufende Nummer des Abbilds.
+	 * @return das Abbild.
+	 */
+	static MatchState of(Match match, long sequence) {
+		return new MatchState(match, sequence);
+	}
+
+	private static int controllerOf(Match match, MagicCard magicCard) {
+		if (!(magicCard instanceof MagicPermanent)) {
+			return 0;
+		}
+		final IsPlayer playerControlling = ((MagicPermanent) magicCard).getPlayerControlling();
+		if (match.getPlayerOne().equals(playerControlling)) {
+			return 1;
+		} else if (match.getPlayerTwo().equals(playerControlling)) {
+			return 2;
+		}
+		return 0;
+	}
+
+	private static List<CardStatus> toCardStatus(Match match, IsZone<? extends MagicCard> zone) {
+		final List<? extends MagicCard> cards = zone.getAll();
+		final List<CardStatus> result = new ArrayList<>(cards.size());
+		for (int i = 0; i < cards.size(); i++) {
+			result.add(new CardStatus(cards.get(i), controllerOf(match, cards.get(i))));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Zeigt an, ob das Match beendet ist.
+	 */
+	private final boolean flagMatchFinished;
+	private final List<CardStatus> listBattlefield;
+	private final List<CardStatus> listExile;
+	private final List<CardStatus> listGraveyardOne;
+	private final List<CardStatus> listGraveyardTwo;
+	private final List<CardStatus> listHandOne;
+	private final List<CardStatus> listHandTwo;
+	private final List<StackStatus> listStack;
+	/**
+	 * Speichert die aktuelle Phase als Text.
+	 */
+	private final String phase;
+	/**
+	 * Speichert den aktiven Spieler als Text.
+	 */
+	private final String playerActive;
+	private final PlayerStatus playerOne;
+	private final PlayerStatus playerTwo;
+	/**
+	 * Speichert die laufende Nummer des Abbilds. Sie steigt mit jedem
+	 * veröffentlichten Abbild.
+	 */
+	private final long sequence;
+	/**
+	 * Speichert den aktuellen Schritt als Text.
+	 */
+	private final String step;
+	/**
+	 * Speichert die Rundennummer.
+	 */
+	private final int turnNumber;
+
+	private MatchState(Match match, long sequence) {
+		this.sequence = sequence;
+		flagMatchFinished = match.getFlagMatchFinished();
+		turnNumber = match.getCurrentTurn().getTurnNumber();
+		phase = String.valueOf(match.getCurrentPhase());
+		step = String.valueOf(match.getCurrentTurn().getCurrentStep());
+		playerActive = String.valueOf(match.getPlayerActive());
+		playerOne = new PlayerStatus(match.getPlayerOne());
+		playerTwo = new PlayerStatus(match.getPlayerTwo());
+
+		listBattlefield = toCardStatus(match, match.getZoneBattlefield());
+		listExile = toCardStatus(match, match.getZoneExile());
+		listGraveyardOne = toCardStatus(match, match.getPlayerOne().getZoneGraveyard());
+		listGraveyardTwo = toCardStatus(match, match.getPlayerTwo().getZoneGraveyard());
+		listHandOne = toCardStatus(match, match.getPlayerOne().getZoneHand());
+		listHandTwo = toCardStatus(match, match.getPlayerTwo().getZoneHand());
+
+		final List<StackStatus> stack = new ArrayList<>(match.getZoneStack().getSize());
+		for (int i = 0; i < match.getZoneStack().getSize(); i++) {
+			stack.add(new StackStatus(match.getZoneStack().get(i)));
+		}
+		listStack = Collections.unmodifiableList(stack);
+	}
+
+	public boolean getFlagMatchFinished() {
+		return flagMatchFinished;
+	}
+
+	public List<CardStatus> getListBattlefield() {
+		return listBattlefield;
+	}
+
+	public List<CardStatus> getListExile() {
+		return listExile;
+	}
+
+	public List<CardStatus> getListGraveyardOne() {
+		return listGraveyardOne;
+	}
+
+	public List<CardStatus> getListGraveyardTwo() {
+		return listGraveyardTwo;
+	}
+
+	public List<CardStatus> getListHandOne() {
+		return listHandOne;
+	}
+
+	public List<CardStatus> getListHandTwo() {
+		return listHandTwo;
+	}
+
+	public List<StackStatus> getListStack() {
+		return listStack;
+	}
+
+	public String getPhase() {
+		return phase;
+	}
+
+	public String getPlayerActive() {
+		return playerActive;
+	}
+
+	public PlayerStatus getPlayerOne() {
+		return playerOne;
+	}
+
+	public PlayerStatus getPlayerTwo() {
+		return playerTwo;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public String getStep() {
+		return step;
+	}
+
+	public int getTurnNumber() {
+		return turnNumber;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[state s=[").append(sequence).append("] t=[").append(turnNumber).append("] ")
+				.append(phase).append(" ").append(step).append("]").toString();
+	}
+
+}
@@ -1,17 +1,14 @@
 package de.mca.model;
 
 import java.util.List;
-import java.util.ListIterator;
 
 import de.mca.model.enums.PhaseType;
-import de.mca.model.enums.StepType;
 import de.mca.model.enums.TurnBasedActionType;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleObjectProperty;
 
 /**
+ * Bildet eine Phase der Rundenvorlage ab. Eine Phase ist unveränderlich und
+ * wird samt ihrer Spielschritte von allen Runden geteilt, ihr Zustand in der
+ * laufenden Runde wird im Turn gehalten.
  *
  * @author Maximilian Werling
  *
@@ -19,9 +16,10 @@ import javafx.beans.property.SimpleObjectProperty;
 public class Phase {
 
 	/**
-	 * Speichert den Iterator, der über die Spielschritte läuft.
+	 * Speichert die Position der Phase in der Rundenvorlage. Dient als Bit-Index
+	 * für den Zustand im Turn.
 	 */
-	private ListIterator<Step> iteratorSteps;
+	private final int index;
 	/**
 	 * Speichert die Spielschritte der Phase.
 	 */
@@ -30,54 +28,11 @@ public class Phase {
 	 * Speichert den Phasentyp.
 	 */
 	private final PhaseType phaseType;
-	/**
-	 * Speichert den aktuellen Spielschritt.
-	 */
-	private final ObjectProperty<Step> propertyCurrentStep;
-	/**
-	 * Zeigt an, ob die Phase wiederholt wird.
-	 */
-	private final BooleanProperty propertyFlagPhaseRepeated;
-	/**
-	 * Zeigt an, ob die Phase gerade läuft.
-	 */
-	private final BooleanProperty propertyFlagPhaseRunning;
-	/**
-	 * Zeigt an, ob die Phase übersprungen wird.
-	 */
-	private final BooleanProperty propertyFlagPhaseSkipped;
-	/**
-	 * Speichert den RuleEnforcer.
-	 */
-	private RuleEnforcer ruleEnforcer;
 
-	Phase(RuleEnforcer ruleEnforcer, PhaseType phaseType, List<Step> listSteps) {
+	Phase(int index, PhaseType phaseType, List<Step> listSteps) {
+		this.index = index;
 		this.listSteps = listSteps;
 		this.phaseType = phaseType;
-		this.ruleEnforcer = ruleEnforcer;
-
-		propertyFlagPhaseRepeated = new SimpleBooleanProperty(false);
-		propertyFlagPhaseRunning = new SimpleBooleanProperty(false);
-		propertyFlagPhaseSkipped = new SimpleBooleanProperty(false);
-		propertyCurrentStep = new SimpleObjectProperty<>(listSteps.get(0));
-
-		iteratorSteps = listSteps.listIterator();
-	}
-
-	public Step getCurrentStep() {
-		return propertyCurrentStep().get();
-	}
-
-	public boolean getFlagPhaseRepeated() {
-		return propertyFlagPhaseRepeated.get();
-	}
-
-	public boolean getFlagPhaseRunning() {
-		return propertyFlagPhaseRunning.get();
-	}
-
-	public boolean getFlagPhaseSkipped() {
-		return propertyFlagPhaseSkipped.get();
 	}
 
 	public PhaseType getPhaseType() {
@@ -87,83 +42,30 @@ public class Phase {
 	public boolean isMain() {
 		return phaseType.isMain();
 	}
-	
-	
 
 	@Override
 	public String toString() {
 		return phaseType.toString();
 	}
 
-	private void fireEndTBA() {
-		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, TurnBasedActionType.CLEAR_MANA_POOLS));
-	}
-
 	boolean equals(PhaseType phaseType) {
-		return phaseType.equals(phaseType);
+		return this.phaseType.equals(phaseType);
 	}
 
-	boolean hasNextStep() {
-		return iteratorSteps.hasNext();
-	}
-
-	boolean isCombatPhase() {
-		return phaseType.isCombatPhase();
-	}
-
-	void phaseBegin() {
-		setFlagPhaseRunning(true);
-		iteratorSteps = listSteps.listIterator();
-		propertyCurrentStep().set(listSteps.get(0));
-	}
-
-	void phaseEnd() {
-		setFlagPhaseRunning(false);
-		if (isMain()) {
-			fireEndTBA();
-		}
-	}
-
-	ObjectProperty<Step> propertyCurrentStep() {
-		return propertyCurrentStep;
-	}
-
-	void setCurrentStep() {
-		propertyCurrentStep().set(iteratorSteps.next());
-	}
-
-	void setFlagPhaseRunning(boolean flagRunning) {
-		this.propertyFlagPhaseRunning.set(flagRunning);
-	}
-
-	void setFlagRepeated(boolean flagRepeated) {
-		this.propertyFlagPhaseRepeated.set(flagRepeated);
+	void fireEndTBA(RuleEnforcer ruleEnforcer) {
+		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, TurnBasedActionType.CLEAR_MANA_POOLS));
 	}
 
-	void setFlagSkipped(boolean flagSkipped) {
-		this.propertyFlagPhaseSkipped.set(flagSkipped);
+	int getIndex() {
+		return index;
 	}
 
-	void stepBegin() {
-		getCurrentStep().begin();
+	List<Step> getListSteps() {
+		return listSteps;
 	}
 
-	void stepEnd() {
-		getCurrentStep().end();
+	boolean isCombatPhase() {
+		return phaseType.isCombatPhase();
 	}
 
-	/**
-	 * Markiert einen Spielschritt, sodass er übersprungen wird.
-	 *
-	 * @param stepType
-	 *            Type des Spielschitts, der übersprungen werden soll.
-	 */
-	void stepSkip(StepType stepType) {
-		for (final Step step : listSteps) {
-			if (step.equals(stepType)) {
-				step.setFlagSkipped(true);
-				return;
-			}
-		}
-	}
 }
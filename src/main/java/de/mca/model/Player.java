@@ -9,17 +9,14 @@ import de.mca.model.enums.ColorType;
 import de.mca.model.enums.PlayerState;
 import de.mca.model.enums.StateBasedActionType;
 import de.mca.model.enums.ZoneType;
+import de.mca.model.interfaces.IsInput;
 import de.mca.model.interfaces.IsManaMap;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.model.interfaces.IsZone;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleObjectProperty;
 
 /**
+ * Bildet einen Spieler ab. Der Zustand wird in einfachen Feldern gehalten,
+ * damit die Regel-Engine auch ohne JavaFX laufen kann.
  *
  * @author Maximilian Werling
  *
@@ -53,53 +50,54 @@ public final class Player implements IsPlayer {
 	/**
 	 * Speichert den zugefügten Kampfschaden. Wird jede Runde zurück gesetzt.
 	 */
-	private final IntegerProperty propertyDamage;
-	/**
-	 * Speichert seperat noch Anzahl Karten in der Bibliothek.
-	 */
-	private final IntegerProperty propertyDeckSize;
+	private int damage;
 	/**
 	 * Zeigt an, ob der Spieler gerade Angreifer deklariert.
 	 */
-	private final BooleanProperty propertyFlagDeclaringAttackers;
+	private boolean flagDeclaringAttackers;
 	/**
 	 * Zeigt an, ob der Spieler gerade Verteidiger deklariert.
 	 */
-	private final BooleanProperty propertyFlagDeclaringBlockers;
+	private boolean flagDeclaringBlockers;
 	/**
 	 * Zeigt an, ob von dem Spieler eine Eingabe erwartet wird.
 	 */
-	private final BooleanProperty propertyFlagNeedInput;
+	private boolean flagNeedInput;
 	/**
 	 * Zeigt an, ob der Spieler bereits die Priorität abgegeben hat. Wird am Ende
 	 * jeden Schrittes wieder zurück gesetzt.
 	 */
-	private final BooleanProperty propertyFlagPassedPriority;
+	private boolean flagPassedPriority;
 	/**
 	 * Zeigt an, ob der Spieler in der aktuellen Runde bereits ein Land gespielt
 	 * hat. Wird am Ende jeder Runde wieder zurück gesetzt.
 	 */
-	private final BooleanProperty propertyFlagPlayedLand;
+	private boolean flagPlayedLand;
 	/**
-	 * Speichert separat die Anzahl Karten im Friedhof.
+	 * Speichert separat die Anzahl Karten in der Hand.
 	 */
-	private final IntegerProperty propertyGraveSize;
+	private int handSize;
 	/**
-	 * Speichert separat die Anzahl Karten in der Hand.
+	 * Speichert die Eingabequelle, die benachrichtigt wird, sobald von dem Spieler
+	 * eine Eingabe erwartet wird.
 	 */
-	private final IntegerProperty propertyHandSize;
+	private IsInput input;
 	/**
 	 * Speichert die aktuellen Lebenspunkte des Spielers.
 	 */
-	private final IntegerProperty propertyLife;
+	private int life;
 	/**
 	 * Speichert den aktuellen Spielerstatus.
 	 */
-	private final ObjectProperty<PlayerState> propertyPlayerState;
+	private PlayerState playerState;
 	/**
 	 * Speichert den RuleEnforcer.
 	 */
 	private final RuleEnforcer ruleEnforcer;
+	/**
+	 * Speichert den Zähler der Änderungen an den bleibenden Karten des Spielers.
+	 */
+	private int stampPermanents;
 	/**
 	 * Speichert den Friedhof des Spielers.
 	 */
@@ -117,32 +115,28 @@ public final class Player implements IsPlayer {
 		this.ruleEnforcer = ruleEnforcer;
 		this.displayName = displayName;
 
-		propertyDamage = new SimpleIntegerProperty(0);
-		propertyDeckSize = new SimpleIntegerProperty(0);
-		propertyFlagDeclaringAttackers = new SimpleBooleanProperty(false);
-		propertyFlagDeclaringBlockers = new SimpleBooleanProperty(false);
-		propertyFlagPassedPriority = new SimpleBooleanProperty(false);
-		propertyFlagNeedInput = new SimpleBooleanProperty(false);
-		propertyFlagPlayedLand = new SimpleBooleanProperty(false);
-		propertyGraveSize = new SimpleIntegerProperty(0);
-		propertyHandSize = new SimpleIntegerProperty(0);
-		propertyLife = new SimpleIntegerProperty(20);
-		propertyPlayerState = new SimpleObjectProperty<>(PlayerState.NONACTIVE);
+		damage = 0;
+		flagDeclaringAttackers = false;
+		flagDeclaringBlockers = false;
+		flagNeedInput = false;
+		flagPassedPriority = false;
+		flagPlayedLand = false;
+		handSize = 0;
+		life = 20;
+		playerState = PlayerState.NONACTIVE;
+		stampPermanents = 0;
 		zoneGraveyard = new ZoneDefault<>(this, ZoneType.GRAVEYARD);
 		zoneHand = new ZoneDefault<>(this, ZoneType.HAND);
 		zoneLibrary = new ZoneDefault<>(this, ZoneType.LIBRARY);
 
-		manaPool = new ManaMapDefault();
+		manaPool = new ManaMapArray();
 		manaCostAlreadyPaid = new ManaMapDefault();
 		manaCostGoal = new ManaMapDefault();
 
 		addAllCards(deck.getCardsList(), ZoneType.LIBRARY);
 
 		// Setze den Eigentümer jeder Karte
-		getZoneLibrary().propertyListZoneCards().forEach(card -> card.setPlayerOwning(this));
-
-		// Mische
-		getZoneLibrary().shuffle();
+		getZoneLibrary().getAll().forEach(card -> card.setPlayerOwning(this));
 	}
 
 	@Override
@@ -150,7 +144,6 @@ public final class Player implements IsPlayer {
 		switch (zoneType) {
 		case GRAVEYARD:
 			getZoneGraveyard().addAll(cardList);
-			setGraveSize(getZoneGraveyard().getSize());
 			break;
 		case HAND:
 			getZoneHand().addAll(cardList);
@@ -158,7 +151,6 @@ public final class Player implements IsPlayer {
 			break;
 		case LIBRARY:
 			getZoneLibrary().addAll(cardList);
-			setDeckSize(getZoneLibrary().getSize());
 			break;
 		default:
 			break;
@@ -170,7 +162,6 @@ public final class Player implements IsPlayer {
 		switch (zoneType) {
 		case GRAVEYARD:
 			getZoneGraveyard().add(magicCard);
-			setGraveSize(getZoneGraveyard().getSize());
 			break;
 		case HAND:
 			getZoneHand().add(magicCard);
@@ -178,7 +169,6 @@ public final class Player implements IsPlayer {
 			break;
 		case LIBRARY:
 			getZoneLibrary().add(magicCard);
-			setDeckSize(getZoneLibrary().getSize());
 			break;
 		default:
 			break;
@@ -212,6 +202,11 @@ public final class Player implements IsPlayer {
 		return !equals(attacker.getPlayerControlling());
 	}
 
+	@Override
+	public PlayerSnapshot createSnapshot() {
+		return new PlayerSnapshot(this);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -231,7 +226,7 @@ public final class Player implements IsPlayer {
 
 	@Override
 	public int getDamage() {
-		return propertyDamage().get();
+		return damage;
 	}
 
 	@Override
@@ -241,27 +236,27 @@ public final class Player implements IsPlayer {
 
 	@Override
 	public boolean getFlagDeclaringAttackers() {
-		return propertyFlagDeclaringAttackers.get();
+		return flagDeclaringAttackers;
 	}
 
 	@Override
 	public boolean getFlagDeclaringBlockers() {
-		return propertyFlagDeclaringBlockers.get();
+		return flagDeclaringBlockers;
 	}
 
 	@Override
 	public boolean getFlagNeedInput() {
-		return propertyFlagNeedInput.get();
+		return flagNeedInput;
 	}
 
 	@Override
 	public boolean getFlagPassedPriority() {
-		return propertyFlagPassedPriority.get();
+		return flagPassedPriority;
 	}
 
 	@Override
 	public boolean getFlagPlayedLand() {
-		return propertyFlagPlayedLand.get();
+		return flagPlayedLand;
 	}
 
 	@Override
@@ -271,7 +266,7 @@ public final class Player implements IsPlayer {
 
 	@Override
 	public int getLife() {
-		return propertyLife.get();
+		return life;
 	}
 
 	@Override
@@ -291,12 +286,17 @@ public final class Player implements IsPlayer {
 
 	@Override
 	public PlayerState getPlayerState() {
-		return propertyPlayerState().get();
+		return playerState;
 	}
 
 	@Override
-	public IntegerProperty getPropertyLife() {
-		return propertyLife;
+	public IsInput getInput() {
+		return input;
+	}
+
+	@Override
+	public int getHandSize() {
+		return handSize;
 	}
 
 	@Override
@@ -304,6 +304,11 @@ public final class Player implements IsPlayer {
 		return ruleEnforcer;
 	}
 
+	@Override
+	public int getStampPermanents() {
+		return stampPermanents;
+	}
+
 	@Override
 	public IsZone<MagicCard> getZoneGraveyard() {
 		return zoneGraveyard;
@@ -327,6 +332,11 @@ public final class Player implements IsPlayer {
 		return result;
 	}
 
+	@Override
+	public void incrementStampPermanents() {
+		stampPermanents++;
+	}
+
 	@Override
 	public boolean isActivatingAbility() {
 		return getPlayerState().equals(PlayerState.ACTIVATING_ABILITY);
@@ -382,47 +392,11 @@ public final class Player implements IsPlayer {
 		return getPlayerState().equals(PlayerState.TAKING_SPECIAL_ACTION);
 	}
 
-	@Override
-	public IntegerProperty propertyDamage() {
-		return propertyDamage;
-	}
-
-	@Override
-	public IntegerProperty propertyDeckSize() {
-		return propertyDeckSize;
-	}
-
-	@Override
-	public BooleanProperty propertyFlagNeedInput() {
-		return propertyFlagNeedInput;
-	}
-
-	@Override
-	public IntegerProperty propertyGraveSize() {
-		return propertyGraveSize;
-	}
-
-	@Override
-	public IntegerProperty propertyHandSize() {
-		return propertyHandSize;
-	}
-
-	@Override
-	public IntegerProperty propertyLife() {
-		return propertyLife;
-	}
-
-	@Override
-	public ObjectProperty<PlayerState> propertyPlayerState() {
-		return propertyPlayerState;
-	}
-
 	@Override
 	public void removeAllCards(ZoneType zoneType) {
 		switch (zoneType) {
 		case GRAVEYARD:
 			getZoneGraveyard().removeAll();
-			setGraveSize(getZoneGraveyard().getSize());
 			break;
 		case HAND:
 			getZoneHand().removeAll();
@@ -430,7 +404,6 @@ public final class Player implements IsPlayer {
 			break;
 		case LIBRARY:
 			getZoneLibrary().removeAll();
-			setDeckSize(getZoneLibrary().getSize());
 			break;
 		default:
 			break;
@@ -442,7 +415,6 @@ public final class Player implements IsPlayer {
 		switch (zoneType) {
 		case GRAVEYARD:
 			getZoneGraveyard().remove(magicCard);
-			setGraveSize(getZoneGraveyard().getSize());
 			break;
 		case HAND:
 			getZoneHand().remove(magicCard);
@@ -450,7 +422,6 @@ public final class Player implements IsPlayer {
 			break;
 		case LIBRARY:
 			getZoneLibrary().remove(magicCard);
-			setDeckSize(getZoneLibrary().getSize());
 			break;
 		default:
 			break;
@@ -476,40 +447,86 @@ public final class Player implements IsPlayer {
 		setDamage(0);
 	}
 
+	@Override
+	public void restoreSnapshot(PlayerSnapshot snapshot) {
+		LOGGER.trace("{} restoreSnapshot()", this);
+		damage = snapshot.getDamage();
+		flagDeclaringAttackers = snapshot.getFlagDeclaringAttackers();
+		flagDeclaringBlockers = snapshot.getFlagDeclaringBlockers();
+		flagNeedInput = snapshot.getFlagNeedInput();
+		flagPassedPriority = snapshot.getFlagPassedPriority();
+		flagPlayedLand = snapshot.getFlagPlayedLand();
+		interactionCount = snapshot.getInteractionCount();
+		life = snapshot.getLife();
+		manaCostAlreadyPaid = PlayerSnapshot.toManaMap(snapshot.getManaCostAlreadyPaid());
+		manaCostGoal = PlayerSnapshot.toManaMap(snapshot.getManaCostGoal());
+		manaPool.removeAll();
+		manaPool.addAll(PlayerSnapshot.toManaMap(snapshot.getManaPool()));
+		playerState = snapshot.getPlayerState();
+
+		getZoneGraveyard().setAll(snapshot.getZoneGraveyard());
+		getZoneHand().setAll(snapshot.getZoneHand());
+		getZoneLibrary().setAll(snapshot.getZoneLibrary());
+
+		setDamage(damage);
+		setHandSize(getZoneHand().getSize());
+	}
+
+	@Override
+	public void returnCardToHand(MagicCard magicCard, int index) {
+		LOGGER.trace("{} returnCardToHand({}, {})", this, magicCard, index);
+		final List<MagicCard> listHand = getZoneHand().getAll();
+		listHand.add(index, magicCard);
+		getZoneHand().setAll(listHand);
+		setHandSize(getZoneHand().getSize());
+	}
+
 	@Override
 	public void setDamage(int damage) {
 		LOGGER.trace("{} setDamage({})", this, damage);
-		propertyDamage().set(damage > 0 ? damage : 0);
+		this.damage = damage > 0 ? damage : 0;
 	}
 
 	@Override
 	public void setFlagDeclareAttackers(boolean flagDeclareAttackers) {
 		LOGGER.trace("{} setFlagDeclareAttackers({})", this, flagDeclareAttackers);
-		this.propertyFlagDeclaringAttackers.set(flagDeclareAttackers);
+		this.flagDeclaringAttackers = flagDeclareAttackers;
 	}
 
 	@Override
 	public void setFlagDeclareBlockers(boolean flagDeclareBlockers) {
 		LOGGER.trace("{} setFlagDeclareBlockers({})", this, flagDeclareBlockers);
-		this.propertyFlagDeclaringBlockers.set(flagDeclareBlockers);
+		this.flagDeclaringBlockers = flagDeclareBlockers;
 	}
 
 	@Override
 	public void setFlagNeedInput(boolean flagNeedInput, String from) {
 		LOGGER.trace("{} setFlagNeedInput({}) coming from {}", this, flagNeedInput, from);
-		propertyFlagNeedInput().set(flagNeedInput);
+		final boolean changed = this.flagNeedInput != flagNeedInput;
+		this.flagNeedInput = flagNeedInput;
+
+		// Benachrichtige die Eingabequelle nur beim Wechsel auf true.
+		if (changed && flagNeedInput && input != null) {
+			input.requestInput();
+		}
 	}
 
 	@Override
 	public void setFlagPassedPriority(boolean flagPassedPriority) {
 		LOGGER.trace("{} setFlagPassedPriority({})", this, flagPassedPriority);
-		this.propertyFlagPassedPriority.set(flagPassedPriority);
+		this.flagPassedPriority = flagPassedPriority;
 	}
 
 	@Override
 	public void setFlagPlayedLand(boolean flagPlayedLand) {
 		LOGGER.trace("{} setFlagPlayedLand({})", this, flagPlayedLand);
-		this.propertyFlagPlayedLand.set(flagPlayedLand);
+		this.flagPlayedLand = flagPlayedLand;
+	}
+
+	@Override
+	public void setInput(IsInput input) {
+		LOGGER.trace("{} setInput({})", this, input);
+		this.input = input;
 	}
 
 	@Override
@@ -520,7 +537,7 @@ public final class Player implements IsPlayer {
 	@Override
 	public void setLife(int life) {
 		LOGGER.trace("{} setLife({})", this, life);
-		propertyLife().set(life);
+		this.life = life;
 		if (life < 1) {
 			getRuleEnforcer().addStateBasedAction(new StateBasedAction(this, StateBasedActionType.PLAYER_LIFE_ZERO));
 		}
@@ -541,7 +558,7 @@ public final class Player implements IsPlayer {
 	@Override
 	public void setPlayerState(PlayerState playerState) {
 		LOGGER.trace("{} setPlayerState({})", this, playerState);
-		propertyPlayerState().set(playerState);
+		this.playerState = playerState;
 	}
 
 	@Override
@@ -555,16 +572,8 @@ public final class Player implements IsPlayer {
 				.toString();
 	}
 
-	private void setDeckSize(int deckSize) {
-		propertyDeckSize().set(deckSize);
-	}
-
-	private void setGraveSize(int graveSize) {
-		propertyGraveSize().set(graveSize);
-	}
-
 	private void setHandSize(int handSize) {
-		propertyHandSize().set(handSize);
+		this.handSize = handSize;
 	}
 
 }
@@ -0,0 +1,190 @@
+package de.mca.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsManaMap;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Unveränderliches Abbild des Zustands eines Spielers. Die Zonen werden als
+ * Arrays von Kartenreferenzen gehalten, der Zustand der Karten selbst wird
+ * durch den MatchSnapshot gesichert.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class PlayerSnapshot {
+
+	private static final ColorType[] COLORS = ColorType.values();
+
+	private static int[] toArray(IsManaMap manaMap) {
+		if (manaMap == null) {
+			return null;
+		}
+		final int[] result = new int[COLORS.length];
+		for (final ColorType color : COLORS) {
+			result[color.ordinal()] = manaMap.get(color);
+		}
+		return result;
+	}
+
+	static ManaMapDefault toManaMap(int[] mana) {
+		if (mana == null) {
+			return null;
+		}
+		final ManaMapDefault result = new ManaMapDefault();
+		for (final ColorType color : COLORS) {
+			if (mana[color.ordinal()] > 0) {
+				result.add(color, mana[color.ordinal()]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Speichert den Kampfschaden.
+	 */
+	private final int damage;
+	/**
+	 * Zeigt an, ob der Spieler gerade Angreifer deklariert.
+	 */
+	private final boolean flagDeclaringAttackers;
+	/**
+	 * Zeigt an, ob der Spieler gerade Blocker deklariert.
+	 */
+	private final boolean flagDeclaringBlockers;
+	/**
+	 * Zeigt an, ob eine Eingabe des Spielers benötigt wird.
+	 */
+	private final boolean flagNeedInput;
+	/**
+	 * Zeigt an, ob der Spieler die Priorität abgegeben hat.
+	 */
+	private final boolean flagPassedPriority;
+	/**
+	 * Zeigt an, ob der Spieler in dieser Runde ein Land gespielt hat.
+	 */
+	private final boolean flagPlayedLand;
+	/**
+	 * Speichert die Anzahl möglicher Interaktionen.
+	 */
+	private final int interactionCount;
+	/**
+	 * Speichert die Lebenspunkte.
+	 */
+	private final int life;
+	/**
+	 * Speichert das bereits bezahlte Mana, indiziert über ColorType.ordinal().
+	 */
+	private final int[] manaCostAlreadyPaid;
+	/**
+	 * Speichert die zu bezahlenden Kosten, indiziert über ColorType.ordinal().
+	 */
+	private final int[] manaCostGoal;
+	/**
+	 * Speichert den Manapool, indiziert über ColorType.ordinal().
+	 */
+	private final int[] manaPool;
+	/**
+	 * Speichert den Spielerstatus.
+	 */
+	private final PlayerState playerState;
+	/**
+	 * Speichert die Karten des Friedhofs.
+	 */
+	private final MagicCard[] zoneGraveyard;
+	/**
+	 * Speichert die Karten der Hand.
+	 */
+	private final MagicCard[] zoneHand;
+	/**
+	 * Speichert die Karten der Bibliothek.
+	 */
+	private final MagicCard[] zoneLibrary;
+
+	PlayerSnapshot(IsPlayer player) {
+		damage = player.getDamage();
+		flagDeclaringAttackers = player.getFlagDeclaringAttackers();
+		flagDeclaringBlockers = player.getFlagDeclaringBlockers();
+		flagNeedInput = player.getFlagNeedInput();
+		flagPassedPriority = player.getFlagPassedPriority();
+		flagPlayedLand = player.getFlagPlayedLand();
+		interactionCount = player.getInteractionCount();
+		life = player.getLife();
+		manaCostAlreadyPaid = toArray(player.getManaCostAlreadyPaid());
+		manaCostGoal = toArray(player.getManaCostGoal());
+		manaPool = toArray(player.getManaPool());
+		playerState = player.getPlayerState();
+		zoneGraveyard = toCardArray(player.getZoneGraveyard().getAll());
+		zoneHand = toCardArray(player.getZoneHand().getAll());
+		zoneLibrary = toCardArray(player.getZoneLibrary().getAll());
+	}
+
+	private MagicCard[] toCardArray(List<MagicCard> cardList) {
+		return cardList.toArray(new MagicCard[cardList.size()]);
+	}
+
+	int getDamage() {
+		return damage;
+	}
+
+	boolean getFlagDeclaringAttackers() {
+		return flagDeclaringAttackers;
+	}
+
+	boolean getFlagDeclaringBlockers() {
+		return flagDeclaringBlockers;
+	}
+
+	boolean getFlagNeedInput() {
+		return flagNeedInput;
+	}
+
+	boolean getFlagPassedPriority() {
+		return flagPassedPriority;
+	}
+
+	boolean getFlagPlayedLand() {
+		return flagPlayedLand;
+	}
+
+	int getInteractionCount() {
+		return interactionCount;
+	}
+
+	int getLife() {
+		return life;
+	}
+
+	int[] getManaCostAlreadyPaid() {
+		return manaCostAlreadyPaid;
+	}
+
+	int[] getManaCostGoal() {
+		return manaCostGoal;
+	}
+
+	int[] getManaPool() {
+		return manaPool;
+	}
+
+	PlayerState getPlayerState() {
+		return playerState;
+	}
+
+	List<MagicCard> getZoneGraveyard() {
+		return Arrays.asList(zoneGraveyard);
+	}
+
+	List<MagicCard> getZoneHand() {
+		return Arrays.asList(zoneHand);
+	}
+
+	List<MagicCard> getZoneLibrary() {
+		return Arrays.asList(zoneLibrary);
+	}
+
+}
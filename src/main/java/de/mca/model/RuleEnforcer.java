@@ -1,8 +1,11 @@
 package de.mca.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,10 +13,12 @@ import org.slf4j.LoggerFactory;
 import com.google.common.eventbus.EventBus;
 
 import de.mca.Constants;
+import de.mca.io.MatchJournal;
 import de.mca.model.enums.ColorType;
-import de.mca.model.enums.EffectType;
+import de.mca.model.enums.PlayerActionType;
 import de.mca.model.enums.PlayerState;
 import de.mca.model.enums.StateBasedActionType;
+import de.mca.model.enums.TurnBasedActionType;
 import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsAttackTarget;
 import de.mca.model.interfaces.IsCombatant;
@@ -21,9 +26,6 @@ import de.mca.model.interfaces.IsManaMap;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.model.interfaces.IsStackable;
 import de.mca.presenter.GameStatusChange;
-import javafx.beans.property.SetProperty;
-import javafx.beans.property.SimpleSetProperty;
-import javafx.collections.FXCollections;
 
 /**
  *
@@ -36,19 +38,50 @@ public class RuleEnforcer {
 	 * Speichert den Logger.
 	 */
 	private final static Logger LOGGER = LoggerFactory.getLogger("Match");
+	/**
+	 * Speichert, was beim Abbrechen des Zauberspruchs zurückgesetzt wird, der
+	 * gerade bezahlt wird, oder null.
+	 */
+	private CastingUndo castingUndo;
 	/**
 	 * Speichert den EventBus.
 	 */
 	private EventBus eventBus;
+	/**
+	 * Speichert das Protokoll, in das alle Aktionen geschrieben werden, oder
+	 * null.
+	 */
+	private MatchJournal journal;
+	/**
+	 * Speichert die Protokollreferenz jeder Karten-Id. Wird beim Setzen des
+	 * Protokolls angelegt.
+	 */
+	private final Map<Integer, Integer> mapCardReferences;
+	/**
+	 * Speichert je Spieler die zuletzt abgeleiteten Interaktionsstatus.
+	 */
+	private final Map<IsPlayer, InteractionCache> mapInteractionCaches;
+	/**
+	 * Speichert den Löser, mit dem i_autoPay() die Bezahlung bestimmt. Er ist von
+	 * den Lösern der InteractionCaches getrennt, damit deren Quellen nur von
+	 * i_deriveInteractionStatus() gesetzt werden.
+	 */
+	private final ManaSolver manaSolverPayment;
 	/**
 	 * Speichert eine Referenz auf das Match.
 	 */
 	private Match match;
+	/**
+	 * Speichert den Spieler, für den die Interaktionsstatus zuletzt abgeleitet
+	 * wurden, oder null. Die Status hängen an den Karten selbst, wechselt der
+	 * Spieler, muss das Spielfeld daher neu durchlaufen werden.
+	 */
+	private IsPlayer playerDerived;
 	/**
 	 * Sammelts StateBasedActions. Diese werden zu bestimmten Zeitpunkten
 	 * abgearbeitet.
 	 */
-	private final SetProperty<StateBasedAction> propertySetStateBasedActions;
+	private final Set<StateBasedAction> setStateBasedActions;
 	/**
 	 * Speichert vorübergehend den Blocker, während der Spieler das Blockziel
 	 * auswählt.
@@ -58,12 +91,28 @@ public class RuleEnforcer {
 	public RuleEnforcer(EventBus eventBus) {
 		this.eventBus = eventBus;
 
-		propertySetStateBasedActions = new SimpleSetProperty<>(FXCollections.observableSet());
+		mapCardReferences = new HashMap<>();
+		mapInteractionCaches = new HashMap<>();
+		manaSolverPayment = new ManaSolver();
+		setStateBasedActions = new HashSet<>();
 	}
 
 	public void addStateBasedAction(StateBasedAction stateBasedAction) {
 		LOGGER.debug("{} addStateBasedAction({})", this, stateBasedAction);
-		propertySetStateBasedActions.add(stateBasedAction);
+		setStateBasedActions.add(stateBasedAction);
+	}
+
+	/**
+	 * Prüft, ob der Spieler die offenen Kosten seines Bezahlvorgangs automatisch
+	 * aus Manapool und Manaquellen bezahlen kann.
+	 *
+	 * @param player der Spieler.
+	 * @return true, wenn der Spieler bezahlt und eine Bezahlung existiert.
+	 */
+	public boolean checkCanAutoPay(IsPlayer player) {
+		final boolean result = solvePayment(player) != null;
+		LOGGER.trace("{} checkCanAutoPay({}) = {}", this, player, result);
+		return result;
 	}
 
 	public void examineEffectProduceMana(EffectProduceMana effectProduceMana) {
@@ -83,6 +132,10 @@ public class RuleEnforcer {
 		LOGGER.trace("{} examineTurnBasedAction({})", this, turnBasedAction);
 		final IsPlayer playerActive = match.getPlayerActive();
 		final IsPlayer playerNonactive = match.getPlayerNonactive();
+		if (journal != null) {
+			journal.recordTurnBasedAction(turnBasedAction.getTurnBasedActionType(), playerIndexOf(playerActive),
+					match.getCurrentTurn().getTurnNumber());
+		}
 		switch (turnBasedAction.getTurnBasedActionType()) {
 		case BEGINNING_OF_COMBAT_STEP:
 			tb_combatStepStart(playerActive, playerNonactive);
@@ -136,8 +189,8 @@ public class RuleEnforcer {
 		}
 	}
 
-	public SetProperty<StateBasedAction> getpropertyStateBasedActions() {
-		return propertySetStateBasedActions;
+	public Set<StateBasedAction> getSetStateBasedActions() {
+		return setStateBasedActions;
 	}
 
 	public MagicPermanent getTemporaryBlocker() {
@@ -152,6 +205,21 @@ public class RuleEnforcer {
 		getEventBus().post(new GameStatusChange(this, text, false));
 	}
 
+	/**
+	 * Wird aufgerufen, wenn der Spieler eine bestimmte Fähigkeit einer bleibenden
+	 * Karte aktiviert, z.B. beim Abspielen eines Protokolls.
+	 *
+	 * @param player         der Spieler.
+	 * @param magicPermanent das aktivierte Permanent.
+	 * @param abilityIndex   der Index der Fähigkeit in
+	 *                       getListActivatedAbilities().
+	 */
+	public void i_activateAbility(IsPlayer player, MagicPermanent magicPermanent, int abilityIndex) {
+		LOGGER.debug("{} i_activateAbility({}, {}, {})", this, player, magicPermanent, abilityIndex);
+		record(PlayerActionType.ACTIVATE_PERMANENT, player, magicPermanent, abilityIndex);
+		actionActivateAbility(player, magicPermanent.getListActivatedAbilities().get(abilityIndex));
+	}
+
 	/**
 	 * Wird aufgerufen, wenn der Spieler eine bleibende Karte aktiviert. Sind alle
 	 * Voraussetzungen erfüllt, wird die zu aktivierende Fähigkeit bestimmt und für
@@ -162,7 +230,6 @@ public class RuleEnforcer {
 	 */
 	public void i_activatePermanentStart(IsPlayer player, MagicPermanent magicPermanent) {
 		LOGGER.debug("{} i_activatePermanentStart({}, {})", this, player, magicPermanent);
-
 		List<ActivatedAbility> listActivatedAbities = magicPermanent.getListActivatedAbilities();
 
 		if (listActivatedAbities.size() <= 0) {
@@ -170,13 +237,58 @@ public class RuleEnforcer {
 		} else if (listActivatedAbities.size() == 1) {
 			// Wähle einzige Fähigkeit automatisch
 
-			actionActivateAbility(player, listActivatedAbities.get(0));
+			i_activateAbility(player, magicPermanent, 0);
+		} else if (player.isPaying()) {
+			// Während des Bezahlens wird die Manafähigkeit gewählt.
+			// TODO MID Entscheidung: Fähigkeit auswählen
+
+			i_activateAbility(player, magicPermanent, listActivatedAbities.indexOf(magicPermanent.getManaAbility()));
 		} else {
 			// TODO MID Entscheidung: Fähigkeit auswählen
 
 		}
 	}
 
+	/**
+	 * Wird aufgerufen, wenn der Spieler die offenen Kosten automatisch bezahlt.
+	 * Der ManaSolver bestimmt die Manafähigkeiten, mit denen die Kosten mit
+	 * möglichst wenigen Quellen bezahlt werden. Jede Quelle wird wie eine einzelne
+	 * Aktivierung protokolliert, die Bezahlung wird danach einmalig geprüft.
+	 *
+	 * @param player der bezahlende Spieler.
+	 */
+	public void i_autoPay(IsPlayer player) {
+		LOGGER.debug("{} i_autoPay({})", this, player);
+		final List<ActivatedAbility> listAbilities = solvePayment(player);
+		if (listAbilities == null) {
+			// Keine Bezahlung möglich, Spieler bezahlt von Hand weiter.
+
+			LOGGER.debug("{} i_autoPay({}) -> Keine Bezahlung möglich", this, player);
+			player.setFlagNeedInput(true, "i_autoPay()");
+			return;
+		}
+
+		for (int i = 0; i < listAbilities.size(); i++) {
+			final ActivatedAbility activatedAbility = listAbilities.get(i);
+			final MagicPermanent magicPermanent = (MagicPermanent) activatedAbility.getSource();
+			record(PlayerActionType.ACTIVATE_PERMANENT, player, magicPermanent,
+					magicPermanent.getListActivatedAbilities().indexOf(activatedAbility));
+			actionProduceMana(activatedAbility);
+
+			// Zählt wie einzelne Aktivierungen, siehe MatchReplay.
+			if (i < listAbilities.size() - 1) {
+				match.incrementActionCount();
+			}
+		}
+
+		if (checkIsPaid(player)) {
+			actionPaymentStop(player);
+		} else {
+			match.incrementActionCount();
+			player.setFlagNeedInput(true, "i_autoPay()");
+		}
+	}
+
 	/**
 	 * Beschwört einen Zauberspruch. Dafür werden alle notwendigen Entscheidunge
 	 * abgefragt und Voraussetzungen überprüft.
@@ -188,6 +300,10 @@ public class RuleEnforcer {
 	 */
 	public void i_castSpellStart(IsPlayer player, MagicCard magicCard) {
 		LOGGER.debug("{} i_castSpellStart({}, {})", this, player, magicCard);
+		record(PlayerActionType.CAST_SPELL, player, magicCard);
+
+		// Merke, was sich bis zum Ende der Bezahlung ändert, falls abgebrochen wird.
+		castingUndo = new CastingUndo(match, player, magicCard);
 
 		final MagicSpell spell = new MagicSpell(magicCard, player);
 
@@ -218,6 +334,32 @@ public class RuleEnforcer {
 		actionPaymentStart(player, totalCostInformation);
 	}
 
+	/**
+	 * Bricht das Beschwören des Zauberspruchs ab, der gerade bezahlt wird. Nur
+	 * was sich seit i_castSpellStart() verändert hat, wird zurückgesetzt: die
+	 * Karte kehrt an ihre Stelle in der Hand zurück, die während der Bezahlung
+	 * getappten Manaquellen werden enttappt und der Manapool wird
+	 * wiederhergestellt.
+	 *
+	 * @see http://magiccards.info/rule/723-handling-illegal-actions.html
+	 *
+	 * @param player der bezahlende Spieler.
+	 */
+	public void i_castSpellCancel(IsPlayer player) {
+		LOGGER.debug("{} i_castSpellCancel({})", this, player);
+		if (castingUndo == null) {
+			// Es wird kein Zauberspruch bezahlt.
+
+			player.setFlagNeedInput(true, "i_castSpellCancel()");
+			return;
+		}
+		record(PlayerActionType.CANCEL_CAST, player, null);
+
+		castingUndo.undo(match);
+		castingUndo = null;
+		player.setFlagNeedInput(true, "i_castSpellCancel()");
+	}
+
 	/**
 	 * Wird aufgerufen, wenn ein Spieler das Match aufgibt.
 	 *
@@ -225,7 +367,8 @@ public class RuleEnforcer {
 	 */
 	public void i_concede(IsPlayer player) {
 		LOGGER.debug("{} i_concede({})", this, player);
-		match.setFlagIsMatchRunning(false);
+		record(PlayerActionType.CONCEDE, player, null);
+		match.setPlayerLost(player);
 		match.incrementActionCount();
 		getEventBus().post(new GameStatusChange(this, "concede", true));
 	}
@@ -240,6 +383,7 @@ public class RuleEnforcer {
 	 */
 	public void i_declareAttacker(IsPlayer player, MagicPermanent magicPermanent) {
 		LOGGER.debug("{} i_declareAttacker({}, {})", this, player, magicPermanent);
+		record(PlayerActionType.DECLARE_ATTACKER, player, magicPermanent);
 
 		List<IsAttackTarget> validAttackTargets = new ArrayList<>();
 		for (IsAttackTarget attackTarget : match.getListAttackTargets()) {
@@ -271,6 +415,7 @@ public class RuleEnforcer {
 	 */
 	public void i_declareAttackersStop(IsPlayer player) {
 		LOGGER.debug("{} i_declareAttackersStop({})", this, player);
+		record(PlayerActionType.DECLARE_ATTACKERS_STOP, player, null);
 
 		// Setze flags zum Überspringen.
 		if (match.getTotalAttackers() == 0) {
@@ -295,6 +440,7 @@ public class RuleEnforcer {
 	 */
 	public void i_declareBlocker(IsPlayer player, MagicPermanent blocker) {
 		LOGGER.debug("{} i_declareBlocker({}, {})", this, player, blocker);
+		record(PlayerActionType.DECLARE_BLOCKER, player, blocker);
 
 		List<Attack> listAttacks = match.getListAttacks();
 		if (listAttacks.size() <= 0) {
@@ -305,7 +451,7 @@ public class RuleEnforcer {
 			// Wähle einzigen Angreifer automatisch.
 
 			setTemporaryBlocker(blocker);
-			i_declareBlockTarget(player, (MagicPermanent) listAttacks.get(0).getAttacker());
+			actionDeclareBlockTarget(player, (MagicPermanent) listAttacks.get(0).getAttacker());
 		} else {
 			// Warte auf Spielereingabe.
 
@@ -324,6 +470,7 @@ public class RuleEnforcer {
 	 */
 	public void i_declareBlockersStop(IsPlayer player) {
 		LOGGER.debug("{} i_declareBlockersStop({})", this, player);
+		record(PlayerActionType.DECLARE_BLOCKERS_STOP, player, null);
 
 		// Setze flags zurück.
 		player.setFlagDeclareBlockers(false);
@@ -334,39 +481,80 @@ public class RuleEnforcer {
 
 	public void i_declareBlockTarget(IsPlayer player, MagicPermanent blockTarget) {
 		LOGGER.debug("{} i_declareBlockTarget({}, {})", this, player, blockTarget);
-		player.setPlayerState(PlayerState.DEFENDING);
-
-		List<Attack> listAttacks = match.getListAttacks();
-		match.declareBlocker(listAttacks.indexOf(match.getAttackByCombatant(blockTarget)), getTemporaryBlocker());
-
-		player.setFlagNeedInput(true, "i_declareBlockTarget()");
+		record(PlayerActionType.DECLARE_BLOCK_TARGET, player, blockTarget);
+		actionDeclareBlockTarget(player, blockTarget);
 	}
 
+	/**
+	 * Leitet ab, mit welchen Karten der Spieler derzeit interagieren kann. Die
+	 * Prüfergebnisse werden je Spieler in einem InteractionCache gehalten, neu
+	 * geprüft werden nur Karten, deren Zustand oder Kontext sich geändert hat.
+	 *
+	 * Das Spielfeld wird nur durchlaufen und die Manaquellen werden nur neu
+	 * bestimmt, wenn sich laut den Änderungszählern von Spielfeld und bleibenden
+	 * Karten seit der letzten Ableitung etwas geändert hat. Die Handkarten
+	 * werden bei jedem Aufruf durchlaufen.
+	 *
+	 * @param player der Spieler.
+	 * @param from   der Aufrufer (nur für das Logging).
+	 */
 	public void i_deriveInteractionStatus(IsPlayer player, String from) {
 		LOGGER.trace("{} i_deriveInteractionStatus({}) coming from {}", this, player, from);
-		int interactionCount = 0;
-		for (final MagicCard magicCard : player.getZoneHand().getAll()) {
-			final boolean flagInteractable = checkCanPlayLand(player, magicCard) || checkCanCast(player, magicCard)
-					? true
-					: false;
-			magicCard.setFlagInteractable(flagInteractable);
+		final InteractionCache cache = mapInteractionCaches.computeIfAbsent(player, key -> new InteractionCache());
+		final IsPlayer playerActive = match.getPlayerActive();
+		final boolean isActivePlayer = player.equals(playerActive);
+
+		final ZoneIndexed<MagicPermanent> zoneBattlefield = match.getZoneBattlefield();
+		final List<MagicPermanent> listBattlefield = zoneBattlefield.getAll();
+
+		// Bleibende Karten
+		final boolean flagSourcesChanged = cache.updateSources(zoneBattlefield.getModCount(),
+				player.getStampPermanents());
+		boolean flagBattlefieldChanged = cache.updateOpponent(match.getPlayerOpponent(player).getStampPermanents());
+		flagBattlefieldChanged |= cache.updateContextBattlefield(player.getPlayerState(),
+				player.getFlagDeclaringAttackers(), player.getFlagDeclaringBlockers(), isActivePlayer);
+		if (flagSourcesChanged || flagBattlefieldChanged || !player.equals(playerDerived)) {
+			int countBattlefield = 0;
+			for (final MagicPermanent magicPermanent : listBattlefield) {
+				final int key = InteractionCache.keyOf(player, magicPermanent);
+				Boolean flagInteractable = cache.getBattlefield(magicPermanent, key);
+				if (flagInteractable == null) {
+					flagInteractable = checkCanActivatePermanent(player, magicPermanent)
+							|| checkCanAttack(player, magicPermanent) || checkCanBlock(player, magicPermanent)
+							|| checkCanBeBlocked(player, magicPermanent);
+					cache.putBattlefield(magicPermanent, key, flagInteractable);
+				}
+				magicPermanent.setFlagInteractable(flagInteractable);
 
-			if (flagInteractable) {
-				interactionCount++;
+				if (flagInteractable) {
+					countBattlefield++;
+				}
 			}
+			cache.setCountBattlefield(countBattlefield);
+			playerDerived = player;
 		}
-
-		for (final MagicPermanent magicPermanent : match.getZoneBattlefield().getAll()) {
-			final boolean flagInteractable = checkCanActivatePermanent(player, magicPermanent)
-					|| checkCanAttack(player, magicPermanent) || checkCanBlock(player, magicPermanent)
-					|| checkCanBeBlocked(player, magicPermanent) ? true : false;
-			magicPermanent.setFlagInteractable(flagInteractable);
+		int interactionCount = cache.getCountBattlefield();
+
+		// Handkarten
+		final ManaSolver manaSolver = cache.getManaSolver();
+		final boolean flagSolverChanged = flagSourcesChanged && manaSolver.setSources(listManaSources(player));
+		cache.updateContextHand(isActivePlayer, match.getCurrentPhase().isMain(), match.getZoneStack().isEmpty(),
+				player.getFlagPlayedLand(), player.getManaPool(), flagSolverChanged);
+		final List<MagicCard> listHand = player.getZoneHand().getAll();
+		for (final MagicCard magicCard : listHand) {
+			Boolean flagInteractable = cache.getHand(magicCard);
+			if (flagInteractable == null) {
+				flagInteractable = checkCanPlayLand(player, magicCard) || checkCanCast(player, magicCard, manaSolver);
+				cache.putHand(magicCard, flagInteractable);
+			}
+			magicCard.setFlagInteractable(flagInteractable);
 
 			if (flagInteractable) {
 				interactionCount++;
 			}
 		}
 
+		cache.prune(listHand, listBattlefield);
 		player.setInteractionCount(interactionCount);
 	}
 
@@ -378,6 +566,7 @@ public class RuleEnforcer {
 	 */
 	public void i_discard(IsPlayer player, MagicCard magicCard) {
 		LOGGER.debug("{} i_discard({}, {})", this, player, magicCard);
+		record(PlayerActionType.DISCARD, player, magicCard);
 		player.removeCard(magicCard, ZoneType.HAND);
 		player.addCard(magicCard, ZoneType.GRAVEYARD);
 
@@ -416,6 +605,7 @@ public class RuleEnforcer {
 	 */
 	public void i_passPriority(IsPlayer player) {
 		LOGGER.debug("{} i_passPriority({})", this, player);
+		record(PlayerActionType.PASS_PRIORITY, player, null);
 		match.resetPlayerState(player);
 		player.setFlagPassedPriority(true);
 	}
@@ -428,6 +618,7 @@ public class RuleEnforcer {
 	 */
 	public void i_playLand(IsPlayer player, MagicCard magicCard) {
 		LOGGER.debug("{} i_playLand({}, {})", this, player, magicCard);
+		record(PlayerActionType.PLAY_LAND, player, magicCard);
 		player.setPlayerState(PlayerState.TAKING_SPECIAL_ACTION);
 
 		// Bewege Karten
@@ -440,6 +631,24 @@ public class RuleEnforcer {
 		player.setFlagNeedInput(true, "i_playLand()");
 	}
 
+	/**
+	 * Setzt das Protokoll, in das ab jetzt alle Spieleraktionen und
+	 * rundenbedingten Aktionen geschrieben werden. Muss vor dem ersten Update des
+	 * Matches aufgerufen werden, solange alle Karten noch in den Bibliotheken
+	 * liegen.
+	 *
+	 * @param journal
+	 *            das Protokoll oder null.
+	 */
+	public void setJournal(MatchJournal journal) {
+		this.journal = journal;
+		mapCardReferences.clear();
+		if (journal != null) {
+			indexCardReferences(match.getPlayerOne(), 1);
+			indexCardReferences(match.getPlayerTwo(), 2);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return match.toString();
@@ -463,25 +672,19 @@ public class RuleEnforcer {
 			 * Umweg über den Stack.
 			 **/
 
-			activatedAbility.getListEffects().forEach(effect -> {
-				examineEffectProduceMana((EffectProduceMana) effect);
-			});
-
-			// Zusätzliche Kosten werden bezahlt.
-			switch (activatedAbility.getAdditionalCostType()) {
-			case NO_ADDITIONAL_COST:
-				break;
-			case TAP:
-				((MagicPermanent) activatedAbility.getSource()).setFlagTapped(true);
-				break;
-			}
+			actionProduceMana(activatedAbility);
 
 			// Prüfe, ob Kosten bezahlt wurden
 			final boolean isPaid = checkIsPaid(player);
 			if (player.isPaying() && isPaid) {
 				// Spieler hat alles bezahlt
 
+				/**
+				 * actionPaymentStop() setzt Status und flag selbst. Ein Zurücksetzen auf
+				 * PAYING würde den abgeschlossenen Bezahlvorgang erneut öffnen.
+				 */
 				actionPaymentStop(player);
+				return;
 			}
 		} else {
 			// Andere aktivierbare Fähigkeit
@@ -517,6 +720,15 @@ public class RuleEnforcer {
 	 *
 	 * @param player der Spieler.
 	 */
+	private void actionDeclareBlockTarget(IsPlayer player, MagicPermanent blockTarget) {
+		player.setPlayerState(PlayerState.DEFENDING);
+
+		List<Attack> listAttacks = match.getListAttacks();
+		match.declareBlocker(listAttacks.indexOf(match.getAttackByCombatant(blockTarget)), getTemporaryBlocker());
+
+		player.setFlagNeedInput(true, "i_declareBlockTarget()");
+	}
+
 	private void actionDiscardAll(IsPlayer player) {
 		LOGGER.debug("{} actionDiscardAll({})", this, player);
 		final List<MagicCard> cardList = player.getZoneHand().getAll();
@@ -533,7 +745,7 @@ public class RuleEnforcer {
 	private void actionDiscardRandom(IsPlayer player) {
 		LOGGER.debug("{} actionDiscardRandom({})", this, player);
 		final List<MagicCard> zoneHand = player.getZoneHand().getAll();
-		i_discard(player, zoneHand.get(new Random().nextInt(zoneHand.size())));
+		i_discard(player, zoneHand.get(match.getRandom().nextInt(zoneHand.size())));
 		match.incrementActionCount();
 	}
 
@@ -606,6 +818,31 @@ public class RuleEnforcer {
 		match.incrementActionCount();
 	}
 
+	/**
+	 * Führt eine Manafähigkeit ohne den Umweg über den Stack aus: Das Mana wird
+	 * sofort erzeugt und die zusätzlichen Kosten werden bezahlt.
+	 *
+	 * @param activatedAbility die Manafähigkeit.
+	 */
+	private void actionProduceMana(ActivatedAbility activatedAbility) {
+		activatedAbility.getListEffects().forEach(effect -> {
+			examineEffectProduceMana((EffectProduceMana) effect);
+		});
+
+		// Zusätzliche Kosten werden bezahlt.
+		switch (activatedAbility.getAdditionalCostType()) {
+		case NO_ADDITIONAL_COST:
+			break;
+		case TAP:
+			final MagicPermanent magicPermanent = (MagicPermanent) activatedAbility.getSource();
+			magicPermanent.setFlagTapped(true);
+			if (castingUndo != null) {
+				castingUndo.addTapped(magicPermanent);
+			}
+			break;
+		}
+	}
+
 	/**
 	 * Setzt den Spielerstatus zurück auf CASTING_SPELL. Setzt die Werte zum
 	 * Bezahlvorgang im Spieler zurück. Schließt zuletzt die Spielerhandlung ab.
@@ -618,6 +855,7 @@ public class RuleEnforcer {
 		// Setze Kostenziele etc. zurück.
 		player.setManaCostAlreadyPaid(new ManaMapDefault());
 		player.setManaCostGoal(new ManaMapDefault());
+		castingUndo = null;
 
 		// Aktiviere ProgressButton
 		getEventBus().post(new GameStatusChange(this, "Pass", false));
@@ -716,9 +954,10 @@ public class RuleEnforcer {
 	 * @see http://magiccards.info/rule/601-casting-spells.html
 	 * @param player    der Spieler.
 	 * @param magicCard der Zauberspruch.
+	 * @param manaSolver der Löser mit den Manaquellen des Spielers.
 	 * @return true, wenn alle Voraussetzungen erfüllt sind.
 	 */
-	private boolean checkCanCast(IsPlayer player, MagicCard magicCard) {
+	private boolean checkCanCast(IsPlayer player, MagicCard magicCard, ManaSolver manaSolver) {
 		if (!magicCard.isSpell() && !magicCard.isPermanentSpell()) {
 			// Karte ist kein Zaberspruch.
 			return false;
@@ -728,38 +967,23 @@ public class RuleEnforcer {
 		final boolean isMain = match.getCurrentPhase().isMain();
 		final boolean isStackEmpty = match.getZoneStack().isEmpty();
 
-		// Prüfe, ob das Potenzial besteht, eine Kostendarstellung zu bezahlen.
-		IsManaMap potential = new ManaMapDefault();
-		for (final MagicPermanent magicPermanent : match.getZoneBattlefield().getAll(match.getPlayerActive())) {
-			if (magicPermanent.isManaSource() && magicPermanent.checkCanActivate()) {
-				for (Effect effect : magicPermanent.getManaAbility().getListEffects()) {
-					if (effect.getEffectType().equals(EffectType.PRODUCE_MANA)) {
-						potential.addAll(((EffectProduceMana) effect).getProduceMap());
-					}
-				}
-			}
-		}
-
-		// Prüfe, ob eine Kostendarstellung der Karte bezahlt werden kann.
-		final IsManaMap availableMana = player.getManaPool();
+		/**
+		 * Prüfe, ob eine Kostendarstellung der Karte aus Manapool und Manaquellen
+		 * gemeinsam bezahlt werden kann. Die Lösung wird erst gesucht, wenn alle
+		 * anderen Voraussetzungen erfüllt sind.
+		 */
 		boolean canPay = false;
-		boolean hasPotential = false;
-		for (final IsManaMap costMap : magicCard.getListCostMaps()) {
-			if (costMap.isEmpty()) {
-				// CostMap ist leer, kann bezahlen, verlasse Prüfung
-				canPay = true;
-				break;
-			} else {
-				canPay = availableMana.contains(costMap) ? true : false;
-				hasPotential = potential.contains(costMap) ? true : false;
-				if (canPay || hasPotential) {
+		if (isActivePlayer && isMain && isStackEmpty) {
+			for (final IsManaMap costMap : magicCard.getListCostMaps()) {
+				if (costMap.isEmpty() || manaSolver.canPay(player.getManaPool(), costMap)) {
 					// Kann bezahlen, verlasse Prüfung.
+					canPay = true;
 					break;
 				}
 			}
 		}
 
-		final boolean result = isActivePlayer && isMain && isStackEmpty && (canPay || hasPotential);
+		final boolean result = isActivePlayer && isMain && isStackEmpty && canPay;
 		LOGGER.trace("{} checkCanCast({}, {}) = {}", this, player, magicCard, result);
 		return result;
 	}
@@ -772,7 +996,7 @@ public class RuleEnforcer {
 	 * @return true, wenn eine Anzahl Karten in Höhe howMany abgelegt werden kann.
 	 */
 	private boolean checkCanDiscard(IsPlayer player, int howMany) {
-		final boolean result = player.propertyHandSize().get() >= howMany;
+		final boolean result = player.getHandSize() >= howMany;
 		LOGGER.trace("{} checkCanDiscard({}, {}) = {}", this, player, howMany, result);
 		return result;
 	}
@@ -815,89 +1039,101 @@ public class RuleEnforcer {
 	}
 
 	/**
-	 * Prüft, ob ein Spieler seine aktuellen Bezahlziele vollständig erreicht hat.
-	 * Eventuell vorhandenes Mana im Manapool wird dabei verbracht.
-	 *
-	 * @param player ein Spieler.
-	 * @return true, wenn der Spieler seine Bezahlziele erreicht hat.
+	 * Prüft, ob eine bleibende Karte eine nutzbare Manaquelle des Spielers ist:
+	 * Er kontrolliert sie, sie hat eine Manafähigkeit und ist ungetappt.
 	 */
-	private boolean checkIsPaid(IsPlayer player) {
-		final IsManaMap manaCostAlreadyPaid = player.getManaCostAlreadyPaid();
-		final IsManaMap manaCostGoal = player.getManaCostGoal();
-		final IsManaMap manaPool = player.getManaPool();
-
-		if (manaCostGoal.getTotalMana() <= 0) {
-			// Bezahlziel ist 0, Aktion kostet nichts.
-
-			return true;
-		}
+	private boolean checkIsManaSource(IsPlayer player, MagicPermanent magicPermanent) {
+		return player.equals(magicPermanent.getPlayerControlling()) && magicPermanent.isManaSource()
+				&& magicPermanent.checkCanActivate();
+	}
 
-		final ColorType clm = ColorType.NONE;
+	private boolean checkMustDiscard(IsPlayer player) {
+		final boolean result = player.getZoneHand().getSize() > Constants.HAND_SIZE;
+		LOGGER.trace("{} checkMustDiscard({}) = {}", this, player, result);
+		return result;
+	}
 
-		// Bezahle farbloses mit farblosem Mana
-		int need = manaCostGoal.get(clm);
-		int have = manaPool.get(clm);
-		int value = have > need ? need : have;
-		if (have > 0) {
-			manaCostAlreadyPaid.add(clm, value);
-			player.removeMana(clm, value);
-		}
+	private EventBus getEventBus() {
+		return eventBus;
+	}
 
-		// Bezahle farbiges mit farbigem Mana
-		for (final ColorType key : manaCostGoal.getKeySet()) {
-			if (key.isTrueColor()) {
-				need = manaCostGoal.get(key);
-				have = manaPool.get(key);
-				value = have > need ? need : have;
-				manaCostAlreadyPaid.add(key, value);
-				player.removeMana(key, value);
-			}
+	/**
+	 * Vergibt die Protokollreferenzen für die Karten eines Spielers. Karten-Ids
+	 * hängen davon ab, wann und in welchem Thread ein Deck eingelesen wurde.
+	 * Innerhalb eines Decks steigen sie aber in der Reihenfolge der Deckdatei.
+	 * Die Referenz besteht daher aus dem Besitzer und dem Rang der Id unter den
+	 * Karten des Besitzers.
+	 */
+	private void indexCardReferences(IsPlayer player, int playerIndex) {
+		final List<Integer> listIds = new ArrayList<>();
+		player.getZoneLibrary().getAll().forEach(magicCard -> listIds.add(magicCard.getId()));
+		player.getZoneHand().getAll().forEach(magicCard -> listIds.add(magicCard.getId()));
+		player.getZoneGraveyard().getAll().forEach(magicCard -> listIds.add(magicCard.getId()));
+		listIds.sort(null);
+		for (int i = 0; i < listIds.size(); i++) {
+			mapCardReferences.put(listIds.get(i), (playerIndex << 16) | i);
 		}
+	}
 
-		// Bezahle fabloses mit farbigem Mana
-		need = manaCostGoal.get(clm) - manaCostAlreadyPaid.get(clm);
-		if (need > 0) {
-			final int manaLeft = manaPool.getTotalColoredMana();
-			if (need >= manaLeft) {
-				manaCostAlreadyPaid.add(clm, manaLeft);
-				player.removeManaAll();
-			} else {
-				final IsManaMap remove = new ManaMapDefault();
-				for (final ColorType color : manaPool.getTrueColorKeySet()) {
-					for (int i = 0; i < manaPool.get(color); i++) {
-						if (need <= 0) {
-							break;
-						}
-						manaCostAlreadyPaid.add(clm, 1);
-						remove.add(color, 1);
-						need--;
-					}
-				}
-				for (final ColorType key : remove.getKeySet()) {
-					player.removeMana(key, remove.get(key));
-				}
+	private List<MagicPermanent> listManaSources(IsPlayer player) {
+		final List<MagicPermanent> result = new ArrayList<>();
+		for (final MagicPermanent magicPermanent : match.getZoneBattlefield().getAll()) {
+			if (checkIsManaSource(player, magicPermanent)) {
+				result.add(magicPermanent);
 			}
 		}
-
-		final boolean result = manaCostGoal.equals(manaCostAlreadyPaid);
-		LOGGER.trace("{} checkIsPaid({}) = {}", this, player, result);
 		return result;
 	}
 
-	private boolean checkMustDiscard(IsPlayer player) {
-		final boolean result = player.getZoneHand().getSize() > Constants.HAND_SIZE;
-		LOGGER.trace("{} checkMustDiscard({}) = {}", this, player, result);
-		return result;
+	private int playerIndexOf(IsPlayer player) {
+		return player.equals(match.getPlayerOne()) ? 1 : 2;
 	}
 
-	private EventBus getEventBus() {
-		return eventBus;
+	/**
+	 * Schreibt eine Spieleraktion in das Protokoll, sofern eines gesetzt ist.
+	 */
+	private void record(PlayerActionType playerActionType, IsPlayer player, MagicCard magicCard) {
+		record(playerActionType, player, magicCard, 0);
+	}
+
+	/**
+	 * Schreibt eine Spieleraktion samt Index der aktivierten Fähigkeit in das
+	 * Protokoll, sofern eines gesetzt ist.
+	 */
+	private void record(PlayerActionType playerActionType, IsPlayer player, MagicCard magicCard,
+			int abilityIndex) {
+		if (journal == null) {
+			return;
+		}
+		final Integer cardReference = magicCard != null ? mapCardReferences.get(magicCard.getId()) : null;
+		journal.recordPlayerAction(playerActionType, playerIndexOf(player), match.getCurrentTurn().getTurnNumber(),
+				cardReference != null ? cardReference : MatchJournal.NO_CARD, abilityIndex);
 	}
 
 	private void setTemporaryBlocker(MagicPermanent temporaryBlocker) {
 		this.temporaryBlocker = temporaryBlocker;
 	}
 
+	/**
+	 * Sucht die Manafähigkeiten, mit denen die offenen Kosten des Bezahlvorgangs
+	 * bezahlt werden. Verwendet den ManaSolver aus dem InteractionCache des
+	 * Spielers, damit dessen Zwischenspeicher geteilt wird. Das Setzen der Quellen
+	 * verfälscht den Handkontext nicht: Die Quellen entsprechen denen der letzten
+	 * Ableitung, und jede Bezahlung tappt mindestens eine davon.
+	 *
+	 * @param player der Spieler.
+	 * @return die Fähigkeiten oder null, wenn der Spieler nicht bezahlt oder nicht
+	 *         bezahlen kann.
+	 */
+	private List<ActivatedAbility> solvePayment(IsPlayer player) {
+		if (!player.isPaying()) {
+			return null;
+		}
+		manaSolverPayment.setSources(listManaSources(player));
+		final IsManaMap cost = player.getManaCostAlreadyPaid().getDifference(player.getManaCostGoal());
+		return manaSolverPayment.solve(player.getManaPool(), cost);
+	}
+
 	/**
 	 * Wird durch eine TurnBasedAction aufgerufen: Räumt das Spielfeld auf.
 	 */
@@ -966,7 +1202,7 @@ public class RuleEnforcer {
 		}
 
 		// Hier wird die nächste TBA abgefeuert.
-		currentStep.fireCombatDamageDealing();
+		examineTurnBasedAction(new TurnBasedAction(currentStep, TurnBasedActionType.COMBAT_DAMAGE_DEALING));
 	}
 
 	private void tb_combatDamageDealing() {
@@ -980,8 +1216,10 @@ public class RuleEnforcer {
 			}
 		}
 
+		// Schaden an Spielern wird sofort in Lebensverlust umgewandelt.
 		for (final IsAttackTarget attackTarget : match.getListAttackTargets()) {
 			attackTarget.substractLife(attackTarget.getDamage());
+			attackTarget.resetDamage();
 		}
 	}
 
@@ -1023,8 +1261,15 @@ public class RuleEnforcer {
 		LOGGER.trace("{} tb_damageAssignmentAttackerStop({})", this, player);
 		player.setPlayerState(PlayerState.ATTACKING);
 
-		// Hier wird die nächste TBA abgefeuert.
-		currentStep.fireDeclareDamageAssignmentBlocker();
+		/**
+		 * Hier wird die nächste TBA abgefeuert. Hierbei handelt es sich um einen
+		 * Sonderfall. Mehrere TurnBasedActions werden nacheinander abgefeuert, jedoch
+		 * sind die späteren abhängig von Spielerinput der in den ersten TBAs eingeholt
+		 * wird. Um eine sequenzielle Abarbeitung zu gewährleisten muss der Aufruf in
+		 * diesem Fall an einen Ort verlegt werden.
+		 */
+		examineTurnBasedAction(
+				new TurnBasedAction(currentStep, TurnBasedActionType.DECLARE_DAMAGE_ASSIGNMENT_ORDER_BLOCKER));
 	}
 
 	/**
@@ -1054,7 +1299,7 @@ public class RuleEnforcer {
 		playerNonactive.setPlayerState(PlayerState.DEFENDING);
 
 		// Hier wird die nächste TBA abgefeuert.
-		currentStep.fireCombatDamageAssignment();
+		examineTurnBasedAction(new TurnBasedAction(currentStep, TurnBasedActionType.COMBAT_DAMAGE_ASSIGNMENT));
 	}
 
 	/**
@@ -1107,7 +1352,7 @@ public class RuleEnforcer {
 			playerActive.removeCard(magicCard, ZoneType.LIBRARY);
 			playerActive.addCard(magicCard, ZoneType.HAND);
 		} else {
-			addStateBasedAction(new StateBasedAction(this, StateBasedActionType.PLAYER_CANT_DRAW));
+			addStateBasedAction(new StateBasedAction(playerActive, StateBasedActionType.PLAYER_CANT_DRAW));
 		}
 	}
 
@@ -1132,6 +1377,103 @@ public class RuleEnforcer {
 		}
 	}
 
+	/**
+	 * Prüft, ob ein Spieler seine aktuellen Bezahlziele vollständig erreicht hat.
+	 * Eventuell vorhandenes Mana im Manapool wird dabei verbracht.
+	 *
+	 * @param player ein Spieler.
+	 * @return true, wenn der Spieler seine Bezahlziele erreicht hat.
+	 */
+	boolean checkIsPaid(IsPlayer player) {
+		final IsManaMap manaCostAlreadyPaid = player.getManaCostAlreadyPaid();
+		final IsManaMap manaCostGoal = player.getManaCostGoal();
+		final IsManaMap manaPool = player.getManaPool();
+
+		if (manaCostGoal.getTotalMana() <= 0) {
+			// Bezahlziel ist 0, Aktion kostet nichts.
+
+			return true;
+		}
+
+		final ColorType clm = ColorType.NONE;
+
+		// Bezahle farbloses mit farblosem Mana
+		int need = manaCostGoal.get(clm) - manaCostAlreadyPaid.get(clm);
+		int have = manaPool.get(clm);
+		int value = have > need ? need : have;
+		if (value > 0) {
+			manaCostAlreadyPaid.add(clm, value);
+			player.removeMana(clm, value);
+		}
+
+		// Bezahle farbiges mit farbigem Mana
+		for (final ColorType key : manaCostGoal.getKeySet()) {
+			if (key.isTrueColor()) {
+				need = manaCostGoal.get(key) - manaCostAlreadyPaid.get(key);
+				have = manaPool.get(key);
+				value = have > need ? need : have;
+				if (value > 0) {
+					manaCostAlreadyPaid.add(key, value);
+					player.removeMana(key, value);
+				}
+			}
+		}
+
+		// Bezahle fabloses mit farbigem Mana
+		need = manaCostGoal.get(clm) - manaCostAlreadyPaid.get(clm);
+		if (need > 0) {
+			final int manaLeft = manaPool.getTotalColoredMana();
+			if (need >= manaLeft) {
+				manaCostAlreadyPaid.add(clm, manaLeft);
+				player.removeManaAll();
+			} else {
+				final IsManaMap remove = new ManaMapArray();
+				for (final ColorType color : manaPool.getTrueColorKeySet()) {
+					for (int i = 0; i < manaPool.get(color); i++) {
+						if (need <= 0) {
+							break;
+						}
+						manaCostAlreadyPaid.add(clm, 1);
+						remove.add(color, 1);
+						need--;
+					}
+				}
+				for (final ColorType key : remove.getKeySet()) {
+					player.removeMana(key, remove.get(key));
+				}
+			}
+		}
+
+		final boolean result = manaCostGoal.equals(manaCostAlreadyPaid);
+		LOGGER.trace("{} checkIsPaid({}) = {}", this, player, result);
+		return result;
+	}
+
+	/**
+	 * Sucht die Karte mit der angegebenen Protokollreferenz auf dem Spielfeld und
+	 * in den Händen beider Spieler, den Zonen, aus denen Spieleraktionen ihre
+	 * Karten wählen. Setzt ein Protokoll voraus.
+	 *
+	 * @param cardReference die Protokollreferenz.
+	 * @return die Karte oder null, wenn sie in keiner der Zonen liegt.
+	 */
+	MagicCard findCard(int cardReference) {
+		final List<MagicCard> listCards = new ArrayList<>(match.getZoneBattlefield().getAll());
+		listCards.addAll(match.getPlayerOne().getZoneHand().getAll());
+		listCards.addAll(match.getPlayerTwo().getZoneHand().getAll());
+		for (final MagicCard magicCard : listCards) {
+			final Integer reference = mapCardReferences.get(magicCard.getId());
+			if (reference != null && reference == cardReference) {
+				return magicCard;
+			}
+		}
+		return null;
+	}
+
+	CastingUndo getCastingUndo() {
+		return castingUndo;
+	}
+
 	/**
 	 * Durchläuft den Stack und ruft für jedes Element resolve(stackable) auf. Der
 	 * Stack wird durchlaufen, jedes mal wenn beide Spieler die Priorität abgegeben
@@ -1161,23 +1503,43 @@ public class RuleEnforcer {
 	 */
 	void processStateBasedActions() {
 		LOGGER.trace("{} processStateBasedActions()", this);
-		for (final StateBasedAction stateBasedAction : propertySetStateBasedActions) {
+		for (final StateBasedAction stateBasedAction : setStateBasedActions) {
 			switch (stateBasedAction.getStateBasedActionType()) {
 			case CREATURE_TOUGHNESS_ZERO:
 				final SBACreatureToughnessZero sbactz = (SBACreatureToughnessZero) stateBasedAction;
 				actionBury(sbactz.getPlayerControlling(), (MagicPermanent) stateBasedAction.getSource());
 				break;
 			case PLAYER_CANT_DRAW:
-				match.setFlagIsMatchRunning(false);
+				match.setPlayerLost((IsPlayer) stateBasedAction.getSource());
 				break;
 			case PLAYER_LIFE_ZERO:
-				match.setFlagIsMatchRunning(false);
+				match.setPlayerLost((IsPlayer) stateBasedAction.getSource());
 				break;
 			default:
 				break;
 			}
 		}
-		propertySetStateBasedActions.clear();
+		setStateBasedActions.clear();
+	}
+
+	/**
+	 * Stellt den Zustand aus einem MatchSnapshot wieder her.
+	 *
+	 * @param setStateBasedActions die noch nicht verarbeiteten
+	 *                             StateBasedActions.
+	 * @param temporaryBlocker     der temporär gewählte Blocker.
+	 * @param castingUndo          was beim Abbrechen des Zauberspruchs
+	 *                             zurückgesetzt wird, der gerade bezahlt wird,
+	 *                             oder null.
+	 */
+	void restore(Set<StateBasedAction> setStateBasedActions, MagicPermanent temporaryBlocker,
+			CastingUndo castingUndo) {
+		LOGGER.trace("{} restore({}, {})", this, setStateBasedActions, temporaryBlocker);
+		this.setStateBasedActions.clear();
+		this.setStateBasedActions.addAll(setStateBasedActions);
+		this.castingUndo = castingUndo;
+		playerDerived = null;
+		setTemporaryBlocker(temporaryBlocker);
 	}
 
 	void setMatch(Match match) {
@@ -4,10 +4,11 @@ import java.util.Set;
 
 import de.mca.model.enums.StepType;
 import de.mca.model.enums.TurnBasedActionType;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 
 /**
+ * Bildet einen Spielschritt der Rundenvorlage ab. Ein Spielschritt ist
+ * unveränderlich und wird von allen Runden geteilt, sein Zustand in der
+ * laufenden Runde (läuft, übersprungen, wiederholt) wird im Turn gehalten.
  *
  * @author Maximilian Werling
  *
@@ -20,21 +21,10 @@ public class Step {
 	 */
 	private final TurnBasedActionType endTBA;
 	/**
-	 * Zeigt an, ob der Spielschritt wiederholt wird.
+	 * Speichert die Position des Spielschritts in der Rundenvorlage über alle
+	 * Phasen hinweg. Dient als Bit-Index für den Zustand im Turn.
 	 */
-	private final BooleanProperty propertyFlagStepRepeated;
-	/**
-	 * Zeigt an, ob der Schritt gerade läuft.
-	 */
-	private final BooleanProperty propertyFlagStepRunning;
-	/**
-	 * Zeigt an, ob der Spielschritt übersprungen wird.
-	 */
-	private final BooleanProperty propertyFlagStepSkipped;
-	/**
-	 * Speichert den RuleEnforcer.
-	 */
-	private final RuleEnforcer ruleEnforcer;
+	private final int index;
 	/**
 	 * Speichert die rundenbasiertes Aktionen, die zu Beginn des Spielschrittes
 	 * gefeuert werden.
@@ -45,45 +35,11 @@ public class Step {
 	 */
 	private final StepType stepType;
 
-	Step(RuleEnforcer ruleEnforcer, StepType stepType, Set<TurnBasedActionType> setStartTBAs) {
-		this.ruleEnforcer = ruleEnforcer;
+	Step(int index, StepType stepType, Set<TurnBasedActionType> setStartTBAs) {
+		this.index = index;
 		this.stepType = stepType;
 		this.setStartTBAs = setStartTBAs;
 		endTBA = TurnBasedActionType.CLEAR_MANA_POOLS;
-		propertyFlagStepSkipped = new SimpleBooleanProperty(false);
-		propertyFlagStepRepeated = new SimpleBooleanProperty(false);
-		propertyFlagStepRunning = new SimpleBooleanProperty(false);
-	}
-
-	public void fireCombatDamageAssignment() {
-		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, TurnBasedActionType.COMBAT_DAMAGE_ASSIGNMENT));
-	}
-
-	public void fireCombatDamageDealing() {
-		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, TurnBasedActionType.COMBAT_DAMAGE_DEALING));
-	}
-
-	public void fireDeclareDamageAssignmentBlocker() {
-		/**
-		 * Hierbei handelt es sich um einen Sonderfall. Mehrere TurnBasedActions werden
-		 * nacheinander abgefeuert, jedoch sind die späteren abhängig von Spielerinput
-		 * der in den ersten TBAs eingeholt wird. Um eine sequenzielle Abarbeitung zu
-		 * gewährleisten muss der Aufruf in diesem Fall an einen Ort verlegt werden.
-		 */
-		ruleEnforcer.examineTurnBasedAction(
-				new TurnBasedAction(this, TurnBasedActionType.DECLARE_DAMAGE_ASSIGNMENT_ORDER_BLOCKER));
-	}
-
-	public boolean getFlagStepRepeated() {
-		return propertyFlagStepRepeated.get();
-	}
-
-	public boolean getFlagStepRunning() {
-		return propertyFlagStepRunning.get();
-	}
-
-	public boolean getFlagStepSkipped() {
-		return propertyFlagStepSkipped.get();
 	}
 
 	public StepType getStepType() {
@@ -95,42 +51,24 @@ public class Step {
 		return stepType.toString();
 	}
 
-	private void fireEndTBA() {
-		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, endTBA));
-	}
-
-	private void fireStartTBAs() {
-		setStartTBAs.forEach(tbat -> ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, tbat)));
-	}
-
-	private void setFlagStepRunning(boolean flagRunning) {
-		propertyFlagStepRunning.set(flagRunning);
-	}
-
-	void begin() {
-		setFlagStepRunning(true);
-		fireStartTBAs();
+	boolean equals(StepType stepType) {
+		return this.stepType.equals(stepType);
 	}
 
-	void end() {
-		setFlagStepRunning(false);
-		fireEndTBA();
+	void fireEndTBA(RuleEnforcer ruleEnforcer) {
+		ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, endTBA));
 	}
 
-	boolean equals(StepType stepType) {
-		return this.stepType.equals(stepType);
+	void fireStartTBAs(RuleEnforcer ruleEnforcer) {
+		setStartTBAs.forEach(tbat -> ruleEnforcer.examineTurnBasedAction(new TurnBasedAction(this, tbat)));
 	}
 
 	boolean getFlagPlayersGetPriority() {
 		return stepType.playersGetPriority();
 	}
 
-	void setFlagRepeated(boolean flagRepeated) {
-		this.propertyFlagStepRepeated.set(flagRepeated);
-	}
-
-	void setFlagSkipped(boolean flagSkipped) {
-		this.propertyFlagStepSkipped.set(flagSkipped);
+	int getIndex() {
+		return index;
 	}
 
 }
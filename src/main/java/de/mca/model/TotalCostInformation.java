@@ -40,7 +40,9 @@ public class TotalCostInformation {
 	}
 
 	public IsManaMap getTotalCost() {
-		IsManaMap totalCost = initialCost;
+		// Die Ausgangskosten werden mit der Kartenvorlage geteilt und daher kopiert.
+		final IsManaMap totalCost = new ManaMapArray();
+		totalCost.addAll(initialCost);
 		for (IsManaMap costIncrease : costIncreases) {
 			for (ColorType color : costIncrease.getKeySet()) {
 				totalCost.add(color, costIncrease.get(color));
@@ -1,25 +1,22 @@
 package de.mca.model;
 
-import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.ListIterator;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
 import de.mca.model.enums.PhaseType;
 import de.mca.model.enums.StepType;
 import de.mca.model.enums.TurnBasedActionType;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleListProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.FXCollections;
 
 /**
+ * Bildet eine Runde ab. Die Abfolge der Phasen und Spielschritte ist als
+ * unveränderliche Vorlage einmalig definiert und wird von allen Runden geteilt.
+ * Eine Runde hält nur den Cursor in diese Vorlage (Index der aktuellen und der
+ * nächsten Phase bzw. des aktuellen und des nächsten Spielschritts) sowie die
+ * Zustände von Phasen und Spielschritten als Bits, indiziert über
+ * Phase.getIndex() bzw. Step.getIndex().
  *
  * @author Maximilian Werling
  *
@@ -27,186 +24,302 @@ import javafx.collections.FXCollections;
 public class Turn {
 
 	/**
-	 * Speichert den Iterator, der die Phasen durchläuft.
+	 * Speichert die Phasen einer Runde samt ihrer Spielschritte.
 	 */
-	private final ListIterator<Phase> iteratorPhases;
+	private static final List<Phase> LIST_PHASES = createListPhases();
+
+	private static List<Phase> createListPhases() {
+		final Step untap = new Step(0, StepType.UNTAP_STEP, Sets.immutableEnumSet(TurnBasedActionType.UNTAP));
+		final Step upkeep = new Step(1, StepType.UPKEEP_STEP,
+				Sets.immutableEnumSet(EnumSet.noneOf(TurnBasedActionType.class)));
+		final Step draw = new Step(2, StepType.DRAW_STEP, Sets.immutableEnumSet(TurnBasedActionType.DRAW));
+		final Phase beginning = new Phase(0, PhaseType.BEGINNING_PHASE, ImmutableList.of(untap, upkeep, draw));
+
+		final Phase precombatMain = new Phase(1, PhaseType.PRECOMBAT_MAIN_PHASE, ImmutableList
+				.of(new Step(3, StepType.NONE, Sets.immutableEnumSet(EnumSet.noneOf(TurnBasedActionType.class)))));
+
+		final Step beginningOfCombat = new Step(4, StepType.BEGINNING_OF_COMBAT_STEP,
+				Sets.immutableEnumSet(TurnBasedActionType.BEGINNING_OF_COMBAT_STEP));
+		final Step declareAttackers = new Step(5, StepType.DECLARE_ATTACKERS,
+				Sets.immutableEnumSet(TurnBasedActionType.DECLARE_ATTACKER));
+		final Step declareBlockers = new Step(6, StepType.DECLARE_BLOCKERS,
+				Sets.immutableEnumSet(TurnBasedActionType.DECLARE_BLOCKER));
+		final Step combatDamage = new Step(7, StepType.COMBAT_DAMAGE_STEP,
+				Sets.immutableEnumSet(TurnBasedActionType.DECLARE_DAMAGE_ASSIGNMENT_ORDER_ATTACKER));
+		final Step endOfCombat = new Step(8, StepType.END_OF_COMBAT,
+				Sets.immutableEnumSet(TurnBasedActionType.END_OF_COMBAT));
+		final Phase combat = new Phase(2, PhaseType.COMBAT_PHASE,
+				ImmutableList.of(beginningOfCombat, declareAttackers, declareBlockers, combatDamage, endOfCombat));
+
+		final Phase postcombatMain = new Phase(3, PhaseType.POSTCOMBAT_MAIN_PHASE, ImmutableList
+				.of(new Step(9, StepType.NONE, Sets.immutableEnumSet(EnumSet.noneOf(TurnBasedActionType.class)))));
+
+		final Step end = new Step(10, StepType.END_STEP,
+				Sets.immutableEnumSet(EnumSet.noneOf(TurnBasedActionType.class)));
+		final Step cleanup = new Step(11, StepType.CLEANUP_STEP,
+				Sets.immutableEnumSet(TurnBasedActionType.DISCARD, TurnBasedActionType.CLEANUP));
+		final Phase ending = new Phase(4, PhaseType.ENDING_PHASE, ImmutableList.of(end, cleanup));
+
+		return ImmutableList.of(beginning, precombatMain, combat, postcombatMain, ending);
+	}
+
+	/**
+	 * Zeigt je Phase an, ob sie wiederholt wird.
+	 */
+	private int bitsPhaseRepeated;
 	/**
-	 * Speichert die verschiedenen Spielphasen.
+	 * Zeigt je Phase an, ob sie übersprungen wird.
 	 */
-	private final List<Phase> listPhases;
+	private int bitsPhaseSkipped;
 	/**
-	 * Speichert die aktuelle Spielphase.
+	 * Zeigt je Spielschritt an, ob er wiederholt wird.
 	 */
-	private final ObjectProperty<Phase> propertyCurrentPhase;
+	private int bitsStepRepeated;
+	/**
+	 * Zeigt je Spielschritt an, ob er übersprungen wird.
+	 */
+	private int bitsStepSkipped;
+	/**
+	 * Zeigt an, ob die aktuelle Phase gerade läuft.
+	 */
+	private boolean flagPhaseRunning;
+	/**
+	 * Zeigt an, ob der aktuelle Spielschritt gerade läuft.
+	 */
+	private boolean flagStepRunning;
 	/**
 	 * Zeigt an, ob die Runde gerade läuft.
 	 */
-	private final BooleanProperty propertyFlagTurnRunning;
+	private boolean flagTurnRunning;
 	/**
 	 * Zeigt an, ob die nächste Runde übersprungen wird.
 	 */
-	private final BooleanProperty propertyFlagTurnSkipped;
+	private boolean flagTurnSkipped;
+	/**
+	 * Speichert den Index der nächsten Phase.
+	 */
+	private int indexNextPhase;
+	/**
+	 * Speichert den Index des nächsten Spielschritts in der aktuellen Phase.
+	 */
+	private int indexNextStep;
+	/**
+	 * Speichert den Index der aktuellen Phase.
+	 */
+	private int indexPhase;
+	/**
+	 * Speichert den Index des aktuellen Spielschritts in der aktuellen Phase.
+	 */
+	private int indexStep;
 	/**
 	 * Speichert die Rundennummer.
 	 */
-	private final IntegerProperty propertyTurnNumber;
-
-	Turn(RuleEnforcer ruleEnforcer) {
-		listPhases = new SimpleListProperty<>(FXCollections.observableArrayList(new ArrayList<>()));
-		propertyFlagTurnRunning = new SimpleBooleanProperty(false);
-		propertyFlagTurnSkipped = new SimpleBooleanProperty(false);
-		propertyTurnNumber = new SimpleIntegerProperty(0);
-
-		final Step untap = new Step(ruleEnforcer, StepType.UNTAP_STEP, EnumSet.of(TurnBasedActionType.UNTAP));
-		final Step upkeep = new Step(ruleEnforcer, StepType.UPKEEP_STEP, EnumSet.noneOf(TurnBasedActionType.class));
-		final Step draw = new Step(ruleEnforcer, StepType.DRAW_STEP, EnumSet.of(TurnBasedActionType.DRAW));
-		final Phase beginning = new Phase(ruleEnforcer, PhaseType.BEGINNING_PHASE,
-				ImmutableList.of(untap, upkeep, draw));
-
-		final Phase precombatMain = new Phase(ruleEnforcer, PhaseType.PRECOMBAT_MAIN_PHASE,
-				ImmutableList.of(new Step(ruleEnforcer, StepType.NONE, EnumSet.noneOf(TurnBasedActionType.class))));
-
-		final Step beginningOfCombat = new Step(ruleEnforcer, StepType.BEGINNING_OF_COMBAT_STEP,
-				EnumSet.of(TurnBasedActionType.BEGINNING_OF_COMBAT_STEP));
-		final Step declareAttackers = new Step(ruleEnforcer, StepType.DECLARE_ATTACKERS,
-				EnumSet.of(TurnBasedActionType.DECLARE_ATTACKER));
-		final Step declareBlockers = new Step(ruleEnforcer, StepType.DECLARE_BLOCKERS,
-				EnumSet.of(TurnBasedActionType.DECLARE_BLOCKER));
-		final Step combatDamage = new Step(ruleEnforcer, StepType.COMBAT_DAMAGE_STEP,
-				EnumSet.of(TurnBasedActionType.DECLARE_DAMAGE_ASSIGNMENT_ORDER_ATTACKER));
-		final Step endOfCombat = new Step(ruleEnforcer, StepType.END_OF_COMBAT,
-				EnumSet.of(TurnBasedActionType.END_OF_COMBAT));
-		final Phase combat = new Phase(ruleEnforcer, PhaseType.COMBAT_PHASE,
-				ImmutableList.of(beginningOfCombat, declareAttackers, declareBlockers, combatDamage, endOfCombat));
+	private int turnNumber;
 
-		final Phase postcombatMain = new Phase(ruleEnforcer, PhaseType.POSTCOMBAT_MAIN_PHASE,
-				ImmutableList.of(new Step(ruleEnforcer, StepType.NONE, EnumSet.noneOf(TurnBasedActionType.class))));
+	Turn() {
+		turnNumber = 0;
+	}
 
-		final Step end = new Step(ruleEnforcer, StepType.END_STEP, EnumSet.noneOf(TurnBasedActionType.class));
-		final Step cleanup = new Step(ruleEnforcer, StepType.CLEANUP_STEP,
-				EnumSet.of(TurnBasedActionType.DISCARD, TurnBasedActionType.CLEANUP));
-		final Phase ending = new Phase(ruleEnforcer, PhaseType.ENDING_PHASE, ImmutableList.of(end, cleanup));
+	/**
+	 * Erzeugt die auf turn folgende Runde. Übernommen werden nur die Rundennummer
+	 * und die Flags der Runde, Phasen und Spielschritte beginnen von vorn.
+	 */
+	Turn(Turn turn) {
+		flagTurnRunning = turn.getFlagTurnRunning();
+		flagTurnSkipped = turn.getFlagTurnSkipped();
+		turnNumber = turn.getTurnNumber();
+	}
 
-		listPhases.add(beginning);
-		listPhases.add(precombatMain);
-		listPhases.add(combat);
-		listPhases.add(postcombatMain);
-		listPhases.add(ending);
+	public Phase getCurrentPhase() {
+		return LIST_PHASES.get(indexPhase);
+	}
 
-		propertyCurrentPhase = new SimpleObjectProperty<>(beginning);
+	public Step getCurrentStep() {
+		return getCurrentPhase().getListSteps().get(indexStep);
+	}
 
-		iteratorPhases = listPhases.listIterator();
+	public boolean getFlagPhaseRepeated() {
+		return (bitsPhaseRepeated & (1 << indexPhase)) != 0;
 	}
 
-	Turn(Turn turn) {
-		listPhases = turn.getListPhases();
-		propertyFlagTurnRunning = turn.propertyFlagTurnRunning();
-		propertyFlagTurnSkipped = turn.propertyFlagTurnSkipped();
-		propertyTurnNumber = turn.propertyTurnNumber();
-		propertyCurrentPhase = new SimpleObjectProperty<>(listPhases.get(0));
+	public boolean getFlagPhaseRunning() {
+		return flagPhaseRunning;
+	}
 
-		iteratorPhases = listPhases.listIterator();
+	public boolean getFlagPhaseSkipped() {
+		return (bitsPhaseSkipped & (1 << indexPhase)) != 0;
 	}
 
-	public Phase getCurrentPhase() {
-		return propertyCurrentPhase().get();
+	public boolean getFlagStepRepeated() {
+		return (bitsStepRepeated & (1 << getCurrentStep().getIndex())) != 0;
+	}
+
+	public boolean getFlagStepRunning() {
+		return flagStepRunning;
+	}
+
+	public boolean getFlagStepSkipped() {
+		return (bitsStepSkipped & (1 << getCurrentStep().getIndex())) != 0;
 	}
 
 	public boolean getFlagTurnRunning() {
-		return propertyFlagTurnRunning().get();
+		return flagTurnRunning;
 	}
 
 	public boolean getFlagTurnSkipped() {
-		return propertyFlagTurnSkipped().get();
+		return flagTurnSkipped;
 	}
 
 	public List<Phase> getListPhases() {
-		return listPhases;
+		return LIST_PHASES;
 	}
 
 	public int getTurnNumber() {
-		return propertyTurnNumber().get();
+		return turnNumber;
 	}
 
 	public void skipStepDraw() {
-		for (final Phase phase : getListPhases()) {
-			if (phase.equals(PhaseType.BEGINNING_PHASE)) {
-				phase.stepSkip(StepType.DRAW_STEP);
+		stepSkip(StepType.DRAW_STEP);
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[Turn ").append(turnNumber).append(" ").append(getCurrentPhase()).append(" ")
+				.append(getCurrentStep()).append("]").toString();
+	}
+
+	/**
+	 * Markiert einen Spielschritt, sodass er übersprungen wird.
+	 *
+	 * @param stepType
+	 *            Type des Spielschitts, der übersprungen werden soll.
+	 */
+	private void stepSkip(StepType stepType) {
+		for (final Phase phase : LIST_PHASES) {
+			for (final Step step : phase.getListSteps()) {
+				if (step.equals(stepType)) {
+					bitsStepSkipped |= 1 << step.getIndex();
+				}
 			}
 		}
 	}
 
-	private void setFlagTurnRunning(boolean flagRunning) {
-		propertyFlagTurnRunning.set(flagRunning);
+	/**
+	 * Erzeugt eine Kopie des Cursors, z.B. für einen MatchSnapshot.
+	 */
+	Turn copy() {
+		final Turn result = new Turn();
+		result.restore(this);
+		return result;
 	}
 
-	boolean hasNextPhase() {
-		return iteratorPhases.hasNext();
+	/**
+	 * Prüft, ob die nächste Phase übersprungen wird. Darf nur aufgerufen werden,
+	 * wenn hasNextPhase() true liefert.
+	 */
+	boolean getFlagNextPhaseSkipped() {
+		return (bitsPhaseSkipped & (1 << indexNextPhase)) != 0;
 	}
 
-	void phaseBegin() {
-		getCurrentPhase().phaseBegin();
+	/**
+	 * Prüft, ob der nächste Spielschritt übersprungen wird. Darf nur aufgerufen
+	 * werden, wenn hasNextStep() true liefert.
+	 */
+	boolean getFlagNextStepSkipped() {
+		return (bitsStepSkipped & (1 << getCurrentPhase().getListSteps().get(indexNextStep).getIndex())) != 0;
 	}
 
-	void phaseEnd() {
-		getCurrentPhase().phaseEnd();
+	boolean hasNextPhase() {
+		return indexNextPhase < LIST_PHASES.size();
 	}
 
-	ObjectProperty<Phase> propertyCurrentPhase() {
-		return propertyCurrentPhase;
+	boolean hasNextStep() {
+		return indexNextStep < getCurrentPhase().getListSteps().size();
 	}
 
-	BooleanProperty propertyFlagTurnRunning() {
-		return propertyFlagTurnRunning;
+	void phaseBegin() {
+		flagPhaseRunning = true;
+		indexStep = 0;
+		indexNextStep = 0;
 	}
 
-	BooleanProperty propertyFlagTurnSkipped() {
-		return propertyFlagTurnSkipped;
+	void phaseEnd(RuleEnforcer ruleEnforcer) {
+		flagPhaseRunning = false;
+		if (getCurrentPhase().isMain()) {
+			getCurrentPhase().fireEndTBA(ruleEnforcer);
+		}
 	}
 
-	IntegerProperty propertyTurnNumber() {
-		return propertyTurnNumber;
+	/**
+	 * Stellt den Zustand aus einer Kopie wieder her.
+	 */
+	void restore(Turn turn) {
+		bitsPhaseRepeated = turn.bitsPhaseRepeated;
+		bitsPhaseSkipped = turn.bitsPhaseSkipped;
+		bitsStepRepeated = turn.bitsStepRepeated;
+		bitsStepSkipped = turn.bitsStepSkipped;
+		flagPhaseRunning = turn.flagPhaseRunning;
+		flagStepRunning = turn.flagStepRunning;
+		flagTurnRunning = turn.flagTurnRunning;
+		flagTurnSkipped = turn.flagTurnSkipped;
+		indexNextPhase = turn.indexNextPhase;
+		indexNextStep = turn.indexNextStep;
+		indexPhase = turn.indexPhase;
+		indexStep = turn.indexStep;
+		turnNumber = turn.turnNumber;
 	}
 
 	void setCurrentPhase() {
-		propertyCurrentPhase().set(iteratorPhases.next());
+		indexPhase = indexNextPhase++;
+		indexStep = 0;
+		indexNextStep = 0;
 	}
 
 	void setCurrentStep() {
-		getCurrentPhase().setCurrentStep();
+		indexStep = indexNextStep++;
 	}
 
-	void skipStepCombatDamage() {
-		for (final Phase phase : getListPhases()) {
-			if (phase.equals(PhaseType.COMBAT_PHASE)) {
-				phase.stepSkip(StepType.COMBAT_DAMAGE_STEP);
-			}
+	void setFlagPhaseSkipped(boolean flagSkipped) {
+		if (flagSkipped) {
+			bitsPhaseSkipped |= 1 << indexPhase;
+		} else {
+			bitsPhaseSkipped &= ~(1 << indexPhase);
 		}
 	}
 
-	void skipStepDeclareBlockers() {
-		for (final Phase phase : getListPhases()) {
-			if (phase.equals(PhaseType.COMBAT_PHASE)) {
-				phase.stepSkip(StepType.DECLARE_BLOCKERS);
-			}
+	void setFlagStepSkipped(boolean flagSkipped) {
+		if (flagSkipped) {
+			bitsStepSkipped |= 1 << getCurrentStep().getIndex();
+		} else {
+			bitsStepSkipped &= ~(1 << getCurrentStep().getIndex());
 		}
 	}
 
-	void stepBegin() {
-		getCurrentPhase().stepBegin();
+	void skipStepCombatDamage() {
+		stepSkip(StepType.COMBAT_DAMAGE_STEP);
+	}
+
+	void skipStepDeclareBlockers() {
+		stepSkip(StepType.DECLARE_BLOCKERS);
+	}
+
+	void stepBegin(RuleEnforcer ruleEnforcer) {
+		flagStepRunning = true;
+		getCurrentStep().fireStartTBAs(ruleEnforcer);
 	}
 
-	void stepEnd() {
-		getCurrentPhase().stepEnd();
+	void stepEnd(RuleEnforcer ruleEnforcer) {
+		flagStepRunning = false;
+		getCurrentStep().fireEndTBA(ruleEnforcer);
 	}
 
 	void turnBegin() {
-		setFlagTurnRunning(true);
-		propertyTurnNumber().set(getTurnNumber() + 1);
+		flagTurnRunning = true;
+		turnNumber++;
 	}
 
 	void turnEnd() {
-		setFlagTurnRunning(false);
-	}	
+		flagTurnRunning = false;
+	}
 
 }
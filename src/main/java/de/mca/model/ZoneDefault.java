@@ -15,12 +15,10 @@ import de.mca.model.enums.SuperType;
 import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsPlayer;
 import de.mca.model.interfaces.IsZone;
-import javafx.beans.property.ListProperty;
-import javafx.beans.property.SimpleListProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 
 /**
+ * Standardimplementierung einer Zone. Die Karten werden in einer einfachen
+ * Liste gehalten.
  *
  * @author Maximilian Werling
  *
@@ -28,13 +26,13 @@ import javafx.collections.ObservableList;
 public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	/**
-	 * Speichert den kontrollierenden Spieler.
+	 * Speichert die Karten der Zone.
 	 */
-	private final IsPlayer player;
+	private final List<E> cardList;
 	/**
-	 * Speichert die Karten der Zone.
+	 * Speichert den kontrollierenden Spieler.
 	 */
-	private final ListProperty<E> propertyCardList;
+	private final IsPlayer player;
 	/**
 	 * Speichert den Zonentyp.
 	 */
@@ -43,19 +41,19 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	ZoneDefault(IsPlayer playerType, ZoneType zoneType) {
 		this.player = playerType;
 		this.zoneType = zoneType;
-		propertyCardList = new SimpleListProperty<>(FXCollections.observableArrayList());
+		cardList = new ArrayList<>();
 	}
 
 	ZoneDefault(ZoneType zoneType) {
 		this.zoneType = zoneType;
 		player = null;
-		propertyCardList = new SimpleListProperty<>(FXCollections.observableArrayList());
+		cardList = new ArrayList<>();
 	}
 
 	@Override
 	public void add(E card) {
 		card.addZone(zoneType);
-		propertyCardList.add(card);
+		cardList.add(card);
 	}
 
 	@Override
@@ -68,18 +66,18 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public E get(int index) {
-		return propertyCardList.get(index);
+		return cardList.get(index);
 	}
 
 	@Override
 	public List<E> getAll() {
-		return new ArrayList<>(propertyCardList);
+		return new ArrayList<>(cardList);
 	}
 
 	@Override
 	public List<E> getAll(AbilityType abilityType) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			final List<ActivatedAbility> listAbilities = card.getListActivatedAbilities();
 			for (final ActivatedAbility ability : listAbilities) {
 				if (ability.getAbilityType().equals(abilityType)) {
@@ -93,7 +91,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(ColorType color) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.contains(color)) {
 				result.add(card);
 			}
@@ -104,7 +102,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(EffectType effectType) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			final List<ActivatedAbility> listAbilities = card.getListActivatedAbilities();
 			for (final ActivatedAbility ability : listAbilities) {
 				final List<Effect> listEffects = ability.getListEffects();
@@ -121,7 +119,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(int convertedManaCost) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.getConvertedManaCost() == convertedManaCost) {
 				result.add(card);
 			}
@@ -132,7 +130,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(IsPlayer playerOwning) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.getPlayerOwning().equals(playerOwning)) {
 				result.add(card);
 			}
@@ -143,7 +141,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(ObjectType coreType) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.contains(coreType)) {
 				result.add(card);
 			}
@@ -154,7 +152,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(SubType subType) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.contains(subType)) {
 				result.add(card);
 			}
@@ -165,7 +163,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	@Override
 	public List<E> getAll(SuperType superType) {
 		final List<E> result = new ArrayList<>();
-		for (final E card : propertyCardList) {
+		for (final E card : cardList) {
 			if (card.contains(superType)) {
 				result.add(card);
 			}
@@ -175,7 +173,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public E getBottom() {
-		return propertyCardList.get(0);
+		return cardList.get(0);
 	}
 
 	@Override
@@ -185,12 +183,12 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public int getSize() {
-		return propertyCardList.size();
+		return cardList.size();
 	}
 
 	@Override
 	public E getTop() {
-		return propertyCardList.get(getSize() - 1);
+		return cardList.get(getSize() - 1);
 	}
 
 	@Override
@@ -198,24 +196,20 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 		return zoneType;
 	}
 
-	@Override
-	public ObservableList<E> propertyListZoneCards() {
-		return propertyCardList;
-	}
-
 	@Override
 	public boolean remove(E card) {
-		return propertyCardList.remove(card);
+		final boolean result = cardList.remove(card);
+		return result;
 	}
 
 	@Override
 	public void removeAll() {
-		propertyCardList.clear();
+		cardList.clear();
 	}
 
 	@Override
 	public boolean searchZone(ColorType color) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.contains(color)) {
 				return true;
 			}
@@ -225,7 +219,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(int convertedManaCost) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.getConvertedManaCost() == convertedManaCost) {
 				return true;
 			}
@@ -235,7 +229,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(IsPlayer playerOwning) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.getPlayerOwning().equals(playerOwning)) {
 				return true;
 			}
@@ -245,7 +239,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(MagicCard card) {
-		for (final MagicCard c : propertyCardList) {
+		for (final MagicCard c : cardList) {
 			if (c.equals(card)) {
 				return true;
 			}
@@ -255,7 +249,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(ObjectType coreType) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.contains(coreType)) {
 				return true;
 			}
@@ -265,7 +259,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(SubType subType) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.contains(subType)) {
 				return true;
 			}
@@ -275,7 +269,7 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 
 	@Override
 	public boolean searchZone(SuperType superType) {
-		for (final MagicCard card : propertyCardList) {
+		for (final MagicCard card : cardList) {
 			if (card.contains(superType)) {
 				return true;
 			}
@@ -284,13 +278,21 @@ public final class ZoneDefault<E extends MagicCard> implements IsZone<E> {
 	}
 
 	@Override
-	public void shuffle() {
-		Collections.shuffle(propertyCardList);
+	public void setAll(List<? extends E> cardList) {
+		this.cardList.clear();
+		this.cardList.addAll(cardList);
+	}
+
+	@Override
+	public void shuffle(MatchRandom random) {
+		for (int i = cardList.size() - 1; i > 0; i--) {
+			Collections.swap(cardList, i, random.nextInt(i + 1));
+		}
 	}
 
 	@Override
 	public String toString() {
-		return new StringBuilder(zoneType.toString()).append(" ").append(Arrays.toString(propertyCardList.toArray()))
+		return new StringBuilder(zoneType.toString()).append(" ").append(Arrays.toString(cardList.toArray()))
 				.toString();
 	}
 
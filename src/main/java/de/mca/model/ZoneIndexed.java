@@ -0,0 +1,370 @@
+package de.mca.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mca.model.enums.AbilityType;
+import de.mca.model.enums.ColorType;
+import de.mca.model.enums.EffectType;
+import de.mca.model.enums.ObjectType;
+import de.mca.model.enums.SubType;
+import de.mca.model.enums.SuperType;
+import de.mca.model.enums.ZoneType;
+import de.mca.model.interfaces.IsPlayer;
+import de.mca.model.interfaces.IsZone;
+
+/**
+ * Zone mit Sekundärindizes nach Kerntyp, Subtyp, Supertyp, Farbe und Besitzer.
+ * Die Indizes werden in add() und remove() fortgeschrieben, die Abfragen
+ * kosten daher nur so viel wie ihr Ergebnis groß ist. Innerhalb eines Index
+ * bleibt die Reihenfolge der Zone erhalten.
+ *
+ * Anders als bei ZoneDefault liefern getAll() und die indizierten
+ * getAll()-Varianten keine Kopien, sondern unveränderliche Sichten auf die
+ * Zone. Wer die Zone verändert, während er über eine Sicht iteriert, muss die
+ * Sicht vorher selbst kopieren. Abfragen nach Fähigkeits- und Effekttyp sowie
+ * nach umgewandelten Manakosten werden selten benutzt und durchsuchen die Zone
+ * weiterhin linear.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public final class ZoneIndexed<E extends MagicCard> implements IsZone<E> {
+
+	private static <K, E> void index(Map<K, List<E>> mapIndex, K key, E card) {
+		mapIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(card);
+	}
+
+	private static <K, E> List<E> lookup(Map<K, List<E>> mapIndex, K key) {
+		final List<E> result = mapIndex.get(key);
+		return result != null ? Collections.unmodifiableList(result) : Collections.emptyList();
+	}
+
+	private static <K, E> void unindex(Map<K, List<E>> mapIndex, K key, E card) {
+		final List<E> bucket = mapIndex.get(key);
+		if (bucket != null) {
+			bucket.remove(card);
+		}
+	}
+
+	/**
+	 * Speichert die Karten der Zone.
+	 */
+	private final List<E> cardList;
+	/**
+	 * Speichert die unveränderliche Sicht auf die Karten der Zone.
+	 */
+	private final List<E> cardListView;
+	/**
+	 * Speichert die Karten nach Farbe.
+	 */
+	private final Map<ColorType, List<E>> mapColors;
+	/**
+	 * Speichert die Karten nach Kerntyp.
+	 */
+	private final Map<ObjectType, List<E>> mapObjectTypes;
+	/**
+	 * Speichert die Karten nach Besitzer.
+	 */
+	private final Map<IsPlayer, List<E>> mapPlayersOwning;
+	/**
+	 * Speichert die Karten nach Subtyp.
+	 */
+	private final Map<SubType, List<E>> mapSubTypes;
+	/**
+	 * Speichert die Karten nach Supertyp.
+	 */
+	private final Map<SuperType, List<E>> mapSuperTypes;
+	/**
+	 * Speichert die Anzahl der Änderungen an der Zone. Wird bei jeder Änderung
+	 * der Indizes erhöht.
+	 */
+	private int modCount;
+	/**
+	 * Speichert den kontrollierenden Spieler.
+	 */
+	private final IsPlayer player;
+	/**
+	 * Speichert den Zonentyp.
+	 */
+	private final ZoneType zoneType;
+
+	ZoneIndexed(IsPlayer playerType, ZoneType zoneType) {
+		this.player = playerType;
+		this.zoneType = zoneType;
+		cardList = new ArrayList<>();
+		cardListView = Collections.unmodifiableList(cardList);
+		mapColors = new EnumMap<>(ColorType.class);
+		mapObjectTypes = new EnumMap<>(ObjectType.class);
+		mapPlayersOwning = new HashMap<>();
+		mapSubTypes = new EnumMap<>(SubType.class);
+		mapSuperTypes = new EnumMap<>(SuperType.class);
+		modCount = 0;
+	}
+
+	ZoneIndexed(ZoneType zoneType) {
+		this(null, zoneType);
+	}
+
+	@Override
+	public void add(E card) {
+		card.addZone(zoneType);
+		cardList.add(card);
+		addIndex(card);
+	}
+
+	@Override
+	public void addAll(List<? extends E> cardList) {
+		for (final E card : cardList) {
+			add(card);
+		}
+	}
+
+	@Override
+	public E get(int index) {
+		return cardList.get(index);
+	}
+
+	@Override
+	public List<E> getAll() {
+		return cardListView;
+	}
+
+	@Override
+	public List<E> getAll(AbilityType abilityType) {
+		final List<E> result = new ArrayList<>();
+		for (final E card : cardList) {
+			for (final ActivatedAbility ability : card.getListActivatedAbilities()) {
+				if (ability.getAbilityType().equals(abilityType)) {
+					result.add(card);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<E> getAll(ColorType color) {
+		return lookup(mapColors, color);
+	}
+
+	@Override
+	public List<E> getAll(EffectType effectType) {
+		final List<E> result = new ArrayList<>();
+		for (final E card : cardList) {
+			for (final ActivatedAbility ability : card.getListActivatedAbilities()) {
+				for (final Effect effect : ability.getListEffects()) {
+					if (effect.getEffectType().equals(effectType)) {
+						result.add(card);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<E> getAll(int convertedManaCost) {
+		final List<E> result = new ArrayList<>();
+		for (final E card : cardList) {
+			if (card.getConvertedManaCost() == convertedManaCost) {
+				result.add(card);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<E> getAll(IsPlayer playerOwning) {
+		return lookup(mapPlayersOwning, playerOwning);
+	}
+
+	@Override
+	public List<E> getAll(ObjectType coreType) {
+		return lookup(mapObjectTypes, coreType);
+	}
+
+	@Override
+	public List<E> getAll(SubType subType) {
+		return lookup(mapSubTypes, subType);
+	}
+
+	@Override
+	public List<E> getAll(SuperType superType) {
+		return lookup(mapSuperTypes, superType);
+	}
+
+	@Override
+	public E getBottom() {
+		return cardList.get(0);
+	}
+
+	@Override
+	public IsPlayer getPlayerType() {
+		return player;
+	}
+
+	@Override
+	public int getSize() {
+		return cardList.size();
+	}
+
+	@Override
+	public E getTop() {
+		return cardList.get(getSize() - 1);
+	}
+
+	@Override
+	public ZoneType getZoneType() {
+		return zoneType;
+	}
+
+	@Override
+	public boolean remove(E card) {
+		final int index = cardList.indexOf(card);
+		if (index < 0) {
+			return false;
+		}
+		// Entferne die gespeicherte Instanz, da card nur gleich sein muss.
+		removeIndex(cardList.remove(index));
+		return true;
+	}
+
+	@Override
+	public void removeAll() {
+		cardList.clear();
+		clearIndex();
+	}
+
+	@Override
+	public boolean searchZone(ColorType color) {
+		return !getAll(color).isEmpty();
+	}
+
+	@Override
+	public boolean searchZone(int convertedManaCost) {
+		for (final MagicCard card : cardList) {
+			if (card.getConvertedManaCost() == convertedManaCost) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean searchZone(IsPlayer playerOwning) {
+		return !getAll(playerOwning).isEmpty();
+	}
+
+	@Override
+	public boolean searchZone(E card) {
+		return cardList.contains(card);
+	}
+
+	@Override
+	public boolean searchZone(ObjectType coreType) {
+		return !getAll(coreType).isEmpty();
+	}
+
+	@Override
+	public boolean searchZone(SubType subType) {
+		return !getAll(subType).isEmpty();
+	}
+
+	@Override
+	public boolean searchZone(SuperType superType) {
+		return !getAll(superType).isEmpty();
+	}
+
+	@Override
+	public void setAll(List<? extends E> cardList) {
+		this.cardList.clear();
+		this.cardList.addAll(cardList);
+		rebuildIndex();
+	}
+
+	@Override
+	public void shuffle(MatchRandom random) {
+		for (int i = cardList.size() - 1; i > 0; i--) {
+			Collections.swap(cardList, i, random.nextInt(i + 1));
+		}
+		rebuildIndex();
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder(zoneType.toString()).append(" ").append(Arrays.toString(cardList.toArray()))
+				.toString();
+	}
+
+	private void addIndex(E card) {
+		modCount++;
+		for (final ColorType color : card.getSetColorType()) {
+			index(mapColors, color, card);
+		}
+		for (final ObjectType objectType : card.getSetObjectTypes()) {
+			index(mapObjectTypes, objectType, card);
+		}
+		for (final SubType subType : card.getSetSubTypes()) {
+			index(mapSubTypes, subType, card);
+		}
+		for (final SuperType superType : card.getSetSuperTypes()) {
+			index(mapSuperTypes, superType, card);
+		}
+		if (card.getPlayerOwning() != null) {
+			index(mapPlayersOwning, card.getPlayerOwning(), card);
+		}
+	}
+
+	private void clearIndex() {
+		modCount++;
+		mapColors.clear();
+		mapObjectTypes.clear();
+		mapPlayersOwning.clear();
+		mapSubTypes.clear();
+		mapSuperTypes.clear();
+	}
+
+	/**
+	 * Baut alle Indizes neu auf, wenn sich die Reihenfolge der Zone geändert hat.
+	 */
+	private void rebuildIndex() {
+		clearIndex();
+		for (final E card : cardList) {
+			addIndex(card);
+		}
+	}
+
+	private void removeIndex(E card) {
+		modCount++;
+		for (final ColorType color : card.getSetColorType()) {
+			unindex(mapColors, color, card);
+		}
+		for (final ObjectType objectType : card.getSetObjectTypes()) {
+			unindex(mapObjectTypes, objectType, card);
+		}
+		for (final SubType subType : card.getSetSubTypes()) {
+			unindex(mapSubTypes, subType, card);
+		}
+		for (final SuperType superType : card.getSetSuperTypes()) {
+			unindex(mapSuperTypes, superType, card);
+		}
+		if (card.getPlayerOwning() != null) {
+			unindex(mapPlayersOwning, card.getPlayerOwning(), card);
+		}
+	}
+
+	/**
+	 * Liefert die Anzahl der bisherigen Änderungen an der Zone. Bleibt sie
+	 * gleich, enthält die Zone dieselben Karten in derselben Reihenfolge.
+	 */
+	int getModCount() {
+		return modCount;
+	}
+
+}
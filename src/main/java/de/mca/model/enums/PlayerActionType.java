@@ -0,0 +1,28 @@
+package de.mca.model.enums;
+
+/**
+ * Sammelt die Bezeichnungen der Spieleraktionen, die über die i_*-Methoden des
+ * RuleEnforcers in das Match gelangen.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public enum PlayerActionType {
+
+	ACTIVATE_PERMANENT("Bleibende Karte aktivieren"), CANCEL_CAST("Beschwören abbrechen"), CAST_SPELL(
+			"Zauberspruch beschwören"), CONCEDE("Aufgeben"), DECLARE_ATTACKER("Angreifer deklarieren"), DECLARE_ATTACKERS_STOP(
+					"Angreifer deklarieren beenden"), DECLARE_BLOCK_TARGET("Blockziel deklarieren"), DECLARE_BLOCKER(
+							"Blocker deklarieren"), DECLARE_BLOCKERS_STOP("Blocker deklarieren beenden"), DISCARD(
+									"Karte abwerfen"), PASS_PRIORITY("Priorität abgeben"), PLAY_LAND("Land spielen");
+
+	private final String displayName;
+
+	private PlayerActionType(String displayName) {
+		this.displayName = displayName;
+	}
+
+	@Override
+	public String toString() {
+		return displayName;
+	}
+}
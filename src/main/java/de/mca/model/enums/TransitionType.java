@@ -0,0 +1,32 @@
+package de.mca.model.enums;
+
+/**
+ * Sammelt die Übergänge der Rundenstruktur, die Match.update() ausführen kann.
+ * Pro Update wird genau ein Übergang bestimmt und ausgeführt.
+ *
+ * PRIORITY steht nur in den Übergangstabellen des Matches und wird nach den
+ * zustandsbasierten Aktionen zu STACK_RESOLVE, PRIORITY_GRANT, PHASE_END oder
+ * STEP_END aufgelöst.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public enum TransitionType {
+
+	NONE("Kein Übergang"), PHASE_BEGIN("Phase beginnen"), PHASE_END("Phase beenden"), PHASE_SKIP(
+			"Phase überspringen"), PRIORITY("Prioritätsrunde"), PRIORITY_GRANT("Priorität erteilen"), STACK_RESOLVE(
+					"Stack abarbeiten"), STEP_BEGIN("Spielschritt beginnen"), STEP_END(
+							"Spielschritt beenden"), STEP_SKIP("Spielschritt überspringen");
+
+	private final String displayName;
+
+	private TransitionType(String displayName) {
+		this.displayName = displayName;
+	}
+
+	@Override
+	public String toString() {
+		return displayName;
+	}
+
+}
@@ -1,7 +1,6 @@
 package de.mca.model.interfaces;
 
 import de.mca.model.MagicPermanent;
-import javafx.beans.property.IntegerProperty;
 
 /**
  *
@@ -31,15 +30,6 @@ public interface IsAttackTarget {
 
 	public int getLife();
 
-	public IntegerProperty getPropertyLife();
-
-	/**
-	 * Liefert die Schaden-Eigenschaft.
-	 *
-	 * @return die Kampfschaden-Eigenschaft.
-	 */
-	public IntegerProperty propertyDamage();
-
 	/**
 	 * Setzt den Schaden Angriffsziel auf 0. Wird zu jedem CLEANUP aufgerufen.
 	 */
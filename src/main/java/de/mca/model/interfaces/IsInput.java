@@ -22,6 +22,12 @@ public interface IsInput {
 
 	public RuleEnforcer getRuleEnforcer();
 
+	/**
+	 * Wird vom Spieler aufgerufen, sobald von ihm eine Eingabe erwartet wird
+	 * (needInput wechselt auf true).
+	 */
+	public void requestInput();
+
 	/**
 	 * Informiert das Spiel über eine Spielerhandlung: Der Spieler hat ein Permanent
 	 * aktiviert.
@@ -45,6 +51,26 @@ public interface IsInput {
 		}
 	}
 
+	/**
+	 * Informiert das Spiel über eine Spielerhandlung: Der Spieler bezahlt die
+	 * offenen Kosten automatisch aus Manapool und Manaquellen.
+	 */
+	public default void inputAutoPay() {
+		getPlayer().setFlagNeedInput(false, "inputAutoPay()");
+		getRuleEnforcer().i_autoPay(getPlayer());
+		getRuleEnforcer().gui_disableProgressButton();
+	}
+
+	/**
+	 * Informiert das Spiel über eine Spielerhandlung: Der Spieler bricht das
+	 * Beschwören des Zauberspruchs ab, den er gerade bezahlt.
+	 */
+	public default void inputCancelCast() {
+		getPlayer().setFlagNeedInput(false, "inputCancelCast()");
+		getRuleEnforcer().i_castSpellCancel(getPlayer());
+		getRuleEnforcer().gui_disableProgressButton();
+	}
+
 	/**
 	 * Informiert das Spiel über eine Spielerhandlung: Der Spieler beschwört einen
 	 * Zauberspruch.
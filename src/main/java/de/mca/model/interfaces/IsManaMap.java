@@ -1,10 +1,9 @@
 package de.mca.model.interfaces;
 
+import java.util.Map;
 import java.util.Set;
 
 import de.mca.model.enums.ColorType;
-import javafx.beans.property.MapProperty;
-import javafx.collections.ObservableMap;
 
 /**
  *
@@ -55,13 +54,11 @@ public interface IsManaMap {
 
 	public void manaRemove(ColorType color);
 
-	public MapProperty<ColorType, Integer> propertyMapMana();
-
 	public void remove(ColorType color, int howMuch);
 
 	public void removeAll();
 
-	public void setManaMap(ObservableMap<ColorType, Integer> manaMap);
+	public void setManaMap(Map<ColorType, Integer> manaMap);
 
 	@Override
 	public String toString();
@@ -4,13 +4,11 @@ import java.util.List;
 
 import de.mca.model.MagicCard;
 import de.mca.model.ManaMapDefault;
+import de.mca.model.PlayerSnapshot;
 import de.mca.model.RuleEnforcer;
 import de.mca.model.enums.ColorType;
 import de.mca.model.enums.PlayerState;
 import de.mca.model.enums.ZoneType;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.ObjectProperty;
 
 /**
  *
@@ -33,6 +31,13 @@ public interface IsPlayer extends IsAttackTarget {
 	 */
 	public void addMana(ColorType color, int howMany);
 
+	/**
+	 * Erzeugt ein unveränderliches Abbild des Spielerzustands.
+	 *
+	 * @return das Abbild.
+	 */
+	public PlayerSnapshot createSnapshot();
+
 	public String getDisplayName();
 
 	/**
@@ -55,6 +60,20 @@ public interface IsPlayer extends IsAttackTarget {
 
 	public boolean getFlagPlayedLand();
 
+	/**
+	 * Liefert die Anzahl Karten in der Hand.
+	 *
+	 * @return die Anzahl Karten in der Hand.
+	 */
+	public int getHandSize();
+
+	/**
+	 * Liefert die Eingabequelle des Spielers.
+	 *
+	 * @return die Eingabequelle oder null, wenn noch keine gesetzt wurde.
+	 */
+	public IsInput getInput();
+
 	public int getInteractionCount();
 
 	public IsManaMap getManaCostAlreadyPaid();
@@ -67,12 +86,27 @@ public interface IsPlayer extends IsAttackTarget {
 
 	public RuleEnforcer getRuleEnforcer();
 
+	/**
+	 * Liefert einen Zähler, der sich ändert, sobald bei einer bleibenden Karte
+	 * des Spielers getappt, angreifend, blockend oder die Einsatzverzögerung
+	 * wechselt oder die Karte den Kontrolleur wechselt.
+	 *
+	 * @return der Zähler.
+	 */
+	public int getStampPermanents();
+
 	public IsZone<MagicCard> getZoneGraveyard();
 
 	public IsZone<MagicCard> getZoneHand();
 
 	public IsZone<MagicCard> getZoneLibrary();
 
+	/**
+	 * Erhöht den Zähler aus getStampPermanents(). Wird von MagicPermanent
+	 * aufgerufen.
+	 */
+	public void incrementStampPermanents();
+
 	/**
 	 * Prüft, ob der Spieler gerade eine Fähigkeit aktiviert.
 	 *
@@ -140,18 +174,6 @@ public interface IsPlayer extends IsAttackTarget {
 	 */
 	public boolean isTakingSpecialAction();
 
-	public IntegerProperty propertyDeckSize();
-
-	public BooleanProperty propertyFlagNeedInput();
-
-	public IntegerProperty propertyGraveSize();
-
-	public IntegerProperty propertyHandSize();
-
-	public IntegerProperty propertyLife();
-
-	public ObjectProperty<PlayerState> propertyPlayerState();
-
 	public void removeAllCards(ZoneType zoneType);
 
 	public void removeCard(MagicCard magicCard, ZoneType zoneType);
@@ -171,6 +193,28 @@ public interface IsPlayer extends IsAttackTarget {
 	 */
 	public void removeManaAll();
 
+	/**
+	 * Stellt den Spielerzustand aus einem Abbild wieder her. Dabei wird weder
+	 * die Eingabequelle benachrichtigt noch eine zustandsbasierte Aktion
+	 * ausgelöst.
+	 *
+	 * @param snapshot
+	 *            das Abbild, erzeugt durch createSnapshot().
+	 */
+	public void restoreSnapshot(PlayerSnapshot snapshot);
+
+	/**
+	 * Legt eine Karte an der angegebenen Stelle zurück in die Hand, z.B. wenn
+	 * das Beschwören abgebrochen wird. Die besuchten Zonen der Karte bleiben
+	 * unverändert.
+	 *
+	 * @param magicCard
+	 *            die Karte.
+	 * @param index
+	 *            die Stelle in der Hand.
+	 */
+	public void returnCardToHand(MagicCard magicCard, int index);
+
 	public void setFlagDeclareAttackers(boolean flagDeclareAttackers);
 
 	public void setFlagDeclareBlockers(boolean flagDeclareBlockers);
@@ -181,6 +225,14 @@ public interface IsPlayer extends IsAttackTarget {
 
 	public void setFlagPlayedLand(boolean flagPlayedLand);
 
+	/**
+	 * Setzt die Eingabequelle des Spielers. Sie wird benachrichtigt, sobald von
+	 * dem Spieler eine Eingabe erwartet wird.
+	 *
+	 * @param input die Eingabequelle.
+	 */
+	public void setInput(IsInput input);
+
 	public void setInteractionCount(int interactionCount);
 
 	public void setManaCostAlreadyPaid(ManaMapDefault manaMapDefault);
@@ -2,6 +2,7 @@ package de.mca.model.interfaces;
 
 import java.util.List;
 
+import de.mca.model.MatchRandom;
 import de.mca.model.enums.AbilityType;
 import de.mca.model.enums.ColorType;
 import de.mca.model.enums.EffectType;
@@ -9,7 +10,6 @@ import de.mca.model.enums.ObjectType;
 import de.mca.model.enums.SubType;
 import de.mca.model.enums.SuperType;
 import de.mca.model.enums.ZoneType;
-import javafx.collections.ObservableList;
 
 /**
  *
@@ -156,8 +156,6 @@ public interface IsZone<T> {
 	 */
 	public ZoneType getZoneType();
 
-	public ObservableList<? extends T> propertyListZoneCards();
-
 	/**
 	 * Entfernt die Karte mit einer bestimmten id aus der Zone.
 	 *
@@ -238,9 +236,22 @@ public interface IsZone<T> {
 	public boolean searchZone(T card);
 
 	/**
-	 * Ordnet die Karten in der Zone zufällig an.
+	 * Ersetzt alle Karten der Zone, ohne die besuchten Zonen der Karten
+	 * fortzuschreiben. Wird beim Wiederherstellen eines Spielzustands verwendet.
+	 *
+	 * @param cardList
+	 *            die neuen Karten in der Reihenfolge der Zone.
+	 */
+	public void setAll(List<? extends T> cardList);
+
+	/**
+	 * Ordnet die Karten in der Zone zufällig an. Bei gleichem Zustand der
+	 * Zufallsquelle ergibt sich stets dieselbe Reihenfolge.
+	 *
+	 * @param random
+	 *            die Zufallsquelle des Matches.
 	 */
-	public void shuffle();
+	public void shuffle(MatchRandom random);
 
 	/**
 	 * Zeigt den Zonentyp sowie die in der Zone bedindlichen Karten an
@@ -5,13 +5,34 @@ import java.util.List;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.layout.Pane;
 
-abstract class AdaptableCanvas<T> extends Canvas {
+/**
+ * Zeichenfläche, die ihre Größe an den umgebenden Bereich anpasst. Sie wird nur
+ * neu gezeichnet, wenn sie als verändert markiert wurde oder eines ihrer Sprites
+ * seit dem letzten Zeichnen einen anderen Zustand hat.
+ *
+ * @author Maximilian Werling
+ *
+ */
+abstract class AdaptableCanvas<T extends Sprite> extends Canvas {
 
+	/**
+	 * Zeigt an, ob die Zeichenfläche beim nächsten Frame neu gezeichnet werden
+	 * muss.
+	 */
+	private boolean flagDirty;
 	private List<? extends T> listSprites;
+	/**
+	 * Speichert das Raster für die Suche nach dem Sprite unter dem Mauszeiger.
+	 */
+	private final SpriteGrid<T> spriteGrid;
 
 	AdaptableCanvas(Pane parent) {
+		flagDirty = true;
+		spriteGrid = new SpriteGrid<>();
 		widthProperty().bind(parent.widthProperty());
 		heightProperty().bind(parent.heightProperty());
+		widthProperty().addListener((observable, oldValue, newValue) -> markDirty());
+		heightProperty().addListener((observable, oldValue, newValue) -> markDirty());
 	}
 
 	@Override
@@ -21,12 +42,64 @@ abstract class AdaptableCanvas<T> extends Canvas {
 
 	abstract void draw();
 
+	/**
+	 * Zeichnet die Zeichenfläche neu, sofern sie verändert wurde.
+	 *
+	 * @return true, wenn neu gezeichnet wurde.
+	 */
+	boolean drawIfDirty() {
+		if (!flagDirty && !isAnySpriteDirty()) {
+			return false;
+		}
+		flagDirty = false;
+		draw();
+		return true;
+	}
+
 	List<? extends T> getListSprites() {
 		return listSprites;
 	}
 
+	/**
+	 * Baut das Raster für die Suche nach Sprites aus den aktuellen Positionen neu
+	 * auf. Muss nach jeder Neuberechnung der Positionen aufgerufen werden.
+	 */
+	void indexSprites() {
+		spriteGrid.rebuild(listSprites, getWidth(), getHeight());
+	}
+
+	/**
+	 * Markiert die Zeichenfläche, damit sie beim nächsten Frame neu gezeichnet
+	 * wird. Wird bei Änderungen der Zone und der Größe aufgerufen.
+	 */
+	void markDirty() {
+		flagDirty = true;
+	}
+
 	void setListSprites(List<T> listSprites) {
 		this.listSprites = listSprites;
+		markDirty();
+	}
+
+	/**
+	 * Liefert den obersten Sprite an einer Position der Zeichenfläche.
+	 *
+	 * @return der Sprite oder null, wenn an der Position keiner liegt.
+	 */
+	T spriteAt(double x, double y) {
+		return spriteGrid.spriteAt(x, y);
+	}
+
+	private boolean isAnySpriteDirty() {
+		if (listSprites == null) {
+			return false;
+		}
+		for (int i = 0; i < listSprites.size(); i++) {
+			if (listSprites.get(i).isDirty()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 }
@@ -1,18 +1,13 @@
 package de.mca.presenter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import de.mca.Constants;
 import de.mca.model.InputHuman;
 import de.mca.model.MagicPermanent;
-import de.mca.model.Match;
+import de.mca.model.MatchRunner;
+import de.mca.model.MatchState.CardStatus;
 import de.mca.model.enums.ZoneType;
-import de.mca.model.interfaces.IsPlayer;
-import javafx.beans.binding.DoubleBinding;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.geometry.Point2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
@@ -20,130 +15,91 @@ import javafx.scene.layout.Pane;
 
 class CanvasZoneBattlefield extends AdaptableCanvas<SpriteMagicPermanent> {
 
-	private final static double HEIGHT_DEFAULT = 75;
+	final static double HEIGHT_DEFAULT = 75;
+	private final static int ROW_COMPUTER_CREATURES = 1;
+	private final static int ROW_COMPUTER_OTHERS = 0;
+	private final static int ROW_HUMAN_CREATURES = 2;
+	private final static int ROW_HUMAN_OTHERS = 3;
+	private final static int ROW_NONE = -1;
 	private final static double X_OFFSET = 1.1;
 	private final static double Y_OFFSET = 10.0;
 
-	private int indexComputerRowOne;
-	private int indexComputerRowTwo;
-	private int indexHumanRowOne;
-	private int indexHumanRowTwo;
-
+	/**
+	 * Zeigt an, ob die Positionen der Sprites neu berechnet werden müssen. Wird
+	 * bei Änderungen der Zone und der Größe gesetzt.
+	 */
+	private boolean flagLayoutDirty;
 	private InputHuman inputHuman;
-	private Match matchActive;
+	private MatchRunner matchRunner;
+	/**
+	 * Speichert die Anzahl Sprites je Reihe. Wird bei jeder Berechnung der
+	 * Positionen wiederverwendet.
+	 */
+	private final int[] rowCounts;
+	/**
+	 * Speichert den laufenden Index je Reihe während der Berechnung.
+	 */
+	private final int[] rowIndices;
+	/**
+	 * Speichert den horizontalen Abstand der Sprites je Reihe.
+	 */
+	private final double[] rowSteps;
 	private final ImageView zoomView;
 
 	CanvasZoneBattlefield(Pane parent, ImageView zoomView) {
 		super(parent);
 		this.zoomView = zoomView;
 
-		indexComputerRowOne = 0;
-		indexComputerRowTwo = 0;
-		indexHumanRowOne = 0;
-		indexHumanRowTwo = 0;
+		flagLayoutDirty = true;
+		rowCounts = new int[4];
+		rowIndices = new int[4];
+		rowSteps = new double[4];
+
+		initializeMouseClicked();
+		initializeMouseMoved();
 	}
 
+	/**
+	 * Zeichnet alle Sprites an ihre zuletzt berechneten Positionen. Die
+	 * Positionen werden nur neu berechnet, wenn sich die Zone, die Größe oder die
+	 * Reihe einer Karte geändert hat.
+	 */
 	@Override
 	public void draw() {
 		GraphicsContext gc = getGraphicsContext2D();
 
+		if (flagLayoutDirty || isLayoutOutdated()) {
+			layout();
+		}
+
 		// Zeichenfläche leeren
 		gc.clearRect(0, 0, getWidth(), getHeight());
 
 		// Karten zeichnen
-		getListSprites().forEach(sprite -> drawCard(sprite, gc));
-
-		// Hilfsindizes zurücksetzen
-		indexComputerRowOne = 0;
-		indexComputerRowTwo = 0;
-		indexHumanRowOne = 0;
-		indexHumanRowTwo = 0;
+		final List<? extends SpriteMagicPermanent> listSprites = getListSprites();
+		for (int i = 0; i < listSprites.size(); i++) {
+			listSprites.get(i).draw(gc);
+		}
 	}
 
-	public void setInput(InputHuman inputHuman) {
+	public void setInput(InputHuman inputHuman, MatchRunner matchRunner) {
 		this.inputHuman = inputHuman;
-	}
-
-	private void drawCard(SpriteMagicPermanent sprite, GraphicsContext gc) {
-		MagicPermanent magicPermanent = sprite.getMagicPermanent();
-		IsPlayer playerControlling = magicPermanent.getPlayerControlling();
-
-		double positionX = 0;
-		double positionY = 0;
-
-		DoubleProperty propertyHeight = new SimpleDoubleProperty(HEIGHT_DEFAULT);
-		DoubleBinding propertyWidth = propertyHeight.multiply(Constants.CARD_RATIO);
-
-		sprite.propertyHeight().bind(propertyHeight);
-		sprite.propertyWidth().bind(propertyWidth);
-
-		if (playerControlling.equals(matchActive.getPlayerTwo())) {
-			// Wird unten gezeichnet.
-
-			if (magicPermanent.isCreature()) {
-				// Wird in Reihe zwei gezeichnet.
-
-				positionX = sprite.getWidth() * indexHumanRowTwo * X_OFFSET;
-				positionY = getHeight() / 2.0 + Y_OFFSET / 2;
-
-				indexHumanRowTwo++;
-			} else {
-				// Wird in Reihe eins gezeichnet.
-
-				positionX = sprite.getWidth() * indexHumanRowOne * X_OFFSET;
-				positionY = getHeight() / 4.0 * 3.0 + Y_OFFSET / 2;
-
-				indexHumanRowOne++;
-			}
-
-		} else if (playerControlling.equals(matchActive.getPlayerOne())) {
-			// Wird oben gezeichnet.
-
-			if (magicPermanent.isCreature()) {
-				// Wird in Reihe zwei gezeichnet.
-
-				positionX = sprite.getWidth() * indexComputerRowTwo * X_OFFSET;
-				positionY = getHeight() / 2.0 - Y_OFFSET / 2 - sprite.getHeight();
-
-				indexComputerRowTwo++;
-			} else {
-				// Wird in Reihe eins gezeichnet.
-
-				positionX = sprite.getWidth() * indexComputerRowOne * X_OFFSET;
-				positionY = getHeight() / 4.0 - Y_OFFSET / 2 - sprite.getHeight();
-
-				indexComputerRowOne++;
-			}
-
-		}
-
-		sprite.setPosition(positionX, positionY);
-		sprite.render(gc);
+		this.matchRunner = matchRunner;
 	}
 
 	private void initializeMouseClicked() {
 		addEventHandler(MouseEvent.MOUSE_CLICKED, (mouseEvent) -> {
-			int zCoordinate = -1;
-			List<MagicPermanent> listClicked = new ArrayList<>();
-			for (SpriteMagicPermanent sprite : getListSprites()) {
-				if (sprite.getBoundary().contains(new Point2D(mouseEvent.getX(), mouseEvent.getY()))) {
-					listClicked.add(sprite.getMagicPermanent());
-					zCoordinate++;
-				}
+			final SpriteMagicPermanent sprite = spriteAt(mouseEvent.getX(), mouseEvent.getY());
+			if (sprite != null && inputHuman != null) {
+				final MagicPermanent magicPermanent = sprite.getMagicPermanent();
+				matchRunner.submit(() -> inputHuman.input(magicPermanent, ZoneType.BATTLEFIELD));
 			}
-			inputHuman.input(listClicked.get(zCoordinate), ZoneType.BATTLEFIELD);
 		});
 	}
 
 	private void initializeMouseMoved() {
 		addEventHandler(MouseEvent.MOUSE_MOVED, (mouseEvent) -> {
-			SpriteMagicPermanent mouseOverSprite = null;
-			for (SpriteMagicPermanent sprite : getListSprites()) {
-				if (sprite.getBoundary().contains(new Point2D(mouseEvent.getX(), mouseEvent.getY()))) {
-					mouseOverSprite = sprite;
-					break;
-				}
-			}
+			final SpriteMagicPermanent mouseOverSprite = spriteAt(mouseEvent.getX(), mouseEvent.getY());
 			if (mouseOverSprite != null) {
 				zoomView.setImage(mouseOverSprite.getImage());
 				zoomView.setPreserveRatio(true);
@@ -153,16 +109,103 @@ class CanvasZoneBattlefield extends AdaptableCanvas<SpriteMagicPermanent> {
 		});
 	}
 
-	@Override
-	void setListSprites(List<SpriteMagicPermanent> listSprites) {
-		super.setListSprites(listSprites);
+	private boolean isLayoutOutdated() {
+		final List<? extends SpriteMagicPermanent> listSprites = getListSprites();
+		for (int i = 0; i < listSprites.size(); i++) {
+			final SpriteMagicPermanent sprite = listSprites.get(i);
+			if (sprite.getLayoutRow() != rowOf(sprite)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-		initializeMouseClicked();
-		initializeMouseMoved();
+	/**
+	 * Berechnet Größe und Position aller Sprites. Jeder Spieler hat eine Reihe für
+	 * Kreaturen und eine für die übrigen bleibenden Karten. Passt eine Reihe nicht
+	 * in die Breite der Zeichenfläche, werden ihre Karten zusammengeschoben, bis
+	 * sie sich überlappen. Anschließend wird das Raster für die Maussuche neu
+	 * aufgebaut.
+	 */
+	private void layout() {
+		flagLayoutDirty = false;
+
+		final List<? extends SpriteMagicPermanent> listSprites = getListSprites();
+		final double spriteHeight = HEIGHT_DEFAULT;
+		final double spriteWidth = HEIGHT_DEFAULT * Constants.CARD_RATIO;
+
+		for (int row = 0; row < rowCounts.length; row++) {
+			rowCounts[row] = 0;
+			rowIndices[row] = 0;
+		}
+		for (int i = 0; i < listSprites.size(); i++) {
+			final SpriteMagicPermanent sprite = listSprites.get(i);
+			final int row = rowOf(sprite);
+			sprite.setLayoutRow(row);
+			if (row != ROW_NONE) {
+				rowCounts[row]++;
+			}
+		}
+		for (int row = 0; row < rowCounts.length; row++) {
+			rowSteps[row] = spriteWidth * X_OFFSET;
+			if (rowCounts[row] > 1 && rowCounts[row] * rowSteps[row] > getWidth()) {
+				rowSteps[row] = Math.max(0, (getWidth() - spriteWidth) / (rowCounts[row] - 1));
+			}
+		}
+
+		for (int i = 0; i < listSprites.size(); i++) {
+			final SpriteMagicPermanent sprite = listSprites.get(i);
+			final int row = sprite.getLayoutRow();
+
+			sprite.propertyHeight().set(spriteHeight);
+			sprite.propertyWidth().set(spriteWidth);
+
+			double positionX = 0;
+			double positionY = 0;
+			switch (row) {
+			case ROW_COMPUTER_OTHERS:
+				// Oben, Reihe eins
+				positionY = getHeight() / 4.0 - Y_OFFSET / 2 - spriteHeight;
+				break;
+			case ROW_COMPUTER_CREATURES:
+				// Oben, Reihe zwei
+				positionY = getHeight() / 2.0 - Y_OFFSET / 2 - spriteHeight;
+				break;
+			case ROW_HUMAN_CREATURES:
+				// Unten, Reihe zwei
+				positionY = getHeight() / 2.0 + Y_OFFSET / 2;
+				break;
+			case ROW_HUMAN_OTHERS:
+				// Unten, Reihe eins
+				positionY = getHeight() / 4.0 * 3.0 + Y_OFFSET / 2;
+				break;
+			default:
+				break;
+			}
+			if (row != ROW_NONE) {
+				positionX = rowSteps[row] * rowIndices[row];
+				rowIndices[row]++;
+			}
+
+			sprite.setPosition(positionX, positionY);
+		}
+		indexSprites();
 	}
 
-	void setMatchActive(Match matchActive) {
-		this.matchActive = matchActive;
+	private int rowOf(SpriteMagicPermanent sprite) {
+		final CardStatus status = sprite.getStatus();
+		if (status.getController() == 2) {
+			return status.getFlagCreature() ? ROW_HUMAN_CREATURES : ROW_HUMAN_OTHERS;
+		} else if (status.getController() == 1) {
+			return status.getFlagCreature() ? ROW_COMPUTER_CREATURES : ROW_COMPUTER_OTHERS;
+		}
+		return ROW_NONE;
+	}
+
+	@Override
+	void markDirty() {
+		super.markDirty();
+		flagLayoutDirty = true;
 	}
 
 }
@@ -1,14 +1,11 @@
 package de.mca.presenter;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import de.mca.Constants;
 import de.mca.model.InputHuman;
 import de.mca.model.MagicCard;
+import de.mca.model.MatchRunner;
 import de.mca.model.enums.ZoneType;
 import javafx.beans.binding.DoubleBinding;
-import javafx.geometry.Point2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
@@ -25,6 +22,7 @@ final class CanvasZoneDefault extends AdaptableCanvas<SpriteMagicCard> {
 	private static final double Y_OFFSET = 10.0;
 
 	private InputHuman inputHuman;
+	private MatchRunner matchRunner;
 	private final ZoneType zoneType;
 	private final ImageView zoomView;
 
@@ -32,6 +30,9 @@ final class CanvasZoneDefault extends AdaptableCanvas<SpriteMagicCard> {
 		super(parent);
 		this.zoneType = zoneType;
 		this.zoomView = zoomView;
+
+		initializeMouseClicked();
+		initializeMouseMoved();
 	}
 
 	@Override
@@ -64,37 +65,29 @@ final class CanvasZoneDefault extends AdaptableCanvas<SpriteMagicCard> {
 
 			sprite.setPosition(positionX, positionY);
 
-			sprite.render(gc);
+			sprite.draw(gc);
 		}
+		indexSprites();
 	}
 
-	public void setInput(InputHuman inputHuman) {
+	public void setInput(InputHuman inputHuman, MatchRunner matchRunner) {
 		this.inputHuman = inputHuman;
+		this.matchRunner = matchRunner;
 	}
 
 	private void initializeMouseClicked() {
 		addEventHandler(MouseEvent.MOUSE_CLICKED, (mouseEvent) -> {
-			int zCoordinate = -1;
-			List<MagicCard> listClicked = new ArrayList<>();
-			for (SpriteMagicCard sprite : getListSprites()) {
-				if (sprite.getBoundary().contains(new Point2D(mouseEvent.getX(), mouseEvent.getY()))) {
-					listClicked.add(sprite.getMagicObject());
-					zCoordinate++;
-				}
+			final SpriteMagicCard sprite = spriteAt(mouseEvent.getX(), mouseEvent.getY());
+			if (sprite != null && inputHuman != null) {
+				final MagicCard magicCard = sprite.getMagicObject();
+				matchRunner.submit(() -> inputHuman.input(magicCard, zoneType));
 			}
-			inputHuman.input(listClicked.get(zCoordinate), zoneType);
 		});
 	}
 
 	private void initializeMouseMoved() {
 		addEventHandler(MouseEvent.MOUSE_MOVED, (mouseEvent) -> {
-			SpriteMagicCard mouseOverSprite = null;
-			for (SpriteMagicCard sprite : getListSprites()) {
-				if (sprite.getBoundary().contains(new Point2D(mouseEvent.getX(), mouseEvent.getY()))) {
-					mouseOverSprite = sprite;
-					break;
-				}
-			}
+			final SpriteMagicCard mouseOverSprite = spriteAt(mouseEvent.getX(), mouseEvent.getY());
 			if (mouseOverSprite != null) {
 				zoomView.setImage(mouseOverSprite.getImage());
 				zoomView.setPreserveRatio(true);
@@ -103,12 +96,4 @@ final class CanvasZoneDefault extends AdaptableCanvas<SpriteMagicCard> {
 			}
 		});
 	}
-
-	@Override
-	void setListSprites(List<SpriteMagicCard> listSprites) {
-		super.setListSprites(listSprites);
-
-		initializeMouseClicked();
-		initializeMouseMoved();
-	}
-}
\ No newline at end of file
+}
@@ -31,7 +31,8 @@ final class CanvasZoneStack extends AdaptableCanvas<SpriteStackable> {
 
 			sprite.setPosition(positionX, positionY);
 
-			sprite.render(gc);
+			sprite.draw(gc);
 		}
+		indexSprites();
 	}
 }
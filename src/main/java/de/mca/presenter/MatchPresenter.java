@@ -2,8 +2,12 @@ package de.mca.presenter;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -13,24 +17,25 @@ import de.mca.Constants;
 import de.mca.MagicParser;
 import de.mca.Main;
 import de.mca.io.FileManager;
+import de.mca.io.MatchJournal;
+import de.mca.io.ImageService;
 import de.mca.io.ResourceManager;
+import de.mca.model.Deck;
 import de.mca.model.InputComputer;
 import de.mca.model.InputHuman;
 import de.mca.model.MagicCard;
-import de.mca.model.MagicPermanent;
-import de.mca.model.MagicStack;
 import de.mca.model.Match;
+import de.mca.model.MatchRunner;
+import de.mca.model.MatchState;
+import de.mca.model.MatchState.CardStatus;
+import de.mca.model.MatchState.PlayerStatus;
+import de.mca.model.MatchState.StackStatus;
 import de.mca.model.Player;
 import de.mca.model.RuleEnforcer;
 import de.mca.model.enums.ZoneType;
 import de.mca.model.interfaces.IsPlayer;
-import de.mca.model.interfaces.IsStackable;
-import de.mca.model.interfaces.IsZone;
 import javafx.animation.AnimationTimer;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.StringExpression;
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
@@ -76,8 +81,12 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 	private Label labelPlayerActive;
 	@FXML
 	private Label labelTurnNumber;
+	/**
+	 * Speichert das Protokoll des laufenden Matches.
+	 */
+	private MatchJournal matchJournal;
 	private Match matchActive;
-	private Runnable matchUpdater;
+	private MatchRunner matchRunner;
 	@FXML
 	private MenuBar menuBarTop;
 	@FXML
@@ -117,7 +126,10 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 	private Runnable rendererStack;
 	private Main screenController;
 	private float secondsElapsedSinceLastFpsUpdate = 0f;
-	private float secondsElapsedSinceUpdate;
+	/**
+	 * Speichert die laufende Nummer des zuletzt übernommenen Abbilds.
+	 */
+	private long sequenceApplied;
 	private final List<SpriteMagicPermanent> spriteListBattlefield;
 	private final List<SpriteMagicCard> spriteListComputerGraveyard;
 	private final List<SpriteMagicCard> spriteListComputerHand;
@@ -143,8 +155,6 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 	private Tab tabStack;
 
 	public MatchPresenter() {
-		// TODO LOW Threading?
-
 		spriteListBattlefield = new ArrayList<>();
 		spriteListComputerGraveyard = new ArrayList<>();
 		spriteListComputerHand = new ArrayList<>();
@@ -163,12 +173,19 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 		return matchActive;
 	}
 
+	public MatchRunner getMatchRunner() {
+		return matchRunner;
+	}
+
 	/**
+	 * Übernimmt das zuletzt veröffentlichte Abbild des Matches und zeichnet, was
+	 * sich verändert hat. Das Match selbst läuft auf dem Thread des MatchRunners.
+	 *
 	 * @see http://svanimpe.be/blog/game-loops-fx.html
 	 */
 	@Override
 	public void handle(long currentTime) {
-		if (matchUpdater == null) {
+		if (matchRunner == null) {
 			return;
 		}
 
@@ -181,13 +198,18 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 
 		previousTime = currentTime;
 
-		// Update das Match jede Sekunde
-		if (secondsElapsedSinceUpdate >= 0.1f) {
-			matchUpdater.run();
-			secondsElapsedSinceUpdate = 0;
+		// Übernimm das neueste Abbild, Zwischenstände werden übersprungen
+		final MatchState state = matchRunner.getState();
+		if (state.getSequence() != sequenceApplied) {
+			applyState(state);
+
+			// Nach dem Ende schreibt das Match nichts mehr, das Protokoll ist vollständig
+			if (state.getFlagMatchFinished()) {
+				closeJournal();
+			}
 		}
 
-		// Die Renderer
+		// Die Renderer, gezeichnet wird nur, was sich verändert hat
 		rendererBattlefield.run();
 		rendererComputerGraveyard.run();
 		rendererComputerHand.run();
@@ -197,7 +219,6 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 		rendererStack.run();
 
 		secondsElapsedSinceLastFpsUpdate += secondsElapsed;
-		secondsElapsedSinceUpdate += secondsElapsed;
 		framesSinceLastFpsUpdate++;
 
 		// Update FPS-Anzeige alle halbe Sekunde
@@ -302,11 +323,14 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 		IsPlayer playerOne = null;
 		IsPlayer playerTwo = null;
 
+		final Deck deckOne = MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckComputer));
+		final Deck deckTwo = MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckHuman));
+		loadCardImages(deckOne);
+		loadCardImages(deckTwo);
+
 		if (Constants.AI_ONLY) {
-			playerOne = new Player(ruleEnforcer, "AI_ONE",
-					MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckComputer)));
-			playerTwo = new Player(ruleEnforcer, "AI_TWO",
-					MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckHuman)));
+			playerOne = new Player(ruleEnforcer, "AI_ONE", deckOne);
+			playerTwo = new Player(ruleEnforcer, "AI_TWO", deckTwo);
 
 			matchActive = new Match(ruleEnforcer, playerOne, playerTwo);
 
@@ -316,10 +340,8 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 			playerStatusComputerTwo.injectPlayerData(playerTwo, new InputComputer(this, matchActive, playerTwo),
 					avatarHuman);
 		} else {
-			playerOne = new Player(ruleEnforcer, "Computer",
-					MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckComputer)));
-			playerTwo = new Player(ruleEnforcer, "Human",
-					MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckHuman)));
+			playerOne = new Player(ruleEnforcer, "Computer", deckOne);
+			playerTwo = new Player(ruleEnforcer, "Human", deckTwo);
 
 			matchActive = new Match(ruleEnforcer, playerOne, playerTwo);
 
@@ -330,88 +352,57 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 			playerStatusHuman.injectPlayerData(this, playerTwo, inputHuman, avatarHuman);
 		}
 
+		matchJournal = MatchJournal.create(FileManager.getJournalPath(), deckComputer, deckHuman,
+				matchActive.getSeed());
+		ruleEnforcer.setJournal(matchJournal);
+
 		// Erstelle Game Loop
-		matchUpdater = () -> matchActive.update();
-		rendererBattlefield = () -> canvasBattlefield.draw();
-		rendererComputerGraveyard = () -> canvasComputerGraveyard.draw();
-		rendererComputerHand = () -> canvasComputerHand.draw();
-		rendererExile = () -> canvasExile.draw();
-		rendererHumanGraveyard = () -> canvasHumanGraveyard.draw();
-		rendererHumanHand = () -> canvasHumanHand.draw();
-		rendererStack = () -> canvasStack.draw();
+		matchRunner = new MatchRunner(matchActive, Constants.MATCH_TICK);
+		sequenceApplied = -1;
+		rendererBattlefield = () -> canvasBattlefield.drawIfDirty();
+		rendererComputerGraveyard = () -> canvasComputerGraveyard.drawIfDirty();
+		rendererComputerHand = () -> canvasComputerHand.drawIfDirty();
+		rendererExile = () -> canvasExile.drawIfDirty();
+		rendererHumanGraveyard = () -> canvasHumanGraveyard.drawIfDirty();
+		rendererHumanHand = () -> canvasHumanHand.drawIfDirty();
+		rendererStack = () -> canvasStack.drawIfDirty();
 		fpsReporter = fps -> fpsLabel.setText(String.format("FPS: %d", fps));
 
 		/**
 		 * ListSprites
 		 */
 		canvasBattlefield.setListSprites(spriteListBattlefield);
-		canvasBattlefield.setInput(inputHuman);
-		canvasBattlefield.setMatchActive(matchActive);
+		canvasBattlefield.setInput(inputHuman, matchRunner);
 
 		canvasComputerGraveyard.setListSprites(spriteListComputerGraveyard);
-		canvasComputerGraveyard.setInput(inputHuman);
+		canvasComputerGraveyard.setInput(inputHuman, matchRunner);
 
 		canvasComputerHand.setListSprites(spriteListComputerHand);
-		canvasComputerHand.setInput(inputHuman);
+		canvasComputerHand.setInput(inputHuman, matchRunner);
 
 		canvasExile.setListSprites(spriteListExile);
-		canvasExile.setInput(inputHuman);
+		canvasExile.setInput(inputHuman, matchRunner);
 
 		canvasHumanGraveyard.setListSprites(spriteListHumanGraveyard);
-		canvasHumanGraveyard.setInput(inputHuman);
+		canvasHumanGraveyard.setInput(inputHuman, matchRunner);
 
 		canvasHumanHand.setListSprites(spriteListHumanHand);
-		canvasHumanHand.setInput(inputHuman);
+		canvasHumanHand.setInput(inputHuman, matchRunner);
 
 		canvasStack.setListSprites(spriteListStack);
 
-		/**
-		 * Linkes Panel
-		 */
-		// Elemente erstellen
-
-		// Elemente binden
-		bindSizeTab(tabStack, null, ZoneType.STACK);
-		bindZoneStack(matchActive.getZoneStack(), spriteListStack);
-
-		/**
-		 * Mittleres Panel
-		 */
-		// Elemente binden
-		bindSizeTab(tabBattlefield, null, ZoneType.BATTLEFIELD);
-		bindZoneBattlefield(matchActive.getZoneBattlefield(), spriteListBattlefield);
-
-		bindSizeTab(tabComputerGraveyard, playerOne, ZoneType.GRAVEYARD);
-		bindSizeTab(tabComputerHand, playerOne, ZoneType.HAND);
-		bindZoneDefault(playerOne.getZoneGraveyard(), spriteListComputerGraveyard);
-		bindZoneDefault(playerOne.getZoneHand(), spriteListComputerHand);
-
-		bindSizeTab(tabExile, null, ZoneType.EXILE);
-		bindZoneDefault(matchActive.getZoneExile(), spriteListExile);
-
-		bindSizeTab(tabHumanGraveyard, playerTwo, ZoneType.GRAVEYARD);
-		bindSizeTab(tabHumanHand, playerTwo, ZoneType.HAND);
-		bindZoneDefault(playerTwo.getZoneGraveyard(), spriteListHumanGraveyard);
-		bindZoneDefault(playerTwo.getZoneHand(), spriteListHumanHand);
-
-		/**
-		 * Unteres Panel
-		 */
-		// Elemente binden
-		labelTurnNumber.textProperty().bind(matchActive.propertyTurnNumber().asString());
-		labelCurrentPhase.textProperty().bind(matchActive.propertyCurrentPhase().asString());
-		labelCurrentStep.textProperty().bind(matchActive.propertyCurrentStep().asString());
-		labelPlayerActive.textProperty().bind(matchActive.propertyPlayerActive().asString());
-		labelHint.textProperty().bind(playerTwo.propertyPlayerState().asString());
-
 		// Starten
 		this.start();
+		matchRunner.start();
 	}
 
 	public void stopMatch() {
 		LOGGER.debug("{} stopMatch()", this);
 		if (getMatchActive() != null) {
+			matchRunner.stop();
+			matchRunner = null;
 			matchActive = null;
+			closeJournal();
 		}
 
 		spriteListBattlefield.clear();
@@ -430,7 +421,6 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 		canvasHumanHand.draw();
 		canvasStack.draw();
 
-		matchUpdater = null;
 		previousTime = 0;
 		secondsElapsedSinceLastFpsUpdate = 0f;
 		framesSinceLastFpsUpdate = 0;
@@ -443,93 +433,152 @@ public class MatchPresenter extends AnimationTimer implements Initializable, IsS
 		return "MatchPresenter";
 	}
 
-	private void bindSizeTab(Tab sizeTab, IsPlayer isPlayer, ZoneType zoneType) {
-		sizeTab.textProperty().bind(createTabBinding(isPlayer, zoneType));
+	/**
+	 * Übernimmt ein Abbild des Matches in Sprites, Beschriftungen und
+	 * Spielerstatus. Zeichenflächen werden nur markiert, wenn sich ihre Zone
+	 * geändert hat.
+	 */
+	private void applyState(MatchState state) {
+		sequenceApplied = state.getSequence();
+
+		syncZoneStack(state.getListStack(), spriteListStack, canvasStack);
+		syncZoneBattlefield(state.getListBattlefield(), spriteListBattlefield, canvasBattlefield);
+		syncZoneDefault(state.getListGraveyardOne(), spriteListComputerGraveyard, canvasComputerGraveyard);
+		syncZoneDefault(state.getListHandOne(), spriteListComputerHand, canvasComputerHand);
+		syncZoneDefault(state.getListExile(), spriteListExile, canvasExile);
+		syncZoneDefault(state.getListGraveyardTwo(), spriteListHumanGraveyard, canvasHumanGraveyard);
+		syncZoneDefault(state.getListHandTwo(), spriteListHumanHand, canvasHumanHand);
+
+		final PlayerStatus playerOne = state.getPlayerOne();
+		final PlayerStatus playerTwo = state.getPlayerTwo();
+		tabStack.setText("(" + state.getListStack().size() + ") Stack");
+		tabBattlefield.setText("(" + state.getListBattlefield().size() + ") Battlefield");
+		tabExile.setText("(" + state.getListExile().size() + ") Exile");
+		tabComputerGraveyard.setText("(" + playerOne.getGraveSize() + ") " + playerOne.getDisplayName());
+		tabComputerHand.setText("(" + playerOne.getHandSize() + ") " + playerOne.getDisplayName());
+		tabHumanGraveyard.setText("(" + playerTwo.getGraveSize() + ") " + playerTwo.getDisplayName());
+		tabHumanHand.setText("(" + playerTwo.getHandSize() + ") " + playerTwo.getDisplayName());
+
+		labelTurnNumber.setText(Integer.toString(state.getTurnNumber()));
+		labelCurrentPhase.setText(state.getPhase());
+		labelCurrentStep.setText(state.getStep());
+		labelPlayerActive.setText(state.getPlayerActive());
+		labelHint.setText(String.valueOf(playerTwo.getPlayerState()));
+
+		playerStatusComputerOne.update(playerOne);
+		if (Constants.AI_ONLY) {
+			playerStatusComputerTwo.update(playerTwo);
+		} else {
+			playerStatusHuman.update(playerTwo);
+		}
 	}
 
-	private void bindZoneBattlefield(IsZone<? extends MagicPermanent> zone, List<SpriteMagicPermanent> listSprites) {
-		zone.propertyListZoneCards().addListener((ListChangeListener.Change<? extends MagicPermanent> listChanges) -> {
-			while (listChanges.next()) {
-				if (listChanges.wasAdded()) {
-					listChanges.getAddedSubList().forEach(magicCard -> {
-						listSprites.add(new SpriteMagicPermanent(magicCard));
-					});
-				} else if (listChanges.wasRemoved()) {
-					listChanges.getRemoved().forEach(magicCard -> {
-						SpriteMagicPermanent spriteToRemove = null;
-						for (SpriteMagicPermanent sprite : listSprites) {
-							if (sprite.getMagicPermanent().equals(magicCard)) {
-								spriteToRemove = sprite;
-							}
-						}
-						listSprites.remove(spriteToRemove);
-					});
-				}
-			}
-		});
+	/**
+	 * Schließt das Protokoll des Matches, sofern es noch offen ist.
+	 */
+	private void closeJournal() {
+		if (matchJournal != null) {
+			matchJournal.close();
+			matchJournal = null;
+		}
+	}
+
+	private void loadCardImages(Deck deck) {
+		final Set<String> setFileNames = new HashSet<>();
+		for (final MagicCard magicCard : deck.getCardsList()) {
+			setFileNames.add(magicCard.getFileName());
+		}
+		ImageService.loadCardImages(setFileNames);
 	}
 
-	private void bindZoneDefault(IsZone<? extends MagicCard> zone, List<SpriteMagicCard> listSprites) {
-		zone.propertyListZoneCards().addListener((ListChangeListener.Change<? extends MagicCard> listChanges) -> {
-			while (listChanges.next()) {
-				if (listChanges.wasAdded()) {
-					listChanges.getAddedSubList().forEach(magicCard -> {
-						listSprites.add(new SpriteMagicCard(magicCard));
-					});
-				} else if (listChanges.wasRemoved()) {
-					listChanges.getRemoved().forEach(magicCard -> {
-						Sprite spriteToRemove = null;
-						for (SpriteMagicCard sprite : listSprites) {
-							if (sprite.getMagicObject().equals(magicCard)) {
-								spriteToRemove = sprite;
-							}
-						}
-						listSprites.remove(spriteToRemove);
-					});
-				}
+	/**
+	 * Gleicht die Sprites des Spielfelds mit einem Abbild ab. Sprites bereits
+	 * bekannter Karten werden wiederverwendet und erhalten nur den neuen Zustand.
+	 */
+	private void syncZoneBattlefield(List<CardStatus> listStatus, List<SpriteMagicPermanent> listSprites,
+			AdaptableCanvas<?> canvas) {
+		boolean flagChanged = listStatus.size() != listSprites.size();
+		for (int i = 0; !flagChanged && i < listStatus.size(); i++) {
+			flagChanged = listSprites.get(i).getMagicPermanent() != listStatus.get(i).getMagicCard();
+		}
+
+		if (!flagChanged) {
+			for (int i = 0; i < listStatus.size(); i++) {
+				listSprites.get(i).setStatus(listStatus.get(i));
 			}
-		});
+			return;
+		}
+
+		final Map<MagicCard, SpriteMagicPermanent> mapSprites = new IdentityHashMap<>();
+		listSprites.forEach(sprite -> mapSprites.put(sprite.getMagicPermanent(), sprite));
+		listSprites.clear();
+		for (final CardStatus status : listStatus) {
+			SpriteMagicPermanent sprite = mapSprites.get(status.getMagicCard());
+			if (sprite == null) {
+				sprite = new SpriteMagicPermanent(status);
+			} else {
+				sprite.setStatus(status);
+			}
+			listSprites.add(sprite);
+		}
+		canvas.markDirty();
 	}
 
-	private void bindZoneStack(MagicStack stack, List<SpriteStackable> listSprites) {
-		stack.getList().addListener((ListChangeListener.Change<? extends IsStackable> listChanges) -> {
-			while (listChanges.next()) {
-				if (listChanges.wasAdded()) {
-					listChanges.getAddedSubList().forEach(stackable -> {
-						listSprites.add(new SpriteStackable(stackable));
-					});
-				} else if (listChanges.wasRemoved()) {
-					listChanges.getRemoved().forEach(stackable -> {
-						Sprite spriteToRemove = null;
-						for (SpriteStackable sprite : listSprites) {
-							if (sprite.getMagicObject().equals(stackable)) {
-								spriteToRemove = sprite;
-							}
-						}
-						listSprites.remove(spriteToRemove);
-					});
-				}
+	/**
+	 * Gleicht die Sprites einer Zone mit einem Abbild ab. Sprites bereits
+	 * bekannter Karten werden wiederverwendet und erhalten nur den neuen Zustand.
+	 */
+	private void syncZoneDefault(List<CardStatus> listStatus, List<SpriteMagicCard> listSprites,
+			AdaptableCanvas<?> canvas) {
+		boolean flagChanged = listStatus.size() != listSprites.size();
+		for (int i = 0; !flagChanged && i < listStatus.size(); i++) {
+			flagChanged = listSprites.get(i).getMagicObject() != listStatus.get(i).getMagicCard();
+		}
+
+		if (!flagChanged) {
+			for (int i = 0; i < listStatus.size(); i++) {
+				listSprites.get(i).setStatus(listStatus.get(i));
+			}
+			return;
+		}
+
+		final Map<MagicCard, SpriteMagicCard> mapSprites = new IdentityHashMap<>();
+		listSprites.forEach(sprite -> mapSprites.put(sprite.getMagicObject(), sprite));
+		listSprites.clear();
+		for (final CardStatus status : listStatus) {
+			SpriteMagicCard sprite = mapSprites.get(status.getMagicCard());
+			if (sprite == null) {
+				sprite = new SpriteMagicCard(status);
+			} else {
+				sprite.setStatus(status);
 			}
-		});
+			listSprites.add(sprite);
+		}
+		canvas.markDirty();
 	}
 
-	private StringExpression createTabBinding(IsPlayer player, ZoneType zoneType) {
-		if (zoneType.equals(ZoneType.BATTLEFIELD)) {
-			return Bindings.concat("(").concat(matchActive.propertyBattlefieldSize().asString())
-					.concat(") Battlefield");
-		} else if (zoneType.equals(ZoneType.EXILE)) {
-			return Bindings.concat("(").concat(matchActive.propertyExileSize().asString()).concat(") Exile");
-		} else if (zoneType.equals(ZoneType.STACK)) {
-			return Bindings.concat("(").concat(matchActive.propertyStackSize().asString()).concat(") Stack");
-		} else if (zoneType.equals(ZoneType.HAND)) {
-			return Bindings.concat("(").concat(player.propertyHandSize().asString()).concat(") ")
-					.concat(player.getDisplayName());
-		} else if (zoneType.equals(ZoneType.GRAVEYARD)) {
-			return Bindings.concat("(").concat(player.propertyGraveSize().asString()).concat(") ")
-					.concat(player.getDisplayName());
-		} else {
-			throw new IllegalArgumentException();
+	/**
+	 * Gleicht die Sprites des Stacks mit einem Abbild ab.
+	 */
+	private void syncZoneStack(List<StackStatus> listStatus, List<SpriteStackable> listSprites,
+			AdaptableCanvas<?> canvas) {
+		boolean flagChanged = listStatus.size() != listSprites.size();
+		for (int i = 0; !flagChanged && i < listStatus.size(); i++) {
+			flagChanged = listSprites.get(i).getMagicObject() != listStatus.get(i).getStackable();
+		}
+
+		if (!flagChanged) {
+			for (int i = 0; i < listStatus.size(); i++) {
+				listSprites.get(i).setStatus(listStatus.get(i));
+			}
+			return;
+		}
+
+		listSprites.clear();
+		for (final StackStatus status : listStatus) {
+			listSprites.add(new SpriteStackable(status));
 		}
+		canvas.markDirty();
 	}
 
 }
@@ -5,9 +5,9 @@ import java.util.ResourceBundle;
 
 import de.mca.io.ResourceManager;
 import de.mca.model.InputComputer;
+import de.mca.model.MatchState.PlayerStatus;
 import de.mca.model.enums.ColorType;
 import de.mca.model.interfaces.IsPlayer;
-import javafx.collections.MapChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
@@ -72,40 +72,28 @@ public class PlayerStatusComputerPresenter implements Initializable {
 		this.input = input;
 		this.player = player;
 
-		labelLifeValue.textProperty().bind(player.propertyLife().asString());
-
-		bindManaPool();
 		initializeIconLabel(avatar, labelAvatar);
 	}
 
-	private void bindManaPool() {
-		player.getManaPool().propertyMapMana().addListener(new MapChangeListener<ColorType, Integer>() {
-
-			@Override
-			public void onChanged(
-					javafx.collections.MapChangeListener.Change<? extends ColorType, ? extends Integer> change) {
-				ColorType colorType = change.getKey();
-				String stringValue = change.getValueAdded() == null ? "0" : change.getValueAdded().toString();
-
-				if (colorType.equals(ColorType.BLACK)) {
-					labelBlackValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.BLUE)) {
-					labelBlueValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.GREEN)) {
-					labelGreenValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.NONE)) {
-					LabelColorlessValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.RED)) {
-					labelRedValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.WHITE)) {
-					labelWhiteValue.setText(stringValue);
-				}
-			}
-		});
-	}
-
 	private void initializeIconLabel(Image icon, Label label) {
 		label.setGraphic(new AdaptableImageView(icon, label.heightProperty(), label.widthProperty()));
 	}
 
+	/**
+	 * Übernimmt Lebenspunkte und Manapool aus dem zuletzt veröffentlichten
+	 * Zustand des Matches.
+	 *
+	 * @param status
+	 *            der Zustand des Spielers.
+	 */
+	void update(PlayerStatus status) {
+		labelLifeValue.setText(Integer.toString(status.getLife()));
+		labelBlackValue.setText(Integer.toString(status.getMana(ColorType.BLACK)));
+		labelBlueValue.setText(Integer.toString(status.getMana(ColorType.BLUE)));
+		labelGreenValue.setText(Integer.toString(status.getMana(ColorType.GREEN)));
+		LabelColorlessValue.setText(Integer.toString(status.getMana(ColorType.NONE)));
+		labelRedValue.setText(Integer.toString(status.getMana(ColorType.RED)));
+		labelWhiteValue.setText(Integer.toString(status.getMana(ColorType.WHITE)));
+	}
+
 }
@@ -8,10 +8,11 @@ import com.google.common.eventbus.Subscribe;
 
 import de.mca.io.ResourceManager;
 import de.mca.model.InputHuman;
+import de.mca.model.MatchState.PlayerStatus;
 import de.mca.model.enums.ColorType;
 import de.mca.model.interfaces.IsPlayer;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.collections.MapChangeListener;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
@@ -64,21 +65,16 @@ public class PlayerStatusHumanPresenter implements Initializable {
 	@FXML
 	private Button progressButton;
 
+	/**
+	 * Nimmt Änderungen des Spielstatus entgegen. Wird auf dem Thread des Matches
+	 * aufgerufen und gibt die Änderung an den JavaFX-Thread weiter.
+	 */
 	@Subscribe
 	public void examineButtonChange(GameStatusChange progressNameChange) {
-		if (progressNameChange.getProgressButtonText().equals("concede")) {
-			parent.stopMatch();
-			return;
-		}
-
-		if (progressNameChange.getDisableProgressButton()) {
-			progressButton.setText("");
-			progressButton.setGraphic(loadingIcon);
-			progressButton.setDisable(true);
+		if (Platform.isFxApplicationThread()) {
+			applyButtonChange(progressNameChange);
 		} else {
-			progressButton.setText(progressNameChange.getProgressButtonText());
-			progressButton.setGraphic(null);
-			progressButton.setDisable(false);
+			Platform.runLater(() -> applyButtonChange(progressNameChange));
 		}
 	}
 
@@ -91,7 +87,7 @@ public class PlayerStatusHumanPresenter implements Initializable {
 		progressButton.setGraphic(loadingIcon);
 		progressButton.setDisable(true);
 		progressButton.setOnAction(actionEvent -> {
-			input.progress();
+			parent.getMatchRunner().submit(input::progress);
 		});
 
 		initializeIconLabel(ResourceManager.getIcon("heart.png"), labelLifeIcon);
@@ -109,36 +105,24 @@ public class PlayerStatusHumanPresenter implements Initializable {
 		this.input = input;
 		this.player = player;
 
-		labelLifeValue.textProperty().bind(player.propertyLife().asString());
-
-		bindManaPool();
 		initializeIconLabel(avatar, labelAvatar);
 	}
 
-	private void bindManaPool() {
-		player.getManaPool().propertyMapMana().addListener(new MapChangeListener<ColorType, Integer>() {
-
-			@Override
-			public void onChanged(
-					javafx.collections.MapChangeListener.Change<? extends ColorType, ? extends Integer> change) {
-				ColorType colorType = change.getKey();
-				String stringValue = change.getValueAdded() == null ? "0" : change.getValueAdded().toString();
-
-				if (colorType.equals(ColorType.BLACK)) {
-					labelBlackValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.BLUE)) {
-					labelBlueValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.GREEN)) {
-					labelGreenValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.NONE)) {
-					LabelColorlessValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.RED)) {
-					labelRedValue.setText(stringValue);
-				} else if (change.getKey().equals(ColorType.WHITE)) {
-					labelWhiteValue.setText(stringValue);
-				}
-			}
-		});
+	private void applyButtonChange(GameStatusChange progressNameChange) {
+		if (progressNameChange.getProgressButtonText().equals("concede")) {
+			parent.stopMatch();
+			return;
+		}
+
+		if (progressNameChange.getDisableProgressButton()) {
+			progressButton.setText("");
+			progressButton.setGraphic(loadingIcon);
+			progressButton.setDisable(true);
+		} else {
+			progressButton.setText(progressNameChange.getProgressButtonText());
+			progressButton.setGraphic(null);
+			progressButton.setDisable(false);
+		}
 	}
 
 	private void initializeIconLabel(Image icon, Label label) {
@@ -149,4 +133,21 @@ public class PlayerStatusHumanPresenter implements Initializable {
 		return eventBus;
 	}
 
+	/**
+	 * Übernimmt Lebenspunkte und Manapool aus dem zuletzt veröffentlichten
+	 * Zustand des Matches.
+	 *
+	 * @param status
+	 *            der Zustand des Spielers.
+	 */
+	void update(PlayerStatus status) {
+		labelLifeValue.setText(Integer.toString(status.getLife()));
+		labelBlackValue.setText(Integer.toString(status.getMana(ColorType.BLACK)));
+		labelBlueValue.setText(Integer.toString(status.getMana(ColorType.BLUE)));
+		labelGreenValue.setText(Integer.toString(status.getMana(ColorType.GREEN)));
+		LabelColorlessValue.setText(Integer.toString(status.getMana(ColorType.NONE)));
+		labelRedValue.setText(Integer.toString(status.getMana(ColorType.RED)));
+		labelWhiteValue.setText(Integer.toString(status.getMana(ColorType.WHITE)));
+	}
+
 }
@@ -12,12 +12,23 @@ import javafx.scene.canvas.GraphicsContext;
  */
 abstract class Sprite {
 
+	/**
+	 * Zeigt an, ob beim letzten Zeichnen das endgültige Bild verwendet wurde und
+	 * nicht ein Platzhalter.
+	 */
+	private boolean flagComplete;
 	private double positionX;
 	private double positionY;
 	private final DoubleProperty propertyHeight;
 	private final DoubleProperty propertyWidth;
+	/**
+	 * Speichert den Zustand, in dem der Sprite zuletzt gezeichnet wurde.
+	 */
+	private int stateRendered;
 
 	Sprite() {
+		flagComplete = false;
+		stateRendered = -1;
 		positionX = 0;
 		positionY = 0;
 		propertyHeight = new SimpleDoubleProperty(0);
@@ -54,6 +65,40 @@ abstract class Sprite {
 		return "Position: [" + positionX + "," + positionY + "]";
 	}
 
+	/**
+	 * Zeigt an, ob ein Punkt innerhalb des Sprites liegt. Anders als
+	 * getBoundary().contains() wird dabei kein Objekt erzeugt.
+	 */
+	boolean contains(double x, double y) {
+		return x >= positionX && y >= positionY && x < positionX + getWidth() && y < positionY + getHeight();
+	}
+
+	/**
+	 * Zeichnet den Sprite und merkt sich den Zustand, in dem er gezeichnet wurde.
+	 */
+	void draw(GraphicsContext gc) {
+		stateRendered = getState();
+		flagComplete = true;
+		render(gc);
+	}
+
+	/**
+	 * Liefert den Zustand des dargestellten Objekts, soweit er das Aussehen des
+	 * Sprites bestimmt. Ändert er sich, muss die Zeichenfläche neu gezeichnet
+	 * werden.
+	 */
+	int getState() {
+		return 0;
+	}
+
+	/**
+	 * Zeigt an, ob sich der Sprite seit dem letzten Zeichnen verändert hat oder
+	 * beim letzten Zeichnen noch ein Platzhalter verwendet wurde.
+	 */
+	boolean isDirty() {
+		return !flagComplete || getState() != stateRendered;
+	}
+
 	DoubleProperty propertyHeight() {
 		return propertyHeight;
 	}
@@ -64,4 +109,12 @@ abstract class Sprite {
 
 	abstract void render(GraphicsContext gc);
 
+	/**
+	 * Wird von render() aufgerufen, wenn statt des endgültigen Bildes ein
+	 * Platzhalter gezeichnet wurde.
+	 */
+	void setFlagIncomplete() {
+		flagComplete = false;
+	}
+
 }
@@ -0,0 +1,133 @@
+package de.mca.presenter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Gleichmäßiges Raster über einer Zeichenfläche, in dem jede Zelle die Indizes
+ * der Sprites speichert, die sie überdecken. Eine Abfrage prüft nur die Sprites
+ * der Zelle unter dem Mauszeiger und kostet damit unabhängig von der Anzahl der
+ * Sprites konstant viel.
+ *
+ * Das Raster wird nach jeder Neuberechnung der Positionen mit rebuild() neu
+ * aufgebaut. Die Arrays werden dabei wiederverwendet und nur vergrößert, wenn
+ * die Zeichenfläche oder eine Zelle wächst. Innerhalb einer Zelle bleiben die
+ * Indizes in Zeichenreihenfolge, spriteAt() liefert daher den obersten Sprite.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class SpriteGrid<T extends Sprite> {
+
+	/**
+	 * Speichert die Kantenlänge einer Zelle in Pixel.
+	 */
+	private static final double CELL_SIZE = 32.0;
+
+	/**
+	 * Speichert die Anzahl belegter Einträge je Zelle.
+	 */
+	private int[] cellCounts;
+	/**
+	 * Speichert je Zelle die Indizes der überdeckenden Sprites.
+	 */
+	private int[][] cellSprites;
+	private int columns;
+	private List<? extends T> listSprites;
+	private int rows;
+
+	SpriteGrid() {
+		cellCounts = new int[0];
+		cellSprites = new int[0][];
+		columns = 0;
+		rows = 0;
+	}
+
+	/**
+	 * Baut das Raster aus den aktuellen Positionen der Sprites neu auf.
+	 *
+	 * @param listSprites
+	 *            die Sprites in Zeichenreihenfolge.
+	 * @param width
+	 *            die Breite der Zeichenfläche.
+	 * @param height
+	 *            die Höhe der Zeichenfläche.
+	 */
+	void rebuild(List<? extends T> listSprites, double width, double height) {
+		this.listSprites = listSprites;
+		columns = Math.max(0, (int) Math.ceil(width / CELL_SIZE));
+		rows = Math.max(0, (int) Math.ceil(height / CELL_SIZE));
+
+		final int cells = columns * rows;
+		if (cellCounts.length < cells) {
+			cellCounts = new int[cells];
+			cellSprites = Arrays.copyOf(cellSprites, cells);
+		}
+		Arrays.fill(cellCounts, 0, cells, 0);
+		if (listSprites == null || cells == 0) {
+			return;
+		}
+
+		for (int i = 0; i < listSprites.size(); i++) {
+			final T sprite = listSprites.get(i);
+			final int columnFirst = clamp((int) (sprite.getX() / CELL_SIZE), columns);
+			final int columnLast = clamp((int) ((sprite.getX() + sprite.getWidth()) / CELL_SIZE), columns);
+			final int rowFirst = clamp((int) (sprite.getY() / CELL_SIZE), rows);
+			final int rowLast = clamp((int) ((sprite.getY() + sprite.getHeight()) / CELL_SIZE), rows);
+			for (int row = rowFirst; row <= rowLast; row++) {
+				for (int column = columnFirst; column <= columnLast; column++) {
+					insert(row * columns + column, i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Liefert den obersten Sprite an einer Position.
+	 *
+	 * @param x
+	 *            die x-Koordinate in Koordinaten der Zeichenfläche.
+	 * @param y
+	 *            die y-Koordinate in Koordinaten der Zeichenfläche.
+	 * @return der Sprite oder null, wenn an der Position keiner liegt.
+	 */
+	T spriteAt(double x, double y) {
+		if (x < 0 || y < 0) {
+			return null;
+		}
+		final int column = (int) (x / CELL_SIZE);
+		final int row = (int) (y / CELL_SIZE);
+		if (column >= columns || row >= rows) {
+			return null;
+		}
+		final int cell = row * columns + column;
+		final int[] indices = cellSprites[cell];
+		for (int i = cellCounts[cell] - 1; i >= 0; i--) {
+			// Die Liste kann sich seit dem letzten Aufbau verkleinert haben.
+			if (indices[i] < listSprites.size()) {
+				final T sprite = listSprites.get(indices[i]);
+				if (sprite.contains(x, y)) {
+					return sprite;
+				}
+			}
+		}
+		return null;
+	}
+
+	private int clamp(int index, int size) {
+		return Math.min(Math.max(index, 0), size - 1);
+	}
+
+	private void insert(int cell, int spriteIndex) {
+		int[] indices = cellSprites[cell];
+		if (indices == null) {
+			indices = new int[4];
+			cellSprites[cell] = indices;
+		} else if (cellCounts[cell] == indices.length) {
+			indices = Arrays.copyOf(indices, indices.length * 2);
+			cellSprites[cell] = indices;
+		}
+		indices[cellCounts[cell]++] = spriteIndex;
+	}
+
+}
@@ -1,7 +1,8 @@
 package de.mca.presenter;
 
-import de.mca.io.FileManager;
+import de.mca.io.ImageService;
 import de.mca.model.MagicCard;
+import de.mca.model.MatchState.CardStatus;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
@@ -13,18 +14,20 @@ import javafx.scene.paint.Color;
  */
 class SpriteMagicCard extends Sprite {
 
-	private final Image image;
 	private final MagicCard magicCard;
+	/**
+	 * Speichert den zuletzt veröffentlichten Zustand der Karte.
+	 */
+	private CardStatus status;
 
-	SpriteMagicCard(MagicCard magicCard) {
+	SpriteMagicCard(CardStatus status) {
 		super();
 
-		this.magicCard = magicCard;
+		this.magicCard = status.getMagicCard();
+		this.status = status;
 
-		image = FileManager.getCardImage(magicCard.getFileName());
-
-		propertyWidth().set(getImage().getWidth());
-		propertyHeight().set(getImage().getHeight());
+		propertyWidth().set(MagicCard.CARD_WIDTH);
+		propertyHeight().set(MagicCard.CARD_HEIGHT);
 	}
 
 	@Override
@@ -61,9 +64,11 @@ class SpriteMagicCard extends Sprite {
 
 	@Override
 	public void render(GraphicsContext gc) {
-		gc.drawImage(getImage(), getX(), getY(), getWidth(), getHeight());
+		if (!ThumbnailAtlas.draw(gc, status.getFileName(), getX(), getY(), getWidth(), getHeight())) {
+			setFlagIncomplete();
+		}
 
-		if (getMagicObject().getFlagIsInteractable()) {
+		if (status.getFlagInteractable()) {
 			// Zeichne grünen Rand
 
 			gc.setStroke(Color.GREEN);
@@ -74,11 +79,24 @@ class SpriteMagicCard extends Sprite {
 
 	@Override
 	public String toString() {
-		return new StringBuilder(magicCard.getDisplayName()).append(" ").append(super.toString()).toString();
+		return new StringBuilder(status.getDisplayName()).append(" ").append(super.toString()).toString();
 	}
 
+	/**
+	 * Liefert das Bild der Karte. Solange es noch geladen wird, ist das ein
+	 * Platzhalter.
+	 */
 	Image getImage() {
-		return image;
+		return ImageService.getCardImage(status.getFileName());
+	}
+
+	@Override
+	int getState() {
+		return status.getFlagInteractable() ? 1 : 0;
+	}
+
+	void setStatus(CardStatus status) {
+		this.status = status;
 	}
 
 }
@@ -1,7 +1,9 @@
 package de.mca.presenter;
 
-import de.mca.io.FileManager;
+import de.mca.io.ImageService;
+import de.mca.model.MagicCard;
 import de.mca.model.MagicPermanent;
+import de.mca.model.MatchState.CardStatus;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
@@ -9,18 +11,25 @@ import javafx.scene.transform.Rotate;
 
 class SpriteMagicPermanent extends Sprite {
 
-	private final Image image;
+	/**
+	 * Speichert die Reihe, in die der Sprite zuletzt eingeordnet wurde.
+	 */
+	private int layoutRow;
 	private final MagicPermanent magicPermanent;
+	/**
+	 * Speichert den zuletzt veröffentlichten Zustand der Karte.
+	 */
+	private CardStatus status;
 
-	SpriteMagicPermanent(MagicPermanent magicPermanent) {
+	SpriteMagicPermanent(CardStatus status) {
 		super();
 
-		this.magicPermanent = magicPermanent;
-
-		image = FileManager.getCardImage(magicPermanent.getFileName());
+		this.magicPermanent = (MagicPermanent) status.getMagicCard();
+		this.status = status;
+		layoutRow = -1;
 
-		propertyWidth().set(getImage().getWidth());
-		propertyHeight().set(getImage().getHeight());
+		propertyWidth().set(MagicCard.CARD_WIDTH);
+		propertyHeight().set(MagicCard.CARD_HEIGHT);
 	}
 
 	@Override
@@ -50,11 +59,11 @@ class SpriteMagicPermanent extends Sprite {
 
 	@Override
 	public String toString() {
-		return new StringBuilder(magicPermanent.getDisplayName()).append(" ").append(super.toString()).toString();
+		return new StringBuilder(status.getDisplayName()).append(" ").append(super.toString()).toString();
 	}
 
 	private void drawGreenBorder(GraphicsContext gc) {
-		if (getMagicPermanent().getFlagIsInteractable()) {
+		if (status.getFlagInteractable()) {
 			gc.setStroke(Color.GREEN);
 			gc.setLineWidth(5.0);
 			gc.strokeRect(getX(), getY(), getWidth(), getHeight());
@@ -78,22 +87,43 @@ class SpriteMagicPermanent extends Sprite {
 		gc.setTransform(r.getMxx(), r.getMyx(), r.getMxy(), r.getMyy(), r.getTx(), r.getTy());
 	}
 
+	/**
+	 * Liefert das Bild der Karte. Solange es noch geladen wird, ist das ein
+	 * Platzhalter.
+	 */
 	Image getImage() {
-		return image;
+		return ImageService.getCardImage(status.getFileName());
+	}
+
+	int getLayoutRow() {
+		return layoutRow;
 	}
 
 	MagicPermanent getMagicPermanent() {
 		return magicPermanent;
 	}
 
+	CardStatus getStatus() {
+		return status;
+	}
+
+	@Override
+	int getState() {
+		int result = status.getFlagTapped() ? 1 : 0;
+		result |= status.getFlagInteractable() ? 2 : 0;
+		return result;
+	}
+
 	@Override
 	void render(GraphicsContext gc) {
-		if (getMagicPermanent().getFlagTapped()) {
+		if (status.getFlagTapped()) {
 			// Getappt: Zeichne Karte gedreht
 
 			gc.save();
 			rotate(gc, 90, getX() + getWidth() / 2, getY() + getHeight() / 2);
-			gc.drawImage(getImage(), getX(), getY(), getWidth(), getHeight());
+			if (!ThumbnailAtlas.draw(gc, status.getFileName(), getX(), getY(), getWidth(), getHeight())) {
+				setFlagIncomplete();
+			}
 
 			drawGreenBorder(gc);
 
@@ -101,9 +131,19 @@ class SpriteMagicPermanent extends Sprite {
 		} else {
 			// Zeichne Karte normal
 
-			gc.drawImage(getImage(), getX(), getY(), getWidth(), getHeight());
+			if (!ThumbnailAtlas.draw(gc, status.getFileName(), getX(), getY(), getWidth(), getHeight())) {
+				setFlagIncomplete();
+			}
 			drawGreenBorder(gc);
 		}
 	}
 
+	void setLayoutRow(int layoutRow) {
+		this.layoutRow = layoutRow;
+	}
+
+	void setStatus(CardStatus status) {
+		this.status = status;
+	}
+
 }
@@ -1,5 +1,6 @@
 package de.mca.presenter;
 
+import de.mca.model.MatchState.StackStatus;
 import de.mca.model.interfaces.IsStackable;
 import javafx.scene.canvas.GraphicsContext;
 
@@ -11,9 +12,14 @@ import javafx.scene.canvas.GraphicsContext;
 class SpriteStackable extends Sprite {
 
 	private final IsStackable stackable;
-
-	SpriteStackable(IsStackable stackable) {
-		this.stackable = stackable;
+	/**
+	 * Speichert den zuletzt veröffentlichten Zustand des Objekts.
+	 */
+	private StackStatus status;
+
+	SpriteStackable(StackStatus status) {
+		this.stackable = status.getStackable();
+		this.status = status;
 	}
 
 	public IsStackable getMagicObject() {
@@ -22,7 +28,7 @@ class SpriteStackable extends Sprite {
 
 	@Override
 	public void render(GraphicsContext gc) {
-		gc.fillText(getMagicObject().getDisplayName(), getTextX(), getTextY(), getWidth());
+		gc.fillText(status.getDisplayName(), getTextX(), getTextY(), getWidth());
 		gc.strokeRect(getX(), getY(), getWidth(), getHeight());
 	}
 
@@ -34,4 +40,8 @@ class SpriteStackable extends Sprite {
 		return getY() + getHeight() / 2.0;
 	}
 
+	void setStatus(StackStatus status) {
+		this.status = status;
+	}
+
 }
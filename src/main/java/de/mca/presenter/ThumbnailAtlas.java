@@ -0,0 +1,191 @@
+package de.mca.presenter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.mca.Constants;
+import de.mca.io.ImageService;
+import de.mca.io.NoSuchResourceException;
+import javafx.application.Platform;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Hält vorskalierte Kartenbilder einer festen Höhe, gepackt in große
+ * Atlasseiten. Statt in jedem Frame den vollen Kartenscan herunterzuskalieren,
+ * zeichnen die Sprites einen Ausschnitt einer Atlasseite, der schon ungefähr die
+ * benötigte Größe hat.
+ *
+ * Es gibt je einen Atlas für die Größen, in denen die Zeichenflächen Karten
+ * tatsächlich zeichnen: die Höhe auf dem Spielfeld und die Höhe der Hand- und
+ * Friedhofsbereiche. draw() wählt den kleinsten Atlas, dessen Höhe für die
+ * gewünschte Größe ausreicht. Ist keiner groß genug oder das Vorschaubild noch
+ * nicht fertig, wird das Bild aus dem ImageService gezeichnet.
+ *
+ * Alle Methoden werden auf dem JavaFX-Thread aufgerufen. Die Vorschaubilder
+ * werden im Hintergrund in ihrer Zielgröße dekodiert und anschließend auf dem
+ * JavaFX-Thread in die Atlasseite kopiert.
+ *
+ * @author Maximilian Werling
+ *
+ */
+final class ThumbnailAtlas {
+
+	/**
+	 * Speichert den Platz eines Vorschaubildes im Atlas.
+	 */
+	private static final class Slot {
+
+		private final WritableImage page;
+		private final int x;
+		private final int y;
+
+		private Slot(WritableImage page, int x, int y) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+		}
+
+	}
+
+	/**
+	 * Speichert die Atlanten, aufsteigend nach Höhe sortiert.
+	 */
+	private static final ThumbnailAtlas[] ATLASES = { new ThumbnailAtlas(CanvasZoneBattlefield.HEIGHT_DEFAULT),
+			new ThumbnailAtlas(180) };
+	private static final Logger LOGGER = LoggerFactory.getLogger("ThumbnailAtlas");
+	/**
+	 * Speichert die Kantenlänge einer Atlasseite in Pixel.
+	 */
+	private static final int PAGE_SIZE = 2048;
+
+	/**
+	 * Zeichnet eine Karte in der angegebenen Größe, nach Möglichkeit aus einem
+	 * Atlas.
+	 *
+	 * @param gc
+	 *            der Grafikkontext.
+	 * @param cardName
+	 *            der Dateiname der Karte.
+	 * @param x
+	 *            die x-Koordinate.
+	 * @param y
+	 *            die y-Koordinate.
+	 * @param width
+	 *            die Breite.
+	 * @param height
+	 *            die Höhe.
+	 * @return false, wenn statt der Karte ein Platzhalter gezeichnet wurde, der
+	 *         noch durch das Bild ersetzt wird. Für Bilder, die nicht dekodiert
+	 *         werden konnten, bleibt der Platzhalter endgültig.
+	 */
+	static boolean draw(GraphicsContext gc, String cardName, double x, double y, double width, double height) {
+		for (final ThumbnailAtlas atlas : ATLASES) {
+			if (atlas.cellHeight >= height) {
+				if (atlas.drawThumbnail(gc, cardName, x, y, width, height)) {
+					return true;
+				}
+				break;
+			}
+		}
+		final Image image = ImageService.getCardImage(cardName);
+		gc.drawImage(image, x, y, width, height);
+		return !ImageService.isPlaceholder(image) || ImageService.isFailed(cardName);
+	}
+
+	/**
+	 * Speichert die Höhe eines Vorschaubildes.
+	 */
+	private final int cellHeight;
+	/**
+	 * Speichert die Breite eines Vorschaubildes.
+	 */
+	private final int cellWidth;
+	/**
+	 * Speichert die Anzahl belegter Plätze über alle Seiten.
+	 */
+	private int cellsUsed;
+	/**
+	 * Speichert die Atlasseiten.
+	 */
+	private final List<WritableImage> listPages;
+	/**
+	 * Speichert den Platz jedes fertigen Vorschaubildes nach Kartenname.
+	 */
+	private final Map<String, Slot> mapSlots;
+	/**
+	 * Speichert die Namen der Karten, deren Vorschaubild gerade dekodiert wird.
+	 */
+	private final Set<String> setPending;
+
+	private ThumbnailAtlas(double cellHeight) {
+		this.cellHeight = (int) Math.ceil(cellHeight);
+		cellWidth = (int) Math.ceil(cellHeight * Constants.CARD_RATIO);
+		cellsUsed = 0;
+		listPages = new ArrayList<>();
+		mapSlots = new HashMap<>();
+		setPending = new HashSet<>();
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("[atlas h=[").append(cellHeight).append("] n=[").append(mapSlots.size())
+				.append("] p=[").append(listPages.size()).append("]]").toString();
+	}
+
+	/**
+	 * Reserviert den nächsten freien Platz und legt bei Bedarf eine neue Seite
+	 * an.
+	 */
+	private Slot allocate() {
+		final int columns = PAGE_SIZE / cellWidth;
+		final int cellsPerPage = columns * (PAGE_SIZE / cellHeight);
+		final int index = cellsUsed % cellsPerPage;
+		if (index == 0) {
+			listPages.add(new WritableImage(PAGE_SIZE, PAGE_SIZE));
+			LOGGER.debug("{} allocate() -> Neue Seite", this);
+		}
+		cellsUsed++;
+		return new Slot(listPages.get(listPages.size() - 1), (index % columns) * cellWidth,
+				(index / columns) * cellHeight);
+	}
+
+	private boolean drawThumbnail(GraphicsContext gc, String cardName, double x, double y, double width,
+			double height) {
+		final Slot slot = mapSlots.get(cardName);
+		if (slot != null) {
+			gc.drawImage(slot.page, slot.x, slot.y, cellWidth, cellHeight, x, y, width, height);
+			return true;
+		}
+		if (ImageService.isFailed(cardName)) {
+			setPending.remove(cardName);
+		} else if (setPending.add(cardName)) {
+			try {
+				ImageService.decodeCardImage(cardName, cellWidth, cellHeight,
+						image -> Platform.runLater(() -> store(cardName, image)),
+						() -> Platform.runLater(() -> setPending.remove(cardName)));
+			} catch (final NoSuchResourceException e) {
+				setPending.remove(cardName);
+				throw e;
+			}
+		}
+		return false;
+	}
+
+	private void store(String cardName, Image image) {
+		final Slot slot = allocate();
+		slot.page.getPixelWriter().setPixels(slot.x, slot.y, cellWidth, cellHeight, image.getPixelReader(), 0, 0);
+		mapSlots.put(cardName, slot);
+		setPending.remove(cardName);
+		LOGGER.trace("{} store({})", this, cardName);
+	}
+
+}
@@ -0,0 +1,63 @@
+package de.mca.ai;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.model.InputComputer;
+import de.mca.model.Match;
+import de.mca.model.Player;
+import de.mca.model.RuleEnforcer;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Prüft, dass die Monte-Carlo-Suche mit Iterationsbudget reproduzierbar ist.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MonteCarloTest {
+
+	private static final int ITERATION_BUDGET = 64;
+	private static final int MAX_TURNS = 100;
+
+	@BeforeClass
+	public static void loadResources() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+	}
+
+	/**
+	 * Spielt ein Match zweier Computergegner, die mit zwei Threads suchen, und
+	 * beschreibt den Endstand.
+	 */
+	private static String playMatch(long seed) throws Exception {
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "AI_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath("vanillablack.json")));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "AI_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath("vanillablue.json")));
+		final Match match = new Match(ruleEnforcer, playerOne, playerTwo, seed);
+		new InputComputer(null, match, playerOne, new MonteCarlo(new EvaluatorDefault(), 0, ITERATION_BUDGET, 2));
+		new InputComputer(null, match, playerTwo, new MonteCarlo(new EvaluatorDefault(), 0, ITERATION_BUDGET, 2));
+		while (!match.getFlagMatchFinished() && match.getCurrentTurn().getTurnNumber() <= MAX_TURNS) {
+			match.advanceToNextDecision();
+		}
+		return new StringBuilder().append(match.getCurrentTurn().getTurnNumber()).append(" ")
+				.append(match.getActionCount()).append(" ").append(playerOne.getLife()).append(" ")
+				.append(playerTwo.getLife()).append(" ").append(match.getZoneBattlefield().getSize()).toString();
+	}
+
+	@Test
+	public void searchWithIterationBudgetIsReproducible() throws Exception {
+		assertEquals(playMatch(3), playMatch(3));
+		assertEquals(playMatch(4), playMatch(4));
+	}
+
+}
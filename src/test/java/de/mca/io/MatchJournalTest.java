@@ -0,0 +1,67 @@
+package de.mca.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.mca.io.MatchJournal.Entry;
+import de.mca.io.MatchJournal.Recording;
+import de.mca.model.enums.PlayerActionType;
+import de.mca.model.enums.TurnBasedActionType;
+
+/**
+ * Prüft, dass ein geschriebenes MatchJournal unverändert gelesen wird.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MatchJournalTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void readReturnsWrittenEntries() throws Exception {
+		final Path journalPath = folder.getRoot().toPath().resolve("match.mcj");
+		try (MatchJournal journal = MatchJournal.create(journalPath, "deckOne.json", "deckTwo.json", 42)) {
+			journal.recordTurnBasedAction(TurnBasedActionType.DRAW, 1, 3);
+			journal.recordPlayerAction(PlayerActionType.ACTIVATE_PERMANENT, 2, 3, (2 << 16) | 17,
+					MatchJournal.MAX_ABILITY_INDEX);
+			journal.recordPlayerAction(PlayerActionType.PLAY_LAND, 1, 4, (1 << 16) | 5, 0);
+			journal.recordPlayerAction(PlayerActionType.PASS_PRIORITY, 1, 4, MatchJournal.NO_CARD, 0);
+			assertEquals(4, journal.getEntryCount());
+		}
+
+		final Recording recording = MatchJournal.read(journalPath);
+		assertEquals("deckOne.json", recording.getDeckOne());
+		assertEquals("deckTwo.json", recording.getDeckTwo());
+		assertEquals(42, recording.getSeed());
+
+		final List<Entry> listEntries = recording.getListEntries();
+		assertEquals(4, listEntries.size());
+		assertEquals(TurnBasedActionType.DRAW, listEntries.get(0).getTurnBasedActionType());
+		assertEquals(PlayerActionType.ACTIVATE_PERMANENT, listEntries.get(1).getPlayerActionType());
+		assertEquals(2, listEntries.get(1).getPlayer());
+		assertEquals((2 << 16) | 17, listEntries.get(1).getCardReference());
+		assertEquals(MatchJournal.MAX_ABILITY_INDEX, listEntries.get(1).getAbilityIndex());
+		assertEquals(PlayerActionType.PLAY_LAND, listEntries.get(2).getPlayerActionType());
+		assertEquals(0, listEntries.get(2).getAbilityIndex());
+		assertEquals(4, listEntries.get(3).getTurnNumber());
+		assertEquals(MatchJournal.NO_CARD, listEntries.get(3).getCardReference());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recordPlayerActionRejectsLargeAbilityIndex() throws Exception {
+		final Path journalPath = folder.getRoot().toPath().resolve("match.mcj");
+		try (MatchJournal journal = MatchJournal.create(journalPath, "deckOne.json", "deckTwo.json", 42)) {
+			journal.recordPlayerAction(PlayerActionType.ACTIVATE_PERMANENT, 1, 1, 0,
+					MatchJournal.MAX_ABILITY_INDEX + 1);
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package de.mca.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.model.enums.ColorType;
+import de.mca.model.interfaces.IsManaMap;
+
+/**
+ * Prüft die Bezahlung von Manakosten durch den ManaSolver.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class ManaSolverTest {
+
+	@BeforeClass
+	public static void loadResources() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+	}
+
+	private static IsManaMap mana(ColorType... colors) {
+		final IsManaMap result = new ManaMapArray();
+		for (final ColorType color : colors) {
+			result.add(color, 1);
+		}
+		return result;
+	}
+
+	private static MagicPermanent permanent(String cardName) throws Exception {
+		return new MagicPermanent(MagicParser.parseCardFromPath(FileManager.getCardPath(cardName)));
+	}
+
+	private static List<MagicPermanent> sources(List<ActivatedAbility> listAbilities) {
+		final MagicPermanent[] result = new MagicPermanent[listAbilities.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = (MagicPermanent) listAbilities.get(i).getSource();
+		}
+		return Arrays.asList(result);
+	}
+
+	@Test
+	public void cacheHitAfterUnchangedSources() throws Exception {
+		final ManaSolver manaSolver = new ManaSolver();
+		final IsManaMap cost = mana(ColorType.NONE, ColorType.GREEN);
+		assertTrue(manaSolver.setSources(Arrays.asList(permanent("forest"), permanent("forest"))));
+		assertEquals(2, manaSolver.solve(mana(), cost).size());
+		assertEquals(1, manaSolver.getCacheSize());
+
+		// Andere Exemplare derselben Karten ergeben dieselbe Konfiguration.
+		final List<MagicPermanent> listSources = Arrays.asList(permanent("forest"), permanent("forest"));
+		assertFalse(manaSolver.setSources(listSources));
+		assertTrue(manaSolver.canPay(mana(), cost));
+		assertEquals(listSources, sources(manaSolver.solve(mana(), cost)));
+		assertEquals(1, manaSolver.getCacheSize());
+
+		assertTrue(manaSolver.setSources(Collections.singletonList(permanent("forest"))));
+		assertFalse(manaSolver.canPay(mana(), cost));
+		assertEquals(2, manaSolver.getCacheSize());
+	}
+
+	@Test
+	public void noSolution() throws Exception {
+		final ManaSolver manaSolver = new ManaSolver();
+		manaSolver.setSources(Arrays.asList(permanent("forest"), permanent("solring")));
+		final IsManaMap cost = mana(ColorType.BLUE);
+		assertFalse(manaSolver.canPay(mana(), cost));
+		assertNull(manaSolver.solve(mana(), cost));
+
+		manaSolver.setSources(Collections.emptyList());
+		assertNull(manaSolver.solve(mana(), mana(ColorType.NONE)));
+	}
+
+	@Test
+	public void payFromPoolAndLands() throws Exception {
+		final ManaSolver manaSolver = new ManaSolver();
+		final MagicPermanent forest = permanent("forest");
+		manaSolver.setSources(Collections.singletonList(forest));
+		final IsManaMap cost = mana(ColorType.NONE, ColorType.NONE, ColorType.GREEN);
+		assertFalse(manaSolver.canPay(mana(), cost));
+
+		final IsManaMap manaPool = mana(ColorType.GREEN, ColorType.RED);
+		assertTrue(manaSolver.canPay(manaPool, cost));
+		assertEquals(Collections.singletonList(forest), sources(manaSolver.solve(manaPool, cost)));
+
+		// Deckt der Manapool die Kosten allein, wird keine Quelle getappt.
+		manaPool.add(ColorType.BLACK, 1);
+		assertTrue(manaSolver.solve(manaPool, cost).isEmpty());
+	}
+
+	@Test
+	public void preferFewerColors() throws Exception {
+		final ManaSolver manaSolver = new ManaSolver();
+		final MagicPermanent signet = permanent("dimirsignet");
+		final MagicPermanent island = permanent("island");
+		manaSolver.setSources(Arrays.asList(signet, island));
+		assertEquals(Collections.singletonList(island), sources(manaSolver.solve(mana(), mana(ColorType.BLUE))));
+
+		// Wenige Quellen gehen vor wenigen Farben.
+		assertEquals(Collections.singletonList(signet),
+				sources(manaSolver.solve(mana(), mana(ColorType.BLUE, ColorType.BLACK))));
+		assertEquals(2, manaSolver.solve(mana(), mana(ColorType.BLUE, ColorType.BLUE)).size());
+	}
+
+	@Test
+	public void sourceWithTwoManaAbilities() throws Exception {
+		final ManaSolver manaSolver = new ManaSolver();
+		final MagicPermanent seaScryer = permanent("seascryer");
+		final List<ActivatedAbility> listManaAbilities = seaScryer.getListActivatedAbilities();
+		assertEquals(2, listManaAbilities.size());
+		manaSolver.setSources(Collections.singletonList(seaScryer));
+
+		assertEquals(Collections.singletonList(listManaAbilities.get(1)),
+				manaSolver.solve(mana(), mana(ColorType.BLUE)));
+		assertEquals(Collections.singletonList(listManaAbilities.get(0)),
+				manaSolver.solve(mana(), mana(ColorType.NONE)));
+
+		// Je Quelle wird höchstens eine Fähigkeit aktiviert.
+		assertFalse(manaSolver.canPay(mana(), mana(ColorType.NONE, ColorType.BLUE)));
+	}
+
+}
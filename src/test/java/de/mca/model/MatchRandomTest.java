@@ -0,0 +1,43 @@
+package de.mca.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Prüft, dass MatchRandom dieselben Werte zieht wie SplittableRandom und sich
+ * über seinen Zustand zurücksetzen lässt.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MatchRandomTest {
+
+	@Test
+	public void drawsLikeSplittableRandom() {
+		for (final long seed : new long[] { 0, 7, 42, -1, Long.MIN_VALUE }) {
+			final SplittableRandom expected = new SplittableRandom(seed);
+			final MatchRandom random = new MatchRandom(seed);
+			for (int i = 1; i < 1000; i++) {
+				assertEquals(expected.nextInt(i), random.nextInt(i));
+				assertEquals(expected.nextLong(), random.nextLong());
+			}
+			assertEquals(expected.nextInt(Integer.MAX_VALUE), random.nextInt(Integer.MAX_VALUE));
+		}
+	}
+
+	@Test
+	public void setStateRepeatsValues() {
+		final MatchRandom random = new MatchRandom(42);
+		final long state = random.getState();
+		final int value = random.nextInt(60);
+		final long next = random.nextLong();
+
+		random.setState(state);
+		assertEquals(value, random.nextInt(60));
+		assertEquals(next, random.nextLong());
+	}
+
+}
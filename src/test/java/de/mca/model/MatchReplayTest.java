@@ -0,0 +1,96 @@
+package de.mca.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.io.MatchJournal;
+import de.mca.io.MatchJournal.Recording;
+import de.mca.model.interfaces.IsPlayer;
+
+/**
+ * Prüft, dass ein abgespieltes MatchJournal das aufgezeichnete Match exakt
+ * wiederholt.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MatchReplayTest {
+
+	private static final int MAX_TURNS = 100;
+
+	@BeforeClass
+	public static void loadResources() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+	}
+
+	private static int indexOf(Match match, IsPlayer player) {
+		if (player == null) {
+			return 0;
+		}
+		return player.equals(match.getPlayerOne()) ? 1 : 2;
+	}
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Zeichnet ein Match zweier Computergegner auf, spielt es ab und vergleicht
+	 * beide Protokolle und den Endstand.
+	 */
+	private void assertReplayEqualsRecording(String deckOne, String deckTwo, long seed) throws Exception {
+		final Path recordingPath = folder.getRoot().toPath().resolve("recording-" + seed + ".mcj");
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "AI_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckOne)));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "AI_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath(deckTwo)));
+		final Match match = new Match(ruleEnforcer, playerOne, playerTwo, seed);
+		new InputComputer(null, match, playerOne);
+		new InputComputer(null, match, playerTwo);
+		try (MatchJournal journal = MatchJournal.create(recordingPath, deckOne, deckTwo, seed)) {
+			ruleEnforcer.setJournal(journal);
+			while (!match.getFlagMatchFinished() && match.getCurrentTurn().getTurnNumber() <= MAX_TURNS) {
+				match.advanceToNextDecision();
+			}
+		}
+		assertTrue(match.getFlagMatchFinished());
+		final Recording recording = MatchJournal.read(recordingPath);
+
+		final Path replayPath = folder.getRoot().toPath().resolve("replay-" + seed + ".mcj");
+		final Match replay;
+		try (MatchJournal journal = MatchJournal.create(replayPath, deckOne, deckTwo, seed)) {
+			replay = MatchReplay.replay(recording, journal);
+		}
+
+		assertEquals(recording.getListEntries().toString(),
+				MatchJournal.read(replayPath).getListEntries().toString());
+		assertTrue(replay.getFlagMatchFinished());
+		assertEquals(match.getCurrentTurn().getTurnNumber(), replay.getCurrentTurn().getTurnNumber());
+		assertEquals(indexOf(match, match.getPlayerWinner()), indexOf(replay, replay.getPlayerWinner()));
+		assertEquals(playerOne.getLife(), replay.getPlayerOne().getLife());
+		assertEquals(playerTwo.getLife(), replay.getPlayerTwo().getLife());
+		assertEquals(playerOne.getZoneLibrary().getSize(), replay.getPlayerOne().getZoneLibrary().getSize());
+		assertEquals(playerTwo.getZoneLibrary().getSize(), replay.getPlayerTwo().getZoneLibrary().getSize());
+		assertEquals(match.getZoneBattlefield().getSize(), replay.getZoneBattlefield().getSize());
+	}
+
+	@Test
+	public void replayRepeatsRecordedMatch() throws Exception {
+		assertReplayEqualsRecording("vanillagreen.json", "vanillaartifact.json", 1);
+		assertReplayEqualsRecording("vanillablack.json", "vanillablue.json", 2);
+	}
+
+}
@@ -0,0 +1,235 @@
+package de.mca.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.eventbus.EventBus;
+
+import de.mca.MagicParser;
+import de.mca.io.FileManager;
+import de.mca.model.enums.PlayerState;
+import de.mca.model.interfaces.IsInput;
+import de.mca.model.interfaces.IsPlayer;
+import de.mca.model.interfaces.IsStackable;
+import de.mca.presenter.MatchPresenter;
+
+/**
+ * Prüft, dass ein wiederhergestellter MatchSnapshot den gesicherten
+ * Spielzustand vollständig zurücksetzt.
+ *
+ * @author Maximilian Werling
+ *
+ */
+public class MatchSnapshotTest {
+
+	/**
+	 * Eingabe, die den Spieler anhält, sobald er mit Priorität einen
+	 * Zauberspruch beschwören kann, der mehr als ein Mana kostet. In allen
+	 * anderen Fällen entscheidet der Computer.
+	 */
+	private static final class InputHolding implements IsInput {
+
+		private final InputComputer inputComputer;
+		private final IsPlayer player;
+
+		private InputHolding(Match match, IsPlayer player) {
+			this.player = player;
+			inputComputer = new InputComputer(null, match, player);
+			player.setInput(this);
+		}
+
+		@Override
+		public Match getMatch() {
+			return inputComputer.getMatch();
+		}
+
+		@Override
+		public MatchPresenter getMatchPresenter() {
+			return null;
+		}
+
+		@Override
+		public IsPlayer getPlayer() {
+			return player;
+		}
+
+		@Override
+		public RuleEnforcer getRuleEnforcer() {
+			return player.getRuleEnforcer();
+		}
+
+		@Override
+		public void requestInput() {
+			if (player.getPlayerState().equals(PlayerState.PRIORITIZED)) {
+				getRuleEnforcer().i_deriveInteractionStatus(player, "InputHolding");
+				if (findSpell(player) != null) {
+					return;
+				}
+			}
+			inputComputer.requestInput();
+		}
+
+	}
+
+	private static final long SEED = 42;
+
+	@BeforeClass
+	public static void loadResources() {
+		FileManager.loadDeckData();
+		FileManager.loadCardData();
+		MagicParser.loadCardDatabase();
+	}
+
+	private static Match createMatch() throws Exception {
+		final RuleEnforcer ruleEnforcer = new RuleEnforcer(new EventBus());
+		final IsPlayer playerOne = new Player(ruleEnforcer, "AI_ONE",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath("vanillagreen.json")));
+		final IsPlayer playerTwo = new Player(ruleEnforcer, "AI_TWO",
+				MagicParser.parseDeckFromPath(FileManager.getDeckPath("vanillagreen.json")));
+		return new Match(ruleEnforcer, playerOne, playerTwo, SEED);
+	}
+
+	/**
+	 * Beschreibt den Spielzustand als Text, sodass zwei Zustände mit equals
+	 * verglichen werden können.
+	 */
+	private static String describe(Match match) {
+		final StringBuilder result = new StringBuilder(match.toString()).append(" prio=")
+				.append(match.getPlayerPrioritized()).append(" attacks=").append(match.getListAttacks().size())
+				.append(" sba=").append(match.getRuleEnforcer().getSetStateBasedActions().size()).append("\n");
+		for (final IsPlayer player : Arrays.asList(match.getPlayerOne(), match.getPlayerTwo())) {
+			result.append(player).append(" life=").append(player.getLife()).append(" state=")
+					.append(player.getPlayerState()).append(" input=").append(player.getFlagNeedInput())
+					.append(" passed=").append(player.getFlagPassedPriority()).append(" land=")
+					.append(player.getFlagPlayedLand()).append(" pool=").append(player.getManaPool())
+					.append(" goal=").append(player.getManaCostGoal()).append("\n");
+			describe(result, "hand", player.getZoneHand().getAll());
+			describe(result, "library", player.getZoneLibrary().getAll());
+			describe(result, "graveyard", player.getZoneGraveyard().getAll());
+		}
+		describe(result, "battlefield", match.getZoneBattlefield().getAll());
+		describe(result, "exile", match.getZoneExile().getAll());
+		result.append("stack");
+		for (final IsStackable stackable : match.getZoneStack().getList()) {
+			result.append(" ").append(stackable);
+		}
+		return result.toString();
+	}
+
+	private static void describe(StringBuilder result, String zone, List<? extends MagicCard> listCards) {
+		result.append(zone);
+		for (final MagicCard magicCard : listCards) {
+			result.append(" ").append(magicCard.getId()).append(magicCard.getClass().getSimpleName().charAt(5))
+					.append(magicCard.getPower()).append("/").append(magicCard.getToughness());
+			if (magicCard instanceof MagicPermanent) {
+				final MagicPermanent magicPermanent = (MagicPermanent) magicCard;
+				result.append(magicPermanent.getFlagTapped() ? "T" : "").append(magicPermanent.getFlagAttacking() ? "A" : "")
+						.append(magicPermanent.getFlagBlocking() ? "B" : "")
+						.append(magicPermanent.getFlagHasSummoningSickness() ? "S" : "").append("d")
+						.append(magicPermanent.getDamage());
+			}
+		}
+		result.append("\n");
+	}
+
+	private static long[] nextLongs(MatchRandom random) {
+		final long[] result = new long[8];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = random.nextLong();
+		}
+		return result;
+	}
+
+	private static MagicCard findSpell(IsPlayer player) {
+		for (final MagicCard magicCard : player.getZoneHand().getAll()) {
+			if (magicCard.getFlagIsInteractable() && !magicCard.isLand() && magicCard.getConvertedManaCost() > 1) {
+				return magicCard;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void castSpellCancelRestoresStateBeforeCasting() throws Exception {
+		final Match match = createMatch();
+		new InputHolding(match, match.getPlayerOne());
+		new InputComputer(null, match, match.getPlayerTwo());
+
+		while (!match.getFlagMatchFinished() && !match.waitForInput()) {
+			match.advanceToNextDecision();
+		}
+		final IsPlayer player = match.getPlayerOne();
+		final MagicCard magicCard = findSpell(player);
+		assertNotNull(magicCard);
+
+		final String before = describe(match);
+		match.getRuleEnforcer().i_castSpellStart(player, magicCard);
+		assertTrue(player.isPaying());
+
+		// Eine Manaquelle wird während der Bezahlung getappt.
+		for (final MagicPermanent magicPermanent : match.getZoneBattlefield().getAll()) {
+			if (player.equals(magicPermanent.getPlayerControlling()) && !magicPermanent.getFlagTapped()
+					&& magicPermanent.getManaAbility() != null) {
+				match.getRuleEnforcer().i_activatePermanentStart(player, magicPermanent);
+				break;
+			}
+		}
+		assertTrue(player.isPaying());
+		assertNotEquals(before, describe(match));
+
+		match.getRuleEnforcer().i_castSpellCancel(player);
+		assertEquals(before, describe(match));
+		assertTrue(player.getZoneHand().getAll().contains(magicCard));
+	}
+
+	@Test
+	public void createSnapshotKeepsRandom() throws Exception {
+		final Match match = createMatch();
+		final Match matchSnapshot = createMatch();
+		matchSnapshot.createSnapshot();
+		assertArrayEquals(nextLongs(match.getRandom()), nextLongs(matchSnapshot.getRandom()));
+	}
+
+	@Test
+	public void restoreSnapshotRestoresRandom() throws Exception {
+		final Match match = createMatch();
+		final MatchSnapshot snapshot = match.createSnapshot();
+		final long[] values = nextLongs(match.getRandom());
+
+		match.restoreSnapshot(snapshot);
+		assertArrayEquals(values, nextLongs(match.getRandom()));
+	}
+
+	@Test
+	public void restoreSnapshotRestoresState() throws Exception {
+		final Match match = createMatch();
+		new InputComputer(null, match, match.getPlayerOne());
+		new InputComputer(null, match, match.getPlayerTwo());
+
+		while (!match.getFlagMatchFinished() && match.getCurrentTurn().getTurnNumber() < 4) {
+			match.advanceToNextDecision();
+		}
+		final MatchSnapshot snapshot = match.createSnapshot();
+		final String before = describe(match);
+
+		for (int i = 0; i < 2; i++) {
+			while (!match.getFlagMatchFinished() && match.getCurrentTurn().getTurnNumber() < 8) {
+				match.advanceToNextDecision();
+			}
+			assertNotEquals(before, describe(match));
+
+			match.restoreSnapshot(snapshot);
+			assertEquals(before, describe(match));
+		}
+	}
+
+}